@@ -0,0 +1,84 @@
+package examples.tsp.vector;
+
+import examples.tsp.DistanceKernel;
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * This class computes the distances of DistanceKernel with SIMD instructions, using the incubating Vector API.
+ * The coordinates of the candidate cities are gathered into vectors by the city indices, and the distances of all
+ * lanes are computed at once with separate multiply, add and square root operations (no fused multiply-add),
+ * which round exactly as the scalar code, so all results are bit-identical to those of DistanceKernel.
+ *
+ * Tour costs are left to the scalar code: to be bit-identical they must be summed edge by edge in tour order, and
+ * that chain of additions, not the distances, bounds their speed (see examples.benchmark.DistanceKernelBenchmark).
+ * The species is fixed to 256 bits, as gathers of 512-bit vectors crash the C2 compiler of some JDK 17 builds.
+ *
+ * This package is in the optional source folder src-vector, as it needs the jdk.incubator.vector module, both to
+ * compile and to run. From project-hyflex, after compiling src into bin:
+ * javac --add-modules jdk.incubator.vector -cp bin -d bin src-vector/examples/tsp/vector/*.java
+ * java --add-modules jdk.incubator.vector -cp bin:chesc-fixed-no-ps.jar examples.benchmark.DistanceKernelBenchmark
+ * It is only used through DistanceKernel.create(), which falls back to the scalar kernel without the module.
+ *
+ * @date 2026.10.18
+ */
+
+public class VectorDistanceKernel extends DistanceKernel {
+
+	private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_256;
+
+	/**
+	 * @param coordinates the coordinates of the cities, coordinates[i] = {x, y}
+	 */
+	public VectorDistanceKernel(double[][] coordinates) {
+		super(coordinates);
+	}
+
+	@Override
+	public boolean isVectorized() {
+		return true;
+	}
+
+	@Override
+	public void distances(int from, int[] candidates, int count, double[] distances) {
+		int lanes = SPECIES.length();
+		DoubleVector fx = DoubleVector.broadcast(SPECIES, x[from]), fy = DoubleVector.broadcast(SPECIES, y[from]);
+		int k = 0;
+		for (; k + lanes <= count; k += lanes) {
+			DoubleVector dx = fx.sub(DoubleVector.fromArray(SPECIES, x, 0, candidates, k));
+			DoubleVector dy = fy.sub(DoubleVector.fromArray(SPECIES, y, 0, candidates, k));
+			dx.mul(dx).add(dy.mul(dy)).sqrt().intoArray(distances, k);
+		}
+		for (; k < count; k++) {
+			distances[k] = distance(from, candidates[k]);
+		}
+	}
+
+	@Override
+	public void twoOptGains(int a, int b, int[] c, int[] d, int count, double[] gains) {
+		int lanes = SPECIES.length();
+		double ab = distance(a, b);
+		DoubleVector ax = DoubleVector.broadcast(SPECIES, x[a]), ay = DoubleVector.broadcast(SPECIES, y[a]);
+		DoubleVector bx = DoubleVector.broadcast(SPECIES, x[b]), by = DoubleVector.broadcast(SPECIES, y[b]);
+		DoubleVector abv = DoubleVector.broadcast(SPECIES, ab);
+		int k = 0;
+		for (; k + lanes <= count; k += lanes) {
+			DoubleVector cx = DoubleVector.fromArray(SPECIES, x, 0, c, k), cy = DoubleVector.fromArray(SPECIES, y, 0, c, k);
+			DoubleVector dx = DoubleVector.fromArray(SPECIES, x, 0, d, k), dy = DoubleVector.fromArray(SPECIES, y, 0, d, k);
+			DoubleVector cdx = cx.sub(dx), cdy = cy.sub(dy);
+			DoubleVector acx = ax.sub(cx), acy = ay.sub(cy);
+			DoubleVector bdx = bx.sub(dx), bdy = by.sub(dy);
+			DoubleVector cd = cdx.mul(cdx).add(cdy.mul(cdy)).sqrt();
+			DoubleVector ac = acx.mul(acx).add(acy.mul(acy)).sqrt();
+			DoubleVector bd = bdx.mul(bdx).add(bdy.mul(bdy)).sqrt();
+			abv.add(cd).sub(ac.add(bd)).intoArray(gains, k);
+		}
+		for (; k < count; k++) {
+			gains[k] = (ab + distance(c[k], d[k])) - (distance(a, c[k]) + distance(b, d[k]));
+		}
+	}
+
+	public String toString() {
+		return "vector (" + SPECIES.length() + " lanes)";
+	}
+}
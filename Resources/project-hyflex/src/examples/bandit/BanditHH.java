@@ -0,0 +1,210 @@
+package examples.bandit;
+
+import AbstractClasses.HyperHeuristic;
+import AbstractClasses.ProblemDomain;
+import AbstractClasses.ProblemDomain.HeuristicType;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import examples.rn.Heuristic;
+import examples.rn.HeuristicConfiguration;
+import examples.monitor.HeuristicProbe;
+
+
+/**
+ * This class implements a bandit-based selection hyper-heuristic:
+ * - heuristic selection: a multi-armed bandit strategy (UCB1, discounted UCB, sliding-window UCB, Thompson sampling or FRRMAB)
+ * - acceptance criteria: a simple 'All Moves' acceptance, as in SCF and MCF
+ * - low-level heuristics: heuristics of type MUTATION, LOCAL_SEARCH, RUIN_RECREATE.
+ * 
+ * For each of these heuristics, parameters IOM and DOS are applied.
+ * The reward of a heuristic is its improvement per millisecond of wall time (or CPU time, see setCpuTimeRewards).
+ * 
+ * @date 2026.10.18
+ */
+
+public class BanditHH extends HyperHeuristic {
+	
+	// Default values for DOS and IOM parameters
+	double[] dosValues = {0.2, 0.2, 0.2}, iomValues = {0.2, 0.2, 0.2}; 
+	
+	// Bandit strategy and its parameters
+	String strategy = "ucb";
+	double exploration = 0.5, discount = 0.99;
+	int window = 100;
+	boolean cpuTimeRewards = false;
+	private final ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+	
+	// Records JFR events and metrics of the current run
+	HeuristicProbe probe;
+	
+	public BanditHH(long seed) {
+		super(seed);
+	}
+	
+	/**
+     * Constructs a new bandit hyper-heuristic with the given seed, custom DOS/IOM values and bandit strategy.
+     * 
+     * @param seed the seed value for random number generation
+     * @param dosValue an array of custom DOS values for heuristics
+     * @param iomValue an array of custom IOM values for heuristics
+     * @param strategy the bandit strategy, one of BanditStrategy.STRATEGIES
+     * @param exploration the exploration constant of the strategy
+     * @param window the window size of the sliding-window strategies (swucb, frr)
+     * @param discount the discount factor of ducb or the decay factor of frr
+     */
+	public BanditHH(long seed, double[] dosValue, double[] iomValue, String strategy, double exploration, int window, double discount) {
+		super(seed);
+		this.dosValues = dosValue;
+		this.iomValues = iomValue;
+		this.strategy = strategy;
+		this.exploration = exploration;
+		this.window = window;
+		this.discount = discount;
+	}
+	
+	/**
+	 * Solves the given problem: in each iteration the bandit strategy selects a heuristic, the heuristic is applied
+	 * to the current solution, and its improvement per unit time is given to the strategy as reward.
+	 * 
+	 * @param problem the problem domain to be solved
+	 */
+	public void solve(ProblemDomain problem) {
+		
+		long time_exp_before, time_to_apply, time_select_before = 0; // Variables for timing
+		double new_obj_function_value = 0.00; // Variable to store the objective value of the new solution
+		
+		// Create heuristics array with customised configurations
+		Heuristic[] heuristics = createHeuristics(problem, dosValues, iomValues);
+		
+		// Determine the set of heuristics to use based on the problem domain, one arm per heuristic
+		int[] heuristics_to_use = get_heuristics_to_use(problem);
+		BanditStrategy bandit = BanditStrategy.create(strategy, heuristics_to_use.length, exploration, window, discount, rng);
+		
+		// Initialise the current solution and get its objective value
+		problem.initialiseSolution(0);
+		double current_obj_function_value = problem.getFunctionValue(0);
+		
+		// Create the probe that records LLH applications, selections and time checks (null if monitoring is off)
+		probe = HeuristicProbe.create("Bandit", problem);
+		
+		// Main loop to continue solving until termination criterion is met
+		while (!hasTimeExpired()) {
+			
+			// Select a heuristic with the bandit strategy
+			if (probe != null) {
+				time_select_before = System.nanoTime();
+			}
+			int arm = bandit.select();
+			Heuristic h = heuristics[heuristics_to_use[arm]];
+			if (probe != null) {
+				probe.selected(h.getHeuristicId(), false, System.nanoTime() - time_select_before);
+			}
+			
+			// Set the dos and iom based on the selected LLH
+			problem.setDepthOfSearch(h.getConfiguration().getDos());
+			problem.setIntensityOfMutation(h.getConfiguration().getIom());
+			
+			// Apply the selected heuristic to the current solution and record the time taken
+			time_exp_before = currentTime();
+			new_obj_function_value = problem.applyHeuristic(h.getHeuristicId(), 0, 0);
+			time_to_apply = currentTime() - time_exp_before;
+			
+			// Reward the arm with the improvement per unit time
+			bandit.update(arm, current_obj_function_value - new_obj_function_value, time_to_apply);
+			if (probe != null) {
+				probe.applied(h.getHeuristicId(), h.getConfiguration().getDos(), h.getConfiguration().getIom(), time_to_apply, current_obj_function_value - new_obj_function_value, true);
+			}
+			
+			//set the current objective function value to the new function value as the new solution is now the current solution
+			current_obj_function_value = new_obj_function_value;
+		}
+	}
+	
+	/**
+	 * Checks the time limit, recording the check with the probe of the current run.
+	 */
+	@Override
+	protected boolean hasTimeExpired() {
+		boolean expired = super.hasTimeExpired();
+		if (probe != null) {
+			probe.timeChecked(this, expired);
+		}
+		return expired;
+	}
+	
+	/**
+	 * Uses the CPU time of the current thread instead of the wall time to compute rewards.
+	 */
+	public void setCpuTimeRewards(boolean cpuTimeRewards) {
+		this.cpuTimeRewards = cpuTimeRewards;
+	}
+	
+	// Current wall or CPU time in nanoseconds
+	private long currentTime() {
+		return cpuTimeRewards ? bean.getCurrentThreadCpuTime() : System.nanoTime();
+	}
+	
+	public String toString() {
+		return "Bandit_" + strategy + "_AM_HH";
+	}
+	
+	/**
+	 * Creates an array of heuristic objects based on the problem domain and custom parameter values.
+	 * 
+	 * @param problem the problem domain
+	 * @param dosValues an array of depth of search (DOS) parameter values
+	 * @param iomValues an array of intensity of mutation (IOM) parameter values
+	 * @return an array of configured heuristic objects
+	 */
+	private Heuristic[] createHeuristics(ProblemDomain problem, double[] dosValues, double[] iomValues) {
+		
+		// Initialise array to store heuristic objects
+		int numHeuristics = problem.getNumberOfHeuristics();
+		Heuristic[] heuristics = new Heuristic[numHeuristics];
+		
+		// Create heuristic objects with default configurations
+    	for (int i = 0; i < numHeuristics; i++) {
+            HeuristicConfiguration configuration = new HeuristicConfiguration(0.2, 0.2);
+            heuristics[i] = new Heuristic(configuration, i); 
+        }
+        
+    	// Retrieve heuristics that use DOS and IOM parameters
+        int[] dosHeuristics = problem.getHeuristicsThatUseDepthOfSearch();
+        int[] iomHeuristics = problem.getHeuristicsThatUseIntensityOfMutation();
+ 
+        // Apply custom DOS values to corresponding heuristic IDs
+        for (int i = 0; i < dosHeuristics.length; i++) {
+            heuristics[dosHeuristics[i]].getConfiguration().setDos(dosValues[i]);
+        }
+        
+        // Apply custom IOM values to corresponding heuristic IDs
+        for (int i = 0; i < iomHeuristics.length; i++) {
+            heuristics[iomHeuristics[i]].getConfiguration().setIom(iomValues[i]); 
+        }
+
+        return heuristics; //return the array heuristics containing all the configured heuristic objects.
+    }
+	
+	/**
+	 * Retrieves an array of heuristic IDs to use based on the problem domain types.
+	 * 
+	 * @param problem the problem domain
+	 * @return an array of heuristic IDs to use
+	 */
+	private int[] get_heuristics_to_use(ProblemDomain problem) {
+		// Retrieve heuristics of different types from the problem domain
+		int[] mutations = problem.getHeuristicsOfType(HeuristicType.MUTATION);
+		int[] ruin_recreates = problem.getHeuristicsOfType(HeuristicType.RUIN_RECREATE);
+		int[] local_searches = problem.getHeuristicsOfType(HeuristicType.LOCAL_SEARCH);
+		
+		// Create array to store heuristic IDs to use
+		int[] heuristics_to_use = new int[mutations.length + ruin_recreates.length + local_searches.length];
+		
+		// Copy heuristic IDs of each type to the combined array
+		System.arraycopy(mutations, 0, heuristics_to_use, 0, mutations.length);
+		System.arraycopy(ruin_recreates, 0, heuristics_to_use, mutations.length, ruin_recreates.length);
+		System.arraycopy(local_searches, 0, heuristics_to_use, mutations.length + ruin_recreates.length, local_searches.length);
+		
+		return heuristics_to_use; // Return the array of heuristic IDs to use
+	}
+}
@@ -0,0 +1,228 @@
+package examples.bandit;
+
+import AbstractClasses.HyperHeuristic;
+import AbstractClasses.ProblemDomain;
+import java.io.IOException;
+import java.nio.file.Paths;
+import examples.monitor.Metrics;
+import examples.rng.RandomStreams;
+import examples.traces.TraceStore;
+import examples.tsp.InitialTours;
+import examples.tsp.SeededTSP;
+import examples.tsp.TourFile;
+import travelingSalesmanProblem.TSP;
+
+/**
+ * This class shows how to run the bandit hyper-heuristic with arguments on a selected problem domain.
+ * When executing this class, please ensure to set the run configurations. 
+ * <id.configuration> <id.instance> <seed> <instance> -d <configurations> -i <configurations> -t <time> -s <strategy> [-e <exploration>] [-w <window>] [-g <discount>] [-cpu]
+ * 
+ * Full list of arguments:
+ * id.configuration           : an alphanumeric string as an identifier for a configuration in irace (but is not used within HyFlex)
+ * id.instance                : an alphanumeric string as an identifier for an instance in irace (but is not used within HyFlex)
+ * seed                       : Seed for the instance generator (default: 1234)
+ * instance                   : ID of the problem instance to use
+ * -d <configurations>        : Depth of Search (DOS) values separated by spaces (default: 0.2 0.2 0.2)
+ * -i <configurations>        : Intensity of Mutation (IOM) values separated by spaces (default: 0.2 0.2 0.2)
+ * -t <time>                  : Termination time for the hyper-heuristic in milliseconds
+ * -s <strategy>              : Bandit strategy: ucb, ducb, swucb, ts or frr (default: ucb)
+ * -e <exploration>           : Exploration constant, or scaling factor for frr (default: 0.5)
+ * -w <window>                : Sliding window size for swucb and frr, at least 5 pulls per LLH (default: 100)
+ * -g <discount>              : Discount factor for ducb, decay factor for frr (default: 0.99)
+ * -cpu                       : Normalise rewards by the CPU time instead of the wall time of each heuristic
+ * -m                         : Print the counters and histograms of examples.monitor.Metrics to the standard error after the run
+ * -tour <file>               : Save the best tour to the file after the run, in binary if its name ends with .bin, otherwise in the TSPLIB TOUR format
+ * -rng <generator>           : Random number generator of the hyper-heuristic and the problem domain: java or splittable (default: java)
+ * -init <source>             : Starting tour: default, random, greedy, hilbert or elite (default: default, the tour of HyFlex, see examples.tsp.InitialTours)
+ * -tours <directory>         : Directory of the cached constructive tours and of the elite archive, to which the best tour is added after the run
+ * -traces <directory>        : Trace store to which the fitness trace of the run is appended, by id.configuration, instance and seed (see examples.traces.TraceQuery)
+ * 
+ * Example program arguments as run configuration: 
+ * 1 2024 1234 0 -d 0.1 0.2 0.3 -i 0.4 0.5 0.6 -t 10000 -s swucb -e 0.5 -w 50
+ * 
+ * @date 2026.10.18
+ */
+
+
+public class BanditRunnerConfig {
+
+	public static void main(String[] args) {
+		
+		// Default values for dos and iom arrays
+		double[] dos = {0.2, 0.2, 0.2};
+		double[] iom = {0.2, 0.2, 0.2};
+		// Default seeds
+		long insseed=1234, algseed=5678;
+		
+		int insid=0; long time=0; 
+		// Default bandit settings
+		String strategy = "ucb";
+		double exploration = 0.5, discount = 0.99;
+		int window = 100;
+		boolean cpu = false;
+		// File to save the best tour to (null: not saved)
+		String tourFile = null;
+		// Random number generator: java (HyFlex) or splittable (examples.rng.RandomStreams)
+		String generator = "java";
+		// Source of the starting tour, and directory of the cached and elite tours (null: none)
+		String init = "default", toursDirectory = null;
+		// Directory of the trace store (null: the fitness trace is not kept)
+		String tracesDirectory = null;
+		
+		//-------------------------------Parse command line arguments for parameters--------------------------
+		// Parse command line arguments: <id.configuration> <id.instance> <seed> <instance> -d <configuration> -i <configuration> -t <time> -s <strategy> ...
+		
+		if(args.length < 4) {
+			System.err.println("Usage: java -jar <runner.jar> <id.configuration> <id.instance> <seed> <instance> -d <configuration> -i <configuration> -t <time> -s <strategy> [-e <exploration>] [-w <window>] [-g <discount>] [-cpu]");
+			System.exit(1);
+		}
+		insseed = Long.parseLong(args[2]);
+		algseed = insseed+1;
+		insid = Integer.parseInt(args[3]);
+		for (int i = 0; i < args.length; i++) {
+		    switch (args[i]) {
+	             // termination time
+                case "-t":
+                	time = Long.parseLong(args[++i]);
+                	break;
+            	// Parse dos / iom values
+		        case "-d":
+		        	parseValues(args, dos, i++);
+		            break;
+		        case "-i":
+		        	parseValues(args, iom, i++);
+		            break;
+		        // bandit settings
+		        case "-s":
+		        	strategy = args[++i];
+		        	break;
+		        case "-e":
+		        	exploration = Double.parseDouble(args[++i]);
+		        	break;
+		        case "-w":
+		        	window = Integer.parseInt(args[++i]);
+		        	break;
+		        case "-g":
+		        	discount = Double.parseDouble(args[++i]);
+		        	break;
+		        case "-cpu":
+		        	cpu = true;
+		        	break;
+		        // print metrics after the run
+		        case "-m":
+		        	Metrics.setEnabled(true);
+		        	break;
+		        // save the best tour
+		        case "-tour":
+		        	tourFile = args[++i];
+		        	break;
+		        // random number generator
+		        case "-rng":
+		        	generator = args[++i];
+		        	break;
+		        // starting tour
+		        case "-init":
+		        	init = args[++i];
+		        	break;
+		        case "-tours":
+		        	toursDirectory = args[++i];
+		        	break;
+		        case "-traces":
+		        	tracesDirectory = args[++i];
+		        	break;
+		        default:
+		            break; // Handle unknown arguments if needed
+		    }
+		}
+		
+        //-------------------------------Execute the example HH---------------------------------
+
+		//create a ProblemDomain object with a seed for the random number generator
+		ProblemDomain problem = new SeededTSP(insseed);
+
+		//creates the bandit hyper-heuristic object with a seed for the random number generator
+		BanditHH hyper_heuristic_object = new BanditHH(algseed, dos, iom, strategy, exploration, window, discount);
+		hyper_heuristic_object.setCpuTimeRewards(cpu);
+
+		//we must load an instance within the problem domain
+		problem.loadInstance(insid);
+
+		//we must set the time limit for the hyper-heuristic in milliseconds
+		hyper_heuristic_object.setTimeLimit(time);
+
+		//replace the generators of HyFlex with independent streams derived from the seeds if requested
+		try {
+			RandomStreams.install(generator, hyper_heuristic_object, problem, insseed, algseed);
+		} catch (IllegalArgumentException e) {
+			System.err.println(e.getMessage());
+			System.exit(1);
+		}
+
+		//start from a constructive or archived tour if requested
+		InitialTours tours = new InitialTours(toursDirectory);
+		try {
+			tours.seed((SeededTSP) problem, init, insseed);
+		} catch (IOException | IllegalArgumentException e) {
+			System.err.println("Cannot set initial tour: " + e.getMessage());
+			System.exit(1);
+		}
+
+		//a key step is to assign the ProblemDomain object to the HyperHeuristic object. 
+		//However, this should be done after the instance has been loaded, and after the time limit has been set
+		hyper_heuristic_object.loadProblemDomain(problem);
+		
+		// Print information before running the hyper-heuristic
+//		printAlgorithmInfo(problem, hyper_heuristic_object, time, insid, insseed, algseed); // Note: need to comment this out before exporting a jar
+
+		//now that all of the parameters have been loaded, the run method can be called.
+		//this method starts the timer, and then calls the solve() method of the hyper_heuristic_object.
+		hyper_heuristic_object.run();
+		
+		// Obtain the best solution found within the time limit
+        System.out.println(hyper_heuristic_object.getBestSolutionValue());
+        if (Metrics.isEnabled()) {
+        	Metrics.report(System.err);
+        }
+        if (tourFile != null) {
+        	try {
+        		TourFile.write(Paths.get(tourFile), (TSP) problem);
+        	} catch (IOException e) {
+        		System.err.println("Cannot save tour " + tourFile + ": " + e.getMessage());
+        		System.exit(1);
+        	}
+        }
+        if (toursDirectory != null) {
+        	try {
+        		tours.offer((TSP) problem);
+        	} catch (IOException e) {
+        		System.err.println("Cannot archive tour: " + e.getMessage());
+        		System.exit(1);
+        	}
+        }
+        if (tracesDirectory != null) {
+        	try {
+        		new TraceStore(Paths.get(tracesDirectory)).append("Bandit", args[0], insid, insseed, hyper_heuristic_object.getFitnessTrace());
+        	} catch (IOException e) {
+        		System.err.println("Cannot store trace: " + e.getMessage());
+        		System.exit(1);
+        	}
+        }
+
+	}
+	
+	// Helper method to parse DOS and IOM values from command line arguments
+    private static void parseValues(String[] args, double[] values, int index) {
+        for (int j = 0; j < values.length && index + 1 < args.length; j++) {
+            values[j] = Double.parseDouble(args[++index]);
+        }
+    }
+    
+    // Print algorithm information before running
+    private static void printAlgorithmInfo(ProblemDomain problem, HyperHeuristic hyperHeuristic, long time, int insid, long insseed, long algseed) {
+        System.out.println("Algorithm: " + hyperHeuristic.toString());
+        System.out.println("Problem instance: " + problem.getClass() + " ID: " + insid);
+        System.out.println("Time limit set to: " + time / 1000 + " seconds");
+        System.out.println("Instance seed: " + insseed + ". Algorithm seed: " + algseed);
+        System.out.println("Search ...");
+    }
+}
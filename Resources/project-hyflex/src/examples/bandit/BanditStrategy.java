@@ -0,0 +1,111 @@
+package examples.bandit;
+
+import java.util.Random;
+
+/**
+ * This class is the base of the multi-armed bandit strategies used for adaptive operator selection.
+ * Each arm is one low-level heuristic (LLH). After every application, the improvement of the LLH is divided by
+ * the time it took (improvement per millisecond) and normalised by the largest rate seen so far, so that
+ * rewards lie in [0, 1] whatever the scale of the objective function.
+ *
+ * All state is kept in primitive arrays allocated in the constructor: update() does not allocate and costs O(1),
+ * select() scans the arms once.
+ *
+ * @date 2026.10.18
+ */
+
+public abstract class BanditStrategy {
+
+	// Names of the available strategies, as accepted by create()
+	public static final String[] STRATEGIES = {"ucb", "ducb", "swucb", "ts", "frr"};
+	// Smallest number of pulls per arm of a sliding window: in a window of at most one pull per arm, some arm is
+	// always unplayed, and the selection degenerates into round-robin
+	public static final int MIN_WINDOW_PULLS = 5;
+
+	protected final int numArms;
+	protected final Random rng;
+
+	// Largest improvement per millisecond seen so far, used to normalise rewards
+	private double maxRate = 0;
+
+	protected BanditStrategy(int numArms, Random rng) {
+		this.numArms = numArms;
+		this.rng = rng;
+	}
+
+	/**
+	 * Creates a bandit strategy.
+	 *
+	 * @param name one of STRATEGIES
+	 * @param numArms the number of arms (LLHs)
+	 * @param exploration the exploration constant (scaling factor for FRR, standard deviation scale for Thompson sampling)
+	 * @param window the window size of the sliding-window strategies, raised to MIN_WINDOW_PULLS pulls per arm
+	 * @param discount the discount factor of discounted UCB, or the decay factor of FRR
+	 * @param rng the random number generator of the hyper-heuristic
+	 * @return the new strategy
+	 */
+	public static BanditStrategy create(String name, int numArms, double exploration, int window, double discount, Random rng) {
+		switch (name) {
+			case "ucb":
+				return new UCB1(numArms, exploration, rng);
+			case "ducb":
+				return new DiscountedUCB(numArms, exploration, discount, rng);
+			case "swucb":
+				return new SlidingWindowUCB(numArms, exploration, window, rng);
+			case "ts":
+				return new ThompsonSampling(numArms, exploration, rng);
+			case "frr":
+				return new FitnessRateRank(numArms, exploration, window, discount, rng);
+			default:
+				throw new IllegalArgumentException("Unknown bandit strategy: " + name);
+		}
+	}
+
+	/**
+	 * @param window the requested size of a sliding window
+	 * @return the size of the window, at least MIN_WINDOW_PULLS pulls per arm
+	 */
+	protected int windowSize(int window) {
+		return Math.max(window, MIN_WINDOW_PULLS * numArms);
+	}
+
+	/**
+	 * @return the index of the arm to pull next
+	 */
+	public abstract int select();
+
+	/**
+	 * Records the normalised reward of an arm.
+	 *
+	 * @param arm the index of the arm
+	 * @param reward the reward in [0, 1]
+	 */
+	protected abstract void reward(int arm, double reward);
+
+	/**
+	 * Records the outcome of one application of the LLH of an arm.
+	 *
+	 * @param arm the index of the arm
+	 * @param delta the improvement of the objective value (positive if the solution improved)
+	 * @param timeTaken the time taken to apply the LLH in nanoseconds
+	 */
+	public void update(int arm, double delta, long timeTaken) {
+		double rate = Math.max(0, delta) / (timeTaken / 1_000_000.0 + 1e-3);
+		if (rate > maxRate) {
+			maxRate = rate;
+		}
+		reward(arm, maxRate > 0 ? rate / maxRate : 0);
+	}
+
+	/**
+	 * @return the first arm that has never been pulled, or -1 if all arms have been pulled
+	 */
+	protected static int firstUntried(double[] counts) {
+		for (int a = 0; a < counts.length; a++) {
+			if (counts[a] <= 0) {
+				return a;
+			}
+		}
+		return -1;
+	}
+}
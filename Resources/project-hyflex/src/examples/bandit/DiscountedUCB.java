@@ -0,0 +1,66 @@
+package examples.bandit;
+
+import java.util.Random;
+
+/**
+ * Discounted UCB (Garivier and Moulines, 2011): counts and reward sums of all arms are multiplied by gamma at
+ * every step, so that old rewards are forgotten and the strategy follows changes during the search.
+ *
+ * Instead of discounting every arm at every step, the new observations are inflated by gamma^-t, which keeps
+ * update() O(1). The stored values are rescaled from time to time to avoid overflow.
+ *
+ * @date 2026.10.18
+ */
+
+public class DiscountedUCB extends BanditStrategy {
+
+	private final double exploration, gamma;
+	private final double[] counts, sums;
+	private double total = 0;
+
+	// Current inflation factor gamma^-t
+	private double scale = 1;
+
+	public DiscountedUCB(int numArms, double exploration, double gamma, Random rng) {
+		super(numArms, rng);
+		this.exploration = exploration;
+		this.gamma = gamma;
+		this.counts = new double[numArms];
+		this.sums = new double[numArms];
+	}
+
+	public int select() {
+		int untried = firstUntried(counts);
+		if (untried >= 0) {
+			return untried;
+		}
+		// discounted counts are counts / scale, the mean reward is scale-free
+		double logTotal = Math.log(Math.max(1, total / scale));
+		int best = 0;
+		double bestScore = Double.NEGATIVE_INFINITY;
+		for (int a = 0; a < numArms; a++) {
+			double n = counts[a] / scale;
+			double score = sums[a] / counts[a] + exploration * Math.sqrt(2 * logTotal / n);
+			if (score > bestScore) {
+				bestScore = score;
+				best = a;
+			}
+		}
+		return best;
+	}
+
+	protected void reward(int arm, double reward) {
+		scale /= gamma;
+		counts[arm] += scale;
+		sums[arm] += reward * scale;
+		total += scale;
+		if (scale > 1e100) { // rescale the stored values (rare, O(K))
+			for (int a = 0; a < numArms; a++) {
+				counts[a] /= scale;
+				sums[a] /= scale;
+			}
+			total /= scale;
+			scale = 1;
+		}
+	}
+}
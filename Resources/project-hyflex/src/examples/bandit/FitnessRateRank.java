@@ -0,0 +1,90 @@
+package examples.bandit;
+
+import java.util.Random;
+
+/**
+ * Fitness-rate-rank based multi-armed bandit (FRRMAB, Li et al., 2014).
+ * The rewards of the last W pulls are kept in a sliding window. In select(), the arms are ranked by the sum of
+ * their rewards in the window, the decayed reward of the arm of rank r is D^r * sum, and the fitness-rate-rank
+ * FRR is its share of all decayed rewards. The arm maximising FRR + c * sqrt(2 ln W / n_a) is pulled.
+ *
+ * @date 2026.10.18
+ */
+
+public class FitnessRateRank extends BanditStrategy {
+
+	private final double scaling, decay;
+	private final double[] counts, sums;
+	private final int[] windowArms;
+	private final double[] windowRewards;
+	private int next = 0, filled = 0;
+
+	// Preallocated work arrays for the ranking
+	private final int[] order;
+	private final double[] decayed;
+
+	/**
+	 * @param scaling the scaling factor c of the exploration term
+	 * @param window the size W of the sliding window, at least MIN_WINDOW_PULLS pulls per arm
+	 * @param decay the decay factor D of the ranks, in (0, 1]
+	 */
+	public FitnessRateRank(int numArms, double scaling, int window, double decay, Random rng) {
+		super(numArms, rng);
+		this.scaling = scaling;
+		this.decay = decay;
+		this.counts = new double[numArms];
+		this.sums = new double[numArms];
+		this.windowArms = new int[windowSize(window)];
+		this.windowRewards = new double[windowArms.length];
+		this.order = new int[numArms];
+		this.decayed = new double[numArms];
+	}
+
+	public int select() {
+		int untried = firstUntried(counts);
+		if (untried >= 0) {
+			return untried;
+		}
+		// rank the arms by their reward sums (insertion sort, the number of arms is small)
+		for (int a = 0; a < numArms; a++) {
+			int j = a;
+			while (j > 0 && sums[order[j - 1]] < sums[a]) {
+				order[j] = order[j - 1];
+				j--;
+			}
+			order[j] = a;
+		}
+		double total = 0, weight = 1;
+		for (int r = 0; r < numArms; r++) {
+			decayed[order[r]] = weight * sums[order[r]];
+			total += decayed[order[r]];
+			weight *= decay;
+		}
+		double logWindow = Math.log(filled);
+		int best = 0;
+		double bestScore = Double.NEGATIVE_INFINITY;
+		for (int a = 0; a < numArms; a++) {
+			double frr = total > 0 ? decayed[a] / total : 0;
+			double score = frr + scaling * Math.sqrt(2 * logWindow / counts[a]);
+			if (score > bestScore) {
+				bestScore = score;
+				best = a;
+			}
+		}
+		return best;
+	}
+
+	protected void reward(int arm, double reward) {
+		if (filled == windowArms.length) { // evict the oldest pull
+			counts[windowArms[next]]--;
+			sums[windowArms[next]] -= windowRewards[next];
+		} else {
+			filled++;
+		}
+		windowArms[next] = arm;
+		windowRewards[next] = reward;
+		counts[arm]++;
+		sums[arm] += reward;
+		next = (next + 1) % windowArms.length;
+	}
+}
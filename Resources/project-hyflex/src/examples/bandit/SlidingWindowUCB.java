@@ -0,0 +1,61 @@
+package examples.bandit;
+
+import java.util.Random;
+
+/**
+ * Sliding-window UCB (Garivier and Moulines, 2011): UCB1 computed over the last W pulls only.
+ * The window is a ring buffer, so adding a pull and evicting the oldest one are both O(1). It holds at least
+ * MIN_WINDOW_PULLS pulls per arm.
+ *
+ * @date 2026.10.18
+ */
+
+public class SlidingWindowUCB extends BanditStrategy {
+
+	private final double exploration;
+	private final double[] counts, sums;
+	private final int[] windowArms;
+	private final double[] windowRewards;
+	private int next = 0, filled = 0;
+
+	public SlidingWindowUCB(int numArms, double exploration, int window, Random rng) {
+		super(numArms, rng);
+		this.exploration = exploration;
+		this.counts = new double[numArms];
+		this.sums = new double[numArms];
+		this.windowArms = new int[windowSize(window)];
+		this.windowRewards = new double[windowArms.length];
+	}
+
+	public int select() {
+		int untried = firstUntried(counts);
+		if (untried >= 0) {
+			return untried;
+		}
+		double logWindow = Math.log(filled);
+		int best = 0;
+		double bestScore = Double.NEGATIVE_INFINITY;
+		for (int a = 0; a < numArms; a++) {
+			double score = sums[a] / counts[a] + exploration * Math.sqrt(2 * logWindow / counts[a]);
+			if (score > bestScore) {
+				bestScore = score;
+				best = a;
+			}
+		}
+		return best;
+	}
+
+	protected void reward(int arm, double reward) {
+		if (filled == windowArms.length) { // evict the oldest pull
+			counts[windowArms[next]]--;
+			sums[windowArms[next]] -= windowRewards[next];
+		} else {
+			filled++;
+		}
+		windowArms[next] = arm;
+		windowRewards[next] = reward;
+		counts[arm]++;
+		sums[arm] += reward;
+		next = (next + 1) % windowArms.length;
+	}
+}
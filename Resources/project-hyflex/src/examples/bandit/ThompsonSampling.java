@@ -0,0 +1,45 @@
+package examples.bandit;
+
+import java.util.Random;
+
+/**
+ * Gaussian Thompson sampling: the mean reward of each arm is sampled from N(mean_a, (sigma / sqrt(n_a + 1))^2),
+ * and the arm with the largest sample is pulled. Arms that have not been pulled yet sample around 0.5.
+ *
+ * @date 2026.10.18
+ */
+
+public class ThompsonSampling extends BanditStrategy {
+
+	private final double sigma;
+	private final double[] counts, sums;
+
+	/**
+	 * @param sigma the scale of the posterior standard deviation
+	 */
+	public ThompsonSampling(int numArms, double sigma, Random rng) {
+		super(numArms, rng);
+		this.sigma = sigma;
+		this.counts = new double[numArms];
+		this.sums = new double[numArms];
+	}
+
+	public int select() {
+		int best = 0;
+		double bestSample = Double.NEGATIVE_INFINITY;
+		for (int a = 0; a < numArms; a++) {
+			double mean = counts[a] > 0 ? sums[a] / counts[a] : 0.5;
+			double sample = mean + rng.nextGaussian() * sigma / Math.sqrt(counts[a] + 1);
+			if (sample > bestSample) {
+				bestSample = sample;
+				best = a;
+			}
+		}
+		return best;
+	}
+
+	protected void reward(int arm, double reward) {
+		counts[arm]++;
+		sums[arm] += reward;
+	}
+}
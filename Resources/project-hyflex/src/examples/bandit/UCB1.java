@@ -0,0 +1,47 @@
+package examples.bandit;
+
+import java.util.Random;
+
+/**
+ * UCB1 (Auer et al., 2002): pull the arm maximising mean reward + c * sqrt(2 ln N / n_a).
+ *
+ * @date 2026.10.18
+ */
+
+public class UCB1 extends BanditStrategy {
+
+	private final double exploration;
+	private final double[] counts, sums;
+	private double total = 0;
+
+	public UCB1(int numArms, double exploration, Random rng) {
+		super(numArms, rng);
+		this.exploration = exploration;
+		this.counts = new double[numArms];
+		this.sums = new double[numArms];
+	}
+
+	public int select() {
+		int untried = firstUntried(counts);
+		if (untried >= 0) {
+			return untried;
+		}
+		double logTotal = Math.log(total);
+		int best = 0;
+		double bestScore = Double.NEGATIVE_INFINITY;
+		for (int a = 0; a < numArms; a++) {
+			double score = sums[a] / counts[a] + exploration * Math.sqrt(2 * logTotal / counts[a]);
+			if (score > bestScore) {
+				bestScore = score;
+				best = a;
+			}
+		}
+		return best;
+	}
+
+	protected void reward(int arm, double reward) {
+		counts[arm]++;
+		sums[arm] += reward;
+		total++;
+	}
+}
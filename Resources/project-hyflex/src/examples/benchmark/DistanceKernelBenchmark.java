@@ -0,0 +1,141 @@
+package examples.benchmark;
+
+import java.util.Random;
+import examples.tsp.DistanceKernel;
+import examples.tsp.TspAccess;
+import travelingSalesmanProblem.TSP;
+
+/**
+ * This class checks that the kernel returned by DistanceKernel.create() gives bit-identical results to the scalar
+ * kernel and to the HyFlex TSP domain, and compares their speed on random tours of an instance.
+ * It prints the kernel in use (scalar, or vector with its number of lanes), whether all results are identical, and
+ * the mean time per tour cost and per batch of candidate distances of HyFlex, the scalar and the created kernel.
+ * When executing this class, please ensure to set the run configurations:
+ * [-n <instance>] [-r <rounds>]
+ * To use the vector kernel, compile the source folder src-vector and run with --add-modules jdk.incubator.vector.
+ *
+ * Full list of arguments:
+ * -n <instance>              : ID of the TSP instance (default: 5, pcb1173)
+ * -r <rounds>                : measured rounds of each kernel (default: 10)
+ *
+ * Example program arguments as run configuration:
+ * -n 8 -r 5
+ *
+ * @date 2026.10.18
+ */
+
+public class DistanceKernelBenchmark {
+
+	// Consumed results, so that the JIT compiler cannot remove the measured code
+	static double sink;
+
+	public static void main(String[] args) {
+
+		int instance = 5, rounds = 10;
+
+		//-------------------------------Parse command line arguments--------------------------
+		for (int i = 0; i < args.length; i++) {
+			switch (args[i]) {
+				case "-n":
+					instance = Integer.parseInt(args[++i]);
+					break;
+				case "-r":
+					rounds = Integer.parseInt(args[++i]);
+					break;
+				default:
+					break;
+			}
+		}
+
+		TSP problem = new TSP(1234);
+		problem.loadInstance(instance);
+		double[][] coordinates = TspAccess.getCoordinates(problem.instance);
+		DistanceKernel scalar = new DistanceKernel(coordinates);
+		DistanceKernel kernel = DistanceKernel.create(coordinates);
+		int n = coordinates.length;
+		System.out.println("Instance: " + instance + " (" + n + " cities). Kernel: " + kernel);
+
+		// Random tours, and random candidate lists as long as the nearest-city lists of HyFlex
+		Random rng = new Random(1234);
+		int[][] tours = new int[20][];
+		for (int t = 0; t < tours.length; t++) {
+			tours[t] = problem.algorithms.generateRandomPermutation(n, rng);
+		}
+		int[] candidates = new int[1024], ends = new int[1024];
+		for (int k = 0; k < candidates.length; k++) {
+			candidates[k] = rng.nextInt(n);
+			ends[k] = rng.nextInt(n);
+		}
+
+		//-------------------------------Check that the results are bit-identical---------------------------
+		boolean identical = true;
+		for (int[] tour : tours) {
+			double reference = problem.algorithms.computeCost(tour);
+			identical &= Double.doubleToLongBits(reference) == Double.doubleToLongBits(scalar.tourCost(tour))
+					&& Double.doubleToLongBits(reference) == Double.doubleToLongBits(kernel.tourCost(tour));
+		}
+		double[] expected = new double[candidates.length], actual = new double[candidates.length];
+		for (int from = 0; from < Math.min(n, 100); from++) {
+			for (int k = 0; k < candidates.length; k++) {
+				expected[k] = problem.instance.getDistance(from, candidates[k]);
+			}
+			kernel.distances(from, candidates, candidates.length - from % 7, actual);
+			for (int k = 0; k < candidates.length - from % 7; k++) {
+				identical &= Double.doubleToLongBits(expected[k]) == Double.doubleToLongBits(actual[k]);
+			}
+			scalar.twoOptGains(from, (from + 1) % n, candidates, ends, candidates.length, expected);
+			kernel.twoOptGains(from, (from + 1) % n, candidates, ends, candidates.length, actual);
+			for (int k = 0; k < candidates.length; k++) {
+				identical &= Double.doubleToLongBits(expected[k]) == Double.doubleToLongBits(actual[k]);
+			}
+		}
+		System.out.println("Bit-identical results: " + identical);
+
+		//-------------------------------Measure-----------------------------------------------------
+		for (int round = 0; round < 30; round++) { // warm-up
+			time(problem, scalar, tours, candidates, actual);
+			time(problem, kernel, tours, candidates, actual);
+		}
+		double[] hyflexTimes = new double[2], scalarTimes = new double[2], kernelTimes = new double[2];
+		for (int round = 0; round < rounds; round++) {
+			double[] h = time(problem, null, tours, candidates, actual);
+			double[] s = time(problem, scalar, tours, candidates, actual);
+			double[] v = time(problem, kernel, tours, candidates, actual);
+			for (int m = 0; m < 2; m++) {
+				hyflexTimes[m] += h[m] / rounds;
+				scalarTimes[m] += s[m] / rounds;
+				kernelTimes[m] += v[m] / rounds;
+			}
+		}
+		System.out.printf("%-8s %12s %20s%n", "", "tour cost", "1024 distances");
+		System.out.printf("%-8s %9.1f us %17.1f ns%n", "HyFlex", hyflexTimes[0] / 1e3, hyflexTimes[1]);
+		System.out.printf("%-8s %9.1f us %17.1f ns%n", "scalar", scalarTimes[0] / 1e3, scalarTimes[1]);
+		System.out.printf("%-8s %9.1f us %17.1f ns%n", kernel.isVectorized() ? "vector" : "created", kernelTimes[0] / 1e3, kernelTimes[1]);
+		System.out.println("(checksum " + sink + ")");
+	}
+
+	// Mean time in nanoseconds of a tour cost and of a batch of candidate distances, with HyFlex if kernel is null
+	private static double[] time(TSP problem, DistanceKernel kernel, int[][] tours, int[] candidates, double[] distances) {
+		long start = System.nanoTime();
+		for (int repeat = 0; repeat < 10; repeat++) {
+			for (int[] tour : tours) {
+				sink += kernel == null ? problem.algorithms.computeCost(tour) : kernel.tourCost(tour);
+			}
+		}
+		double tourTime = (double) (System.nanoTime() - start) / (10 * tours.length);
+		int batches = 10000;
+		start = System.nanoTime();
+		for (int b = 0; b < batches; b++) {
+			int from = b % tours[0].length;
+			if (kernel == null) {
+				for (int k = 0; k < candidates.length; k++) {
+					distances[k] = problem.instance.getDistance(from, candidates[k]);
+				}
+			} else {
+				kernel.distances(from, candidates, candidates.length, distances);
+			}
+			sink += distances[b & (candidates.length - 1)];
+		}
+		return new double[] {tourTime, (double) (System.nanoTime() - start) / batches};
+	}
+}
@@ -0,0 +1,176 @@
+package examples.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import examples.scf.Heuristic;
+import examples.scf.HeuristicConfiguration;
+import examples.scf.HeuristicTable;
+import examples.scf.SimplifiedChoiceFunction;
+
+/**
+ * This class compares the cost of one SCF iteration (select the heuristic with the best score, then update its
+ * data) with the heuristics stored as Heuristic/HeuristicConfiguration/HeuristicData objects and as a HeuristicTable.
+ * The object layout is measured with the selection code SCF used before HeuristicTable, so the two layouts
+ * choose the same heuristics for the same sequence of objective values. As in SCF, every heuristic is applied
+ * once before the choice function is used.
+ *
+ * Each layout is run for a number of warm-up rounds, which are discarded, then for a number of measured rounds;
+ * the mean and standard deviation of the time per iteration over the measured rounds are printed.
+ * The objects are allocated among other short-lived objects so that, as in a real run, they are not contiguous.
+ * When executing this class, please ensure to set the run configurations:
+ * [-n <heuristics>] [-i <iterations>] [-w <rounds>] [-r <rounds>]
+ *
+ * Full list of arguments:
+ * -n <heuristics>            : number of heuristics (default: 13, as the TSP domain)
+ * -i <iterations>            : iterations per round (default: 1000000)
+ * -w <rounds>                : warm-up rounds (default: 5)
+ * -r <rounds>                : measured rounds (default: 10)
+ *
+ * Example program arguments as run configuration:
+ * -n 13 -i 2000000
+ *
+ * @date 2026.10.18
+ */
+
+public class HeuristicTableBenchmark {
+
+	// Consumed results, so that the JIT compiler cannot remove the measured code
+	static long sink;
+
+	public static void main(String[] args) {
+
+		int n = 13, iterations = 1000000, warmup = 5, rounds = 10;
+
+		//-------------------------------Parse command line arguments--------------------------
+		for (int i = 0; i < args.length; i++) {
+			switch (args[i]) {
+				case "-n":
+					n = Integer.parseInt(args[++i]);
+					break;
+				case "-i":
+					iterations = Integer.parseInt(args[++i]);
+					break;
+				case "-w":
+					warmup = Integer.parseInt(args[++i]);
+					break;
+				case "-r":
+					rounds = Integer.parseInt(args[++i]);
+					break;
+				default:
+					break;
+			}
+		}
+
+		// The objective values of the candidate solutions, the same for both layouts
+		double[] values = new double[1 << 16];
+		Random rng = new Random(1234);
+		for (int k = 0; k < values.length; k++) {
+			values[k] = 1000 + 100 * rng.nextGaussian();
+		}
+
+		System.out.println("Heuristics: " + n + ". Iterations per round: " + iterations);
+		report("objects", objectLayout(n, iterations, warmup, rounds, values));
+		report("table", tableLayout(n, iterations, warmup, rounds, values));
+		System.out.println("(checksum " + sink + ")");
+	}
+
+	private static void report(String layout, double[] nsPerIteration) {
+		double mean = 0, variance = 0;
+		for (double t : nsPerIteration) {
+			mean += t / nsPerIteration.length;
+		}
+		for (double t : nsPerIteration) {
+			variance += (t - mean) * (t - mean) / Math.max(1, nsPerIteration.length - 1);
+		}
+		System.out.printf("%-8s %10.2f ns/iteration +- %.2f%n", layout, mean, Math.sqrt(variance));
+	}
+
+	// Time per iteration of each measured round with Heuristic objects
+	private static double[] objectLayout(int n, int iterations, int warmup, int rounds, double[] values) {
+		double[] times = new double[rounds];
+		for (int round = -warmup; round < rounds; round++) {
+			long start = System.nanoTime();
+			Heuristic[] heuristics = new Heuristic[n];
+			List<Object> garbage = new ArrayList<>();
+			for (int i = 0; i < n; i++) {
+				heuristics[i] = new Heuristic(new HeuristicConfiguration(0.2, 0.2), i, start);
+				garbage.add(new double[64]);
+			}
+			LegacyChoiceFunction scf = new LegacyChoiceFunction(heuristics, 0.5);
+			double current = values[0];
+			for (int k = 0; k < iterations; k++) {
+				Heuristic h = k < n ? heuristics[k] : scf.selectHeuristicToApply();
+				double candidate = values[k & (values.length - 1)];
+				scf.updateHeuristicData(h, start + k, 1 + (k & 1023), current, candidate);
+				current = candidate;
+				sink += h.getHeuristicId();
+			}
+			sink += garbage.size();
+			if (round >= 0) {
+				times[round] = (double) (System.nanoTime() - start) / iterations;
+			}
+		}
+		return times;
+	}
+
+	// Time per iteration of each measured round with a HeuristicTable
+	private static double[] tableLayout(int n, int iterations, int warmup, int rounds, double[] values) {
+		double[] times = new double[rounds];
+		for (int round = -warmup; round < rounds; round++) {
+			long start = System.nanoTime();
+			HeuristicTable heuristics = new HeuristicTable(n, start);
+			SimplifiedChoiceFunction scf = new SimplifiedChoiceFunction(heuristics, 0.5);
+			double current = values[0];
+			for (int k = 0; k < iterations; k++) {
+				int h = k < n ? k : scf.selectHeuristicToApply();
+				double candidate = values[k & (values.length - 1)];
+				scf.updateHeuristicData(h, start + k, 1 + (k & 1023), current, candidate);
+				current = candidate;
+				sink += h;
+			}
+			if (round >= 0) {
+				times[round] = (double) (System.nanoTime() - start) / iterations;
+			}
+		}
+		return times;
+	}
+
+	/**
+	 * The selection and update of SimplifiedChoiceFunction on Heuristic objects, as before HeuristicTable.
+	 */
+	static class LegacyChoiceFunction {
+
+		private final Heuristic[] heuristics;
+		private double phi;
+
+		LegacyChoiceFunction(Heuristic[] heuristics, double phi) {
+			this.heuristics = heuristics;
+			this.phi = phi;
+		}
+
+		void updateHeuristicData(Heuristic heuristic, long timeApplied, long timeTaken, double current, double candidate) {
+			heuristic.getData().setTimeLastApplied(timeApplied);
+			heuristic.getData().setPreviousApplicationDuration(timeTaken);
+			heuristic.getData().setF_delta(current - candidate);
+			phi = current > candidate ? 0.99 : phi - 0.01;
+		}
+
+		Heuristic selectHeuristicToApply() {
+			Heuristic selectedHeuristic = null;
+			double bestScore = -Double.MAX_VALUE;
+			long currentTime = System.nanoTime();
+			for (Heuristic heuristic : heuristics) {
+				double I = heuristic.getData().getF_delta();
+				double T = (heuristic.getData().getPreviousApplicationDuration() / 1_000_000_000) + 1;
+				double f3 = (currentTime - heuristic.getData().getTimeLastApplied()) / 1_000_000_000;
+				double score = phi * (I / T) + (1 - phi) * f3;
+				if (score > bestScore) {
+					bestScore = score;
+					selectedHeuristic = heuristic;
+				}
+			}
+			return selectedHeuristic;
+		}
+	}
+}
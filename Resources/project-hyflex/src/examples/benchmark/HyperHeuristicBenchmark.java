@@ -0,0 +1,156 @@
+package examples.benchmark;
+
+import AbstractClasses.HyperHeuristic;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import examples.example.ExampleHyperHeuristic1;
+import examples.tuning.ExperimentRunner;
+
+/**
+ * This class measures the cost of the hyper-heuristic layer of RN, SCF, MCF and ExampleHyperHeuristic1 by running
+ * them on a SyntheticDomain, whose LLHs cost nothing by default, so that a run is all selection, acceptance,
+ * bookkeeping and time checks. For each hyper-heuristic it prints the mean over the measured runs of:
+ * - the iterations (LLH applications) per second;
+ * - the time spent in the hyper-heuristic per iteration, i.e. between the end of an application and the start of
+ *   the next one, as mean, median and 99th percentile (percentiles within a factor of two, see Metrics.Histogram);
+ * - the share of the run spent in the hyper-heuristic, which is what optimising the framework can save at most;
+ * - the bytes allocated per iteration and the allocation rate, from the allocated bytes of the thread;
+ * - the time of one getElapsedTime() call, the CPU time read behind each hasTimeExpired().
+ * With LLH costs set to those of a real domain (-cost), the share shows whether the framework matters at all.
+ * When executing this class, please ensure to set the run configurations:
+ * [-a <algorithms>] [-t <time>] [-r <runs>] [-w <runs>] [-llh <counts>] [-cost <costs>] [-mean <means>] [-sd <deviations>]
+ *
+ * Full list of arguments:
+ * -a <algorithms>            : hyper-heuristics separated by spaces, among RN, SCF, MCF and Example (default: all)
+ * -t <time>                  : time limit of each run in milliseconds (default: 2000)
+ * -r <runs>                  : measured runs of each hyper-heuristic (default: 3)
+ * -w <runs>                  : warm-up runs of each hyper-heuristic, discarded (default: 1)
+ * -llh <counts>              : number of MUTATION, RUIN_RECREATE, LOCAL_SEARCH and CROSSOVER LLHs (default: 5 1 3 4)
+ * -cost <costs>              : cost of an application of each type in nanoseconds (default: 0 0 0 0)
+ * -mean <means>              : mean relative change in objective value of each type (default: 0.02 0.01 -0.005 0.01)
+ * -sd <deviations>           : standard deviation of the relative change of each type (default: 0.01 0.01 0.005 0.02)
+ *
+ * Example program arguments as run configuration:
+ * -a RN SCF -t 5000 -r 5
+ * -llh 5 1 3 4 -cost 20000 50000 200000 30000
+ *
+ * @date 2026.10.18
+ */
+
+public class HyperHeuristicBenchmark {
+
+	public static final String[] ALGORITHMS = {"RN", "SCF", "MCF", "Example"};
+
+	// Consumed results, so that the JIT compiler cannot remove the measured code
+	static long sink;
+
+	public static void main(String[] args) {
+
+		List<String> algorithms = new ArrayList<>();
+		long time = 2000;
+		int runs = 3, warmup = 1;
+		double[] counts = {5, 1, 3, 4}, costs = {0, 0, 0, 0};
+		double[] means = SyntheticDomain.TSP_MEANS.clone(), deviations = SyntheticDomain.TSP_DEVIATIONS.clone();
+
+		//-------------------------------Parse command line arguments--------------------------
+		for (int i = 0; i < args.length; i++) {
+			switch (args[i]) {
+				case "-a":
+					while (i + 1 < args.length && !args[i + 1].startsWith("-")) {
+						algorithms.add(args[++i]);
+					}
+					break;
+				case "-t":
+					time = Long.parseLong(args[++i]);
+					break;
+				case "-r":
+					runs = Integer.parseInt(args[++i]);
+					break;
+				case "-w":
+					warmup = Integer.parseInt(args[++i]);
+					break;
+				case "-llh":
+					parseValues(args, counts, i++);
+					break;
+				case "-cost":
+					parseValues(args, costs, i++);
+					break;
+				case "-mean":
+					parseValues(args, means, i++);
+					break;
+				case "-sd":
+					parseValues(args, deviations, i++);
+					break;
+				default:
+					break;
+			}
+		}
+		if (algorithms.isEmpty()) {
+			algorithms.addAll(List.of(ALGORITHMS));
+		}
+		int[] llhCounts = new int[counts.length];
+		long[] llhCosts = new long[costs.length];
+		for (int t = 0; t < counts.length; t++) {
+			llhCounts[t] = (int) counts[t];
+			llhCosts[t] = (long) costs[t];
+		}
+
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		long thread = Thread.currentThread().getId();
+		System.out.printf("%-8s %12s %10s %10s %10s %8s %12s %10s %10s%n", "", "iterations/s", "HH ns/it", "median", "p99",
+				"HH share", "bytes/it", "MB/s", "time check");
+		for (String algorithm : algorithms) {
+			double[] sums = new double[8];
+			for (int run = -warmup; run < runs; run++) {
+				SyntheticDomain problem = new SyntheticDomain(1234 + run, llhCounts, llhCosts, means, deviations);
+				HyperHeuristic hyper_heuristic_object = create(algorithm, 1235 + run, problem);
+				hyper_heuristic_object.setTimeLimit(time);
+				hyper_heuristic_object.loadProblemDomain(problem);
+				long bytes = threads.getThreadAllocatedBytes(thread), start = System.nanoTime();
+				hyper_heuristic_object.run();
+				double seconds = (System.nanoTime() - start) / 1e9;
+				bytes = threads.getThreadAllocatedBytes(thread) - bytes;
+				if (run < 0) {
+					continue;
+				}
+				// The time check is measured after the run, on the same hyper-heuristic
+				long checks = 100000, checkStart = System.nanoTime();
+				for (long k = 0; k < checks; k++) {
+					sink += hyper_heuristic_object.getElapsedTime();
+				}
+				double checkNanos = (double) (System.nanoTime() - checkStart) / checks;
+				long iterations = Math.max(1, problem.getApplications());
+				double overhead = problem.getOverhead().getMean();
+				double[] values = {iterations / seconds, overhead, problem.getOverhead().getPercentile(0.5), problem.getOverhead().getPercentile(0.99),
+						overhead * (iterations - 1) / 1e9 / seconds, (double) bytes / iterations, bytes / 1e6 / seconds, checkNanos};
+				for (int k = 0; k < sums.length; k++) {
+					sums[k] += values[k] / runs;
+				}
+			}
+			System.out.printf("%-8s %12.0f %10.1f %10.0f %10.0f %7.1f%% %12.1f %10.1f %8.0f ns%n", algorithm, sums[0], sums[1], sums[2], sums[3],
+					100 * sums[4], sums[5], sums[6], sums[7]);
+		}
+		System.out.println("(checksum " + sink + ")");
+	}
+
+	// Creates a hyper-heuristic with the default DOS/IOM values for every LLH that uses them
+	private static HyperHeuristic create(String algorithm, long seed, SyntheticDomain problem) {
+		if (algorithm.equals("Example")) {
+			return new ExampleHyperHeuristic1(seed);
+		}
+		double[] dos = new double[problem.getHeuristicsThatUseDepthOfSearch().length];
+		double[] iom = new double[problem.getHeuristicsThatUseIntensityOfMutation().length];
+		Arrays.fill(dos, 0.2);
+		Arrays.fill(iom, 0.2);
+		return ExperimentRunner.createHyperHeuristic(algorithm, seed, dos, iom);
+	}
+
+	// Helper method to parse values from command line arguments
+	private static void parseValues(String[] args, double[] values, int index) {
+		for (int j = 0; j < values.length && index + 1 < args.length; j++) {
+			values[j] = Double.parseDouble(args[++index]);
+		}
+	}
+}
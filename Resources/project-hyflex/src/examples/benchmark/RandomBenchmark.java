@@ -0,0 +1,141 @@
+package examples.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import examples.rng.RandomStreams;
+
+/**
+ * This class compares java.util.Random, the generator of HyFlex, with FastRandom on the calls made in the loops of
+ * the hyper-heuristics and low-level heuristics: nextInt(bound) to pick a heuristic or a city, nextDouble() for
+ * acceptance and nextBoolean().
+ * It prints the mean time per call of each generator in one thread, then with several threads drawing either from
+ * one shared java.util.Random (whose atomic seed updates contend) or from their own streams of RandomStreams.
+ * When executing this class, please ensure to set the run configurations:
+ * [-n <draws>] [-r <rounds>] [-p <threads>]
+ *
+ * Full list of arguments:
+ * -n <draws>                 : calls of each method per round and thread (default: 1000000)
+ * -r <rounds>                : measured rounds (default: 10)
+ * -p <threads>               : threads of the concurrent comparison (default: 4)
+ *
+ * Example program arguments as run configuration:
+ * -n 2000000 -r 5 -p 8
+ *
+ * @date 2026.10.18
+ */
+
+public class RandomBenchmark {
+
+	private static final String[] METHODS = {"nextInt(bound)", "nextDouble()", "nextBoolean()"};
+
+	public static void main(String[] args) throws Exception {
+
+		int draws = 1000000, rounds = 10, threads = 4;
+
+		//-------------------------------Parse command line arguments--------------------------
+		for (int i = 0; i < args.length; i++) {
+			switch (args[i]) {
+				case "-n":
+					draws = Integer.parseInt(args[++i]);
+					break;
+				case "-r":
+					rounds = Integer.parseInt(args[++i]);
+					break;
+				case "-p":
+					threads = Integer.parseInt(args[++i]);
+					break;
+				default:
+					break;
+			}
+		}
+
+		//-------------------------------One thread---------------------------------------------
+		Random java = new Random(1234);
+		Random fast = new RandomStreams(1234, 1235).forHyperHeuristic(0);
+		long sink = 0;
+		for (int round = 0; round < 5; round++) { // warm-up
+			for (int m = 0; m < METHODS.length; m++) {
+				sink += draw(java, m, draws);
+				sink += draw(fast, m, draws);
+			}
+		}
+		double[] javaTimes = new double[METHODS.length], fastTimes = new double[METHODS.length];
+		for (int round = 0; round < rounds; round++) {
+			for (int m = 0; m < METHODS.length; m++) {
+				long start = System.nanoTime();
+				sink += draw(java, m, draws);
+				javaTimes[m] += (double) (System.nanoTime() - start) / draws / rounds;
+				start = System.nanoTime();
+				sink += draw(fast, m, draws);
+				fastTimes[m] += (double) (System.nanoTime() - start) / draws / rounds;
+			}
+		}
+		System.out.printf("%-16s %12s %12s %8s%n", "1 thread", "Random", "FastRandom", "speedup");
+		for (int m = 0; m < METHODS.length; m++) {
+			System.out.printf("%-16s %9.2f ns %9.2f ns %7.1fx%n", METHODS[m], javaTimes[m], fastTimes[m], javaTimes[m] / fastTimes[m]);
+		}
+
+		//-------------------------------Several threads----------------------------------------
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		Random shared = new Random(1234);
+		RandomStreams streams = new RandomStreams(1234, 1235);
+		double sharedTime = 0, streamTime = 0;
+		for (int round = -2; round < rounds; round++) { // the first two rounds are a warm-up
+			double s = concurrent(executor, threads, draws, worker -> shared);
+			double f = concurrent(executor, threads, draws, worker -> streams.forWorker(worker));
+			if (round >= 0) {
+				sharedTime += s / rounds;
+				streamTime += f / rounds;
+			}
+		}
+		executor.shutdown();
+		System.out.printf("%-16s %12s %12s %8s%n", threads + " threads", "shared", "streams", "speedup");
+		System.out.printf("%-16s %9.2f ns %9.2f ns %7.1fx%n", METHODS[0], sharedTime, streamTime, sharedTime / streamTime);
+		System.out.println("Available processors: " + Runtime.getRuntime().availableProcessors() + " (checksum " + sink + ")");
+	}
+
+	// Calls one of METHODS n times and returns a checksum of the values, so that the calls cannot be removed
+	private static long draw(Random rng, int method, int n) {
+		long sum = 0;
+		switch (method) {
+			case 0:
+				for (int i = 0; i < n; i++) {
+					sum += rng.nextInt(1000);
+				}
+				break;
+			case 1:
+				for (int i = 0; i < n; i++) {
+					sum += rng.nextDouble() < 0.5 ? 1 : 0;
+				}
+				break;
+			default:
+				for (int i = 0; i < n; i++) {
+					sum += rng.nextBoolean() ? 1 : 0;
+				}
+				break;
+		}
+		return sum;
+	}
+
+	private interface Generators {
+		Random get(int worker);
+	}
+
+	// Mean time in nanoseconds of a call of nextInt(bound) when all threads draw at once
+	private static double concurrent(ExecutorService executor, int threads, int draws, Generators generators) throws Exception {
+		List<Future<Long>> futures = new ArrayList<>();
+		long start = System.nanoTime();
+		for (int t = 0; t < threads; t++) {
+			Random rng = generators.get(t);
+			futures.add(executor.submit(() -> draw(rng, 0, draws)));
+		}
+		for (Future<Long> future : futures) {
+			future.get();
+		}
+		return (double) (System.nanoTime() - start) / ((long) draws * threads);
+	}
+}
@@ -0,0 +1,242 @@
+package examples.benchmark;
+
+import AbstractClasses.ProblemDomain;
+import java.util.Arrays;
+import examples.monitor.Metrics;
+
+/**
+ * This class is a stand-in problem domain whose low-level heuristics (LLHs) cost (almost) nothing, for measuring
+ * the cost of the hyper-heuristic layer itself: selection, acceptance, bookkeeping and time checks.
+ *
+ * A solution is only its objective value. An LLH multiplies the value of its source solution by 1 + a relative
+ * change drawn from a normal distribution with the mean and standard deviation of its type (local searches never
+ * worsen a solution), and busy-waits for the cost of its type in nanoseconds (0 by default). The normal deviates are
+ * drawn in advance, so an application does not allocate and costs a few nanoseconds besides its busy-wait.
+ *
+ * The types, in the order of the arrays given to the constructor, are MUTATION, RUIN_RECREATE, LOCAL_SEARCH and
+ * CROSSOVER; the LLH IDs are numbered in that order. The local searches use DOS and the mutations and ruin-recreates
+ * use IOM, which scale the mean change as in the real domains (more depth, more improvement; more intensity, more
+ * disruption).
+ *
+ * The domain also measures the time between the end of an application and the start of the next one, i.e. the
+ * time spent in the hyper-heuristic per iteration, in a histogram (see getOverhead()).
+ *
+ * @date 2026.10.18
+ */
+
+public class SyntheticDomain extends ProblemDomain {
+
+	// The types of LLHs, in the order of the arrays of the constructor
+	public static final HeuristicType[] TYPES = {HeuristicType.MUTATION, HeuristicType.RUIN_RECREATE, HeuristicType.LOCAL_SEARCH, HeuristicType.CROSSOVER};
+	// Counts, costs in nanoseconds, mean relative changes and standard deviations that resemble the TSP domain
+	public static final int[] TSP_COUNTS = {5, 1, 3, 4};
+	public static final long[] TSP_COSTS = {0, 0, 0, 0};
+	public static final double[] TSP_MEANS = {0.02, 0.01, -0.005, 0.01};
+	public static final double[] TSP_DEVIATIONS = {0.01, 0.01, 0.005, 0.02};
+
+	private static final double INITIAL_VALUE = 1e6;
+	// Number of normal deviates drawn in advance (a power of two)
+	private static final int DEVIATES = 1 << 16;
+
+	private final int[] typeOf;
+	private final long[] costs;
+	private final double[] means, deviations;
+	private final int[][] heuristicsOfType;
+	private final int[] dosHeuristics, iomHeuristics;
+	private final double[] deviates = new double[DEVIATES];
+	private int next;
+
+	// Objective values of the solution memory, set by the constructor of ProblemDomain through setMemorySize()
+	private double[] values;
+	private double best = Double.POSITIVE_INFINITY;
+
+	// Applications, end of the last one, and time spent between applications
+	private long applications, lastExit;
+	private final Metrics.Histogram overhead = new Metrics.Histogram();
+
+	/**
+	 * @param seed the seed of the random number generator
+	 * @param counts the number of LLHs of each type of TYPES
+	 * @param costs the cost of an application of each type in nanoseconds
+	 * @param means the mean relative change in objective value of each type
+	 * @param deviations the standard deviation of the relative change of each type
+	 */
+	public SyntheticDomain(long seed, int[] counts, long[] costs, double[] means, double[] deviations) {
+		super(seed);
+		this.costs = costs.clone();
+		this.means = means.clone();
+		this.deviations = deviations.clone();
+		int total = 0;
+		for (int count : counts) {
+			total += count;
+		}
+		typeOf = new int[total];
+		heuristicsOfType = new int[TYPES.length][];
+		for (int t = 0, id = 0; t < TYPES.length; t++) {
+			heuristicsOfType[t] = new int[counts[t]];
+			for (int k = 0; k < counts[t]; k++, id++) {
+				heuristicsOfType[t][k] = id;
+				typeOf[id] = t;
+			}
+		}
+		dosHeuristics = heuristicsOfType[2];
+		iomHeuristics = new int[counts[0] + counts[1]];
+		System.arraycopy(heuristicsOfType[0], 0, iomHeuristics, 0, counts[0]);
+		System.arraycopy(heuristicsOfType[1], 0, iomHeuristics, counts[0], counts[1]);
+		for (int k = 0; k < DEVIATES; k++) {
+			deviates[k] = rng.nextGaussian();
+		}
+	}
+
+	/**
+	 * @param seed the seed of the random number generator
+	 * @return a domain with the LLH counts of the TSP domain and zero-cost LLHs
+	 */
+	public static SyntheticDomain tspLike(long seed) {
+		return new SyntheticDomain(seed, TSP_COUNTS, TSP_COSTS, TSP_MEANS, TSP_DEVIATIONS);
+	}
+
+	@Override
+	public double applyHeuristic(int heuristicID, int solutionSourceIndex, int solutionDestinationIndex) {
+		long enter = System.nanoTime();
+		int type = typeOf[heuristicID];
+		// A crossover needs two parents; with one, as in HyFlex, it copies the source
+		double value = values[solutionSourceIndex];
+		if (TYPES[type] != HeuristicType.CROSSOVER) {
+			value = change(type, value);
+		}
+		return apply(type, value, solutionDestinationIndex, enter);
+	}
+
+	@Override
+	public double applyHeuristic(int heuristicID, int solutionSourceIndex1, int solutionSourceIndex2, int solutionDestinationIndex) {
+		long enter = System.nanoTime();
+		int type = typeOf[heuristicID];
+		double value = change(type, Math.min(values[solutionSourceIndex1], values[solutionSourceIndex2]));
+		return apply(type, value, solutionDestinationIndex, enter);
+	}
+
+	private double change(int type, double value) {
+		double mean = means[type];
+		if (TYPES[type] == HeuristicType.LOCAL_SEARCH) {
+			mean *= 0.5 + depthOfSearch;
+		} else if (TYPES[type] != HeuristicType.CROSSOVER) {
+			mean *= 0.5 + intensityOfMutation;
+		}
+		double change = mean + deviations[type] * deviates[next++ & (DEVIATES - 1)];
+		if (TYPES[type] == HeuristicType.LOCAL_SEARCH) {
+			change = Math.min(0, change);
+		}
+		// Keep the value positive and within reach of the initial value, however long the run
+		return Math.max(1, Math.min(INITIAL_VALUE * 10, value * (1 + change)));
+	}
+
+	private double apply(int type, double value, int destination, long enter) {
+		if (applications++ > 0) {
+			overhead.record(enter - lastExit);
+		}
+		for (long end = enter + costs[type]; costs[type] > 0 && System.nanoTime() < end;) {
+			Thread.onSpinWait();
+		}
+		values[destination] = value;
+		best = Math.min(best, value);
+		lastExit = System.nanoTime();
+		return value;
+	}
+
+	/**
+	 * @return the number of LLH applications
+	 */
+	public long getApplications() {
+		return applications;
+	}
+
+	/**
+	 * @return the distribution of the time between the end of an application and the start of the next one in
+	 * nanoseconds, i.e. the time spent in the hyper-heuristic per iteration
+	 */
+	public Metrics.Histogram getOverhead() {
+		return overhead;
+	}
+
+	@Override
+	public int[] getHeuristicsOfType(HeuristicType heuristicType) {
+		for (int t = 0; t < TYPES.length; t++) {
+			if (TYPES[t] == heuristicType) {
+				return heuristicsOfType[t].clone();
+			}
+		}
+		return new int[0];
+	}
+
+	@Override
+	public int[] getHeuristicsThatUseIntensityOfMutation() {
+		return iomHeuristics.clone();
+	}
+
+	@Override
+	public int[] getHeuristicsThatUseDepthOfSearch() {
+		return dosHeuristics.clone();
+	}
+
+	@Override
+	public void loadInstance(int instanceID) {
+	}
+
+	@Override
+	public void setMemorySize(int size) {
+		values = values == null ? new double[size] : Arrays.copyOf(values, size);
+	}
+
+	@Override
+	public void initialiseSolution(int index) {
+		values[index] = INITIAL_VALUE * (1 + 0.1 * rng.nextDouble());
+		best = Math.min(best, values[index]);
+	}
+
+	@Override
+	public int getNumberOfHeuristics() {
+		// 0 while the constructor of ProblemDomain runs
+		return typeOf == null ? 0 : typeOf.length;
+	}
+
+	@Override
+	public void copySolution(int solutionSourceIndex, int solutionDestinationIndex) {
+		values[solutionDestinationIndex] = values[solutionSourceIndex];
+	}
+
+	@Override
+	public String toString() {
+		return "Synthetic";
+	}
+
+	@Override
+	public int getNumberOfInstances() {
+		return 1;
+	}
+
+	@Override
+	public String bestSolutionToString() {
+		return Double.toString(best);
+	}
+
+	@Override
+	public double getBestSolutionValue() {
+		return best;
+	}
+
+	@Override
+	public String solutionToString(int solutionIndex) {
+		return Double.toString(values[solutionIndex]);
+	}
+
+	@Override
+	public double getFunctionValue(int solutionIndex) {
+		return values[solutionIndex];
+	}
+
+	@Override
+	public boolean compareSolutions(int solutionIndex1, int solutionIndex2) {
+		return values[solutionIndex1] == values[solutionIndex2];
+	}
+}
@@ -0,0 +1,42 @@
+package examples.control;
+
+import java.util.Random;
+
+/**
+ * Adaptive pursuit (Thierens, 2005): the probability of the level with the best quality estimate is moved
+ * towards pMax, and the probabilities of all other levels towards pMin, at learning rate beta.
+ *
+ * @date 2026.10.18
+ */
+
+public class AdaptivePursuit extends ParameterController {
+
+	private final double beta, pMax;
+
+	public AdaptivePursuit(double[] levels, int numHeuristics, int[] controlledHeuristics, Random rng) {
+		this(levels, numHeuristics, controlledHeuristics, 0.3, 0.3, rng);
+	}
+
+	/**
+	 * @param alpha the adaptation rate of the quality estimates
+	 * @param beta the learning rate of the probabilities
+	 */
+	public AdaptivePursuit(double[] levels, int numHeuristics, int[] controlledHeuristics, double alpha, double beta, Random rng) {
+		super(levels, numHeuristics, controlledHeuristics, alpha, rng);
+		this.beta = beta;
+		this.pMax = 1 - (levels.length - 1) * pMin;
+	}
+
+	protected void updateProbabilities(int heuristicId) {
+		double[] q = quality[heuristicId], p = probability[heuristicId];
+		int best = 0;
+		for (int l = 1; l < q.length; l++) {
+			if (q[l] > q[best]) {
+				best = l;
+			}
+		}
+		for (int l = 0; l < p.length; l++) {
+			p[l] += beta * ((l == best ? pMax : pMin) - p[l]);
+		}
+	}
+}
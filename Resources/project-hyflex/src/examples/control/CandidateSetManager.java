@@ -0,0 +1,239 @@
+package examples.control;
+
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * This class adapts the set of candidate low-level heuristics of a hyper-heuristic during a run, by temporarily
+ * retiring heuristics that are both expensive and unproductive (e.g. the large mutations and the 3-opt local search
+ * on the largest TSP instances, whose calls take a large share of the time budget without improving the solution).
+ *
+ * For each candidate, it measures the yield (the total improvement of the objective value per CPU millisecond)
+ * and the cost (the mean CPU time per call). No heuristic is retired during a warm-up window of a tenth of the time
+ * limit. After the warm-up, and then every warm-up window, a heuristic that has been applied at least MIN_APPLICATIONS
+ * times is retired if its cost is more than COST_FACTOR times the median cost of the active candidates and its yield
+ * is less than YIELD_FACTOR times their median yield. At least half of the candidates are kept.
+ * The statistics are halved after each decision, so that they follow the search as it moves on.
+ * The windows are measured on the CPU time of the thread of the run, like the time limit of HyFlex, so that they
+ * stay the same fraction of the budget on a loaded machine.
+ *
+ * A retired heuristic is returned to the candidate set for a re-test after a warm-up window, with fresh statistics;
+ * if it is retired again, the time until its next re-test is doubled.
+ *
+ * Heuristics that are not candidates (e.g. crossovers for SCF) are never retired.
+ *
+ * @date 2026.10.18
+ */
+
+public class CandidateSetManager {
+
+	// Minimum number of calls before a heuristic can be judged
+	public static final int MIN_APPLICATIONS = 5;
+	// A heuristic is expensive if its cost is this many times the median cost
+	public static final double COST_FACTOR = 4;
+	// A heuristic is unproductive if its yield is less than this fraction of the median yield
+	public static final double YIELD_FACTOR = 0.1;
+
+	private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+	private final String hyperHeuristic;
+	private final int[] candidates;
+	private final int minActive;
+
+	// Statistics since the heuristic was last admitted, halved after each decision, indexed by heuristic ID
+	private final double[] applications, cpuNanos, improvement;
+	// Whether each heuristic is retired, when it was last retired (Long.MIN_VALUE if never), and how long it stays retired
+	private final boolean[] retired;
+	private final long[] retiredAt, retestAfter;
+
+	private int[] active;
+	private final long start, window;
+	private long nextDecision;
+	private int retirements = 0, retests = 0;
+	private PrintStream log = System.err;
+
+	/**
+	 * The manager must be created and used by the thread of the run, whose CPU time it measures.
+	 *
+	 * @param hyperHeuristic the name of the hyper-heuristic, used in the log
+	 * @param candidates the IDs of the candidate heuristics
+	 * @param numHeuristics the number of heuristics of the problem domain
+	 * @param timeLimit the time limit of the run in milliseconds
+	 */
+	public CandidateSetManager(String hyperHeuristic, int[] candidates, int numHeuristics, long timeLimit) {
+		this.hyperHeuristic = hyperHeuristic;
+		this.candidates = candidates.clone();
+		this.minActive = Math.max(1, (candidates.length + 1) / 2);
+		this.applications = new double[numHeuristics];
+		this.cpuNanos = new double[numHeuristics];
+		this.improvement = new double[numHeuristics];
+		this.retired = new boolean[numHeuristics];
+		this.retiredAt = new long[numHeuristics];
+		this.retestAfter = new long[numHeuristics];
+		this.active = candidates.clone();
+		this.start = cpuTime();
+		this.window = Math.max(1, timeLimit / 10) * 1_000_000;
+		this.nextDecision = start + window;
+		Arrays.fill(retestAfter, window);
+		Arrays.fill(retiredAt, Long.MIN_VALUE);
+	}
+
+	/**
+	 * @return the CPU time of the current thread in nanoseconds, or the wall-clock time if it is not supported
+	 */
+	public static long cpuTime() {
+		return THREADS.isCurrentThreadCpuTimeSupported() ? THREADS.getCurrentThreadCpuTime() : System.nanoTime();
+	}
+
+	/**
+	 * @return the IDs of the candidate heuristics that are not retired
+	 */
+	public int[] getCandidates() {
+		return active;
+	}
+
+	/**
+	 * @param heuristicId the ID of a heuristic
+	 * @return true if the heuristic is currently retired
+	 */
+	public boolean isRetired(int heuristicId) {
+		return retired[heuristicId];
+	}
+
+	/**
+	 * Records one application of a heuristic, and updates the candidate set when a decision is due.
+	 *
+	 * @param heuristicId the ID of the heuristic
+	 * @param delta the improvement of the objective value (positive if the solution improved)
+	 * @param cpuTime the CPU time of the application in nanoseconds
+	 */
+	public void record(int heuristicId, double delta, long cpuTime) {
+		applications[heuristicId]++;
+		cpuNanos[heuristicId] += cpuTime;
+		if (delta > 0) {
+			improvement[heuristicId] += delta;
+		}
+		long now = cpuTime();
+		if (now >= nextDecision) {
+			decide(now);
+			nextDecision = now + window;
+		}
+	}
+
+	// Re-test the heuristics that have been retired long enough, then retire the expensive and unproductive ones
+	private void decide(long now) {
+		boolean changed = false;
+		for (int id : candidates) {
+			if (retired[id] && now - retiredAt[id] >= retestAfter[id]) {
+				retired[id] = false;
+				applications[id] = cpuNanos[id] = improvement[id] = 0;
+				retests++;
+				log("re-testing LLH " + id + " after " + (now - retiredAt[id]) / 1_000_000 + " ms", now);
+				changed = true;
+			}
+		}
+
+		// Yield and cost of the active candidates with enough calls
+		List<Integer> judged = new ArrayList<>();
+		for (int id : candidates) {
+			if (!retired[id] && applications[id] >= MIN_APPLICATIONS) {
+				judged.add(id);
+			}
+		}
+		if (judged.size() >= 2) {
+			double[] yields = new double[judged.size()], costs = new double[judged.size()];
+			for (int k = 0; k < judged.size(); k++) {
+				yields[k] = yieldOf(judged.get(k));
+				costs[k] = costOf(judged.get(k));
+			}
+			double medianYield = median(yields), medianCost = median(costs);
+			// Judge the most expensive heuristics first, as long as enough candidates remain
+			judged.sort((a, b) -> Double.compare(costOf(b), costOf(a)));
+			int numActive = countActive();
+			for (int id : judged) {
+				if (numActive <= minActive) {
+					break;
+				}
+				if (costOf(id) > COST_FACTOR * medianCost && yieldOf(id) < YIELD_FACTOR * medianYield) {
+					log(String.format("retiring LLH %d (%.4g improvement/ms, %.3f ms/call; median %.4g improvement/ms, %.3f ms/call)",
+							id, yieldOf(id), costOf(id) / 1e6, medianYield, medianCost / 1e6), now);
+					if (retiredAt[id] != Long.MIN_VALUE) { // retired before, wait twice as long for the next re-test
+						retestAfter[id] *= 2;
+					}
+					retired[id] = true;
+					retiredAt[id] = now;
+					retirements++;
+					numActive--;
+					changed = true;
+				}
+			}
+		}
+
+		// Halve the statistics so that recent calls weigh more
+		for (int id : candidates) {
+			applications[id] /= 2;
+			cpuNanos[id] /= 2;
+			improvement[id] /= 2;
+		}
+		if (changed) {
+			int[] ids = new int[countActive()];
+			int k = 0;
+			for (int id : candidates) {
+				if (!retired[id]) {
+					ids[k++] = id;
+				}
+			}
+			active = ids;
+		}
+	}
+
+	private double yieldOf(int id) {
+		return improvement[id] / (cpuNanos[id] / 1e6 + 1e-9);
+	}
+
+	private double costOf(int id) {
+		return cpuNanos[id] / applications[id];
+	}
+
+	private int countActive() {
+		int count = 0;
+		for (int id : candidates) {
+			if (!retired[id]) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	private static double median(double[] values) {
+		double[] sorted = values.clone();
+		Arrays.sort(sorted);
+		int m = sorted.length / 2;
+		return sorted.length % 2 == 1 ? sorted[m] : (sorted[m - 1] + sorted[m]) / 2;
+	}
+
+	private void log(String message, long now) {
+		if (log != null) {
+			log.println(hyperHeuristic + " at " + (now - start) / 1_000_000 + " ms: " + message);
+		}
+	}
+
+	/**
+	 * @param log the stream the decisions are printed to, null for none (default: the standard error)
+	 */
+	public void setLog(PrintStream log) {
+		this.log = log;
+	}
+
+	public int getRetirements() {
+		return retirements;
+	}
+
+	public int getRetests() {
+		return retests;
+	}
+}
@@ -0,0 +1,92 @@
+package examples.control;
+
+import AbstractClasses.ProblemDomain;
+import AbstractClasses.ProblemDomain.HeuristicType;
+import java.util.Arrays;
+
+/**
+ * This class remembers which LOCAL_SEARCH heuristics have already failed to improve the current solution,
+ * so that the hyper-heuristic does not spend its time budget on calls that cannot change anything.
+ *
+ * The current solution is identified by a version counter instead of a hash: the hyper-heuristic calls
+ * solutionChanged() whenever it replaces the current solution, except when the new solution is the output of a
+ * local search that did not improve (which leaves the solution unchanged). The local searches of the HyFlex
+ * domains are deterministic first/best improvement searches whose depth of search only bounds the number of
+ * iterations, so a local search that found no improvement is at a fixed point for any lower or equal depth of search.
+ *
+ * @date 2026.10.18
+ */
+
+public class LocalOptimumMemo {
+
+	// Whether each heuristic is a LOCAL_SEARCH heuristic, indexed by heuristic ID
+	private final boolean[] localSearch;
+	// The solution version at which each heuristic failed to improve, -1 if it has not failed on the current solution
+	private final long[] failedVersion;
+	// The depth of search at which each heuristic failed to improve
+	private final double[] failedDos;
+
+	private long version = 0;
+	private long skipped = 0;
+
+	/**
+	 * @param problem the problem domain, used to find the LOCAL_SEARCH heuristics
+	 */
+	public LocalOptimumMemo(ProblemDomain problem) {
+		int numHeuristics = problem.getNumberOfHeuristics();
+		localSearch = new boolean[numHeuristics];
+		failedVersion = new long[numHeuristics];
+		failedDos = new double[numHeuristics];
+		for (int id : problem.getHeuristicsOfType(HeuristicType.LOCAL_SEARCH)) {
+			localSearch[id] = true;
+		}
+		Arrays.fill(failedVersion, -1);
+	}
+
+	/**
+	 * @param heuristicId the ID of a heuristic
+	 * @param dos the depth of search it would be applied with
+	 * @return true if the heuristic is a local search that already failed to improve the current solution with at least this depth of search
+	 */
+	public boolean isRedundant(int heuristicId, double dos) {
+		return failedVersion[heuristicId] == version && dos <= failedDos[heuristicId];
+	}
+
+	/**
+	 * Records the outcome of one application of a heuristic to the current solution.
+	 *
+	 * @param heuristicId the ID of the heuristic
+	 * @param dos the depth of search used
+	 * @param delta the improvement of the objective value (positive if the solution improved)
+	 * @return true if the heuristic was a local search that reached a fixed point, i.e. its output equals the current solution
+	 */
+	public boolean record(int heuristicId, double dos, double delta) {
+		if (!localSearch[heuristicId] || delta > 0) {
+			return false;
+		}
+		failedVersion[heuristicId] = version;
+		failedDos[heuristicId] = dos;
+		return true;
+	}
+
+	/**
+	 * Invalidates all recorded fixed points, to be called when the current solution is replaced.
+	 */
+	public void solutionChanged() {
+		version++;
+	}
+
+	/**
+	 * Counts one selection that was redirected away from a redundant local search.
+	 */
+	public void skip() {
+		skipped++;
+	}
+
+	/**
+	 * @return the number of redundant local search calls that were avoided
+	 */
+	public long getSkipped() {
+		return skipped;
+	}
+}
@@ -0,0 +1,140 @@
+package examples.control;
+
+import java.util.Random;
+
+/**
+ * This class is the base of the online parameter controllers for DOS and IOM.
+ * The parameter range (0, 1] is discretised into levels, and for every low-level heuristic (LLH) the controller
+ * keeps a quality estimate and a selection probability per level. Before a LLH is applied, a level is drawn
+ * from its probabilities; afterwards, the improvement per unit time obtained with that level is credited to it.
+ * Subclasses define how the probabilities follow the quality estimates.
+ *
+ * @date 2026.10.18
+ */
+
+public abstract class ParameterController {
+
+	// Default discretisation of the parameter range
+	public static final double[] DEFAULT_LEVELS = {0.1, 0.3, 0.5, 0.7, 0.9};
+
+	// Names of the available control modes, as accepted by create()
+	public static final String[] MODES = {"none", "pursuit", "matching"};
+
+	protected final double[] levels;
+	protected final boolean[] controlled;
+	protected final double[][] quality, probability;
+	protected final double pMin, alpha;
+	protected final Random rng;
+
+	/**
+	 * @param levels the parameter values that can be selected
+	 * @param numHeuristics the number of LLHs of the problem domain
+	 * @param controlledHeuristics the IDs of the LLHs that use the parameter
+	 * @param alpha the adaptation rate of the quality estimates
+	 * @param rng the random number generator of the hyper-heuristic
+	 */
+	protected ParameterController(double[] levels, int numHeuristics, int[] controlledHeuristics, double alpha, Random rng) {
+		this.levels = levels;
+		this.controlled = new boolean[numHeuristics];
+		this.quality = new double[numHeuristics][levels.length];
+		this.probability = new double[numHeuristics][levels.length];
+		this.pMin = 0.5 / levels.length; // every level keeps being tried
+		this.alpha = alpha;
+		this.rng = rng;
+		for (int id : controlledHeuristics) {
+			controlled[id] = true;
+		}
+		for (int h = 0; h < numHeuristics; h++) {
+			for (int l = 0; l < levels.length; l++) {
+				probability[h][l] = 1.0 / levels.length;
+			}
+		}
+	}
+
+	/**
+	 * Creates a controller for the given mode.
+	 *
+	 * @param mode one of MODES
+	 * @param numHeuristics the number of LLHs of the problem domain
+	 * @param controlledHeuristics the IDs of the LLHs that use the parameter
+	 * @param rng the random number generator of the hyper-heuristic
+	 * @return the controller, or null for mode "none"
+	 */
+	public static ParameterController create(String mode, int numHeuristics, int[] controlledHeuristics, Random rng) {
+		switch (mode) {
+			case "none":
+				return null;
+			case "pursuit":
+				return new AdaptivePursuit(DEFAULT_LEVELS, numHeuristics, controlledHeuristics, rng);
+			case "matching":
+				return new ProbabilityMatching(DEFAULT_LEVELS, numHeuristics, controlledHeuristics, rng);
+			default:
+				throw new IllegalArgumentException("Unknown parameter control mode: " + mode);
+		}
+	}
+
+	/**
+	 * @return true if the parameter of the given LLH is controlled
+	 */
+	public boolean isControlled(int heuristicId) {
+		return controlled[heuristicId];
+	}
+
+	/**
+	 * Draws the level to use for the next application of a LLH (roulette wheel on the probabilities).
+	 *
+	 * @param heuristicId the ID of the LLH
+	 * @return the index of the level
+	 */
+	public int selectLevel(int heuristicId) {
+		double[] p = probability[heuristicId];
+		double r = rng.nextDouble();
+		for (int l = 0; l < p.length - 1; l++) {
+			r -= p[l];
+			if (r < 0) {
+				return l;
+			}
+		}
+		return p.length - 1;
+	}
+
+	/**
+	 * @return the parameter value of a level
+	 */
+	public double getLevel(int level) {
+		return levels[level];
+	}
+
+	/**
+	 * Credits the outcome of one application of a LLH to the level it was applied with.
+	 *
+	 * @param heuristicId the ID of the LLH
+	 * @param level the index of the level that was used
+	 * @param delta the improvement of the objective value (positive if the solution improved)
+	 * @param timeTaken the time taken to apply the LLH in nanoseconds
+	 */
+	public void update(int heuristicId, int level, double delta, long timeTaken) {
+		// reward: improvement per millisecond, non-improving moves give no credit
+		double reward = Math.max(0, delta) / (timeTaken / 1_000_000.0 + 1e-3);
+		quality[heuristicId][level] += alpha * (reward - quality[heuristicId][level]);
+		updateProbabilities(heuristicId);
+	}
+
+	/**
+	 * Updates the probabilities of the levels of a LLH from their quality estimates.
+	 */
+	protected abstract void updateProbabilities(int heuristicId);
+
+	/**
+	 * @return the level with the highest probability for the given LLH
+	 */
+	public int getPreferredLevel(int heuristicId) {
+		int best = 0;
+		for (int l = 1; l < levels.length; l++) {
+			if (probability[heuristicId][l] > probability[heuristicId][best]) {
+				best = l;
+			}
+		}
+		return best;
+	}
+}
@@ -0,0 +1,35 @@
+package examples.control;
+
+import java.util.Random;
+
+/**
+ * Probability matching: the probability of each level is proportional to its share of the credit
+ * (quality estimate), with a floor of pMin for every level.
+ *
+ * @date 2026.10.18
+ */
+
+public class ProbabilityMatching extends ParameterController {
+
+	public ProbabilityMatching(double[] levels, int numHeuristics, int[] controlledHeuristics, Random rng) {
+		this(levels, numHeuristics, controlledHeuristics, 0.3, rng);
+	}
+
+	/**
+	 * @param alpha the adaptation rate of the quality estimates
+	 */
+	public ProbabilityMatching(double[] levels, int numHeuristics, int[] controlledHeuristics, double alpha, Random rng) {
+		super(levels, numHeuristics, controlledHeuristics, alpha, rng);
+	}
+
+	protected void updateProbabilities(int heuristicId) {
+		double[] q = quality[heuristicId], p = probability[heuristicId];
+		double sum = 0;
+		for (double v : q) {
+			sum += v;
+		}
+		for (int l = 0; l < p.length; l++) {
+			p[l] = sum > 0 ? pMin + (1 - p.length * pMin) * q[l] / sum : 1.0 / p.length;
+		}
+	}
+}
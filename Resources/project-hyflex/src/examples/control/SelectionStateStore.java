@@ -0,0 +1,116 @@
+package examples.control;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * This class stores the heuristic selection state of a hyper-heuristic at the end of a run (e.g. the f1/f2/f3
+ * scores and phi of MCF, or the HeuristicData of SCF), one file per hyper-heuristic and instance, so that the
+ * next run on the same instance can start from it instead of from zeroed scores.
+ *
+ * A state is a set of named arrays of doubles. Each file holds one array per line: the name followed by the values,
+ * e.g. "phi 0.99" or "f1 12.5 -3.0 0.0". Files are written to a temporary file first and then moved, so runs in
+ * parallel never read a partly written state.
+ *
+ * The decay is the weight given to the stored state by the hyper-heuristics: 0 ignores it, 1 starts from it as is.
+ *
+ * @date 2026.10.18
+ */
+
+public class SelectionStateStore {
+
+	private final File directory;
+	private final double decay;
+
+	/**
+	 * @param directory the directory of the state files, created if needed
+	 * @param decay the weight of the stored state in [0, 1]
+	 */
+	public SelectionStateStore(String directory, double decay) {
+		this.directory = new File(directory);
+		this.decay = decay;
+	}
+
+	public double getDecay() {
+		return decay;
+	}
+
+	private File file(String hyperHeuristic, int instance) {
+		return new File(directory, hyperHeuristic + "-" + instance + ".txt");
+	}
+
+	/**
+	 * @param hyperHeuristic the name of the hyper-heuristic, e.g. "SCF"
+	 * @param instance the ID of the instance
+	 * @return the stored state, or null if there is none or it cannot be read
+	 */
+	public Map<String, double[]> load(String hyperHeuristic, int instance) {
+		File file = file(hyperHeuristic, instance);
+		if (!file.isFile()) {
+			return null;
+		}
+		Map<String, double[]> state = new LinkedHashMap<>();
+		try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				line = line.trim();
+				if (line.isEmpty() || line.startsWith("#")) {
+					continue;
+				}
+				String[] tokens = line.split("\\s+");
+				double[] values = new double[tokens.length - 1];
+				for (int i = 0; i < values.length; i++) {
+					values[i] = Double.parseDouble(tokens[i + 1]);
+				}
+				state.put(tokens[0], values);
+			}
+		} catch (IOException | NumberFormatException e) {
+			System.err.println("Ignoring selection state " + file + ": " + e.getMessage());
+			return null;
+		}
+		return state;
+	}
+
+	/**
+	 * Replaces the stored state of a hyper-heuristic on an instance.
+	 *
+	 * @param hyperHeuristic the name of the hyper-heuristic, e.g. "SCF"
+	 * @param instance the ID of the instance
+	 * @param state the named arrays to store
+	 */
+	public void save(String hyperHeuristic, int instance, Map<String, double[]> state) {
+		File file = file(hyperHeuristic, instance);
+		try {
+			Files.createDirectories(directory.toPath());
+			File temporary = File.createTempFile(file.getName(), ".tmp", directory);
+			try (PrintWriter out = new PrintWriter(temporary)) {
+				out.println("# " + hyperHeuristic + " selection state at the end of a run on instance " + instance);
+				for (Map.Entry<String, double[]> entry : state.entrySet()) {
+					StringBuilder line = new StringBuilder(entry.getKey());
+					for (double value : entry.getValue()) {
+						line.append(' ').append(value);
+					}
+					out.println(line);
+				}
+			}
+			Files.move(temporary.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			System.err.println("Cannot save selection state " + file + ": " + e.getMessage());
+		}
+	}
+
+	/**
+	 * @return the array of the state with the given name if it has the expected length, otherwise null
+	 */
+	public static double[] get(Map<String, double[]> state, String name, int length) {
+		double[] values = state == null ? null : state.get(name);
+		return values != null && values.length == length ? values : null;
+	}
+}
@@ -0,0 +1,277 @@
+package examples.distributed;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * This class dispatches experiments to Worker processes over TCP.
+ * Experiments are queued by submit() and sent to the connected workers as soon as they have a free slot.
+ * A worker that closes its connection or misses heartbeats for longer than the heartbeat timeout is considered dead:
+ * its running experiments are put back at the head of the queue and retried on another worker, up to a maximum
+ * number of attempts. Workers are told to send their heartbeats every third of the timeout (at most every second),
+ * so that a healthy worker is not declared dead whatever the timeout. When the last worker is lost and no new
+ * worker connects within the heartbeat timeout, the queued experiments fail instead of waiting forever.
+ *
+ * @date 2026.10.18
+ */
+
+public class Coordinator implements Closeable {
+
+	// An experiment waiting for or being run by a worker
+	private static class Job {
+
+		final long id;
+		final String algorithm, arguments;
+		final CompletableFuture<Double> result = new CompletableFuture<>();
+		int attempts = 0;
+
+		Job(long id, String algorithm, String arguments) {
+			this.id = id;
+			this.algorithm = algorithm;
+			this.arguments = arguments;
+		}
+	}
+
+	// The connection to one worker
+	private class Connection {
+
+		final Socket socket;
+		final PrintWriter out;
+		final Map<Long, Job> running = new HashMap<>();
+		int slots = 0;
+		boolean alive = true;
+		volatile long lastSeen = System.currentTimeMillis();
+
+		Connection(Socket socket) throws IOException {
+			this.socket = socket;
+			this.out = new PrintWriter(socket.getOutputStream(), true);
+		}
+	}
+
+	private final ServerSocket server;
+	private final long heartbeatTimeout;
+	private final int maxAttempts;
+
+	// Guarded by this
+	private final Deque<Job> queue = new ArrayDeque<>();
+	private final List<Connection> workers = new ArrayList<>();
+	private long nextJobId = 0;
+	// Time at which the last worker was lost, -1 while there are workers or before the first one connects
+	private long noWorkersSince = -1;
+	private volatile boolean closed = false;
+
+	/**
+	 * Starts listening for workers.
+	 *
+	 * @param port the TCP port to listen on, 0 for any free port
+	 * @param heartbeatTimeout the time in milliseconds after which a silent worker is considered dead
+	 * @param maxAttempts the maximum number of times an experiment is tried
+	 */
+	public Coordinator(int port, long heartbeatTimeout, int maxAttempts) throws IOException {
+		this.server = new ServerSocket(port);
+		this.heartbeatTimeout = heartbeatTimeout;
+		this.maxAttempts = maxAttempts;
+		startDaemon(this::acceptWorkers, "coordinator-accept");
+		startDaemon(this::monitorHeartbeats, "coordinator-heartbeat");
+	}
+
+	/**
+	 * @return the port the coordinator listens on
+	 */
+	public int getPort() {
+		return server.getLocalPort();
+	}
+
+	/**
+	 * @return the number of connected workers that are alive
+	 */
+	public synchronized int getNumberOfWorkers() {
+		return workers.size();
+	}
+
+	/**
+	 * Queues an experiment.
+	 *
+	 * @param algorithm the hyper-heuristic to run, one of ExperimentRunner.ALGORITHMS
+	 * @param arguments the arguments of the experiment as for RNRunner: <id.configuration> <id.instance> <seed> <instance> -d ... -i ... -t ...
+	 * @return the future best solution value of the experiment
+	 */
+	public CompletableFuture<Double> submit(String algorithm, String arguments) {
+		Job job;
+		synchronized (this) {
+			job = new Job(nextJobId++, algorithm, arguments.trim());
+			queue.addLast(job);
+			dispatch();
+		}
+		return job.result;
+	}
+
+	// Send queued jobs to workers with free slots
+	private synchronized void dispatch() {
+		for (Connection worker : workers) {
+			while (worker.alive && worker.running.size() < worker.slots && !queue.isEmpty()) {
+				Job job = queue.pollFirst();
+				job.attempts++;
+				worker.running.put(job.id, job);
+				worker.out.println("RUN " + job.id + " " + job.algorithm + " " + job.arguments);
+			}
+		}
+	}
+
+	// Accept worker connections until the coordinator is closed
+	private void acceptWorkers() {
+		while (!closed) {
+			try {
+				Socket socket = server.accept();
+				socket.setTcpNoDelay(true);
+				Connection worker = new Connection(socket);
+				startDaemon(() -> readWorker(worker), "coordinator-worker");
+			} catch (IOException e) {
+				if (!closed) {
+					System.err.println("Coordinator cannot accept workers: " + e.getMessage());
+				}
+			}
+		}
+	}
+
+	// Handle the messages of one worker until its connection is lost
+	private void readWorker(Connection worker) {
+		try (BufferedReader in = new BufferedReader(new InputStreamReader(worker.socket.getInputStream()))) {
+			String line;
+			while ((line = in.readLine()) != null) {
+				worker.lastSeen = System.currentTimeMillis();
+				String[] tokens = line.split("\\s+", 3);
+				switch (tokens[0]) {
+					case "HELLO":
+						synchronized (this) {
+							worker.slots = Integer.parseInt(tokens[1]);
+							worker.out.println("INTERVAL " + Math.max(1, Math.min(Worker.HEARTBEAT_INTERVAL, heartbeatTimeout / 3)));
+							workers.add(worker);
+							noWorkersSince = -1;
+							dispatch();
+						}
+						break;
+					case "RESULT":
+					case "ERROR":
+						Job job;
+						synchronized (this) {
+							job = worker.running.remove(Long.parseLong(tokens[1]));
+							dispatch();
+						}
+						if (job != null && tokens[0].equals("RESULT")) {
+							job.result.complete(Double.parseDouble(tokens[2]));
+						} else if (job != null) {
+							job.result.completeExceptionally(new IllegalStateException("Experiment " + job.arguments + " failed: " + tokens[2]));
+						}
+						break;
+					default: // HEARTBEAT
+						break;
+				}
+			}
+		} catch (IOException | RuntimeException e) {
+			// the worker is treated as dead below
+		}
+		workerFailed(worker);
+	}
+
+	// Requeue the running jobs of a dead worker
+	private synchronized void workerFailed(Connection worker) {
+		if (!worker.alive) {
+			return;
+		}
+		worker.alive = false;
+		workers.remove(worker);
+		try {
+			worker.socket.close();
+		} catch (IOException e) {
+			// already closed
+		}
+		for (Job job : worker.running.values()) {
+			if (job.attempts >= maxAttempts) {
+				job.result.completeExceptionally(new IllegalStateException("Experiment " + job.arguments + " failed on " + job.attempts + " workers"));
+			} else {
+				queue.addFirst(job);
+			}
+		}
+		if (!worker.running.isEmpty() && !closed) {
+			System.err.println("Worker " + worker.socket.getRemoteSocketAddress() + " lost, " + worker.running.size() + " experiments requeued");
+		}
+		worker.running.clear();
+		if (workers.isEmpty()) {
+			noWorkersSince = System.currentTimeMillis();
+		}
+		dispatch();
+	}
+
+	// Close the connections of workers that missed their heartbeats
+	private void monitorHeartbeats() {
+		while (!closed) {
+			try {
+				Thread.sleep(Math.max(1, heartbeatTimeout / 4));
+			} catch (InterruptedException e) {
+				return;
+			}
+			long now = System.currentTimeMillis();
+			List<Connection> silent = new ArrayList<>();
+			synchronized (this) {
+				for (Connection worker : workers) {
+					if (now - worker.lastSeen > heartbeatTimeout) {
+						silent.add(worker);
+					}
+				}
+			}
+			for (Connection worker : silent) {
+				workerFailed(worker);
+			}
+			failOrphanedJobs(now);
+		}
+	}
+
+	// Fail the queued jobs once no worker has been connected for longer than the heartbeat timeout
+	private synchronized void failOrphanedJobs(long now) {
+		if (!workers.isEmpty() || noWorkersSince < 0 || now - noWorkersSince <= heartbeatTimeout || queue.isEmpty()) {
+			return;
+		}
+		System.err.println("No worker left for " + (now - noWorkersSince) + " ms, " + queue.size() + " experiments failed");
+		for (Job job : queue) {
+			job.result.completeExceptionally(new IllegalStateException("Experiment " + job.arguments + " failed: no worker left"));
+		}
+		queue.clear();
+	}
+
+	/**
+	 * Sends SHUTDOWN to all workers and stops listening.
+	 */
+	public void close() throws IOException {
+		closed = true;
+		synchronized (this) {
+			for (Connection worker : workers) {
+				worker.out.println("SHUTDOWN");
+			}
+		}
+		try {
+			server.close();
+		} catch (SocketException e) {
+			// already closed
+		}
+	}
+
+	private static void startDaemon(Runnable task, String name) {
+		Thread thread = new Thread(task, name);
+		thread.setDaemon(true);
+		thread.start();
+	}
+}
@@ -0,0 +1,129 @@
+package examples.distributed;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * This class runs a batch of experiments on Worker processes through a Coordinator, in the same input and output
+ * format as examples.tuning.BatchRunner: one experiment per input line, one result per output line, in order.
+ * With -workers, the worker processes are started on localhost, which is convenient for testing; workers on other
+ * nodes can connect to the printed port with: java examples.distributed.Worker -host <coordinator> -port <port>
+ * When executing this class, please ensure to set the run configurations:
+ * [-a <algorithm>] [-port <port>] [-workers <n>] [-slots <slots>] [-timeout <ms>] [-attempts <n>] [<file>]
+ *
+ * Full list of arguments:
+ * -a <algorithm>             : hyper-heuristic to run: RN, SCF, MCF or Bandit (default: RN)
+ * -port <port>               : TCP port of the coordinator (default: any free port)
+ * -workers <n>               : number of local worker processes to start (default: 0, wait for remote workers)
+ * -slots <slots>             : number of parallel experiments per local worker (default: 1)
+ * -timeout <ms>              : heartbeat timeout after which a worker is considered dead, and the experiments fail when no worker is left (default: 5000)
+ * -attempts <n>              : maximum number of attempts per experiment (default: 3)
+ * <file>                     : file with one experiment per line (default: standard input)
+ *
+ * @date 2026.10.18
+ */
+
+public class DistributedRunner {
+
+	public static void main(String[] args) throws IOException {
+
+		String algorithm = "RN", fileName = null;
+		int port = 0, numWorkers = 0, slots = 1, attempts = 3;
+		long timeout = 5000;
+
+		//-------------------------------Parse command line arguments--------------------------
+		for (int i = 0; i < args.length; i++) {
+			switch (args[i]) {
+				case "-a":
+					algorithm = args[++i];
+					break;
+				case "-port":
+					port = Integer.parseInt(args[++i]);
+					break;
+				case "-workers":
+					numWorkers = Integer.parseInt(args[++i]);
+					break;
+				case "-slots":
+					slots = Integer.parseInt(args[++i]);
+					break;
+				case "-timeout":
+					timeout = Long.parseLong(args[++i]);
+					break;
+				case "-attempts":
+					attempts = Integer.parseInt(args[++i]);
+					break;
+				default:
+					if (fileName != null || (args[i].startsWith("-") && !args[i].equals("-"))) {
+						System.err.println("Unknown argument: " + args[i]);
+						System.err.println("Usage: java examples.distributed.DistributedRunner [-a <algorithm>] [-port <port>] [-workers <n>] [-slots <slots>] [-timeout <ms>] [-attempts <n>] [<file>]");
+						System.exit(1);
+					}
+					fileName = args[i];
+					break;
+			}
+		}
+
+		// Read the experiments
+		List<String> experiments = new ArrayList<>();
+		try (BufferedReader reader = fileName == null || fileName.equals("-")
+				? new BufferedReader(new InputStreamReader(System.in)) : new BufferedReader(new FileReader(fileName))) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				line = line.trim();
+				if (!line.isEmpty() && !line.startsWith("#")) {
+					experiments.add(line);
+				}
+			}
+		}
+
+		try (Coordinator coordinator = new Coordinator(port, timeout, attempts)) {
+			System.err.println("Coordinator listening on port " + coordinator.getPort());
+			List<Process> processes = startLocalWorkers(numWorkers, slots, coordinator.getPort());
+
+			List<CompletableFuture<Double>> results = new ArrayList<>();
+			for (String experiment : experiments) {
+				results.add(coordinator.submit(algorithm, experiment));
+			}
+			try {
+				for (CompletableFuture<Double> result : results) {
+					System.out.println(result.get());
+				}
+			} catch (InterruptedException | ExecutionException e) {
+				System.err.println(e.getCause() != null ? e.getCause().getMessage() : e.getMessage());
+				System.exit(1);
+			} finally {
+				for (Process process : processes) {
+					process.destroy();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Starts worker processes on localhost with the class path of this JVM.
+	 *
+	 * @param numWorkers the number of worker processes
+	 * @param slots the number of parallel experiments per worker
+	 * @param port the port of the coordinator
+	 * @return the started processes
+	 */
+	public static List<Process> startLocalWorkers(int numWorkers, int slots, int port) throws IOException {
+		String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+		List<Process> processes = new ArrayList<>();
+		for (int w = 0; w < numWorkers; w++) {
+			ProcessBuilder builder = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"), Worker.class.getName(),
+					"-host", "localhost", "-port", Integer.toString(port), "-slots", Integer.toString(slots));
+			builder.redirectOutput(ProcessBuilder.Redirect.DISCARD);
+			builder.redirectError(ProcessBuilder.Redirect.INHERIT);
+			processes.add(builder.start());
+		}
+		return processes;
+	}
+}
@@ -0,0 +1,129 @@
+package examples.distributed;
+
+import examples.tuning.Experiment;
+import examples.tuning.ExperimentRunner;
+import examples.tuning.InstanceCache;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.Socket;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class is a worker process of the distributed tuning set-up. It connects to a Coordinator over TCP,
+ * runs the experiments it receives on up to <slots> threads, keeping the loaded instances warm between experiments,
+ * and sends back the best solution value of each experiment. A heartbeat is sent at the interval the coordinator
+ * replies to HELLO with (every second until then), so that the coordinator can detect a dead worker and hand its
+ * experiments to another one.
+ * When executing this class, please ensure to set the run configurations:
+ * -host <host> -port <port> [-slots <slots>]
+ *
+ * Protocol (one message per line):
+ * worker -> coordinator      : HELLO <slots>, HEARTBEAT, RESULT <job> <value>, ERROR <job> <message>
+ * coordinator -> worker      : INTERVAL <heartbeat interval in ms>, RUN <job> <algorithm> <experiment arguments as for RNRunner>, SHUTDOWN
+ *
+ * @date 2026.10.18
+ */
+
+public class Worker {
+
+	// Interval between two heartbeats in milliseconds, until the coordinator sends its own
+	public static final long HEARTBEAT_INTERVAL = 1000;
+
+	public static void main(String[] args) {
+
+		String host = "localhost";
+		int port = 0, slots = Runtime.getRuntime().availableProcessors();
+
+		//-------------------------------Parse command line arguments--------------------------
+		for (int i = 0; i < args.length; i++) {
+			switch (args[i]) {
+				case "-host":
+					host = args[++i];
+					break;
+				case "-port":
+					port = Integer.parseInt(args[++i]);
+					break;
+				case "-slots":
+					slots = Integer.parseInt(args[++i]);
+					break;
+				default:
+					break;
+			}
+		}
+		if (port <= 0) {
+			System.err.println("Usage: java examples.distributed.Worker -host <host> -port <port> [-slots <slots>]");
+			System.exit(1);
+		}
+
+		try {
+			new Worker().serve(host, port, slots);
+		} catch (IOException e) {
+			System.err.println("Worker lost the connection to " + host + ":" + port + ": " + e.getMessage());
+			System.exit(1);
+		}
+		System.exit(0);
+	}
+
+	/**
+	 * Connects to the coordinator and runs experiments until the coordinator sends SHUTDOWN or closes the connection.
+	 */
+	public void serve(String host, int port, int slots) throws IOException {
+		InstanceCache cache = new InstanceCache();
+		ExecutorService executor = Executors.newFixedThreadPool(slots);
+		ScheduledExecutorService heartbeat = Executors.newSingleThreadScheduledExecutor();
+		try (Socket socket = new Socket(host, port)) {
+			socket.setTcpNoDelay(true);
+			BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream()));
+			PrintWriter out = new PrintWriter(socket.getOutputStream(), true);
+			send(out, "HELLO " + slots);
+			ScheduledFuture<?> beats = heartbeat.scheduleAtFixedRate(() -> send(out, "HEARTBEAT"), 0, HEARTBEAT_INTERVAL, TimeUnit.MILLISECONDS);
+
+			String line;
+			while ((line = in.readLine()) != null) {
+				if (line.equals("SHUTDOWN")) {
+					break;
+				}
+				if (line.startsWith("INTERVAL ")) {
+					long interval = Math.max(1, Long.parseLong(line.substring("INTERVAL ".length()).trim()));
+					beats.cancel(false);
+					beats = heartbeat.scheduleAtFixedRate(() -> send(out, "HEARTBEAT"), 0, interval, TimeUnit.MILLISECONDS);
+					continue;
+				}
+				if (!line.startsWith("RUN ")) {
+					continue;
+				}
+				// RUN <job> <algorithm> <arguments...>
+				String[] tokens = line.split("\\s+");
+				String job = tokens[1], algorithm = tokens[2];
+				String[] experimentArgs = new String[tokens.length - 3];
+				System.arraycopy(tokens, 3, experimentArgs, 0, experimentArgs.length);
+				executor.submit(() -> {
+					try {
+						Experiment experiment = Experiment.parse(experimentArgs);
+						double value = ExperimentRunner.run(algorithm, experiment, cache.load(experiment));
+						send(out, "RESULT " + job + " " + value);
+					} catch (Throwable e) {
+						// Errors too (e.g. OutOfMemoryError), otherwise the job would never complete on the coordinator
+						send(out, "ERROR " + job + " " + e.toString().replace('\n', ' '));
+					}
+				});
+			}
+		} finally {
+			heartbeat.shutdownNow();
+			executor.shutdownNow();
+		}
+	}
+
+	// Messages are sent from the heartbeat and the experiment threads
+	private static void send(PrintWriter out, String message) {
+		synchronized (out) {
+			out.println(message);
+		}
+	}
+}
@@ -0,0 +1,201 @@
+package examples.features;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import AbstractClasses.ProblemDomain;
+import travelingSalesmanProblem.TSP;
+
+/**
+ * This class holds a portfolio of tuned DOS/IOM configurations, each with the features of the instance
+ * (or the mean features of the instances) it was tuned on, and selects the configuration whose features are
+ * closest to those of a new instance.
+ *
+ * The portfolio file has the same layout as configurations.txt: a header line with the column names, then one
+ * configuration per line. The columns are a label, any of InstanceFeatures.NAMES, and the parameters d1 d2 d3 i1 i2 i3:
+ * each configuration has as many DOS and IOM values as the defaults of the runners, or the file is rejected.
+ * Lines starting with # are comments. Example:
+ * label cities spread nn.mean nn.cv grid.empty d1 d2 d3 i1 i2 i3
+ * small 299 0.5358 0.5469 0.3723 0.4727 0.2 0.2 0.2 0.2 0.2 0.2
+ *
+ * Distances between instances are Euclidean over the features, with the number of cities on a log scale and each
+ * feature divided by its range in the portfolio.
+ *
+ * @date 2026.10.18
+ */
+
+public class ConfigurationPortfolio {
+
+	// Number of DOS values and of IOM values of a configuration, as in the defaults of the runners
+	public static final int VALUES = 3;
+
+	/**
+	 * One configuration of the portfolio.
+	 */
+	public static class Entry {
+
+		private final String label;
+		private final double[] features, dos, iom;
+
+		Entry(String label, double[] features, double[] dos, double[] iom) {
+			this.label = label;
+			this.features = features;
+			this.dos = dos;
+			this.iom = iom;
+		}
+
+		public String getLabel() {
+			return label;
+		}
+
+		public double[] getDos() {
+			return dos.clone();
+		}
+
+		public double[] getIom() {
+			return iom.clone();
+		}
+	}
+
+	// Index in InstanceFeatures.NAMES of each feature column
+	private final int[] featureIndices;
+	private final List<Entry> entries;
+	// Range of each feature column over the entries
+	private final double[] ranges;
+
+	private ConfigurationPortfolio(int[] featureIndices, List<Entry> entries) {
+		this.featureIndices = featureIndices;
+		this.entries = entries;
+		this.ranges = new double[featureIndices.length];
+		for (int f = 0; f < featureIndices.length; f++) {
+			double min = Double.MAX_VALUE, max = -Double.MAX_VALUE;
+			for (Entry entry : entries) {
+				min = Math.min(min, scale(f, entry.features[f]));
+				max = Math.max(max, scale(f, entry.features[f]));
+			}
+			ranges[f] = max - min;
+		}
+	}
+
+	/**
+	 * Reads a portfolio file.
+	 *
+	 * @throws IOException if the file cannot be read or has no configurations
+	 * @throws IllegalArgumentException if a column name is unknown, or a line has the wrong number of values or not
+	 *         VALUES DOS and IOM values
+	 */
+	public static ConfigurationPortfolio read(String fileName) throws IOException {
+		List<Entry> entries = new ArrayList<>();
+		String[] header = null;
+		int[] featureIndices = null;
+		try (BufferedReader reader = new BufferedReader(new FileReader(fileName))) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				line = line.trim();
+				if (line.isEmpty() || line.startsWith("#")) {
+					continue;
+				}
+				String[] tokens = line.split("\\s+");
+				if (header == null) {
+					header = tokens;
+					featureIndices = featureIndices(header);
+					continue;
+				}
+				if (tokens.length != header.length) {
+					throw new IllegalArgumentException(fileName + ": expected " + header.length + " values in line: " + line);
+				}
+				double[] features = new double[featureIndices.length];
+				List<Double> dos = new ArrayList<>(), iom = new ArrayList<>();
+				for (int c = 1, f = 0; c < tokens.length; c++) {
+					double value = Double.parseDouble(tokens[c]);
+					if (header[c].matches("d\\d+")) {
+						dos.add(value);
+					} else if (header[c].matches("i\\d+")) {
+						iom.add(value);
+					} else {
+						features[f++] = value;
+					}
+				}
+				if (dos.size() != VALUES || iom.size() != VALUES) {
+					throw new IllegalArgumentException(fileName + ": expected " + VALUES + " d and " + VALUES + " i values, found " + dos.size() + " and "
+							+ iom.size() + " in line: " + line);
+				}
+				entries.add(new Entry(tokens[0], features, toArray(dos), toArray(iom)));
+			}
+		}
+		if (entries.isEmpty()) {
+			throw new IOException(fileName + ": no configurations");
+		}
+		return new ConfigurationPortfolio(featureIndices, entries);
+	}
+
+	// Map the feature columns of the header to InstanceFeatures.NAMES
+	private static int[] featureIndices(String[] header) {
+		List<Integer> indices = new ArrayList<>();
+		for (int c = 1; c < header.length; c++) {
+			if (header[c].matches("[di]\\d+")) {
+				continue;
+			}
+			int index = Arrays.asList(InstanceFeatures.NAMES).indexOf(header[c]);
+			if (index < 0) {
+				throw new IllegalArgumentException("Unknown portfolio column: " + header[c]);
+			}
+			indices.add(index);
+		}
+		return indices.stream().mapToInt(Integer::intValue).toArray();
+	}
+
+	private static double[] toArray(List<Double> values) {
+		return values.stream().mapToDouble(Double::doubleValue).toArray();
+	}
+
+	// The number of cities is compared on a log scale
+	private double scale(int column, double value) {
+		return featureIndices[column] == 0 ? Math.log10(value) : value;
+	}
+
+	/**
+	 * @param features the features of an instance
+	 * @return the configuration tuned on the most similar instance
+	 */
+	public Entry select(InstanceFeatures features) {
+		double[] values = features.getValues();
+		Entry best = null;
+		double bestDistance = Double.MAX_VALUE;
+		for (Entry entry : entries) {
+			double distance = 0;
+			for (int f = 0; f < featureIndices.length; f++) {
+				double a = scale(f, values[featureIndices[f]]), b = scale(f, entry.features[f]);
+				distance += ranges[f] > 0 ? (a - b) * (a - b) / (ranges[f] * ranges[f]) : 0;
+			}
+			if (distance < bestDistance) {
+				bestDistance = distance;
+				best = entry;
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * Selects the configuration for the instance loaded in a problem domain, as done by the runners when
+	 * -portfolio is given without -d/-i values.
+	 *
+	 * @param fileName the portfolio file
+	 * @param problem the problem domain with the instance loaded
+	 * @return the selected configuration, or null if no file is given or the domain is not the TSP
+	 * @throws IOException if the file does not exist or cannot be read
+	 */
+	public static Entry select(String fileName, ProblemDomain problem) throws IOException {
+		if (fileName == null || !(problem instanceof TSP)) {
+			return null;
+		}
+		return read(fileName).select(InstanceFeatures.compute(((TSP) problem).instance));
+	}
+
+	public int size() {
+		return entries.size();
+	}
+}
@@ -0,0 +1,179 @@
+package examples.features;
+
+import java.util.Arrays;
+import examples.tsp.TspAccess;
+import travelingSalesmanProblem.TSP;
+import travelingSalesmanProblem.TspInstance;
+
+/**
+ * This class computes cheap descriptors of a TSP instance from its city coordinates:
+ * - cities     : the number of cities
+ * - spread     : the root mean square distance of the cities to their centroid, divided by the square root of the bounding box area (about 0.41 for uniform cities)
+ * - nn.mean    : the mean nearest-neighbour distance, divided by sqrt(area / cities) (about 0.5 for uniform cities, lower for clustered ones)
+ * - nn.cv      : the coefficient of variation of the nearest-neighbour distances
+ * - grid.empty : the fraction of empty cells in a grid of about one cell per city over the bounding box (about 0.37 for uniform cities)
+ *
+ * The nearest neighbours are found with the same grid, so all features are computed in about linear time,
+ * i.e. in a few milliseconds even for the largest instances.
+ *
+ * This class can also be run to print the features of instances, e.g. to build a ConfigurationPortfolio:
+ * java examples.features.InstanceFeatures <instance> [<instance> ...]
+ *
+ * @date 2026.10.18
+ */
+
+public class InstanceFeatures {
+
+	// Names of the features, in the order of getValues()
+	public static final String[] NAMES = {"cities", "spread", "nn.mean", "nn.cv", "grid.empty"};
+
+	private final double[] values;
+
+	private InstanceFeatures(double[] values) {
+		this.values = values;
+	}
+
+	/**
+	 * Computes the features of a loaded TSP instance.
+	 */
+	public static InstanceFeatures compute(TspInstance instance) {
+		return compute(TspAccess.getCoordinates(instance));
+	}
+
+	/**
+	 * Computes the features of a set of cities.
+	 *
+	 * @param coordinates coordinates[i] = {x, y} of city i
+	 */
+	public static InstanceFeatures compute(double[][] coordinates) {
+		int n = coordinates.length;
+		double minX = Double.MAX_VALUE, minY = Double.MAX_VALUE, maxX = -Double.MAX_VALUE, maxY = -Double.MAX_VALUE;
+		double sumX = 0, sumY = 0;
+		for (double[] c : coordinates) {
+			minX = Math.min(minX, c[0]);
+			maxX = Math.max(maxX, c[0]);
+			minY = Math.min(minY, c[1]);
+			maxY = Math.max(maxY, c[1]);
+			sumX += c[0];
+			sumY += c[1];
+		}
+		double width = Math.max(maxX - minX, 1e-9), height = Math.max(maxY - minY, 1e-9);
+		double area = width * height;
+
+		// Spread around the centroid
+		double cx = sumX / n, cy = sumY / n, squares = 0;
+		for (double[] c : coordinates) {
+			squares += (c[0] - cx) * (c[0] - cx) + (c[1] - cy) * (c[1] - cy);
+		}
+		double spread = Math.sqrt(squares / n) / Math.sqrt(area);
+
+		// Grid of about one city per cell, cells are sorted lists of city indices (counting sort)
+		double cellSize = Math.sqrt(area / n);
+		int cols = Math.max(1, (int) Math.ceil(width / cellSize)), rows = Math.max(1, (int) Math.ceil(height / cellSize));
+		int[] cellOf = new int[n], start = new int[cols * rows + 1], cities = new int[n];
+		for (int i = 0; i < n; i++) {
+			int col = Math.min(cols - 1, (int) ((coordinates[i][0] - minX) / cellSize));
+			int row = Math.min(rows - 1, (int) ((coordinates[i][1] - minY) / cellSize));
+			cellOf[i] = row * cols + col;
+			start[cellOf[i] + 1]++;
+		}
+		int empty = 0;
+		for (int cell = 0; cell < cols * rows; cell++) {
+			if (start[cell + 1] == 0) {
+				empty++;
+			}
+			start[cell + 1] += start[cell];
+		}
+		int[] next = Arrays.copyOf(start, start.length);
+		for (int i = 0; i < n; i++) {
+			cities[next[cellOf[i]]++] = i;
+		}
+
+		// Nearest-neighbour distances, searching rings of cells around the city until no closer city can exist
+		double sum = 0, sumSquares = 0;
+		for (int i = 0; i < n; i++) {
+			int col = cellOf[i] % cols, row = cellOf[i] / cols;
+			double best = Double.MAX_VALUE;
+			for (int ring = 0; ring <= Math.max(cols, rows); ring++) {
+				if (best < Double.MAX_VALUE && (ring - 1) * cellSize > Math.sqrt(best)) {
+					break;
+				}
+				for (int r = row - ring; r <= row + ring; r++) {
+					if (r < 0 || r >= rows) {
+						continue;
+					}
+					boolean edge = r == row - ring || r == row + ring;
+					for (int c = col - ring; c <= col + ring; c += edge ? 1 : 2 * ring) {
+						if (c < 0 || c >= cols) {
+							continue;
+						}
+						int cell = r * cols + c;
+						for (int k = start[cell]; k < start[cell + 1]; k++) {
+							int j = cities[k];
+							if (j != i) {
+								double dx = coordinates[i][0] - coordinates[j][0], dy = coordinates[i][1] - coordinates[j][1];
+								best = Math.min(best, dx * dx + dy * dy);
+							}
+						}
+						if (ring == 0) {
+							break;
+						}
+					}
+				}
+			}
+			double d = n > 1 ? Math.sqrt(best) : 0;
+			sum += d;
+			sumSquares += d * d;
+		}
+		double mean = sum / n;
+		double std = Math.sqrt(Math.max(0, sumSquares / n - mean * mean));
+
+		return new InstanceFeatures(new double[] {n, spread, mean / cellSize, mean > 0 ? std / mean : 0, (double) empty / (cols * rows)});
+	}
+
+	/**
+	 * @return the values of the features, in the order of NAMES
+	 */
+	public double[] getValues() {
+		return values.clone();
+	}
+
+	/**
+	 * @param name one of NAMES
+	 * @return the value of the feature
+	 */
+	public double get(String name) {
+		for (int f = 0; f < NAMES.length; f++) {
+			if (NAMES[f].equals(name)) {
+				return values[f];
+			}
+		}
+		throw new IllegalArgumentException("Unknown instance feature: " + name);
+	}
+
+	/**
+	 * @return the values separated by spaces, as in a ConfigurationPortfolio file
+	 */
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		for (int f = 0; f < values.length; f++) {
+			builder.append(f == 0 ? "" : " ").append(f == 0 ? Long.toString((long) values[f]) : String.format("%.4f", values[f]));
+		}
+		return builder.toString();
+	}
+
+	public static void main(String[] args) {
+		if (args.length == 0) {
+			System.err.println("Usage: java examples.features.InstanceFeatures <instance> [<instance> ...]");
+			System.exit(1);
+		}
+		System.out.println("instance " + String.join(" ", NAMES) + " ms");
+		for (String arg : args) {
+			TSP problem = new TSP(1234);
+			problem.loadInstance(Integer.parseInt(arg));
+			long start = System.nanoTime();
+			InstanceFeatures features = compute(problem.instance);
+			System.out.printf("%s %s %.2f%n", arg, features, (System.nanoTime() - start) / 1e6);
+		}
+	}
+}
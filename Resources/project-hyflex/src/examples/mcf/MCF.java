@@ -1,7 +1,11 @@
 package examples.mcf;
 import AbstractClasses.HyperHeuristic;
 import AbstractClasses.ProblemDomain;
+import examples.control.SelectionStateStore;
+import examples.monitor.HeuristicProbe;
 import java.text.DecimalFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * This is the source code of modified choice function using a simple 'All Moves' acceptance criteria as described in: 
@@ -16,6 +20,13 @@ import java.text.DecimalFormat;
 
 public class MCF extends HyperHeuristic {
 	
+	// Records JFR events and metrics of the current run
+	HeuristicProbe probe;
+	
+	// Store of the selection state of previous runs on the same instance (null: start from zeroed scores)
+	SelectionStateStore warmStart;
+	int warmStartInstance;
+	
 	/**
 	 * creates a new ModifiedChoiceFunctionAllMoves object with a random seed
 	 */
@@ -48,6 +59,9 @@ public class MCF extends HyperHeuristic {
 		
 		//initialise variables which keep track of the time usage
 		long time_exp_before, time_exp_after, time_to_apply;
+		//nanosecond timestamps for the probe, which records LLH applications, selections and time checks
+		long time_probe_before = 0;
+		probe = HeuristicProbe.create("MCF", problem);
 		
 		/* 
 		 * 'F':  store the calculated scores for each heuristic based on the modified choice function
@@ -67,7 +81,34 @@ public class MCF extends HyperHeuristic {
 			f3[crossover_heuristics[i]]=Double.NEGATIVE_INFINITY;
 		}
 		
+		//seed f1, f2, f3, phi and delta from the previous run on this instance, and skip the two random iterations
+		if (warmStart != null && warmStart.getDecay() > 0) {
+			Map<String, double[]> prior = warmStart.load("MCF", warmStartInstance);
+			double[] prior_f1 = SelectionStateStore.get(prior, "f1", number_of_heuristics);
+			double[] prior_f2 = SelectionStateStore.get(prior, "f2", number_of_heuristics * number_of_heuristics);
+			double[] prior_f3 = SelectionStateStore.get(prior, "f3", number_of_heuristics);
+			double[] prior_phi = SelectionStateStore.get(prior, "phi", 1), prior_delta = SelectionStateStore.get(prior, "delta", 1);
+			if (prior_f1 != null && prior_f2 != null && prior_f3 != null && prior_phi != null && prior_delta != null) {
+				double decay = warmStart.getDecay();
+				for (int i = 0; i < number_of_heuristics; i++) {
+					f1[i] = decay * prior_f1[i];
+					if (f3[i] != Double.NEGATIVE_INFINITY) {
+						f3[i] = decay * prior_f3[i];
+					}
+					for (int j = 0; j < number_of_heuristics; j++) {
+						f2[i][j] = decay * prior_f2[i * number_of_heuristics + j];
+					}
+				}
+				phi = roundTwoDecimals(phi + decay * (prior_phi[0] - phi));
+				delta = roundTwoDecimals(delta + decay * (prior_delta[0] - delta));
+				init_flag = 2;
+			}
+		}
+		
 		while (!hasTimeExpired()) { //main loop which runs until time has expired
+			if (probe != null) {
+				time_probe_before = System.nanoTime();
+			}
 			if (init_flag > 1) { //flag used to select heuristics randomly for the first two iterations
 				// for iterations after the first two
 				best_heuristic_score = 0.0;
@@ -97,10 +138,20 @@ public class MCF extends HyperHeuristic {
 				}
 			}
 			
+			if (probe != null) {
+				probe.selected(heuristic_to_apply, init_flag <= 1, System.nanoTime() - time_probe_before);
+			}
+			
 			//apply the chosen heuristic to the solution at index 0 in the memory and replace it immediately with the new solution
 			time_exp_before = getElapsedTime();
+			if (probe != null) {
+				time_probe_before = System.nanoTime();
+			}
 			new_obj_function_value = problem.applyHeuristic(heuristic_to_apply, 0, 0);
 			time_exp_after = getElapsedTime();
+			if (probe != null) {
+				probe.applied(heuristic_to_apply, problem.getDepthOfSearch(), problem.getIntensityOfMutation(), System.nanoTime() - time_probe_before, current_obj_function_value - new_obj_function_value, true);
+			}
 			time_to_apply = time_exp_after - time_exp_before + 1; //+1 prevents / by 0
 
 			//calculate the change in fitness from the current solution to the new solution
@@ -143,6 +194,44 @@ public class MCF extends HyperHeuristic {
 			last_heuristic_called = heuristic_to_apply;
 		}
 		
+		//save the selection state for the next run on this instance
+		if (warmStart != null) {
+			Map<String, double[]> state = new LinkedHashMap<>();
+			double[] f2_rows = new double[number_of_heuristics * number_of_heuristics];
+			for (int i = 0; i < number_of_heuristics; i++) {
+				System.arraycopy(f2[i], 0, f2_rows, i * number_of_heuristics, number_of_heuristics);
+			}
+			state.put("phi", new double[] {phi});
+			state.put("delta", new double[] {delta});
+			state.put("f1", f1);
+			state.put("f2", f2_rows);
+			state.put("f3", f3);
+			warmStart.save("MCF", warmStartInstance, state);
+		}
+	}
+	
+	/**
+	 * Starts the heuristic selection from the state saved at the end of the previous run on the same instance,
+	 * and saves the state at the end of this run.
+	 * 
+	 * @param store the store of selection states, null to start from zeroed scores
+	 * @param instance the ID of the instance, used as key in the store
+	 */
+	public void setWarmStart(SelectionStateStore store, int instance) {
+		this.warmStart = store;
+		this.warmStartInstance = instance;
+	}
+	
+	/**
+	 * Checks the time limit, recording the check with the probe of the current run.
+	 */
+	@Override
+	protected boolean hasTimeExpired() {
+		boolean expired = super.hasTimeExpired();
+		if (probe != null) {
+			probe.timeChecked(this, expired);
+		}
+		return expired;
 	}
 	
 	/**
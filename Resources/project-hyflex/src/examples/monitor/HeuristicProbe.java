@@ -0,0 +1,178 @@
+package examples.monitor;
+
+import AbstractClasses.HyperHeuristic;
+import AbstractClasses.ProblemDomain;
+import AbstractClasses.ProblemDomain.HeuristicType;
+
+/**
+ * This class records the hot paths of a hyper-heuristic run, i.e. LLH applications, selection decisions,
+ * solution copies and time checks, as JFR events (see LlhApplicationEvent etc.) and in the Metrics registry.
+ *
+ * The hyper-heuristics create their probe with create(), which returns null unless metrics are enabled or a flight
+ * recording has one of the events enabled when the run starts: the default runs then skip the probe calls and the
+ * timestamps taken for them. A recording must therefore be started before the run, e.g. on any runner with
+ * java -XX:StartFlightRecording:filename=run.jfr,settings=profile -jar RNRunner.jar ...
+ *
+ * @date 2026.10.18
+ */
+
+public class HeuristicProbe {
+
+	private final String hyperHeuristic;
+	// The HeuristicType name of each LLH, indexed by heuristic ID
+	private final String[] heuristicTypes;
+
+	// Metrics, null if the registry was disabled when the probe was created
+	private final Metrics.Counter applications, improvements, acceptances, skips, copies, timeChecks;
+	private final Metrics.Histogram[] applicationTimes;
+	private final Metrics.Histogram selectionTime;
+
+	/**
+	 * Creates the probe of a run if monitoring is enabled.
+	 *
+	 * @param hyperHeuristic the name of the hyper-heuristic, as shown in the events and as prefix of the metrics
+	 * @param problem the problem domain being solved
+	 * @return the probe, or null if the Metrics registry is disabled and no flight recording has an event of the probe enabled
+	 */
+	public static HeuristicProbe create(String hyperHeuristic, ProblemDomain problem) {
+		if (Metrics.isEnabled() || new LlhApplicationEvent().isEnabled() || new SelectionEvent().isEnabled() || new SolutionCopyEvent().isEnabled()
+				|| new TimeCheckEvent().isEnabled()) {
+			return new HeuristicProbe(hyperHeuristic, problem);
+		}
+		return null;
+	}
+
+	/**
+	 * @param hyperHeuristic the name of the hyper-heuristic, as shown in the events and as prefix of the metrics
+	 * @param problem the problem domain being solved
+	 */
+	public HeuristicProbe(String hyperHeuristic, ProblemDomain problem) {
+		this.hyperHeuristic = hyperHeuristic;
+		this.heuristicTypes = new String[problem.getNumberOfHeuristics()];
+		for (HeuristicType type : HeuristicType.values()) {
+			int[] ids = problem.getHeuristicsOfType(type);
+			for (int i = 0; ids != null && i < ids.length; i++) {
+				heuristicTypes[ids[i]] = type.name();
+			}
+		}
+		if (Metrics.isEnabled()) {
+			applications = Metrics.counter(hyperHeuristic + ".llh.applications");
+			improvements = Metrics.counter(hyperHeuristic + ".llh.improvements");
+			acceptances = Metrics.counter(hyperHeuristic + ".llh.accepted");
+			skips = Metrics.counter(hyperHeuristic + ".llh.skipped");
+			copies = Metrics.counter(hyperHeuristic + ".solution.copies");
+			timeChecks = Metrics.counter(hyperHeuristic + ".time.checks");
+			selectionTime = Metrics.histogram(hyperHeuristic + ".selection.time.ns");
+			applicationTimes = new Metrics.Histogram[heuristicTypes.length];
+			for (int i = 0; i < applicationTimes.length; i++) {
+				applicationTimes[i] = Metrics.histogram(hyperHeuristic + ".llh." + i + ".time.ns");
+			}
+		} else {
+			applications = improvements = acceptances = skips = copies = timeChecks = null;
+			selectionTime = null;
+			applicationTimes = null;
+		}
+	}
+
+	/**
+	 * Records one application of a low-level heuristic.
+	 *
+	 * @param heuristicId the ID of the LLH
+	 * @param dos the depth of search used
+	 * @param iom the intensity of mutation used
+	 * @param timeTaken the time taken by applyHeuristic in nanoseconds
+	 * @param delta the improvement of the objective value (positive if the solution improved)
+	 * @param accepted whether the new solution was accepted as the current solution
+	 */
+	public void applied(int heuristicId, double dos, double iom, long timeTaken, double delta, boolean accepted) {
+		LlhApplicationEvent event = new LlhApplicationEvent();
+		if (event.shouldCommit()) {
+			event.hyperHeuristic = hyperHeuristic;
+			event.heuristicId = heuristicId;
+			event.heuristicType = heuristicTypes[heuristicId];
+			event.dos = dos;
+			event.iom = iom;
+			event.applicationTime = timeTaken;
+			event.delta = delta;
+			event.accepted = accepted;
+			event.commit();
+		}
+		if (applications != null) {
+			applications.increment();
+			applicationTimes[heuristicId].record(timeTaken);
+			if (delta > 0) {
+				improvements.increment();
+			}
+			if (accepted) {
+				acceptances.increment();
+			}
+		}
+	}
+
+	/**
+	 * Records one heuristic selection decision.
+	 *
+	 * @param heuristicId the ID of the selected LLH
+	 * @param random whether the LLH was chosen at random (e.g. during initialisation) rather than by the selection method
+	 * @param timeTaken the time taken by the selection in nanoseconds
+	 */
+	public void selected(int heuristicId, boolean random, long timeTaken) {
+		SelectionEvent event = new SelectionEvent();
+		if (event.shouldCommit()) {
+			event.hyperHeuristic = hyperHeuristic;
+			event.heuristicId = heuristicId;
+			event.random = random;
+			event.selectionTime = timeTaken;
+			event.commit();
+		}
+		if (selectionTime != null) {
+			selectionTime.record(timeTaken);
+		}
+	}
+
+	/**
+	 * Records one selection of a heuristic that was not applied because it could not change the current solution
+	 * (see examples.control.LocalOptimumMemo).
+	 */
+	public void skipped(int heuristicId) {
+		if (skips != null) {
+			skips.increment();
+		}
+	}
+
+	/**
+	 * Records one call to ProblemDomain.copySolution().
+	 */
+	public void copied(int source, int destination) {
+		SolutionCopyEvent event = new SolutionCopyEvent();
+		if (event.shouldCommit()) {
+			event.hyperHeuristic = hyperHeuristic;
+			event.source = source;
+			event.destination = destination;
+			event.commit();
+		}
+		if (copies != null) {
+			copies.increment();
+		}
+	}
+
+	/**
+	 * Records one call to hasTimeExpired().
+	 *
+	 * @param hyperHeuristicObject the hyper-heuristic, queried for its elapsed time and best value only if the event is recorded
+	 * @param expired the result of the time check
+	 */
+	public void timeChecked(HyperHeuristic hyperHeuristicObject, boolean expired) {
+		TimeCheckEvent event = new TimeCheckEvent();
+		if (event.shouldCommit()) {
+			event.hyperHeuristic = hyperHeuristic;
+			event.elapsed = hyperHeuristicObject.getElapsedTime();
+			event.best = hyperHeuristicObject.getBestSolutionValue();
+			event.expired = expired;
+			event.commit();
+		}
+		if (timeChecks != null) {
+			timeChecks.increment();
+		}
+	}
+}
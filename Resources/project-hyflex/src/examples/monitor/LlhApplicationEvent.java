@@ -0,0 +1,48 @@
+package examples.monitor;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * JFR event recorded for every application of a low-level heuristic.
+ *
+ * @date 2026.10.18
+ */
+
+@Name("examples.LlhApplication")
+@Label("LLH Application")
+@Category({"HyFlex", "Hyper-heuristic"})
+@Description("Application of a low-level heuristic by a hyper-heuristic")
+@StackTrace(false)
+public class LlhApplicationEvent extends jdk.jfr.Event {
+
+	@Label("Hyper-heuristic")
+	public String hyperHeuristic;
+
+	@Label("Heuristic ID")
+	public int heuristicId;
+
+	@Label("Heuristic Type")
+	public String heuristicType;
+
+	@Label("Depth of Search")
+	public double dos;
+
+	@Label("Intensity of Mutation")
+	public double iom;
+
+	@Label("Application Time")
+	@Timespan(Timespan.NANOSECONDS)
+	public long applicationTime;
+
+	@Label("Delta")
+	@Description("Improvement of the objective value, positive if the solution improved")
+	public double delta;
+
+	@Label("Accepted")
+	public boolean accepted;
+}
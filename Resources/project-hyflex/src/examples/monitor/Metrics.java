@@ -0,0 +1,157 @@
+package examples.monitor;
+
+import java.io.PrintStream;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class is a lightweight in-process registry of counters and histograms.
+ * It is disabled by default; the runners enable it with -m (or -Dexamples.metrics=true) and print it to the
+ * standard error stream after the run, so that the result line on the standard output is unchanged for irace.
+ *
+ * Counters and histograms are safe to update from several threads: they are backed by LongAdder and atomic
+ * arrays, and an update does not allocate. Histograms use power-of-two buckets, so percentiles are reported
+ * as the upper bound of their bucket (i.e. within a factor of two).
+ *
+ * @date 2026.10.18
+ */
+
+public class Metrics {
+
+	private static volatile boolean enabled = Boolean.getBoolean("examples.metrics");
+
+	private static final Map<String, Counter> counters = new ConcurrentHashMap<>();
+	private static final Map<String, Histogram> histograms = new ConcurrentHashMap<>();
+
+	private Metrics() {
+	}
+
+	/**
+	 * A monotonically increasing count.
+	 */
+	public static class Counter {
+
+		private final LongAdder count = new LongAdder();
+
+		public void increment() {
+			count.increment();
+		}
+
+		public void add(long value) {
+			count.add(value);
+		}
+
+		public long get() {
+			return count.sum();
+		}
+	}
+
+	/**
+	 * A distribution of non-negative values (e.g. times in nanoseconds) in power-of-two buckets.
+	 */
+	public static class Histogram {
+
+		private final AtomicLongArray buckets = new AtomicLongArray(64);
+		private final LongAdder count = new LongAdder(), sum = new LongAdder();
+		private final LongAccumulator min = new LongAccumulator(Math::min, Long.MAX_VALUE);
+		private final LongAccumulator max = new LongAccumulator(Math::max, Long.MIN_VALUE);
+
+		public void record(long value) {
+			if (value < 0) {
+				value = 0;
+			}
+			// bucket b holds the values in [2^b, 2^(b+1)-1], bucket 0 also holds 0
+			buckets.incrementAndGet(63 - Long.numberOfLeadingZeros(value | 1));
+			count.increment();
+			sum.add(value);
+			min.accumulate(value);
+			max.accumulate(value);
+		}
+
+		public long getCount() {
+			return count.sum();
+		}
+
+		public double getMean() {
+			long n = count.sum();
+			return n == 0 ? 0 : (double) sum.sum() / n;
+		}
+
+		public long getMin() {
+			return count.sum() == 0 ? 0 : min.get();
+		}
+
+		public long getMax() {
+			return count.sum() == 0 ? 0 : max.get();
+		}
+
+		/**
+		 * @param p the percentile in [0, 1]
+		 * @return the upper bound of the bucket that holds the p-th percentile
+		 */
+		public long getPercentile(double p) {
+			long n = count.sum(), seen = 0;
+			long rank = (long) Math.ceil(p * n);
+			for (int b = 0; b < 64; b++) {
+				seen += buckets.get(b);
+				if (seen >= rank && seen > 0) {
+					return Math.min(b == 63 ? Long.MAX_VALUE : (2L << b) - 1, getMax());
+				}
+			}
+			return getMax();
+		}
+	}
+
+	/**
+	 * @return whether the hyper-heuristics should record metrics
+	 */
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	public static void setEnabled(boolean value) {
+		enabled = value;
+	}
+
+	/**
+	 * @return the counter with the given name, created on first use
+	 */
+	public static Counter counter(String name) {
+		return counters.computeIfAbsent(name, key -> new Counter());
+	}
+
+	/**
+	 * @return the histogram with the given name, created on first use
+	 */
+	public static Histogram histogram(String name) {
+		return histograms.computeIfAbsent(name, key -> new Histogram());
+	}
+
+	/**
+	 * Removes all counters and histograms.
+	 */
+	public static void reset() {
+		counters.clear();
+		histograms.clear();
+	}
+
+	/**
+	 * Prints all counters and histograms in alphabetical order, one per line.
+	 */
+	public static void report(PrintStream out) {
+		for (Map.Entry<String, Counter> entry : new TreeMap<>(counters).entrySet()) {
+			out.println(entry.getKey() + " " + entry.getValue().get());
+		}
+		for (Map.Entry<String, Histogram> entry : new TreeMap<>(histograms).entrySet()) {
+			Histogram h = entry.getValue();
+			if (h.getCount() > 0) {
+				out.printf("%s count=%d mean=%.1f min=%d p50=%d p90=%d p99=%d max=%d%n", entry.getKey(), h.getCount(), h.getMean(),
+						h.getMin(), h.getPercentile(0.5), h.getPercentile(0.9), h.getPercentile(0.99), h.getMax());
+			}
+		}
+	}
+}
@@ -0,0 +1,33 @@
+package examples.monitor;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * JFR event recorded for every heuristic selection decision.
+ *
+ * @date 2026.10.18
+ */
+
+@Name("examples.Selection")
+@Label("Heuristic Selection")
+@Category({"HyFlex", "Hyper-heuristic"})
+@StackTrace(false)
+public class SelectionEvent extends jdk.jfr.Event {
+
+	@Label("Hyper-heuristic")
+	public String hyperHeuristic;
+
+	@Label("Heuristic ID")
+	public int heuristicId;
+
+	@Label("Random")
+	public boolean random;
+
+	@Label("Selection Time")
+	@Timespan(Timespan.NANOSECONDS)
+	public long selectionTime;
+}
@@ -0,0 +1,28 @@
+package examples.monitor;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event recorded for every copy of a solution in the solution memory (ProblemDomain.copySolution).
+ *
+ * @date 2026.10.18
+ */
+
+@Name("examples.SolutionCopy")
+@Label("Solution Copy")
+@Category({"HyFlex", "Hyper-heuristic"})
+@StackTrace(false)
+public class SolutionCopyEvent extends jdk.jfr.Event {
+
+	@Label("Hyper-heuristic")
+	public String hyperHeuristic;
+
+	@Label("Source Index")
+	public int source;
+
+	@Label("Destination Index")
+	public int destination;
+}
@@ -0,0 +1,34 @@
+package examples.monitor;
+
+import jdk.jfr.Category;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event recorded for every call to hasTimeExpired(). Disabled by default because it fires once per iteration,
+ * enable it with e.g. -XX:StartFlightRecording:settings=profile,+examples.TimeCheck#enabled=true
+ *
+ * @date 2026.10.18
+ */
+
+@Name("examples.TimeCheck")
+@Label("Time Check")
+@Category({"HyFlex", "Hyper-heuristic"})
+@Enabled(false)
+@StackTrace(false)
+public class TimeCheckEvent extends jdk.jfr.Event {
+
+	@Label("Hyper-heuristic")
+	public String hyperHeuristic;
+
+	@Label("Elapsed CPU Time (ms)")
+	public long elapsed;
+
+	@Label("Best Solution Value")
+	public double best;
+
+	@Label("Expired")
+	public boolean expired;
+}
@@ -0,0 +1,87 @@
+package examples.monitor;
+
+import AbstractClasses.HyperHeuristic;
+import java.util.Arrays;
+
+/**
+ * This class measures the time a hyper-heuristic takes to reach a target objective value, for tuning a
+ * configuration to be fast rather than to end with the best solution (see project-irace/irace-hyflex-ttt).
+ *
+ * The hyper-heuristics check the target each time they check the time limit, and stop at the first check where
+ * the best solution value found is at most the target. The time is the CPU time of the run as measured by HyFlex,
+ * so it has the resolution of a time check (one heuristic application). A run that does not reach the target
+ * within its time limit costs the time limit multiplied by a penalty factor (PAR10 with the default factor).
+ *
+ * @date 2026.10.18
+ */
+
+public class TimeToTarget {
+
+	// Penalty factor of the time limit for runs that do not reach the target
+	public static final double DEFAULT_PENALTY = 10;
+
+	private final double target;
+	private final double penalty;
+
+	// CPU time in milliseconds at which the target was reached, -1 if not reached yet
+	private long reachedAt = -1;
+
+	/**
+	 * @param target the objective value to reach
+	 * @param penalty the penalty factor of the time limit for runs that do not reach the target
+	 */
+	public TimeToTarget(double target, double penalty) {
+		this.target = target;
+		this.penalty = penalty;
+	}
+
+	/**
+	 * Checks whether the best solution value of a running hyper-heuristic has reached the target.
+	 *
+	 * @param hyperHeuristic the running hyper-heuristic
+	 * @return true if the target is reached, i.e. the run should stop
+	 */
+	public boolean check(HyperHeuristic hyperHeuristic) {
+		if (reachedAt < 0 && hyperHeuristic.getBestSolutionValue() <= target) {
+			reachedAt = hyperHeuristic.getElapsedTime();
+		}
+		return reachedAt >= 0;
+	}
+
+	/**
+	 * Returns the fitness trace of a run, completed if the run stopped at the target: HyFlex only fills the
+	 * checkpoints up to the last time check and leaves the later ones at 0. They are set to the best solution value,
+	 * which the run kept until its time limit.
+	 *
+	 * @param hyperHeuristic the hyper-heuristic after its run
+	 * @return the fitness trace with a value at every checkpoint
+	 */
+	public double[] completeTrace(HyperHeuristic hyperHeuristic) {
+		double[] trace = hyperHeuristic.getFitnessTrace().clone();
+		if (reachedAt >= 0) {
+			// The last time check wrote the best value, so the checkpoints after the last non-zero one were not filled
+			int filled = trace.length;
+			while (filled > 1 && trace[filled - 1] == 0) {
+				filled--;
+			}
+			Arrays.fill(trace, filled, trace.length, hyperHeuristic.getBestSolutionValue());
+		}
+		return trace;
+	}
+
+	public double getTarget() {
+		return target;
+	}
+
+	public boolean isReached() {
+		return reachedAt >= 0;
+	}
+
+	/**
+	 * @param timeLimit the time limit of the run in milliseconds
+	 * @return the time to reach the target in seconds, or the penalised time limit if it was not reached
+	 */
+	public double getCost(long timeLimit) {
+		return reachedAt >= 0 ? reachedAt / 1000.0 : penalty * timeLimit / 1000.0;
+	}
+}
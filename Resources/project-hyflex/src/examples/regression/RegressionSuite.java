@@ -0,0 +1,416 @@
+package examples.regression;
+
+import AbstractClasses.HyperHeuristic;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import examples.mcf.MCF;
+import examples.rn.RN;
+import examples.scf.SCF;
+import examples.tuning.ThroughputProbe;
+import travelingSalesmanProblem.TSP;
+
+/**
+ * This class checks that a change to RN, SCF or MCF keeps their behaviour and their speed, before a new runner jar
+ * is deployed. Each hyper-heuristic is run under a budget of LLH applications (evaluations) instead of a time limit,
+ * on a fixed set of TSP instances and seeds, and compared with the golden traces stored by a previous -record run:
+ * - the sequence of the selected heuristics and the final objective value must be the same. SCF and MCF weight the
+ *   heuristics by their measured durations, so they run on a virtual clock that advances by 1 ms per application,
+ *   which makes every run reproducible;
+ * - the throughput, in applications per CPU second, must not drop by more than the tolerance. The runs are repeated
+ *   at least five times and until they have used five seconds of CPU time, and each one is divided by the quick rate
+ *   of ThroughputProbe measured just before and just after it, so that the speed of a shared machine at the time of
+ *   the run cancels out and baselines recorded on one machine can be checked on another. The throughput is the
+ *   median over the instances and seeds of the median ratio of their runs. Five recordings on an unchanged tree
+ *   stayed within 7% (RN, SCF) and 13% (MCF) of their median, which is the stored baseline, so the default tolerance
+ *   of 0.15 does not raise false alarms and catches slowdowns of 15% and more.
+ * The golden traces of each hyper-heuristic are in the file <algorithm>.golden of the directory. The program exits
+ * with status 1 if a check fails. Record again after an intended change of behaviour.
+ * When executing this class, please ensure to set the run configurations:
+ * [-record] [-dir <directory>] [-a <algorithms>] [-n <instances>] [-seeds <seeds>] [-e <evaluations>] [-tolerance <fraction>] [-nothroughput]
+ *
+ * Full list of arguments:
+ * -record                    : run and store the golden traces and throughputs instead of checking them
+ * -dir <directory>           : directory of the golden traces (default: regression)
+ * -a <algorithms>            : hyper-heuristics separated by spaces, among RN, SCF and MCF (default: all)
+ * -n <instances>             : IDs of the TSP instances separated by spaces, with -record (default: 0 1 2)
+ * -seeds <seeds>             : seeds separated by spaces, with -record (default: 1234 5678)
+ * -e <evaluations>           : LLH applications of each run, with -record (default: 2000)
+ * -tolerance <fraction>      : largest accepted drop of the throughput relative to the golden one (default: 0.15)
+ * -nothroughput              : check the traces only, e.g. on a machine busy with other work
+ *
+ * Example program arguments as run configuration:
+ * -record -a RN SCF MCF -n 0 1 2 -seeds 1234 5678 -e 2000
+ * -dir regression -tolerance 0.2
+ *
+ * @date 2026.10.18
+ */
+
+public class RegressionSuite {
+
+	public static final String[] ALGORITHMS = {"RN", "SCF", "MCF"};
+
+	// Virtual duration of one LLH application for the time measurements of SCF and MCF
+	private static final long STEP_NANOS = 1000000;
+	// HyFlex time limit, never reached before the evaluation budget
+	private static final long TIME_LIMIT = 3600000;
+	// DOS/IOM values of the runs, the defaults of the runners
+	private static final double[] DOS = {0.2, 0.2, 0.2}, IOM = {0.2, 0.2, 0.2};
+	// Timed repetitions of the runs for the throughput: at least MIN_REPEATS, and more until MIN_CPU_NANOS of CPU time
+	private static final int MIN_REPEATS = 5, MAX_REPEATS = 20;
+	private static final long MIN_CPU_NANOS = 5000000000L;
+	// Heuristic IDs in the stored sequences
+	private static final String DIGITS = "0123456789abcdefghijklmnopqrstuvwxyz";
+
+	/**
+	 * The TSP domain counting the LLH applications and recording the sequence of the applied heuristics.
+	 */
+	static class CountingTSP extends TSP {
+
+		private final StringBuilder sequence = new StringBuilder();
+		private int evaluations;
+
+		CountingTSP(long seed) {
+			super(seed);
+		}
+
+		@Override
+		public double applyHeuristic(int heuristicID, int solutionSourceIndex, int solutionDestinationIndex) {
+			record(heuristicID);
+			return super.applyHeuristic(heuristicID, solutionSourceIndex, solutionDestinationIndex);
+		}
+
+		@Override
+		public double applyHeuristic(int heuristicID, int solutionSourceIndex1, int solutionSourceIndex2, int solutionDestinationIndex) {
+			record(heuristicID);
+			return super.applyHeuristic(heuristicID, solutionSourceIndex1, solutionSourceIndex2, solutionDestinationIndex);
+		}
+
+		private void record(int heuristic) {
+			sequence.append(DIGITS.charAt(heuristic));
+			evaluations++;
+		}
+
+		int getEvaluations() {
+			return evaluations;
+		}
+	}
+
+	/**
+	 * The outcome of one run.
+	 */
+	static class Run {
+
+		final int instance;
+		final long seed;
+		final int evaluations;
+		final double finalValue;
+		final String sequence;
+		final long cpuNanos;
+
+		Run(int instance, long seed, int evaluations, double finalValue, String sequence, long cpuNanos) {
+			this.instance = instance;
+			this.seed = seed;
+			this.evaluations = evaluations;
+			this.finalValue = finalValue;
+			this.sequence = sequence;
+			this.cpuNanos = cpuNanos;
+		}
+
+		String toLine() {
+			return instance + " " + seed + " " + evaluations + " " + finalValue + " " + sequence;
+		}
+
+		static Run parse(String line) {
+			String[] fields = line.trim().split("\\s+");
+			return new Run(Integer.parseInt(fields[0]), Long.parseLong(fields[1]), Integer.parseInt(fields[2]), Double.parseDouble(fields[3]),
+					fields.length > 4 ? fields[4] : "", 0);
+		}
+	}
+
+	public static void main(String[] args) {
+
+		boolean record = false, throughput = true;
+		String directory = "regression";
+		List<String> algorithms = new ArrayList<>();
+		List<Integer> instances = new ArrayList<>();
+		List<Long> seeds = new ArrayList<>();
+		int evaluations = 2000;
+		double tolerance = 0.15;
+
+		//-------------------------------Parse command line arguments--------------------------
+		for (int i = 0; i < args.length; i++) {
+			switch (args[i]) {
+				case "-record":
+					record = true;
+					break;
+				case "-dir":
+					directory = args[++i];
+					break;
+				case "-a":
+					while (i + 1 < args.length && !args[i + 1].startsWith("-")) {
+						algorithms.add(args[++i]);
+					}
+					break;
+				case "-n":
+					while (i + 1 < args.length && !args[i + 1].startsWith("-")) {
+						instances.add(Integer.parseInt(args[++i]));
+					}
+					break;
+				case "-seeds":
+					while (i + 1 < args.length && !args[i + 1].startsWith("-")) {
+						seeds.add(Long.parseLong(args[++i]));
+					}
+					break;
+				case "-e":
+					evaluations = Integer.parseInt(args[++i]);
+					break;
+				case "-tolerance":
+					tolerance = Double.parseDouble(args[++i]);
+					break;
+				case "-nothroughput":
+					throughput = false;
+					break;
+				default:
+					break;
+			}
+		}
+		if (algorithms.isEmpty()) {
+			algorithms.addAll(Arrays.asList(ALGORITHMS));
+		}
+		if (instances.isEmpty()) {
+			instances.addAll(Arrays.asList(0, 1, 2));
+		}
+		if (seeds.isEmpty()) {
+			seeds.addAll(Arrays.asList(1234L, 5678L));
+		}
+		if (evaluations <= 0 || !Arrays.asList(ALGORITHMS).containsAll(algorithms)) {
+			System.err.println("Usage: java examples.regression.RegressionSuite [-record] [-dir <directory>] [-a <algorithms>] [-n <instances>] [-seeds <seeds>] [-e <evaluations>] [-tolerance <fraction>] [-nothroughput]");
+			System.exit(1);
+		}
+
+		int failures = 0;
+		for (String algorithm : algorithms) {
+			Path file = Paths.get(directory, algorithm + ".golden");
+			try {
+				if (record) {
+					List<Run> cases = new ArrayList<>(), runs = new ArrayList<>();
+					for (int instance : instances) {
+						for (long seed : seeds) {
+							cases.add(new Run(instance, seed, evaluations, Double.NaN, "", 0));
+						}
+					}
+					double relative = runAll(algorithm, cases, runs, throughput);
+					write(file, algorithm, relative, runs);
+					System.out.printf(Locale.ROOT, "%s: %d runs recorded to %s, throughput %.3f of the probe%n", algorithm, runs.size(), file, relative);
+				} else {
+					failures += check(file, algorithm, throughput, tolerance);
+				}
+			} catch (IOException | RuntimeException e) {
+				System.out.println(algorithm + ": FAIL " + e);
+				failures++;
+			}
+		}
+
+		if (!record) {
+			System.out.println(failures == 0 ? "All checks passed" : failures + " checks FAILED");
+			System.exit(failures == 0 ? 0 : 1);
+		}
+	}
+
+	/**
+	 * Runs the golden runs of a file again and compares them.
+	 *
+	 * @param throughput whether to check the throughput
+	 * @return the number of failed checks
+	 */
+	static int check(Path file, String algorithm, boolean throughput, double tolerance) throws IOException {
+		if (!Files.exists(file)) {
+			throw new IOException("no golden traces in " + file + ", run with -record first");
+		}
+		double golden = Double.NaN;
+		List<Run> expected = new ArrayList<>();
+		for (String line : Files.readAllLines(file)) {
+			if (line.startsWith("#") || line.trim().isEmpty()) {
+				continue;
+			} else if (line.startsWith("throughput ")) {
+				golden = Double.parseDouble(line.substring("throughput ".length()).trim());
+			} else {
+				expected.add(Run.parse(line));
+			}
+		}
+		int failures = 0;
+		List<Run> runs = new ArrayList<>();
+		double relative = runAll(algorithm, expected, runs, throughput && !Double.isNaN(golden));
+		for (int k = 0; k < expected.size(); k++) {
+			Run e = expected.get(k);
+			String difference = compare(e, runs.get(k));
+			System.out.println(algorithm + " " + e.instance + " " + e.seed + ": " + (difference == null ? "ok" : "FAIL " + difference));
+			if (difference != null) {
+				failures++;
+			}
+		}
+		if (!Double.isNaN(relative)) {
+			double change = relative / golden - 1;
+			boolean ok = change >= -tolerance;
+			System.out.printf(Locale.ROOT, "%s throughput: %.3f of the probe (golden %.3f, %+.1f%%): %s%n", algorithm, relative, golden, 100 * change,
+					ok ? "ok" : "FAIL");
+			if (!ok) {
+				failures++;
+			}
+		}
+		return failures;
+	}
+
+	/**
+	 * @return null if the run matches the golden one, otherwise a description of the first difference
+	 */
+	static String compare(Run golden, Run run) {
+		StringBuilder difference = new StringBuilder();
+		if (!golden.sequence.equals(run.sequence)) {
+			int k = 0;
+			while (k < golden.sequence.length() && k < run.sequence.length() && golden.sequence.charAt(k) == run.sequence.charAt(k)) {
+				k++;
+			}
+			difference.append("heuristic sequence differs from application ").append(k + 1).append(" (golden ")
+					.append(k < golden.sequence.length() ? Integer.toString(DIGITS.indexOf(golden.sequence.charAt(k))) : "none").append(", now ")
+					.append(k < run.sequence.length() ? Integer.toString(DIGITS.indexOf(run.sequence.charAt(k))) : "none").append(")");
+		}
+		if (Double.compare(golden.finalValue, run.finalValue) != 0) {
+			if (difference.length() > 0) {
+				difference.append(", ");
+			}
+			difference.append(String.format(Locale.ROOT, "final value %s (golden %s, %+.4f%%)", run.finalValue, golden.finalValue,
+					100 * (run.finalValue / golden.finalValue - 1)));
+		}
+		return difference.length() == 0 ? null : difference.toString();
+	}
+
+	/**
+	 * Runs a hyper-heuristic on a TSP instance until it has applied the given number of LLHs.
+	 * As in ExperimentRunner, the domain is seeded with the seed and the hyper-heuristic with the seed + 1.
+	 */
+	static Run run(String algorithm, int instance, long seed, int evaluations) {
+		CountingTSP problem = new CountingTSP(seed);
+		problem.loadInstance(instance);
+		HyperHeuristic hyperHeuristic = create(algorithm, seed + 1, problem, evaluations);
+		hyperHeuristic.setTimeLimit(TIME_LIMIT);
+		hyperHeuristic.loadProblemDomain(problem);
+		ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		long start = bean.getCurrentThreadCpuTime();
+		hyperHeuristic.run();
+		long cpu = bean.getCurrentThreadCpuTime() - start;
+		return new Run(instance, seed, problem.getEvaluations(), problem.getBestSolutionValue(), problem.sequence.toString(), cpu);
+	}
+
+	// The hyper-heuristic stopping after the evaluation budget, on the virtual clock of the domain where it measures time
+	private static HyperHeuristic create(String algorithm, long seed, CountingTSP problem, int evaluations) {
+		switch (algorithm) {
+			case "RN":
+				return new RN(seed, DOS, IOM) {
+					@Override
+					protected boolean hasTimeExpired() {
+						return super.hasTimeExpired() || problem.getEvaluations() >= evaluations;
+					}
+				};
+			case "SCF":
+				return new SCF(seed, DOS, IOM) {
+					@Override
+					protected boolean hasTimeExpired() {
+						return super.hasTimeExpired() || problem.getEvaluations() >= evaluations;
+					}
+
+					@Override
+					protected long nanoTime() {
+						return problem.getEvaluations() * STEP_NANOS;
+					}
+				};
+			case "MCF":
+				return new MCF(seed) {
+					@Override
+					protected boolean hasTimeExpired() {
+						return super.hasTimeExpired() || problem.getEvaluations() >= evaluations;
+					}
+
+					@Override
+					public long getElapsedTime() {
+						return problem.getEvaluations() * STEP_NANOS / 1000000;
+					}
+				};
+			default:
+				throw new IllegalArgumentException("Unknown hyper-heuristic: " + algorithm);
+		}
+	}
+
+	/**
+	 * Runs the given cases once, and then repeatedly if the throughput is measured: the first runs are the ones
+	 * compared with the golden traces, and warm up the JIT compiler for the timed ones. The quick rate of
+	 * ThroughputProbe is measured before the first timed run and after each one, so that each run is compared with
+	 * the speed of the machine just around it.
+	 *
+	 * @param cases the instances, seeds and evaluation budgets of the runs
+	 * @param runs the list that receives the first run of each case, in the order of the cases
+	 * @param throughput whether to measure the throughput
+	 * @return the median over the cases of the median throughput of their timed runs, each relative to the mean
+	 *         rate of the probes around it, NaN if not measured
+	 */
+	static double runAll(String algorithm, List<Run> cases, List<Run> runs, boolean throughput) {
+		for (Run c : cases) {
+			runs.add(run(algorithm, c.instance, c.seed, c.evaluations));
+		}
+		if (!throughput || cases.isEmpty()) {
+			return Double.NaN;
+		}
+		List<List<Double>> ratios = new ArrayList<>();
+		for (int k = 0; k < cases.size(); k++) {
+			ratios.add(new ArrayList<>());
+		}
+		double before = ThroughputProbe.quick();
+		long cpu = 0;
+		for (int repeat = 0; repeat < MIN_REPEATS || (cpu < MIN_CPU_NANOS && repeat < MAX_REPEATS); repeat++) {
+			for (int k = 0; k < cases.size(); k++) {
+				Run c = cases.get(k);
+				Run r = run(algorithm, c.instance, c.seed, c.evaluations);
+				double after = ThroughputProbe.quick();
+				ratios.get(k).add(r.evaluations / (Math.max(1, r.cpuNanos) / 1e9) / ((before + after) / 2));
+				before = after;
+				cpu += r.cpuNanos;
+			}
+		}
+		double[] medians = new double[cases.size()];
+		for (int k = 0; k < medians.length; k++) {
+			medians[k] = median(ratios.get(k).stream().mapToDouble(Double::doubleValue).toArray());
+		}
+		return median(medians);
+	}
+
+	private static double median(double[] values) {
+		double[] sorted = values.clone();
+		Arrays.sort(sorted);
+		return sorted.length % 2 == 1 ? sorted[sorted.length / 2] : (sorted[sorted.length / 2 - 1] + sorted[sorted.length / 2]) / 2;
+	}
+
+	private static void write(Path file, String algorithm, double throughput, List<Run> runs) throws IOException {
+		List<String> lines = new ArrayList<>();
+		lines.add("# Golden traces of " + algorithm + ", recorded by examples.regression.RegressionSuite -record");
+		lines.add("# throughput: median over the runs of their median LLH applications per CPU second, relative to the quick rate of ThroughputProbe");
+		lines.add("# then one run per line: instance seed evaluations final-value heuristic-sequence (IDs in base 36)");
+		if (!Double.isNaN(throughput)) {
+			lines.add(String.format(Locale.ROOT, "throughput %.4f", throughput));
+		}
+		for (Run r : runs) {
+			lines.add(r.toLine());
+		}
+		if (file.getParent() != null) {
+			Files.createDirectories(file.getParent());
+		}
+		Files.write(file, lines);
+	}
+}
@@ -0,0 +1,179 @@
+package examples.replay;
+
+import AbstractClasses.ProblemDomain;
+
+/**
+ * This class wraps a problem domain and records every application of a low-level heuristic (LLH) into a
+ * TraceModel: the state of the search when it was applied, the DOS/IOM values, the relative change in
+ * objective value and the time taken. All calls are passed to the wrapped domain, so any hyper-heuristic can be
+ * recorded unchanged by loading this domain instead of the real one.
+ *
+ * The time of an application includes the objective value lookups of the recording, which are constant-time
+ * reads of the stored values in HyFlex.
+ *
+ * @date 2026.10.18
+ */
+
+public class RecordingDomain extends ProblemDomain {
+
+	private final ProblemDomain problem;
+	private final TraceModel model;
+
+	// Objective value of the first initial solution of the run (NaN before it is created) and best value found
+	private double initial = Double.NaN, best = Double.NaN;
+
+	/**
+	 * @param problem the problem domain, with its instance loaded
+	 * @param model the model to record into
+	 */
+	public RecordingDomain(ProblemDomain problem, TraceModel model) {
+		// The constructor of ProblemDomain calls getNumberOfHeuristics() and the setters of the memory size, DOS and
+		// IOM before the wrapped domain is set: they must not change the wrapped domain, which is already set up
+		super(0);
+		this.problem = problem;
+		this.model = model;
+	}
+
+	@Override
+	public double applyHeuristic(int heuristicID, int solutionSourceIndex, int solutionDestinationIndex) {
+		double current = problem.getFunctionValue(solutionSourceIndex);
+		long start = System.nanoTime();
+		double value = problem.applyHeuristic(heuristicID, solutionSourceIndex, solutionDestinationIndex);
+		record(heuristicID, current, value, System.nanoTime() - start);
+		return value;
+	}
+
+	@Override
+	public double applyHeuristic(int heuristicID, int solutionSourceIndex1, int solutionSourceIndex2, int solutionDestinationIndex) {
+		double current = problem.getFunctionValue(solutionSourceIndex1);
+		long start = System.nanoTime();
+		double value = problem.applyHeuristic(heuristicID, solutionSourceIndex1, solutionSourceIndex2, solutionDestinationIndex);
+		record(heuristicID, current, value, System.nanoTime() - start);
+		return value;
+	}
+
+	private void record(int heuristic, double current, double value, long nanos) {
+		if (!Double.isNaN(initial)) {
+			model.add(TraceModel.state(current, best, initial), heuristic, problem.getDepthOfSearch(), problem.getIntensityOfMutation(), (value - current) / current,
+					(value - best) / best, nanos);
+			best = Math.min(best, value);
+		}
+	}
+
+	@Override
+	public void initialiseSolution(int index) {
+		long start = System.nanoTime();
+		problem.initialiseSolution(index);
+		if (Double.isNaN(initial)) {
+			initial = problem.getFunctionValue(index);
+			best = initial;
+			model.addRun(initial, System.nanoTime() - start);
+		}
+	}
+
+	@Override
+	public void setDepthOfSearch(double depthOfSearch) {
+		if (problem != null) {
+			problem.setDepthOfSearch(depthOfSearch);
+		}
+	}
+
+	@Override
+	public void setIntensityOfMutation(double intensityOfMutation) {
+		if (problem != null) {
+			problem.setIntensityOfMutation(intensityOfMutation);
+		}
+	}
+
+	@Override
+	public double getDepthOfSearch() {
+		return problem.getDepthOfSearch();
+	}
+
+	@Override
+	public double getIntensityOfMutation() {
+		return problem.getIntensityOfMutation();
+	}
+
+	@Override
+	public int[] getHeuristicCallRecord() {
+		return problem.getHeuristicCallRecord();
+	}
+
+	@Override
+	public int[] getheuristicCallTimeRecord() {
+		return problem.getheuristicCallTimeRecord();
+	}
+
+	@Override
+	public int[] getHeuristicsOfType(HeuristicType heuristicType) {
+		return problem.getHeuristicsOfType(heuristicType);
+	}
+
+	@Override
+	public int[] getHeuristicsThatUseIntensityOfMutation() {
+		return problem.getHeuristicsThatUseIntensityOfMutation();
+	}
+
+	@Override
+	public int[] getHeuristicsThatUseDepthOfSearch() {
+		return problem.getHeuristicsThatUseDepthOfSearch();
+	}
+
+	@Override
+	public void loadInstance(int instanceID) {
+		problem.loadInstance(instanceID);
+	}
+
+	@Override
+	public void setMemorySize(int size) {
+		if (problem != null) {
+			problem.setMemorySize(size);
+		}
+	}
+
+	@Override
+	public int getNumberOfHeuristics() {
+		return problem == null ? 0 : problem.getNumberOfHeuristics();
+	}
+
+	@Override
+	public void copySolution(int solutionSourceIndex, int solutionDestinationIndex) {
+		problem.copySolution(solutionSourceIndex, solutionDestinationIndex);
+	}
+
+	@Override
+	public String toString() {
+		return problem.toString();
+	}
+
+	@Override
+	public int getNumberOfInstances() {
+		return problem.getNumberOfInstances();
+	}
+
+	@Override
+	public String bestSolutionToString() {
+		return problem.bestSolutionToString();
+	}
+
+	@Override
+	public double getBestSolutionValue() {
+		return problem.getBestSolutionValue();
+	}
+
+	@Override
+	public String solutionToString(int solutionIndex) {
+		return problem.solutionToString(solutionIndex);
+	}
+
+	@Override
+	public double getFunctionValue(int solutionIndex) {
+		return problem.getFunctionValue(solutionIndex);
+	}
+
+	@Override
+	public boolean compareSolutions(int solutionIndex1, int solutionIndex2) {
+		return problem.compareSolutions(solutionIndex1, solutionIndex2);
+	}
+}
@@ -0,0 +1,264 @@
+package examples.replay;
+
+import java.util.Arrays;
+import java.util.Random;
+import examples.scf.HeuristicTable;
+import examples.scf.SimplifiedChoiceFunction;
+
+/**
+ * This class is the base of the heuristic selection and move acceptance strategies replayed by TraceReplay.
+ * A strategy sees the same information as in a real run (the objective values before and after each application
+ * and the time it took), but time is the virtual clock of the replay, advanced by the sampled application times.
+ *
+ * The replayed versions of the hyper-heuristics of this project are:
+ * - rn: random selection among the MUTATION, RUIN_RECREATE and LOCAL_SEARCH heuristics, naive acceptance (as RN);
+ * - scf: the simplified choice function of SCF, with SimplifiedChoiceFunction itself, all moves accepted;
+ * - mcf: the modified choice function of MCF, all moves accepted.
+ * A new selection rule is screened by adding a subclass here and a case to create().
+ *
+ * The acceptance can be replaced by setAcceptance(): "all" (all moves), "naive" (improvements, and other moves
+ * with probability 0.5) or "improving" (improvements and equal moves only).
+ *
+ * @date 2026.10.18
+ */
+
+public abstract class ReplayStrategy {
+
+	// Names of the available strategies and acceptances
+	public static final String[] STRATEGIES = {"rn", "scf", "mcf"};
+	public static final String[] ACCEPTANCES = {"all", "naive", "improving"};
+
+	protected final TraceModel model;
+	protected final Random rng;
+	// IDs of the LLHs to select from
+	protected final int[] heuristicsToUse;
+	// DOS and IOM value of each LLH
+	protected final double[] dos, iom;
+
+	private String acceptance;
+
+	protected ReplayStrategy(TraceModel model, double[] dosValues, double[] iomValues, Random rng, String acceptance) {
+		this.model = model;
+		this.rng = rng;
+		this.heuristicsToUse = model.getHeuristicsToUse();
+		this.dos = new double[model.getNumberOfHeuristics()];
+		this.iom = new double[model.getNumberOfHeuristics()];
+		// Apply the values to the heuristics that use them, in the order of the domain as SCF and RN do
+		Arrays.fill(dos, 0.2);
+		Arrays.fill(iom, 0.2);
+		int[] dosHeuristics = model.getHeuristicsThatUseDepthOfSearch(), iomHeuristics = model.getHeuristicsThatUseIntensityOfMutation();
+		for (int i = 0; i < dosHeuristics.length && i < dosValues.length; i++) {
+			dos[dosHeuristics[i]] = dosValues[i];
+		}
+		for (int i = 0; i < iomHeuristics.length && i < iomValues.length; i++) {
+			iom[iomHeuristics[i]] = iomValues[i];
+		}
+		setAcceptance(acceptance);
+	}
+
+	/**
+	 * Creates a strategy.
+	 *
+	 * @param name one of STRATEGIES
+	 * @param model the model of the domain
+	 * @param dosValues the DOS values of the LLHs that use DOS, in the order of the domain
+	 * @param iomValues the IOM values of the LLHs that use IOM, in the order of the domain
+	 * @param rng the random number generator of the replayed run
+	 * @return the new strategy
+	 */
+	public static ReplayStrategy create(String name, TraceModel model, double[] dosValues, double[] iomValues, Random rng) {
+		switch (name) {
+			case "rn":
+				return new RandomSelection(model, dosValues, iomValues, rng);
+			case "scf":
+				return new ChoiceFunction(model, dosValues, iomValues, rng);
+			case "mcf":
+				return new ModifiedChoiceFunction(model, dosValues, iomValues, rng);
+			default:
+				throw new IllegalArgumentException("Unknown replay strategy: " + name);
+		}
+	}
+
+	/**
+	 * @param time the virtual time of the run in nanoseconds
+	 * @return the ID of the LLH to apply next
+	 */
+	public abstract int select(long time);
+
+	/**
+	 * Records an application of an LLH.
+	 *
+	 * @param heuristic the ID of the LLH
+	 * @param timeApplied the virtual time when it was applied in nanoseconds
+	 * @param duration the time it took in nanoseconds
+	 * @param current the objective value of the current solution
+	 * @param candidate the objective value of the solution it produced
+	 */
+	public abstract void update(int heuristic, long timeApplied, long duration, double current, double candidate);
+
+	/**
+	 * @return whether the candidate solution replaces the current one
+	 */
+	public boolean accept(double current, double candidate) {
+		switch (acceptance) {
+			case "naive":
+				return candidate < current || rng.nextBoolean();
+			case "improving":
+				return candidate <= current;
+			default:
+				return true;
+		}
+	}
+
+	/**
+	 * @param acceptance one of ACCEPTANCES
+	 */
+	public void setAcceptance(String acceptance) {
+		if (!Arrays.asList(ACCEPTANCES).contains(acceptance)) {
+			throw new IllegalArgumentException("Unknown acceptance: " + acceptance);
+		}
+		this.acceptance = acceptance;
+	}
+
+	public double getDos(int heuristic) {
+		return dos[heuristic];
+	}
+
+	public double getIom(int heuristic) {
+		return iom[heuristic];
+	}
+
+	/**
+	 * Random selection with naive acceptance, as RN.
+	 */
+	static class RandomSelection extends ReplayStrategy {
+
+		RandomSelection(TraceModel model, double[] dosValues, double[] iomValues, Random rng) {
+			super(model, dosValues, iomValues, rng, "naive");
+		}
+
+		@Override
+		public int select(long time) {
+			return heuristicsToUse[rng.nextInt(heuristicsToUse.length)];
+		}
+
+		@Override
+		public void update(int heuristic, long timeApplied, long duration, double current, double candidate) {
+		}
+	}
+
+	/**
+	 * The simplified choice function of SCF: random selection until each LLH has been tried once, then the LLH with
+	 * the best score of SimplifiedChoiceFunction at the virtual time.
+	 */
+	static class ChoiceFunction extends ReplayStrategy {
+
+		private final HeuristicTable heuristics;
+		private final SimplifiedChoiceFunction scf;
+		private int init_flag = 0;
+
+		ChoiceFunction(TraceModel model, double[] dosValues, double[] iomValues, Random rng) {
+			super(model, dosValues, iomValues, rng, "all");
+			heuristics = new HeuristicTable(model.getNumberOfHeuristics(), 0);
+			scf = new SimplifiedChoiceFunction(heuristics, 0.5);
+		}
+
+		@Override
+		public int select(long time) {
+			if (init_flag < heuristicsToUse.length) {
+				init_flag++;
+				return heuristicsToUse[rng.nextInt(heuristicsToUse.length)];
+			}
+			return scf.selectHeuristicToApply(time);
+		}
+
+		@Override
+		public void update(int heuristic, long timeApplied, long duration, double current, double candidate) {
+			scf.updateHeuristicData(heuristic, timeApplied, duration + 1, current, candidate);
+		}
+	}
+
+	/**
+	 * The modified choice function of MCF, with the times of the LLHs in milliseconds as measured by MCF.
+	 * LLHs other than MUTATION, RUIN_RECREATE and LOCAL_SEARCH (i.e. CROSSOVER) are never selected.
+	 */
+	static class ModifiedChoiceFunction extends ReplayStrategy {
+
+		private final int number_of_heuristics;
+		private final boolean[] used;
+		private final double[] F, f1, f3;
+		private final double[][] f2;
+		private double phi = 0.50, delta = 0.50, prev_fitness_change = 0;
+		private int init_flag = 0, last_heuristic_called = 0;
+
+		ModifiedChoiceFunction(TraceModel model, double[] dosValues, double[] iomValues, Random rng) {
+			super(model, dosValues, iomValues, rng, "all");
+			number_of_heuristics = model.getNumberOfHeuristics();
+			F = new double[number_of_heuristics];
+			f1 = new double[number_of_heuristics];
+			f3 = new double[number_of_heuristics];
+			f2 = new double[number_of_heuristics][number_of_heuristics];
+			used = new boolean[number_of_heuristics];
+			for (int id : heuristicsToUse) {
+				used[id] = true;
+			}
+			for (int i = 0; i < number_of_heuristics; i++) {
+				if (!used[i]) {
+					f3[i] = Double.NEGATIVE_INFINITY;
+				}
+			}
+		}
+
+		@Override
+		public int select(long time) {
+			if (init_flag <= 1) {
+				return heuristicsToUse[rng.nextInt(heuristicsToUse.length)];
+			}
+			int heuristic_to_apply = 0;
+			double best_heuristic_score = 0.0;
+			for (int i = 0; i < number_of_heuristics; i++) {
+				F[i] = phi * f1[i] + phi * f2[i][last_heuristic_called] + delta * f3[i];
+				if (F[i] > best_heuristic_score) {
+					heuristic_to_apply = i;
+					best_heuristic_score = F[i];
+				}
+			}
+			return heuristic_to_apply;
+		}
+
+		@Override
+		public void update(int heuristic_to_apply, long timeApplied, long duration, double current, double candidate) {
+			// MCF measures the time with getElapsedTime(), in whole milliseconds
+			long time_to_apply = (timeApplied + duration) / 1_000_000 - timeApplied / 1_000_000 + 1;
+			double fitness_change = current - candidate;
+			if (init_flag > 1) {
+				f1[heuristic_to_apply] = fitness_change / time_to_apply + phi * f1[heuristic_to_apply];
+				f2[heuristic_to_apply][last_heuristic_called] = prev_fitness_change + fitness_change / time_to_apply + phi * f2[heuristic_to_apply][last_heuristic_called];
+			} else if (init_flag == 1) {
+				f1[heuristic_to_apply] = fitness_change / time_to_apply;
+				f2[heuristic_to_apply][last_heuristic_called] = prev_fitness_change + fitness_change / time_to_apply + prev_fitness_change;
+				init_flag++;
+			} else {
+				f1[heuristic_to_apply] = fitness_change / time_to_apply;
+				init_flag++;
+			}
+			for (int i = 0; i < number_of_heuristics; i++) {
+				f3[i] += time_to_apply;
+			}
+			f3[heuristic_to_apply] = 0.00;
+			if (fitness_change > 0.00) {
+				phi = 0.99;
+				delta = 0.01;
+				prev_fitness_change = fitness_change / time_to_apply;
+			} else {
+				if (phi > 0.01) {
+					phi -= 0.01;
+				}
+				phi = Math.round(phi * 100) / 100.0;
+				delta = Math.round((1.00 - phi) * 100) / 100.0;
+				prev_fitness_change = 0.00;
+			}
+			last_heuristic_called = heuristic_to_apply;
+		}
+	}
+}
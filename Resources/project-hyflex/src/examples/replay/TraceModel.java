@@ -0,0 +1,389 @@
+package examples.replay;
+
+import AbstractClasses.ProblemDomain;
+import AbstractClasses.ProblemDomain.HeuristicType;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * This class holds the empirical distributions of the change in objective value and of the time taken by each
+ * low-level heuristic (LLH), as recorded from real runs by RecordingDomain and replayed by TraceReplay.
+ *
+ * The samples are grouped by the state of the search, the LLH and its DOS/IOM values:
+ * - the state combines the progress of the run, i.e. the best value found relative to the initial one in buckets
+ *   of 2% (bucket 0: less than 2% better than the initial solution, bucket 1: 2% to 4% better, ...), and the gap of
+ *   the current solution to the best one (at the best, within 1%, 5%, 20%, 100%, further). The progress matters
+ *   since an LLH improves a good solution less often and by less than a poor one, the gap since a local search
+ *   repairs most of what the previous mutation broke, and must not repeat such repairs on a solution at the best;
+ * - the DOS and IOM values are rounded to levels 0 to 10 (value * 10), and ignored for LLHs that do not use them.
+ * Changes are stored relative to the objective value before the application, so that they carry over from the
+ * recorded runs to replayed runs that reach other values. Each sample also holds the value it produced relative
+ * to the best value before it, which bounds a replayed application: a change drawn from a solution far from the
+ * best cannot take a replayed run further below its best than the recorded application took the recorded run, and
+ * no replayed solution is further above the best than the worst recorded one (changes would otherwise compound
+ * without the limits of the real domain).
+ *
+ * A model is saved as text: a header with the LLH IDs of the domain and the initial solutions of the recorded runs,
+ * then one line per application "<state> <llh> <dos level> <iom level> <relative change> <relative to best> <nanoseconds>".
+ *
+ * @date 2026.10.18
+ */
+
+public class TraceModel {
+
+	// Width and number of the buckets of progress
+	public static final double BUCKET_WIDTH = 0.02;
+	public static final int BUCKETS = 25;
+	// Upper bounds of the gaps of the current solution to the best one, relative to the best
+	private static final double[] GAPS = {0, 0.01, 0.05, 0.2, 1};
+	public static final int STATES = BUCKETS * (GAPS.length + 1);
+	// Number of DOS/IOM levels
+	public static final int LEVELS = 11;
+
+	private int numHeuristics;
+	// IDs of the LLHs that use DOS, that use IOM, and that the hyper-heuristics use (MUTATION, RUIN_RECREATE, LOCAL_SEARCH)
+	private int[] dosHeuristics, iomHeuristics, heuristicsToUse;
+	private boolean[] usesDos, usesIom;
+
+	// Sum of the initial objective values and of the initialisation times of the recorded runs
+	private double initialValues;
+	private long initialNanos;
+	private int runs;
+
+	// Deepest progress bucket with samples, and largest value produced relative to the best value
+	private int maxBucket;
+	private double maxAboveBest;
+	// Samples by key, see key()
+	private final Map<Integer, Samples> samples = new HashMap<>();
+	// Samples used for keys without samples of their own, see resolve()
+	private final Map<Integer, Samples> resolved = new HashMap<>();
+
+	/**
+	 * The samples of one key, in growable parallel arrays.
+	 */
+	static class Samples {
+
+		double[] changes = new double[16], toBest = new double[16];
+		long[] nanos = new long[16];
+		int size;
+
+		void add(double change, double relativeToBest, long time) {
+			if (size == changes.length) {
+				changes = Arrays.copyOf(changes, 2 * size);
+				toBest = Arrays.copyOf(toBest, 2 * size);
+				nanos = Arrays.copyOf(nanos, 2 * size);
+			}
+			changes[size] = change;
+			toBest[size] = relativeToBest;
+			nanos[size++] = time;
+		}
+	}
+
+	private TraceModel() {
+	}
+
+	/**
+	 * @param problem the problem domain of the runs to record
+	 */
+	public TraceModel(ProblemDomain problem) {
+		int[] mutations = problem.getHeuristicsOfType(HeuristicType.MUTATION);
+		int[] ruin_recreates = problem.getHeuristicsOfType(HeuristicType.RUIN_RECREATE);
+		int[] local_searches = problem.getHeuristicsOfType(HeuristicType.LOCAL_SEARCH);
+		int[] use = new int[mutations.length + ruin_recreates.length + local_searches.length];
+		System.arraycopy(mutations, 0, use, 0, mutations.length);
+		System.arraycopy(ruin_recreates, 0, use, mutations.length, ruin_recreates.length);
+		System.arraycopy(local_searches, 0, use, mutations.length + ruin_recreates.length, local_searches.length);
+		setHeuristics(problem.getNumberOfHeuristics(), problem.getHeuristicsThatUseDepthOfSearch(), problem.getHeuristicsThatUseIntensityOfMutation(), use);
+	}
+
+	private void setHeuristics(int numHeuristics, int[] dosHeuristics, int[] iomHeuristics, int[] heuristicsToUse) {
+		this.numHeuristics = numHeuristics;
+		this.dosHeuristics = dosHeuristics;
+		this.iomHeuristics = iomHeuristics;
+		this.heuristicsToUse = heuristicsToUse;
+		usesDos = new boolean[numHeuristics];
+		usesIom = new boolean[numHeuristics];
+		for (int id : dosHeuristics) {
+			usesDos[id] = true;
+		}
+		for (int id : iomHeuristics) {
+			usesIom[id] = true;
+		}
+	}
+
+	/**
+	 * @param current the objective value of the current solution
+	 * @param best the best objective value found in the run
+	 * @param initial the objective value of the initial solution of the run
+	 * @return the state of the search
+	 */
+	public static int state(double current, double best, double initial) {
+		int bucket = Math.max(0, Math.min(BUCKETS - 1, (int) ((1 - best / initial) / BUCKET_WIDTH)));
+		int gap = 0;
+		while (gap < GAPS.length && current - best > GAPS[gap] * Math.abs(best)) {
+			gap++;
+		}
+		return bucket * (GAPS.length + 1) + gap;
+	}
+
+	/**
+	 * @param value a DOS or IOM value in [0, 1]
+	 * @return its level
+	 */
+	public static int level(double value) {
+		return Math.max(0, Math.min(LEVELS - 1, (int) Math.round(value * (LEVELS - 1))));
+	}
+
+	private int key(int state, int heuristic, int dosLevel, int iomLevel) {
+		dosLevel = usesDos[heuristic] ? dosLevel : 0;
+		iomLevel = usesIom[heuristic] ? iomLevel : 0;
+		return ((state * numHeuristics + heuristic) * LEVELS + dosLevel) * LEVELS + iomLevel;
+	}
+
+	/**
+	 * Records the initial solution of a run.
+	 *
+	 * @param value its objective value
+	 * @param nanos the time taken to create it in nanoseconds
+	 */
+	public synchronized void addRun(double value, long nanos) {
+		initialValues += value;
+		initialNanos += nanos;
+		runs++;
+	}
+
+	/**
+	 * Records an application of an LLH.
+	 *
+	 * @param state the state of the search when it was applied
+	 * @param heuristic the ID of the LLH
+	 * @param dos the DOS value it was applied with
+	 * @param iom the IOM value it was applied with
+	 * @param change the change in objective value relative to the value before the application
+	 * @param relativeToBest the value it produced relative to the best value before it, (value - best) / best
+	 * @param nanos the time taken in nanoseconds
+	 */
+	public synchronized void add(int state, int heuristic, double dos, double iom, double change, double relativeToBest, long nanos) {
+		samples.computeIfAbsent(key(state, heuristic, level(dos), level(iom)), k -> new Samples()).add(change, relativeToBest, nanos);
+		maxBucket = Math.max(maxBucket, state / (GAPS.length + 1));
+		maxAboveBest = Math.max(maxAboveBest, relativeToBest);
+		resolved.clear();
+	}
+
+	/**
+	 * Draws an application of an LLH. A run that is further than the recorded runs went is in the state of the
+	 * deepest progress bucket recorded, never in an earlier one with its larger improvements. If there is no sample
+	 * for the exact state and levels, the samples of the nearest state and levels of the same LLH are used, with a difference of one gap counting as three progress
+	 * buckets and a difference of one DOS/IOM level as two.
+	 *
+	 * @param state the state of the search
+	 * @param heuristic the ID of the LLH
+	 * @param dosLevel the DOS level
+	 * @param iomLevel the IOM level
+	 * @param rng the random number generator of the replay
+	 * @param change receives the relative change in objective value in change[0] and the value produced relative to
+	 * the best value in change[1] (both 0 if the LLH was never recorded)
+	 * @return the time taken in nanoseconds (the mean time of all samples if the LLH was never recorded)
+	 */
+	public long sample(int state, int heuristic, int dosLevel, int iomLevel, Random rng, double[] change) {
+		int gaps = GAPS.length + 1;
+		Samples s = resolve(key(Math.min(state / gaps, maxBucket) * gaps + state % gaps, heuristic, dosLevel, iomLevel));
+		if (s == null) {
+			change[0] = 0;
+			change[1] = 0;
+			return getMeanNanos();
+		}
+		int k = rng.nextInt(s.size);
+		change[0] = s.changes[k];
+		change[1] = s.toBest[k];
+		return s.nanos[k];
+	}
+
+	private synchronized Samples resolve(int key) {
+		Samples s = resolved.get(key);
+		if (s != null || resolved.containsKey(key)) {
+			return s;
+		}
+		int iom = key % LEVELS, dos = key / LEVELS % LEVELS, heuristic = key / (LEVELS * LEVELS) % numHeuristics, state = key / (LEVELS * LEVELS * numHeuristics);
+		int gaps = GAPS.length + 1, best = Integer.MAX_VALUE;
+		for (Map.Entry<Integer, Samples> entry : samples.entrySet()) {
+			int k = entry.getKey(), other = k / (LEVELS * LEVELS * numHeuristics);
+			if (k / (LEVELS * LEVELS) % numHeuristics != heuristic) {
+				continue;
+			}
+			int distance = Math.abs(other / gaps - state / gaps) + 3 * Math.abs(other % gaps - state % gaps)
+					+ 2 * (Math.abs(k / LEVELS % LEVELS - dos) + Math.abs(k % LEVELS - iom));
+			if (distance < best) {
+				best = distance;
+				s = entry.getValue();
+			}
+		}
+		resolved.put(key, s);
+		return s;
+	}
+
+	/**
+	 * @return whether the LLH has samples
+	 */
+	public synchronized boolean hasSamples(int heuristic) {
+		for (int k : samples.keySet()) {
+			if (k / (LEVELS * LEVELS) % numHeuristics == heuristic) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @return the number of recorded applications
+	 */
+	public synchronized long size() {
+		long size = 0;
+		for (Samples s : samples.values()) {
+			size += s.size;
+		}
+		return size;
+	}
+
+	private synchronized long getMeanNanos() {
+		long sum = 0, count = 0;
+		for (Samples s : samples.values()) {
+			for (int k = 0; k < s.size; k++) {
+				sum += s.nanos[k];
+			}
+			count += s.size;
+		}
+		return count == 0 ? 1 : sum / count;
+	}
+
+	/**
+	 * @return the largest value produced relative to the best value, (value - best) / best
+	 */
+	public synchronized double getMaxAboveBest() {
+		return maxAboveBest;
+	}
+
+	public int getNumberOfHeuristics() {
+		return numHeuristics;
+	}
+
+	public int[] getHeuristicsThatUseDepthOfSearch() {
+		return dosHeuristics;
+	}
+
+	public int[] getHeuristicsThatUseIntensityOfMutation() {
+		return iomHeuristics;
+	}
+
+	/**
+	 * @return the IDs of the MUTATION, RUIN_RECREATE and LOCAL_SEARCH heuristics
+	 */
+	public int[] getHeuristicsToUse() {
+		return heuristicsToUse;
+	}
+
+	/**
+	 * @return the mean objective value of the initial solutions of the recorded runs
+	 */
+	public synchronized double getInitialValue() {
+		return initialValues / runs;
+	}
+
+	/**
+	 * @return the mean time taken to create the initial solutions of the recorded runs in nanoseconds
+	 */
+	public synchronized long getInitialNanos() {
+		return initialNanos / runs;
+	}
+
+	public synchronized int getRuns() {
+		return runs;
+	}
+
+	/**
+	 * Saves the model.
+	 *
+	 * @param file the file to write
+	 */
+	public synchronized void save(Path file) throws IOException {
+		try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+			writer.write("heuristics " + numHeuristics + "\n");
+			writer.write("dos" + ids(dosHeuristics) + "\n");
+			writer.write("iom" + ids(iomHeuristics) + "\n");
+			writer.write("use" + ids(heuristicsToUse) + "\n");
+			writer.write("runs " + runs + " " + initialValues + " " + initialNanos + "\n");
+			for (Map.Entry<Integer, Samples> entry : samples.entrySet()) {
+				int k = entry.getKey();
+				String prefix = k / (LEVELS * LEVELS * numHeuristics) + " " + k / (LEVELS * LEVELS) % numHeuristics + " " + k / LEVELS % LEVELS + " " + k % LEVELS + " ";
+				Samples s = entry.getValue();
+				for (int i = 0; i < s.size; i++) {
+					writer.write(prefix + s.changes[i] + " " + s.toBest[i] + " " + s.nanos[i] + "\n");
+				}
+			}
+		}
+	}
+
+	private static String ids(int[] ids) {
+		StringBuilder line = new StringBuilder();
+		for (int id : ids) {
+			line.append(' ').append(id);
+		}
+		return line.toString();
+	}
+
+	/**
+	 * Loads a model saved by save().
+	 *
+	 * @param file the file to read
+	 * @return the model
+	 * @throws IOException if the file cannot be read or is malformed
+	 */
+	public static TraceModel load(Path file) throws IOException {
+		TraceModel model = new TraceModel();
+		try (BufferedReader reader = Files.newBufferedReader(file)) {
+			int numHeuristics = Integer.parseInt(field(reader.readLine(), "heuristics")[0]);
+			int[] dos = parseIds(field(reader.readLine(), "dos")), iom = parseIds(field(reader.readLine(), "iom")), use = parseIds(field(reader.readLine(), "use"));
+			model.setHeuristics(numHeuristics, dos, iom, use);
+			String[] runs = field(reader.readLine(), "runs");
+			model.runs = Integer.parseInt(runs[0]);
+			model.initialValues = Double.parseDouble(runs[1]);
+			model.initialNanos = Long.parseLong(runs[2]);
+			String line;
+			while ((line = reader.readLine()) != null) {
+				String[] values = line.trim().split("\\s+");
+				if (values.length != 7) {
+					throw new IOException(file + ": malformed sample: " + line);
+				}
+				model.add(Integer.parseInt(values[0]), Integer.parseInt(values[1]), Integer.parseInt(values[2]) / (double) (LEVELS - 1),
+						Integer.parseInt(values[3]) / (double) (LEVELS - 1), Double.parseDouble(values[4]), Double.parseDouble(values[5]), Long.parseLong(values[6]));
+			}
+		} catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+			throw new IOException(file + ": malformed trace model: " + e.getMessage());
+		}
+		return model;
+	}
+
+	// The values of a header line "<name> <values...>"
+	private static String[] field(String line, String name) throws IOException {
+		if (line == null || !line.startsWith(name)) {
+			throw new IOException("missing line " + name);
+		}
+		String rest = line.substring(name.length()).trim();
+		return rest.isEmpty() ? new String[0] : rest.split("\\s+");
+	}
+
+	private static int[] parseIds(String[] values) {
+		int[] ids = new int[values.length];
+		for (int i = 0; i < ids.length; i++) {
+			ids[i] = Integer.parseInt(values[i]);
+		}
+		return ids;
+	}
+}
@@ -0,0 +1,209 @@
+package examples.replay;
+
+import AbstractClasses.HyperHeuristic;
+import AbstractClasses.ProblemDomain;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Random;
+import examples.rng.FastRandom;
+import examples.tuning.ExperimentRunner;
+import travelingSalesmanProblem.TSP;
+
+/**
+ * This class screens heuristic selection and move acceptance strategies without running the problem domain.
+ * It works in two steps:
+ * - record: real runs of a hyper-heuristic on a TSP instance, through RecordingDomain, build a TraceModel of the
+ *   change in objective value and the time of each LLH, by solution quality and DOS/IOM values;
+ * - replay: a ReplayStrategy is run against the model instead of the domain. Each application draws a change and
+ *   a time from the model, and a virtual clock, advanced by the drawn times, stops the run at the time limit.
+ * A replayed run of 10 seconds takes a few milliseconds, so thousands of variants (strategies, DOS/IOM values)
+ * can be screened before the best are evaluated for real.
+ *
+ * Replayed values are estimates: the model does not know which solution an LLH is applied to, only how good it is.
+ * Replays are meant to rank variants, and rank them best when the model was recorded with a similar strategy.
+ * When executing this class, please ensure to set the run configurations:
+ * -record <file> [-a <algorithm>] or -replay <file> [-s <strategy>] [-accept <acceptance>], and
+ * [-n <instance>] [-t <time>] [-runs <runs>] [-seed <seed>] [-d <configurations>] [-i <configurations>]
+ *
+ * Full list of arguments:
+ * -record <file>             : record runs into the trace model file (added to the model if the file exists)
+ * -replay <file>             : replay runs against the trace model file
+ * -a <algorithm>             : hyper-heuristic to record: RN, SCF, MCF or Bandit (default: RN)
+ * -s <strategy>              : strategy to replay: rn, scf or mcf (default: scf)
+ * -accept <acceptance>       : acceptance of the replayed strategy: all, naive or improving (default: that of the strategy)
+ * -n <instance>              : ID of the TSP instance to record (default: 0)
+ * -t <time>                  : time limit of each run in milliseconds, virtual for replays (default: 10000)
+ * -runs <runs>               : number of runs (default: 1)
+ * -seed <seed>               : seed of the first run, the next runs use the following seeds (default: 1234)
+ * -d <configurations>        : Depth of Search (DOS) values separated by spaces (default: 0.2 0.2 0.2)
+ * -i <configurations>        : Intensity of Mutation (IOM) values separated by spaces (default: 0.2 0.2 0.2)
+ *
+ * Example program arguments as run configuration:
+ * -record pr299.trace -a SCF -n 0 -t 10000 -runs 3
+ * -replay pr299.trace -s mcf -t 10000 -runs 100 -d 0.1 0.2 0.3
+ *
+ * @date 2026.10.18
+ */
+
+public class TraceReplay {
+
+	public static void main(String[] args) {
+
+		String recordFile = null, replayFile = null, algorithm = "RN", strategy = "scf", acceptance = null;
+		int instance = 0, runs = 1;
+		long time = 10000, seed = 1234;
+		double[] dos = {0.2, 0.2, 0.2};
+		double[] iom = {0.2, 0.2, 0.2};
+
+		//-------------------------------Parse command line arguments--------------------------
+		for (int i = 0; i < args.length; i++) {
+			switch (args[i]) {
+				case "-record":
+					recordFile = args[++i];
+					break;
+				case "-replay":
+					replayFile = args[++i];
+					break;
+				case "-a":
+					algorithm = args[++i];
+					break;
+				case "-s":
+					strategy = args[++i];
+					break;
+				case "-accept":
+					acceptance = args[++i];
+					break;
+				case "-n":
+					instance = Integer.parseInt(args[++i]);
+					break;
+				case "-t":
+					time = Long.parseLong(args[++i]);
+					break;
+				case "-runs":
+					runs = Integer.parseInt(args[++i]);
+					break;
+				case "-seed":
+					seed = Long.parseLong(args[++i]);
+					break;
+				case "-d":
+					parseValues(args, dos, i++);
+					break;
+				case "-i":
+					parseValues(args, iom, i++);
+					break;
+				default:
+					break;
+			}
+		}
+		if ((recordFile == null) == (replayFile == null)) {
+			System.err.println("Usage: java examples.replay.TraceReplay -record <file> [-a <algorithm>] | -replay <file> [-s <strategy>] [-accept <acceptance>] [-n <instance>] [-t <time>] [-runs <runs>] [-seed <seed>] [-d <configurations>] [-i <configurations>]");
+			System.exit(1);
+		}
+
+		try {
+			if (recordFile != null) {
+				//-------------------------------Record real runs---------------------------------------
+				Path file = Paths.get(recordFile);
+				TraceModel model = Files.exists(file) ? TraceModel.load(file) : null;
+				for (int run = 0; run < runs; run++) {
+					ProblemDomain problem = new TSP(seed + run);
+					problem.loadInstance(instance);
+					if (model == null) {
+						model = new TraceModel(problem);
+					} else if (model.getNumberOfHeuristics() != problem.getNumberOfHeuristics()) {
+						System.err.println(recordFile + " is the model of another domain");
+						System.exit(1);
+					}
+					System.out.println("Run " + run + ": " + record(algorithm, problem, model, time, seed + run + 1, dos, iom));
+				}
+				model.save(file);
+				System.out.println("Recorded " + model.size() + " applications of " + model.getRuns() + " runs into " + recordFile);
+			} else {
+				//-------------------------------Replay against the model-------------------------------
+				TraceModel model = TraceModel.load(Paths.get(replayFile));
+				double sum = 0, best = Double.MAX_VALUE;
+				long applications = 0, start = System.nanoTime();
+				for (int run = 0; run < runs; run++) {
+					ReplayStrategy replayed = ReplayStrategy.create(strategy, model, dos, iom, new FastRandom(seed + run));
+					if (acceptance != null) {
+						replayed.setAcceptance(acceptance);
+					}
+					double[] result = replay(model, replayed, time, new FastRandom(seed + run + 1));
+					sum += result[0];
+					best = Math.min(best, result[0]);
+					applications += (long) result[1];
+				}
+				double micros = (System.nanoTime() - start) / 1e3 / runs;
+				System.out.println("Strategy: " + strategy + ". Mean best value: " + sum / runs + ". Best value: " + best);
+				System.out.printf("Applications per run: %d. Replay time per run: %.1f us%n", applications / runs, micros);
+			}
+		} catch (IOException | IllegalArgumentException e) {
+			System.err.println(e.getMessage());
+			System.exit(1);
+		}
+	}
+
+	/**
+	 * Runs a hyper-heuristic on a problem domain and records its LLH applications.
+	 *
+	 * @param algorithm one of ExperimentRunner.ALGORITHMS
+	 * @param problem the problem domain with the instance loaded
+	 * @param model the model to record into
+	 * @param time the time limit in milliseconds
+	 * @param seed the seed of the hyper-heuristic
+	 * @param dos the DOS values
+	 * @param iom the IOM values
+	 * @return the best solution value found
+	 */
+	public static double record(String algorithm, ProblemDomain problem, TraceModel model, long time, long seed, double[] dos, double[] iom) {
+		HyperHeuristic hyper_heuristic_object = ExperimentRunner.createHyperHeuristic(algorithm, seed, dos, iom);
+		hyper_heuristic_object.setTimeLimit(time);
+		hyper_heuristic_object.loadProblemDomain(new RecordingDomain(problem, model));
+		hyper_heuristic_object.run();
+		return hyper_heuristic_object.getBestSolutionValue();
+	}
+
+	/**
+	 * Replays one run of a strategy against a model.
+	 *
+	 * @param model the model of the domain
+	 * @param strategy the strategy
+	 * @param time the virtual time limit in milliseconds
+	 * @param rng the random number generator that draws the applications
+	 * @return {best solution value, number of LLH applications}
+	 */
+	public static double[] replay(TraceModel model, ReplayStrategy strategy, long time, Random rng) {
+		double initial = model.getInitialValue(), current = initial, best = initial;
+		double[] change = new double[2];
+		double maxAboveBest = model.getMaxAboveBest();
+		long limit = time * 1_000_000, clock = model.getInitialNanos(), applications = 0;
+		// As in HyFlex, the time limit is checked before each application, so the last one may end after it
+		while (clock < limit) {
+			int heuristic = strategy.select(clock);
+			long duration = model.sample(TraceModel.state(current, best, initial), heuristic,
+					TraceModel.level(strategy.getDos(heuristic)), TraceModel.level(strategy.getIom(heuristic)), rng, change);
+			// The drawn change cannot take the run further below its best value than it took the recorded run,
+			// nor further above it than any recorded run went
+			double candidate = Math.max(current * (1 + change[0]), best * (1 + Math.min(0, change[1])));
+			candidate = Math.min(candidate, best * (1 + maxAboveBest));
+			strategy.update(heuristic, clock, duration, current, candidate);
+			clock += duration;
+			applications++;
+			// As in HyFlex, the best value is that of all solutions produced, accepted or not
+			best = Math.min(best, candidate);
+			if (strategy.accept(current, candidate)) {
+				current = candidate;
+			}
+		}
+		return new double[] {best, applications};
+	}
+
+	// Helper method to parse DOS and IOM values from command line arguments
+	private static void parseValues(String[] args, double[] values, int index) {
+		for (int j = 0; j < values.length && index + 1 < args.length; j++) {
+			values[j] = Double.parseDouble(args[++index]);
+		}
+	}
+}
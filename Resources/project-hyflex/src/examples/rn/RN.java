@@ -4,6 +4,11 @@ package examples.rn;
 import AbstractClasses.HyperHeuristic;
 import AbstractClasses.ProblemDomain;
 import AbstractClasses.ProblemDomain.HeuristicType;
+import examples.control.CandidateSetManager;
+import examples.control.LocalOptimumMemo;
+import examples.control.ParameterController;
+import examples.monitor.HeuristicProbe;
+import examples.monitor.TimeToTarget;
 
 
 
@@ -25,6 +30,21 @@ public class RN extends HyperHeuristic {
 	// Default values for DOS and IOM parameters
 	double[] dosValues = {0.2, 0.2, 0.2}, iomValues = {0.2, 0.2, 0.2}; 
 	
+	// Online control of DOS/IOM during the run: "none" keeps the values above for the whole run
+	String parameterControl = "none";
+	
+	// Skip LOCAL_SEARCH heuristics that already failed to improve the current solution
+	boolean localOptimumMemo = false;
+	
+	// Retire expensive heuristics that do not improve the solution for part of the run
+	boolean candidatePruning = false;
+	
+	// Stops the run when the best solution value reaches a target (null: run until the time limit)
+	TimeToTarget timeToTarget;
+	
+	// Records JFR events and metrics of the current run
+	HeuristicProbe probe;
+	
 	public RN(long seed) {
 		super(seed);
 	}
@@ -62,6 +82,24 @@ public class RN extends HyperHeuristic {
 		problem.initialiseSolution(0);
 		double current_obj_function_value = problem.getFunctionValue(0);
 		
+		// Create the online DOS/IOM controllers (null if parameter control is off)
+		ParameterController dosControl = ParameterController.create(parameterControl, heuristics.length, problem.getHeuristicsThatUseDepthOfSearch(), rng);
+		ParameterController iomControl = ParameterController.create(parameterControl, heuristics.length, problem.getHeuristicsThatUseIntensityOfMutation(), rng);
+		int dos_level = 0, iom_level = 0;
+		long time_exp_before = 0, time_to_apply = 0, time_select_before = 0;
+		
+		// Create the probe that records LLH applications, selections, copies and time checks (null if monitoring is off)
+		probe = HeuristicProbe.create("RN", problem);
+		// The applications are timed only for the probe and the controllers
+		boolean timed = probe != null || dosControl != null;
+		
+		// Create the memo of local searches that reached a fixed point on the current solution (null if off)
+		LocalOptimumMemo memo = localOptimumMemo ? new LocalOptimumMemo(problem) : null;
+		
+		// Create the manager of the candidate heuristics (null if pruning is off)
+		CandidateSetManager candidates = candidatePruning ? new CandidateSetManager("RN", heuristics_to_use, heuristics.length, getTimeLimit()) : null;
+		long cpu_before = 0;
+		
 		// Set the first heuristic to apply
 		Heuristic h = heuristics[0];
 
@@ -69,9 +107,38 @@ public class RN extends HyperHeuristic {
 		while (!hasTimeExpired()) {
 
 			//this hyper-heuristic chooses a random low level heuristic to apply
-			int randomIndex = rng.nextInt(heuristics_to_use.length);
-			heuristic_to_apply = heuristics_to_use[randomIndex];
-			h = heuristics[heuristic_to_apply];
+			if (probe != null) {
+				time_select_before = System.nanoTime();
+			}
+			if (candidates != null) {
+				heuristics_to_use = candidates.getCandidates();
+			}
+			for (int redraw = 0; ; redraw++) {
+				heuristic_to_apply = heuristics_to_use[rng.nextInt(heuristics_to_use.length)];
+				h = heuristics[heuristic_to_apply];
+				
+				// Let the controllers choose the dos and iom of the selected LLH, before the memo checks its dos
+				if (dosControl != null && dosControl.isControlled(heuristic_to_apply)) {
+					dos_level = dosControl.selectLevel(heuristic_to_apply);
+					h.getConfiguration().setDos(dosControl.getLevel(dos_level));
+				}
+				if (iomControl != null && iomControl.isControlled(heuristic_to_apply)) {
+					iom_level = iomControl.selectLevel(heuristic_to_apply);
+					h.getConfiguration().setIom(iomControl.getLevel(iom_level));
+				}
+				
+				// Draw again while the chosen local search cannot change the current solution at that dos
+				if (memo == null || redraw >= heuristics_to_use.length || !memo.isRedundant(heuristic_to_apply, h.getConfiguration().getDos())) {
+					break;
+				}
+				memo.skip();
+				if (probe != null) {
+					probe.skipped(heuristic_to_apply);
+				}
+			}
+			if (probe != null) {
+				probe.selected(heuristic_to_apply, true, System.nanoTime() - time_select_before);
+			}
 			
 			// Set the dos and iom based on the selected LLH
 			problem.setDepthOfSearch(h.getConfiguration().getDos());
@@ -79,32 +146,118 @@ public class RN extends HyperHeuristic {
 
 			//apply the chosen heuristic to the solution at index 0 in the memory
 			//the new solution is then stored at index 1 of the solution memory while we decide whether to accept it
+			if (candidates != null) {
+				cpu_before = CandidateSetManager.cpuTime();
+			}
+			if (timed) {
+				time_exp_before = System.nanoTime();
+			}
 			double new_obj_function_value = problem.applyHeuristic(heuristic_to_apply, 0, 1);
+			if (timed) {
+				time_to_apply = System.nanoTime() - time_exp_before;
+			}
 			
 //			this.printHeuristicInfo(h);
 //			System.out.println("Problem setting IOM: "+problem.getIntensityOfMutation()+" DOS: "+problem.getDepthOfSearch());
 								
 			//calculate the change in fitness from the current solution to the new solution
 			double delta = current_obj_function_value - new_obj_function_value;
+			
+			// Measure the yield of the heuristic, which may retire or re-test candidates
+			if (candidates != null) {
+				candidates.record(heuristic_to_apply, delta, CandidateSetManager.cpuTime() - cpu_before);
+			}
+			
+			// Remember a local search that did not improve, its output is the current solution
+			boolean fixed_point = memo != null && memo.record(heuristic_to_apply, h.getConfiguration().getDos(), delta);
+			
+			// Credit the improvement per unit time to the dos/iom levels that were used
+			if (dosControl != null) {
+				if (dosControl.isControlled(heuristic_to_apply)) {
+					dosControl.update(heuristic_to_apply, dos_level, delta, time_to_apply);
+				}
+				if (iomControl.isControlled(heuristic_to_apply)) {
+					iomControl.update(heuristic_to_apply, iom_level, delta, time_to_apply);
+				}
+			}
 
 			//all of the problem domains are implemented as minimisation problems. A lower fitness means a better solution.
+			boolean accepted = false;
 			if (delta > 0) {
 				//if there is an improvement then we 'accept' the solution by copying the new solution into memory index 0
 				problem.copySolution(1, 0);
 				//we also set the current objective function value to the new function value, as the new solution is now the current solution
 				current_obj_function_value = new_obj_function_value;
+				accepted = true;
 			} else {
 				//if there is not an improvement in solution quality then we accept the solution with a 50% probability
 				if (rng.nextBoolean()) {
 					//the process for 'accepting' a solution is the same as above
 					problem.copySolution(1, 0);
 					current_obj_function_value = new_obj_function_value;
+					accepted = true;
 				}
 			}
+			if (accepted && memo != null && !fixed_point) {
+				memo.solutionChanged();
+			}
+			if (probe != null) {
+				if (accepted) {
+					probe.copied(1, 0);
+				}
+				probe.applied(heuristic_to_apply, h.getConfiguration().getDos(), h.getConfiguration().getIom(), time_to_apply, delta, accepted);
+			}
 			//one iteration has been completed, so we return to the start of the main loop and check if the time has expired 
 		}
 	}
 	
+	/**
+	 * Checks the time limit and the target value if any, recording the check with the probe of the current run.
+	 */
+	@Override
+	protected boolean hasTimeExpired() {
+		boolean expired = super.hasTimeExpired();
+		if (!expired && timeToTarget != null) {
+			expired = timeToTarget.check(this);
+		}
+		if (probe != null) {
+			probe.timeChecked(this, expired);
+		}
+		return expired;
+	}
+	
+	/**
+	 * Stops the run as soon as the best solution value reaches a target, see TimeToTarget.
+	 * 
+	 * @param timeToTarget the target to reach, null to run until the time limit
+	 */
+	public void setTimeToTarget(TimeToTarget timeToTarget) {
+		this.timeToTarget = timeToTarget;
+	}
+	
+	/**
+	 * Skips LOCAL_SEARCH heuristics that already failed to improve the current solution, see LocalOptimumMemo.
+	 */
+	public void setLocalOptimumMemo(boolean localOptimumMemo) {
+		this.localOptimumMemo = localOptimumMemo;
+	}
+	
+	/**
+	 * Retires expensive heuristics that do not improve the solution for part of the run, see CandidateSetManager.
+	 */
+	public void setCandidatePruning(boolean candidatePruning) {
+		this.candidatePruning = candidatePruning;
+	}
+	
+	/**
+	 * Enables online control of the DOS/IOM values of each heuristic during the run.
+	 * 
+	 * @param mode one of ParameterController.MODES: "none" (static values), "pursuit" (adaptive pursuit) or "matching" (probability matching)
+	 */
+	public void setParameterControl(String mode) {
+		this.parameterControl = mode;
+	}
+	
 	/**
 	 * this method must be implemented, to provide a different name for each hyper-heuristic
 	 * @return a string representing the name of the hyper-heuristic
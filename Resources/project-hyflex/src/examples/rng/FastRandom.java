@@ -0,0 +1,98 @@
+package examples.rng;
+
+import java.util.Random;
+import java.util.SplittableRandom;
+
+/**
+ * This class is a java.util.Random backed by a SplittableRandom, so that it can replace the rng fields of
+ * HyperHeuristic and ProblemDomain, which are declared as Random.
+ *
+ * java.util.Random is thread-safe: every call updates its seed with an atomic compare-and-set, and nextGaussian()
+ * is synchronized. The hyper-heuristics and problem domains only use their generator from the thread that runs
+ * them, so this class drops that cost. It is not thread-safe: each run must have its own instance, see RandomStreams.
+ * SplittableRandom also has a longer period (2^64) and better statistical quality than the 48-bit LCG of Random.
+ *
+ * @date 2026.10.18
+ */
+
+public class FastRandom extends Random {
+
+	private static final long serialVersionUID = 1L;
+
+	private SplittableRandom generator;
+
+	/**
+	 * @param seed the seed of the generator
+	 */
+	public FastRandom(long seed) {
+		super(seed);
+	}
+
+	/**
+	 * @param generator the generator to draw from, not shared with other threads
+	 */
+	public FastRandom(SplittableRandom generator) {
+		super(0);
+		this.generator = generator;
+	}
+
+	/**
+	 * Restarts the generator from a seed (also called by the constructor of Random).
+	 */
+	@Override
+	public void setSeed(long seed) {
+		generator = new SplittableRandom(seed);
+	}
+
+	@Override
+	protected int next(int bits) {
+		return (int) (generator.nextLong() >>> (64 - bits));
+	}
+
+	@Override
+	public int nextInt() {
+		return generator.nextInt();
+	}
+
+	@Override
+	public int nextInt(int bound) {
+		return generator.nextInt(bound);
+	}
+
+	@Override
+	public long nextLong() {
+		return generator.nextLong();
+	}
+
+	@Override
+	public boolean nextBoolean() {
+		return generator.nextBoolean();
+	}
+
+	@Override
+	public float nextFloat() {
+		return generator.nextFloat();
+	}
+
+	@Override
+	public double nextDouble() {
+		return generator.nextDouble();
+	}
+
+	@Override
+	public double nextGaussian() {
+		return generator.nextGaussian();
+	}
+
+	@Override
+	public void nextBytes(byte[] bytes) {
+		generator.nextBytes(bytes);
+	}
+
+	/**
+	 * @return a new generator whose values are independent of this one, e.g. for a task run by another thread
+	 */
+	public FastRandom split() {
+		return new FastRandom(generator.split());
+	}
+}
@@ -0,0 +1,120 @@
+package examples.rng;
+
+import AbstractClasses.HyperHeuristic;
+import AbstractClasses.ProblemDomain;
+import java.lang.reflect.Field;
+import java.util.Random;
+import java.util.SplittableRandom;
+
+/**
+ * This class derives independent random number streams from the instance and algorithm seeds (insseed, algseed)
+ * that the runners compute, so that runs stay reproducible however they are scheduled on threads.
+ *
+ * Each stream is a FastRandom whose seed is a hash of the two seeds, the name of the stream and an index,
+ * e.g. stream("problem", run) for the problem domain of a run, or stream("worker", k) for the k-th thread of a pool.
+ * A stream never depends on which streams were created before it or by which thread, unlike SplittableRandom.split().
+ *
+ * install() replaces the java.util.Random of a hyper-heuristic and of its problem domain with the streams of a run.
+ * The protected rng fields of HyFlex cannot be set from this package, so they are set by reflection.
+ * The results of a run then differ from those of the same seeds with java.util.Random, hence the generator is an
+ * option of the runners: "java" (the default, the generators of HyFlex) or "splittable".
+ *
+ * @date 2026.10.18
+ */
+
+public class RandomStreams {
+
+	// Names of the generators that can be used
+	public static final String[] GENERATORS = {"java", "splittable"};
+
+	private static final Field HYPER_HEURISTIC_RNG = field(HyperHeuristic.class);
+	private static final Field PROBLEM_RNG = field(ProblemDomain.class);
+
+	private final long root;
+
+	/**
+	 * @param insseed the seed of the instance, i.e. of the problem domain
+	 * @param algseed the seed of the hyper-heuristic
+	 */
+	public RandomStreams(long insseed, long algseed) {
+		this.root = mix(mix(insseed) ^ algseed);
+	}
+
+	/**
+	 * @param name the name of the stream
+	 * @param index the index of the stream, e.g. a run or a worker thread
+	 * @return a new generator, the same for the same seeds, name and index
+	 */
+	public FastRandom stream(String name, int index) {
+		return new FastRandom(new SplittableRandom(mix(mix(root ^ name.hashCode()) + index)));
+	}
+
+	/**
+	 * @return the generator of the hyper-heuristic of a run
+	 */
+	public FastRandom forHyperHeuristic(int run) {
+		return stream("hyper-heuristic", run);
+	}
+
+	/**
+	 * @return the generator of the problem domain of a run
+	 */
+	public FastRandom forProblem(int run) {
+		return stream("problem", run);
+	}
+
+	/**
+	 * @return the generator of the k-th thread of a pool
+	 */
+	public FastRandom forWorker(int worker) {
+		return stream("worker", worker);
+	}
+
+	/**
+	 * Sets the generators of a hyper-heuristic and its problem domain.
+	 *
+	 * @param generator one of GENERATORS, "java" leaves the generators of HyFlex unchanged
+	 * @param hyperHeuristic the hyper-heuristic
+	 * @param problem the problem domain
+	 * @param insseed the seed of the instance
+	 * @param algseed the seed of the hyper-heuristic
+	 */
+	public static void install(String generator, HyperHeuristic hyperHeuristic, ProblemDomain problem, long insseed, long algseed) {
+		switch (generator) {
+			case "java":
+				return;
+			case "splittable":
+				RandomStreams streams = new RandomStreams(insseed, algseed);
+				set(HYPER_HEURISTIC_RNG, hyperHeuristic, streams.forHyperHeuristic(0));
+				set(PROBLEM_RNG, problem, streams.forProblem(0));
+				return;
+			default:
+				throw new IllegalArgumentException("Unknown random number generator: " + generator);
+		}
+	}
+
+	private static void set(Field field, Object target, Random rng) {
+		try {
+			field.set(target, rng);
+		} catch (IllegalAccessException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static Field field(Class<?> type) {
+		try {
+			Field field = type.getDeclaredField("rng");
+			field.setAccessible(true);
+			return field;
+		} catch (NoSuchFieldException e) {
+			throw new IllegalStateException("Unsupported HyFlex version: no field " + type.getName() + ".rng", e);
+		}
+	}
+
+	// The finaliser of SplitMix64, which spreads close seeds over all 64 bits
+	static long mix(long z) {
+		z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+		z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+		return z ^ (z >>> 31);
+	}
+}
@@ -0,0 +1,129 @@
+package examples.scf;
+
+/**
+ * This class holds the configuration and data of all heuristics of a problem domain as a structure of arrays,
+ * indexed by heuristic ID:
+ * @param dos: depth of search
+ * @param iom: intensity of mutation
+ * @param lastApplied: the time in nanoseconds each heuristic was last applied
+ * @param duration: the duration in nanoseconds of its previous application
+ * @param delta: the objective function value change after calling the heuristic
+ *
+ * It replaces one Heuristic, HeuristicConfiguration and HeuristicData object per heuristic in SCF, so that the
+ * selection loop of SimplifiedChoiceFunction reads contiguous primitive arrays instead of following references.
+ * The initial values are those of Heuristic: dos and iom 0.2, no previous application and delta -Double.MAX_VALUE.
+ *
+ * @date 2026.10.18
+ */
+
+public class HeuristicTable {
+
+	private final double[] dos, iom, delta;
+	private final long[] lastApplied, duration;
+
+	/**
+	 * @param numHeuristics the number of heuristics of the problem domain
+	 * @param startTimeNano the start time in nanoseconds, used as the time each heuristic was last applied
+	 */
+	public HeuristicTable(int numHeuristics, long startTimeNano) {
+		dos = new double[numHeuristics];
+		iom = new double[numHeuristics];
+		delta = new double[numHeuristics];
+		lastApplied = new long[numHeuristics];
+		duration = new long[numHeuristics];
+		for (int i = 0; i < numHeuristics; i++) {
+			dos[i] = 0.2;
+			iom[i] = 0.2;
+			delta[i] = -Double.MAX_VALUE;
+			lastApplied[i] = startTimeNano;
+		}
+	}
+
+	public int size() {
+		return dos.length;
+	}
+
+	public double getDos(int heuristicId) {
+		return dos[heuristicId];
+	}
+
+	public void setDos(int heuristicId, double value) {
+		dos[heuristicId] = value;
+	}
+
+	public double getIom(int heuristicId) {
+		return iom[heuristicId];
+	}
+
+	public void setIom(int heuristicId, double value) {
+		iom[heuristicId] = value;
+	}
+
+	public long getLastApplied(int heuristicId) {
+		return lastApplied[heuristicId];
+	}
+
+	public long getDuration(int heuristicId) {
+		return duration[heuristicId];
+	}
+
+	public void setDuration(int heuristicId, long value) {
+		duration[heuristicId] = value;
+	}
+
+	public double getDelta(int heuristicId) {
+		return delta[heuristicId];
+	}
+
+	public void setDelta(int heuristicId, double value) {
+		delta[heuristicId] = value;
+	}
+
+	/**
+	 * Records an application of a heuristic.
+	 *
+	 * @param heuristicId the ID of the heuristic
+	 * @param timeApplied the time in nanoseconds the heuristic was applied
+	 * @param timeTaken the time taken to apply the heuristic in nanoseconds
+	 * @param change the objective function value change (current - candidate)
+	 */
+	public void record(int heuristicId, long timeApplied, long timeTaken, double change) {
+		lastApplied[heuristicId] = timeApplied;
+		duration[heuristicId] = timeTaken;
+		delta[heuristicId] = change;
+	}
+
+	/**
+	 * Computes the score F = phi * f1 + (1 - phi) * f3 of every heuristic in one pass over the arrays
+	 * (see SimplifiedChoiceFunction for f1 and f3).
+	 *
+	 * @param phi the parameter phi of the choice function
+	 * @param currentTime the current time in nanoseconds
+	 * @param scores receives the score of each heuristic
+	 */
+	public void scores(double phi, long currentTime, double[] scores) {
+		for (int i = 0; i < scores.length; i++) {
+			double f1 = delta[i] / ((duration[i] / 1_000_000_000) + 1);
+			double f3 = (currentTime - lastApplied[i]) / 1_000_000_000;
+			scores[i] = phi * f1 + (1 - phi) * f3;
+		}
+	}
+
+	/**
+	 * @return a copy of the delta of every heuristic
+	 */
+	public double[] getDeltas() {
+		return delta.clone();
+	}
+
+	/**
+	 * @return the duration of every heuristic as doubles
+	 */
+	public double[] getDurations() {
+		double[] values = new double[duration.length];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = duration[i];
+		}
+		return values;
+	}
+}
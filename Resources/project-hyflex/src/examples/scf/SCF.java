@@ -3,6 +3,14 @@ package examples.scf;
 import AbstractClasses.HyperHeuristic;
 import AbstractClasses.ProblemDomain;
 import AbstractClasses.ProblemDomain.HeuristicType;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import examples.control.CandidateSetManager;
+import examples.control.LocalOptimumMemo;
+import examples.control.ParameterController;
+import examples.control.SelectionStateStore;
+import examples.monitor.HeuristicProbe;
+import examples.monitor.TimeToTarget;
 
 
 /**
@@ -23,6 +31,25 @@ public class SCF extends HyperHeuristic {
 	double[] dosValues = {0.2, 0.2, 0.2}, iomValues = {0.2, 0.2, 0.2}; 
 	double phi = 0.50;
 	
+	// Online control of DOS/IOM during the run: "none" keeps the values above for the whole run
+	String parameterControl = "none";
+	
+	// Skip LOCAL_SEARCH heuristics that already failed to improve the current solution
+	boolean localOptimumMemo = false;
+	
+	// Retire expensive heuristics that do not improve the solution for part of the run
+	boolean candidatePruning = false;
+	
+	// Store of the selection state of previous runs on the same instance (null: start from zeroed scores)
+	SelectionStateStore warmStart;
+	int warmStartInstance;
+	
+	// Stops the run when the best solution value reaches a target (null: run until the time limit)
+	TimeToTarget timeToTarget;
+	
+	// Records JFR events and metrics of the current run
+	HeuristicProbe probe;
+	
 	
 	public SCF(long seed) {
 		super(seed);
@@ -67,14 +94,14 @@ public class SCF extends HyperHeuristic {
 		
 		int heuristic_to_apply = 0; // Variable to store the ID of the heuristic to apply
 		int init_flag = 0; // Flag to track initialisation iterations
-		long time_exp_before, time_exp_after, time_to_apply; // Variables for timing
+		long time_exp_before, time_exp_after, time_to_apply, time_select_before = 0; // Variables for timing
 		double new_obj_function_value = 0.00; // Variable to store the objective value of the new solution
 		
 		// Record the start time in nanoseconds
-		long startTimeNano = System.nanoTime();
+		long startTimeNano = nanoTime();
 			
-		// Create heuristics array with customised configurations
-		Heuristic[] heuristics = createHeuristics(problem, dosValues, iomValues, startTimeNano);
+		// Create the table of heuristics with customised configurations
+		HeuristicTable heuristics = createHeuristics(problem, dosValues, iomValues, startTimeNano);
 		
 		// Determine the set of heuristics to use based on the problem domain
 		int[] heuristics_to_use = get_heuristics_to_use(problem);
@@ -87,43 +114,206 @@ public class SCF extends HyperHeuristic {
 		SimplifiedChoiceFunction scf = new SimplifiedChoiceFunction(heuristics, phi);
 //		SimplifiedChoiceFunction scf = new SimplifiedChoiceFunction(heuristics);
 		
-		// Set the first heuristic to apply
-		Heuristic h = heuristics[0];
+		// Seed the heuristic data and phi from the previous run on this instance, and skip the random initialisation
+		if (warmStart != null && warmStart.getDecay() > 0) {
+			Map<String, double[]> prior = warmStart.load("SCF", warmStartInstance);
+			double[] prior_delta = SelectionStateStore.get(prior, "f_delta", heuristics.size());
+			double[] prior_duration = SelectionStateStore.get(prior, "duration", heuristics.size());
+			double[] prior_phi = SelectionStateStore.get(prior, "phi", 1);
+			if (prior_delta != null && prior_duration != null && prior_phi != null) {
+				double decay = warmStart.getDecay();
+				for (int i = 0; i < heuristics.size(); i++) {
+					heuristics.setDelta(i, decay * prior_delta[i]);
+					heuristics.setDuration(i, (long) prior_duration[i]);
+				}
+				scf.setPhi(phi + decay * (prior_phi[0] - phi));
+				init_flag = heuristics_to_use.length;
+			}
+		}
+		
+		// Create the online DOS/IOM controllers (null if parameter control is off)
+		ParameterController dosControl = ParameterController.create(parameterControl, heuristics.size(), problem.getHeuristicsThatUseDepthOfSearch(), rng);
+		ParameterController iomControl = ParameterController.create(parameterControl, heuristics.size(), problem.getHeuristicsThatUseIntensityOfMutation(), rng);
+		int dos_level = 0, iom_level = 0;
+		int[] dos_levels = new int[heuristics.size()], iom_levels = new int[heuristics.size()];
+		
+		// Create the probe that records LLH applications, selections and time checks (null if monitoring is off)
+		probe = HeuristicProbe.create("SCF", problem);
+		
+		// Create the memo of local searches that reached a fixed point on the current solution (null if off)
+		LocalOptimumMemo memo = localOptimumMemo ? new LocalOptimumMemo(problem) : null;
+		
+		// Create the manager of the candidate heuristics (null if pruning is off), the choice function skips retired ones
+		CandidateSetManager candidates = candidatePruning ? new CandidateSetManager("SCF", heuristics_to_use, heuristics.size(), getTimeLimit()) : null;
+		scf.setCandidates(candidates);
+		long cpu_before = 0;
 		
 		// Main loop to continue solving until termination criterion is met
 		while(!hasTimeExpired()) {
 			
-			if(init_flag<heuristics_to_use.length) { // Randomly select a heuristic during initialisation
+			if (probe != null) {
+				time_select_before = System.nanoTime();
+			}
+			// With the memo, the controllers choose the dos and iom of every LLH before the selection, so that the memo
+			// checks the dos that will be applied
+			if (memo != null && dosControl != null) {
+				for (int i : heuristics_to_use) {
+					selectLevels(dosControl, iomControl, heuristics, i, dos_levels, iom_levels);
+				}
+			}
+			boolean random_selection = init_flag<heuristics_to_use.length;
+			if(random_selection) { // Randomly select a heuristic during initialisation
 				int randomIndex = rng.nextInt(heuristics_to_use.length);
 				heuristic_to_apply = heuristics_to_use[randomIndex];
-				h = heuristics[heuristic_to_apply];
+				// Draw again while the chosen local search cannot change the current solution
+				for (int redraw = 0; memo != null && redraw < heuristics_to_use.length && memo.isRedundant(heuristic_to_apply, heuristics.getDos(heuristic_to_apply)); redraw++) {
+					memo.skip();
+					if (probe != null) {
+						probe.skipped(heuristic_to_apply);
+					}
+					heuristic_to_apply = heuristics_to_use[rng.nextInt(heuristics_to_use.length)];
+				}
 				init_flag++;
 			}else { // Otherwise, select heuristic using SCF's selection mechanism
-				h = scf.selectHeuristicToApply();
+				heuristic_to_apply = memo == null ? scf.selectHeuristicToApply(nanoTime()) : scf.selectHeuristicToApply(memo, probe, nanoTime());
 			}
+			if (probe != null) {
+				probe.selected(heuristic_to_apply, random_selection, System.nanoTime() - time_select_before);
+			}
+			
+//			System.out.println("To use next: "+heuristic_to_apply);
 			
-//			System.out.println("To use next: "+h.getHeuristicId());
+			// Otherwise, let the controllers choose the dos and iom of the selected LLH
+			if (memo == null) {
+				selectLevels(dosControl, iomControl, heuristics, heuristic_to_apply, dos_levels, iom_levels);
+			}
+			dos_level = dos_levels[heuristic_to_apply];
+			iom_level = iom_levels[heuristic_to_apply];
 			
 			// Set the dos and iom based on the selected LLH
-			problem.setDepthOfSearch(h.getConfiguration().getDos());
-			problem.setIntensityOfMutation(h.getConfiguration().getIom());
+			problem.setDepthOfSearch(heuristics.getDos(heuristic_to_apply));
+			problem.setIntensityOfMutation(heuristics.getIom(heuristic_to_apply));
 						
 			// Apply the selected heuristic to the current solution and record the time taken
-			time_exp_before = System.nanoTime();
-			new_obj_function_value = problem.applyHeuristic(h.getHeuristicId(), 0, 0);
-			time_exp_after = System.nanoTime();
+			if (candidates != null) {
+				cpu_before = CandidateSetManager.cpuTime();
+			}
+			time_exp_before = nanoTime();
+			new_obj_function_value = problem.applyHeuristic(heuristic_to_apply, 0, 0);
+			time_exp_after = nanoTime();
 			time_to_apply = time_exp_after - time_exp_before + 1; //+1 prevents / by 0
+			
+			// Measure the yield of the heuristic, which may retire or re-test candidates
+			if (candidates != null) {
+				candidates.record(heuristic_to_apply, current_obj_function_value - new_obj_function_value, CandidateSetManager.cpuTime() - cpu_before);
+			}
 												
 			// Update heuristic data based on the applied heuristic and obtained solution
-			scf.updateHeuristicData(h, time_exp_before, time_to_apply, current_obj_function_value, new_obj_function_value);
+			scf.updateHeuristicData(heuristic_to_apply, time_exp_before, time_to_apply, current_obj_function_value, new_obj_function_value);
+			
+			// Credit the improvement per unit time to the dos/iom levels that were used
+			if (dosControl != null && dosControl.isControlled(heuristic_to_apply)) {
+				dosControl.update(heuristic_to_apply, dos_level, current_obj_function_value - new_obj_function_value, time_to_apply);
+			}
+			if (iomControl != null && iomControl.isControlled(heuristic_to_apply)) {
+				iomControl.update(heuristic_to_apply, iom_level, current_obj_function_value - new_obj_function_value, time_to_apply);
+			}
 			
 			// Print out the information of heuristics
-//			this.printHeuristicInfo(h);
+//			this.printHeuristicInfo(heuristics, heuristic_to_apply);
 //			this.printHeuristicsInfo(heuristics);
 			
+			// Remember a local search that did not improve, otherwise the current solution has changed
+			if (memo != null && !memo.record(heuristic_to_apply, heuristics.getDos(heuristic_to_apply), current_obj_function_value - new_obj_function_value)) {
+				memo.solutionChanged();
+			}
+			
+			// Record the application, all moves are accepted
+			if (probe != null) {
+				probe.applied(heuristic_to_apply, heuristics.getDos(heuristic_to_apply), heuristics.getIom(heuristic_to_apply), time_to_apply, current_obj_function_value - new_obj_function_value, true);
+			}
+			
 			//set the current objective function value to the new function value as the new solution is now the current solution
 			current_obj_function_value = new_obj_function_value;
 		}
+		
+		// Save the selection state for the next run on this instance
+		if (warmStart != null) {
+			Map<String, double[]> state = new LinkedHashMap<>();
+			state.put("phi", new double[] {scf.getPhi()});
+			state.put("f_delta", heuristics.getDeltas());
+			state.put("duration", heuristics.getDurations());
+			warmStart.save("SCF", warmStartInstance, state);
+		}
+	}
+	
+	/**
+	 * Reads the clock of the heuristic durations and of the choice function, System.nanoTime(). Overridden with a
+	 * virtual clock by examples.regression.RegressionSuite, so that the heuristic selection of a run is reproducible.
+	 * 
+	 * @return the current time in nanoseconds
+	 */
+	protected long nanoTime() {
+		return System.nanoTime();
+	}
+	
+	/**
+	 * Checks the time limit and the target value if any, recording the check with the probe of the current run.
+	 */
+	@Override
+	protected boolean hasTimeExpired() {
+		boolean expired = super.hasTimeExpired();
+		if (!expired && timeToTarget != null) {
+			expired = timeToTarget.check(this);
+		}
+		if (probe != null) {
+			probe.timeChecked(this, expired);
+		}
+		return expired;
+	}
+	
+	/**
+	 * Starts the heuristic selection from the state saved at the end of the previous run on the same instance,
+	 * and saves the state at the end of this run.
+	 * 
+	 * @param store the store of selection states, null to start from zeroed scores
+	 * @param instance the ID of the instance, used as key in the store
+	 */
+	public void setWarmStart(SelectionStateStore store, int instance) {
+		this.warmStart = store;
+		this.warmStartInstance = instance;
+	}
+	
+	/**
+	 * Stops the run as soon as the best solution value reaches a target, see TimeToTarget.
+	 * 
+	 * @param timeToTarget the target to reach, null to run until the time limit
+	 */
+	public void setTimeToTarget(TimeToTarget timeToTarget) {
+		this.timeToTarget = timeToTarget;
+	}
+	
+	/**
+	 * Skips LOCAL_SEARCH heuristics that already failed to improve the current solution, see LocalOptimumMemo.
+	 */
+	public void setLocalOptimumMemo(boolean localOptimumMemo) {
+		this.localOptimumMemo = localOptimumMemo;
+	}
+	
+	/**
+	 * Retires expensive heuristics that do not improve the solution for part of the run, see CandidateSetManager.
+	 */
+	public void setCandidatePruning(boolean candidatePruning) {
+		this.candidatePruning = candidatePruning;
+	}
+	
+	/**
+	 * Enables online control of the DOS/IOM values of each heuristic during the run.
+	 * 
+	 * @param mode one of ParameterController.MODES: "none" (static values), "pursuit" (adaptive pursuit) or "matching" (probability matching)
+	 */
+	public void setParameterControl(String mode) {
+		this.parameterControl = mode;
 	}
 	
 	public String toString() {
@@ -132,25 +322,18 @@ public class SCF extends HyperHeuristic {
 	}
 	
 	/**
-	 * Creates an array of heuristic objects based on the problem domain and custom parameter values.
+	 * Creates the table of heuristics based on the problem domain and custom parameter values.
 	 * 
 	 * @param problem the problem domain
 	 * @param dosValues an array of depth of search (DOS) parameter values
 	 * @param iomValues an array of intensity of mutation (IOM) parameter values
 	 * @param startTimeNano the start time in nanoseconds
-	 * @return an array of configured heuristic objects
+	 * @return the table of configured heuristics
 	 */
-	private Heuristic[] createHeuristics(ProblemDomain problem, double[] dosValues, double[] iomValues, long startTimeNano) {
+	private HeuristicTable createHeuristics(ProblemDomain problem, double[] dosValues, double[] iomValues, long startTimeNano) {
 		
-		// Initialise array to store heuristic objects
-		int numHeuristics = problem.getNumberOfHeuristics();
-		Heuristic[] heuristics = new Heuristic[numHeuristics];
-		
-		// Create heuristic objects with default configurations
-    	for (int i = 0; i < numHeuristics; i++) {
-            HeuristicConfiguration configuration = new HeuristicConfiguration(0.2, 0.2);
-            heuristics[i] = new Heuristic(configuration, i, startTimeNano); 
-        }
+		// Create the table with default configurations
+		HeuristicTable heuristics = new HeuristicTable(problem.getNumberOfHeuristics(), startTimeNano);
         
     	// Retrieve heuristics that use DOS and IOM parameters
         int[] dosHeuristics = problem.getHeuristicsThatUseDepthOfSearch();
@@ -160,19 +343,37 @@ public class SCF extends HyperHeuristic {
         for (int i = 0; i < dosHeuristics.length; i++) {
             int id = dosHeuristics[i];
             double value = dosValues[i];
-            heuristics[id].getConfiguration().setDos(value);
+            heuristics.setDos(id, value);
         }
         
         // Apply custom IOM values to corresponding heuristic IDs
         for (int i = 0; i < iomHeuristics.length; i++) {
             int id = iomHeuristics[i];
             double value = iomValues[i];
-            heuristics[id].getConfiguration().setIom(value); 
+            heuristics.setIom(id, value);
         }
 
-        return heuristics; //return the array heuristics containing all the configured heuristic objects.
+        return heuristics; //return the table containing all the configured heuristics.
     }
 	
+	/**
+	 * Lets the online controllers, if any, choose the dos and iom of an LLH and sets them in the table.
+	 * 
+	 * @param heuristic the ID of the heuristic
+	 * @param dosLevels the chosen dos level of each heuristic, updated for this one if it is controlled
+	 * @param iomLevels the chosen iom level of each heuristic, updated for this one if it is controlled
+	 */
+	private static void selectLevels(ParameterController dosControl, ParameterController iomControl, HeuristicTable heuristics, int heuristic, int[] dosLevels, int[] iomLevels) {
+		if (dosControl != null && dosControl.isControlled(heuristic)) {
+			dosLevels[heuristic] = dosControl.selectLevel(heuristic);
+			heuristics.setDos(heuristic, dosControl.getLevel(dosLevels[heuristic]));
+		}
+		if (iomControl != null && iomControl.isControlled(heuristic)) {
+			iomLevels[heuristic] = iomControl.selectLevel(heuristic);
+			heuristics.setIom(heuristic, iomControl.getLevel(iomLevels[heuristic]));
+		}
+	}
+	
 	/**
 	 * Retrieves an array of heuristic IDs to use based on the problem domain types.
 	 * 
@@ -199,13 +400,13 @@ public class SCF extends HyperHeuristic {
 		return heuristics_to_use; // Return the array of heuristic IDs to use
 	}
 	
-	private void printHeuristicInfo(Heuristic h) {
-		System.out.println("ID: "+h.getHeuristicId()+" IOM: "+h.getConfiguration().getIom()+" DOS: "+h.getConfiguration().getDos()+" LastApplied: "+h.getData().getTimeLastApplied());
+	private void printHeuristicInfo(HeuristicTable heuristics, int id) {
+		System.out.println("ID: "+id+" IOM: "+heuristics.getIom(id)+" DOS: "+heuristics.getDos(id)+" LastApplied: "+heuristics.getLastApplied(id));
 	}
 	
-	private void printHeuristicsInfo(Heuristic[] heuristics) {
-		for(Heuristic h: heuristics) {
-			this.printHeuristicInfo(h);
+	private void printHeuristicsInfo(HeuristicTable heuristics) {
+		for(int id = 0; id < heuristics.size(); id++) {
+			this.printHeuristicInfo(heuristics, id);
 		}
 	}
 	
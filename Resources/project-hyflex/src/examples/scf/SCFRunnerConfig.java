@@ -2,6 +2,17 @@ package examples.scf;
 
 import AbstractClasses.HyperHeuristic;
 import AbstractClasses.ProblemDomain;
+import java.io.IOException;
+import java.nio.file.Paths;
+import examples.control.SelectionStateStore;
+import examples.features.ConfigurationPortfolio;
+import examples.monitor.Metrics;
+import examples.monitor.TimeToTarget;
+import examples.rng.RandomStreams;
+import examples.traces.TraceStore;
+import examples.tsp.InitialTours;
+import examples.tsp.SeededTSP;
+import examples.tsp.TourFile;
 import travelingSalesmanProblem.TSP;
 
 /**
@@ -17,6 +28,20 @@ import travelingSalesmanProblem.TSP;
  * -d <configurations>        : Depth of Search (DOS) values separated by spaces (default: 0.2 0.2 0.2)
  * -i <configurations>        : Intensity of Mutation (IOM) values separated by spaces (default: 0.2 0.2 0.2)
  * -t <time>                  : Termination time for the hyper-heuristic in milliseconds
+ * -c <mode>                  : Online DOS/IOM control: none, pursuit or matching (default: none)
+ * -portfolio <file>          : Portfolio of tuned configurations to pick from when neither -d nor -i is given (default: none, use the default DOS/IOM values)
+ * -warm <directory>          : Start the heuristic selection from the state saved by the previous run on the same instance, and save it at the end
+ * -decay <weight>            : Weight of the saved state in [0, 1] (default: 0.5)
+ * -memo                      : Skip LOCAL_SEARCH heuristics that already failed to improve the current solution
+ * -prune                     : Retire expensive heuristics that do not improve the solution for part of the run, logging the decisions to the standard error
+ * -m                         : Print the counters and histograms of examples.monitor.Metrics to the standard error after the run
+ * -tour <file>               : Save the best tour to the file after the run, in binary if its name ends with .bin, otherwise in the TSPLIB TOUR format
+ * -rng <generator>           : Random number generator of the hyper-heuristic and the problem domain: java or splittable (default: java)
+ * -init <source>             : Starting tour: default, random, greedy, hilbert or elite (default: default, the tour of HyFlex, see examples.tsp.InitialTours)
+ * -tours <directory>         : Directory of the cached constructive tours and of the elite archive, to which the best tour is added after the run
+ * -traces <directory>        : Trace store to which the fitness trace of the run is appended, by id.configuration, instance and seed (see examples.traces.TraceQuery)
+ * -target <value>            : Stop as soon as the best solution value is at most the target, and print the CPU time to reach it in seconds instead of the best value
+ * -penalty <factor>          : Printed time of runs that do not reach the target, as a multiple of the time limit in seconds (default: 10)
  * 
  * Example program arguments as run configuration: 
  * 1 2024 1234 0 -d 0.1 0.2 0.3 -i 0.4 0.5 0.6 -t 10000
@@ -39,6 +64,25 @@ public class SCFRunnerConfig {
 		// Flag to track whether -p is specified
 		boolean pSpecified = false, tSpecified = false; 
 		int insid=0; long time=0; 
+		String control = "none";
+		boolean memo = false;
+		// File to save the best tour to (null: not saved)
+		String tourFile = null;
+		// Random number generator: java (HyFlex) or splittable (examples.rng.RandomStreams)
+		String generator = "java";
+		// Source of the starting tour, and directory of the cached and elite tours (null: none)
+		String init = "default", toursDirectory = null;
+		// Directory of the trace store (null: the fitness trace is not kept)
+		String tracesDirectory = null;
+		// Target objective value of a time-to-target run (NaN: run until the time limit), and penalty factor of the time limit
+		double target = Double.NaN, penalty = TimeToTarget.DEFAULT_PENALTY;
+		boolean prune = false;
+		// Directory and weight of the selection states of previous runs
+		String warm = null;
+		double decay = 0.5;
+		// Portfolio of configurations to use when no dos and iom values are given (null: default dos and iom values)
+		String portfolio = null;
+		boolean dSpecified = false, iSpecified = false;
 		
 		//-------------------------------Parse command line arguments for parameters--------------------------
 		// Parse command line arguments: <id.configuration> <id.instance> <seed> <instance> -d <configuration> -i <configuration> -t <time>
@@ -59,10 +103,64 @@ public class SCFRunnerConfig {
             	// Parse dos / iom values
 		        case "-d":
 		        	parseValues(args, dos, i++);
+		        	dSpecified = true;
 		            break;
 		        case "-i":
 		        	parseValues(args, iom, i++);
+		        	iSpecified = true;
 		            break;
+		        // online parameter control mode
+		        case "-c":
+		        	control = args[++i];
+		        	break;
+		        // portfolio of tuned configurations
+		        case "-portfolio":
+		        	portfolio = args[++i];
+		        	break;
+		        // warm start of the heuristic selection
+		        case "-warm":
+		        	warm = args[++i];
+		        	break;
+		        case "-decay":
+		        	decay = Double.parseDouble(args[++i]);
+		        	break;
+		        // skip redundant local searches
+		        case "-memo":
+		        	memo = true;
+		        	break;
+		        // retire expensive and unproductive heuristics
+		        case "-prune":
+		        	prune = true;
+		        	break;
+		        // print metrics after the run
+		        case "-m":
+		        	Metrics.setEnabled(true);
+		        	break;
+		        // save the best tour
+		        case "-tour":
+		        	tourFile = args[++i];
+		        	break;
+		        // random number generator
+		        case "-rng":
+		        	generator = args[++i];
+		        	break;
+		        // starting tour
+		        case "-init":
+		        	init = args[++i];
+		        	break;
+		        case "-tours":
+		        	toursDirectory = args[++i];
+		        	break;
+		        case "-traces":
+		        	tracesDirectory = args[++i];
+		        	break;
+		        // time-to-target mode
+		        case "-target":
+		        	target = Double.parseDouble(args[++i]);
+		        	break;
+		        case "-penalty":
+		        	penalty = Double.parseDouble(args[++i]);
+		        	break;
 		        default:
 		            break; // Handle unknown arguments if needed
 		    }
@@ -71,17 +169,56 @@ public class SCFRunnerConfig {
         //-------------------------------Execute the example HH---------------------------------
 
 		//create a ProblemDomain object with a seed for the random number generator
-		ProblemDomain problem = new TSP(insseed);
-
-		//creates an ExampleHyperHeuristic object with a seed for the random number generator
-		HyperHeuristic hyper_heuristic_object = new SCF(algseed, dos, iom);
+		ProblemDomain problem = new SeededTSP(insseed);
 
 		//we must load an instance within the problem domain, in this case we choose instance 2
 		problem.loadInstance(insid);
 
+		//pick the dos and iom values tuned for the most similar instance if none are given
+		if (portfolio != null && !dSpecified && !iSpecified) {
+			try {
+				ConfigurationPortfolio.Entry entry = ConfigurationPortfolio.select(portfolio, problem);
+				if (entry != null) {
+					dos = entry.getDos();
+					iom = entry.getIom();
+				}
+			} catch (IOException | IllegalArgumentException e) {
+				System.err.println("Cannot read portfolio: " + e.getMessage());
+				System.exit(1);
+			}
+		}
+
+		//creates an ExampleHyperHeuristic object with a seed for the random number generator
+		SCF hyper_heuristic_object = new SCF(algseed, dos, iom);
+		hyper_heuristic_object.setParameterControl(control);
+		hyper_heuristic_object.setLocalOptimumMemo(memo);
+		hyper_heuristic_object.setCandidatePruning(prune);
+		TimeToTarget timeToTarget = Double.isNaN(target) ? null : new TimeToTarget(target, penalty);
+		hyper_heuristic_object.setTimeToTarget(timeToTarget);
+		if (warm != null) {
+			hyper_heuristic_object.setWarmStart(new SelectionStateStore(warm, decay), insid);
+		}
+
 		//we must set the time limit for the hyper-heuristic in milliseconds, in this example we set the time limit to 1 minute
 		hyper_heuristic_object.setTimeLimit(time);
 
+		//replace the generators of HyFlex with independent streams derived from the seeds if requested
+		try {
+			RandomStreams.install(generator, hyper_heuristic_object, problem, insseed, algseed);
+		} catch (IllegalArgumentException e) {
+			System.err.println(e.getMessage());
+			System.exit(1);
+		}
+
+		//start from a constructive or archived tour if requested
+		InitialTours tours = new InitialTours(toursDirectory);
+		try {
+			tours.seed((SeededTSP) problem, init, insseed);
+		} catch (IOException | IllegalArgumentException e) {
+			System.err.println("Cannot set initial tour: " + e.getMessage());
+			System.exit(1);
+		}
+
 		//a key step is to assign the ProblemDomain object to the HyperHeuristic object. 
 		//However, this should be done after the instance has been loaded, and after the time limit has been set
 		hyper_heuristic_object.loadProblemDomain(problem);
@@ -94,8 +231,36 @@ public class SCFRunnerConfig {
 		//this method starts the timer, and then calls the solve() method of the hyper_heuristic_object.
 		hyper_heuristic_object.run();
 		
-		// Obtain the best solution found within the time limit
-        System.out.println(hyper_heuristic_object.getBestSolutionValue());
+		// Obtain the best solution found within the time limit, or the time to reach the target
+        System.out.println(timeToTarget == null ? hyper_heuristic_object.getBestSolutionValue() : timeToTarget.getCost(time));
+        if (Metrics.isEnabled()) {
+        	Metrics.report(System.err);
+        }
+        if (tourFile != null) {
+        	try {
+        		TourFile.write(Paths.get(tourFile), (TSP) problem);
+        	} catch (IOException e) {
+        		System.err.println("Cannot save tour " + tourFile + ": " + e.getMessage());
+        		System.exit(1);
+        	}
+        }
+        if (toursDirectory != null) {
+        	try {
+        		tours.offer((TSP) problem);
+        	} catch (IOException e) {
+        		System.err.println("Cannot archive tour: " + e.getMessage());
+        		System.exit(1);
+        	}
+        }
+        if (tracesDirectory != null) {
+        	try {
+        		new TraceStore(Paths.get(tracesDirectory)).append("SCF", args[0], insid, insseed,
+        				timeToTarget == null ? hyper_heuristic_object.getFitnessTrace() : timeToTarget.completeTrace(hyper_heuristic_object));
+        	} catch (IOException e) {
+        		System.err.println("Cannot store trace: " + e.getMessage());
+        		System.exit(1);
+        	}
+        }
 
 	}
 	
@@ -1,5 +1,9 @@
 package examples.scf;
 
+import examples.control.CandidateSetManager;
+import examples.control.LocalOptimumMemo;
+import examples.monitor.HeuristicProbe;
+
 /**
  * The simplified version of the modified choice function: 
  * F_t(h_j) = phi_t * f1(h_j) + (1-phi) * f3(h_j)
@@ -20,42 +24,42 @@ package examples.scf;
 
 public class SimplifiedChoiceFunction {
 
-	// Array of heuristics available for selection
-	private Heuristic[] heuristics;
+	// Table of the heuristics available for selection
+	private HeuristicTable heuristics;
+	
+	// Scores of the heuristics, reused by every selection
+	private double[] scores;
 
 	// Parameter phi used in calculating heuristic scores
 	private double phi;
+	
+	// Manager of the candidate heuristics, retired heuristics are not selected (null: all heuristics are candidates)
+	private CandidateSetManager candidates;
 
-	public SimplifiedChoiceFunction(Heuristic[] heuristics) {
+	public SimplifiedChoiceFunction(HeuristicTable heuristics) {
 
-		this.heuristics = heuristics;
-		this.phi = 0.50;
+		this(heuristics, 0.50);
 	}
 	
-	public SimplifiedChoiceFunction(Heuristic[] heuristics, double paramPhi) {
+	public SimplifiedChoiceFunction(HeuristicTable heuristics, double paramPhi) {
 
 		this.heuristics = heuristics;
+		this.scores = new double[heuristics.size()];
 		this.phi = paramPhi;
 	}
 
 	/**
 	 * Updates the data associated with the given heuristic based on the provided parameters and the parameter phi.
-	 * @param heuristic: the heuristic to update.
+	 * @param heuristicId: the ID of the heuristic to update.
 	 * @param timeApplied: the current time in nanoseconds.
 	 * @param timeTaken: the time taken to apply the heuristic in nanoseconds.
 	 * @param current: the objective value of the current solution.
 	 * @param candidate: the objective value of the candidate solution.
 	 */
-	public void updateHeuristicData(Heuristic heuristic, long timeApplied, long timeTaken, double current, double candidate) {
-		
-		// timeLastApplied
-		heuristic.getData().setTimeLastApplied(timeApplied);
+	public void updateHeuristicData(int heuristicId, long timeApplied, long timeTaken, double current, double candidate) {
 		
-		// previousApplicationDuration
-		heuristic.getData().setPreviousApplicationDuration(timeTaken);
-		
-		// F_delta
-		heuristic.getData().setF_delta(current-candidate); // if improvement - f_delta is negative
+		// timeLastApplied, previousApplicationDuration and F_delta (if improvement - f_delta is negative)
+		heuristics.record(heuristicId, timeApplied, timeTaken, current-candidate);
 		
 		// update phi based on improvement/non-improvement
 		this.updatePhi(current, candidate);
@@ -65,48 +69,118 @@ public class SimplifiedChoiceFunction {
 	/**
      * Selects and returns the heuristic to apply based on calculated scores.
      * 
-     * @return the selected heuristic to apply
+     * @return the ID of the selected heuristic to apply
      */
-	public Heuristic selectHeuristicToApply() {
-		Heuristic selectedHeuristic = null;
+	public int selectHeuristicToApply() {
+		return selectHeuristicToApply(System.nanoTime());
+	}
+	
+	/**
+     * Selects and returns the heuristic to apply based on the scores at a given time, e.g. the virtual time of a
+     * run replayed by examples.replay.TraceReplay.
+     * 
+     * @param currentTime the current time in nanoseconds, on the clock of the times given to updateHeuristicData()
+     * @return the ID of the selected heuristic to apply
+     */
+	public int selectHeuristicToApply(long currentTime) {
+		heuristics.scores(phi, currentTime, scores);
+		int selectedHeuristic = -1;
 		double bestScore = -Double.MAX_VALUE;
-		long currentTime = System.nanoTime();
-		for (Heuristic heuristic : heuristics) {
-//			System.out.print("Score of "+heuristic.getHeuristicId()+" is:");
-            double score = this.calculateScore(heuristic, currentTime);
-            if (score > bestScore) {
-                bestScore = score;
-                selectedHeuristic = heuristic;
+		for (int i = 0; i < scores.length; i++) {
+            if (scores[i] > bestScore && (candidates == null || !candidates.isRetired(i))) {
+                bestScore = scores[i];
+                selectedHeuristic = i;
             }
-//            System.out.println(" Score: "+score);
         }
 		return selectedHeuristic;
 	}
 	
+	/**
+     * Selects and returns the heuristic with the best score among those that can change the current solution,
+     * i.e. skipping local searches that already failed to improve it.
+     * 
+     * @param memo the memo of local searches that reached a fixed point on the current solution
+     * @param probe the probe that counts the skipped heuristics, null if monitoring is off
+     * @return the ID of the selected heuristic to apply
+     */
+	public int selectHeuristicToApply(LocalOptimumMemo memo, HeuristicProbe probe) {
+		return selectHeuristicToApply(memo, probe, System.nanoTime());
+	}
+	
+	/**
+     * Selects and returns the heuristic with the best score at a given time among those that can change the current
+     * solution, see selectHeuristicToApply(LocalOptimumMemo, HeuristicProbe).
+     * 
+     * @param memo the memo of local searches that reached a fixed point on the current solution
+     * @param probe the probe that counts the skipped heuristics, null if monitoring is off
+     * @param currentTime the current time in nanoseconds, on the clock of the times given to updateHeuristicData()
+     * @return the ID of the selected heuristic to apply
+     */
+	public int selectHeuristicToApply(LocalOptimumMemo memo, HeuristicProbe probe, long currentTime) {
+		heuristics.scores(phi, currentTime, scores);
+		int selectedHeuristic = -1, bestRedundant = -1;
+		double bestScore = -Double.MAX_VALUE, bestRedundantScore = -Double.MAX_VALUE;
+		for (int i = 0; i < scores.length; i++) {
+            if (candidates != null && candidates.isRetired(i)) {
+            	continue;
+            }
+            if (memo.isRedundant(i, heuristics.getDos(i))) {
+            	if (scores[i] > bestRedundantScore) {
+            		bestRedundantScore = scores[i];
+            		bestRedundant = i;
+            	}
+            } else if (scores[i] > bestScore) {
+                bestScore = scores[i];
+                selectedHeuristic = i;
+            }
+        }
+		// Count a skip if the plain choice function would have chosen a redundant local search
+		if (bestRedundant >= 0 && bestRedundantScore > bestScore) {
+			memo.skip();
+			if (probe != null) {
+				probe.skipped(bestRedundant);
+			}
+		}
+		return selectedHeuristic >= 0 ? selectedHeuristic : bestRedundant;
+	}
+	
 	/**
      * Calculates the score for the given heuristic based on specific criteria.
      * 
-     * @param h the heuristic for which the score is calculated
+     * @param heuristicId the ID of the heuristic for which the score is calculated
      * @param currentTime the current time in nanoseconds
      * @return the calculated score for the heuristic
      */
-	public double calculateScore(Heuristic h, long currentTime) {
+	public double calculateScore(int heuristicId, long currentTime) {
 		
 		// calculate f1
-		double I = h.getData().getF_delta();
-		double T = (h.getData().getPreviousApplicationDuration()/1_000_000_000)+1;
+		double I = heuristics.getDelta(heuristicId);
+		double T = (heuristics.getDuration(heuristicId)/1_000_000_000)+1;
 		double f1 = I/T;
 		
 		// calculate f3
-		double f3 = (currentTime - h.getData().getTimeLastApplied())/ 1_000_000_000;
-		
-//		System.out.print("f1 score: "+f1+" f3 score: "+f3);
+		double f3 = (currentTime - heuristics.getLastApplied(heuristicId))/ 1_000_000_000;
 		
 		// calculate overall score F
 		return this.phi*f1+(1-phi)*f3;
 		
 	}
 
+	/**
+	 * @param candidates the manager of the candidate heuristics, null to select among all heuristics
+	 */
+	public void setCandidates(CandidateSetManager candidates) {
+		this.candidates = candidates;
+	}
+
+	public double getPhi() {
+		return phi;
+	}
+	
+	public void setPhi(double phi) {
+		this.phi = phi;
+	}
+	
 	/**
      * Updates the phi parameter based on improvement or non-improvement.
      * 
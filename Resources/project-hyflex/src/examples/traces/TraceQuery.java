@@ -0,0 +1,469 @@
+package examples.traces;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * This class answers aggregate queries over the runs of a TraceStore, grouped by algorithm and configuration, in one
+ * or two passes over the store that decode one trace at a time:
+ * - curve: the mean and median anytime curves, i.e. the value at each checkpoint over the runs of a group;
+ * - auc: the area under the anytime curve of each run (with the time scaled to [0, 1]), its mean and standard
+ *   deviation over the runs of a group, best group first;
+ * - rank: the mean rank of each group at each checkpoint, over the instances on which all the groups have runs,
+ *   where a group is ranked by its mean value over its runs on the instance (ties get the mean of their ranks);
+ * - summary: the number of runs, groups and instances, and the size of the store per run;
+ * - compact: compacts the log of the store into a segment.
+ * Unless -raw is given, curves and areas are of the relative gap to the best final value of the instance over the
+ * selected runs, so that runs on different instances can be aggregated. The median is the P-square estimate of Jain
+ * and Chlamtac, which keeps five markers per checkpoint and group instead of the values of all the runs (exact up
+ * to five runs); the means are exact. Only the runs with as many checkpoints as the first selected run are used.
+ * When executing this class, please ensure to set the run configurations:
+ * <directory> <query> [-a <algorithms>] [-c <configurations>] [-n <instances>] [-raw] [-step <checkpoints>]
+ *
+ * Full list of arguments:
+ * directory                  : directory of the trace store
+ * query                      : curve, auc, rank, summary or compact
+ * -a <algorithms>            : only the runs of these algorithms, separated by spaces (default: all)
+ * -c <configurations>        : only the runs of these configurations, separated by spaces (default: all)
+ * -n <instances>             : only the runs on these instances, separated by spaces (default: all)
+ * -raw                       : aggregate the objective values instead of the relative gaps
+ * -step <checkpoints>        : print every step-th checkpoint of the curves and ranks (default: 10)
+ *
+ * Example program arguments as run configuration:
+ * traces curve -a RN -n 0 1 2
+ * traces rank -step 25
+ *
+ * @date 2026.10.18
+ */
+
+public class TraceQuery {
+
+	private final TraceStore store;
+	private final Set<String> algorithms, configurations;
+	private final Set<Integer> instances;
+	private final boolean raw;
+
+	/**
+	 * @param store the store to query
+	 * @param algorithms the algorithms of the selected runs, null for all
+	 * @param configurations the configurations of the selected runs, null for all
+	 * @param instances the instances of the selected runs, null for all
+	 * @param raw true to aggregate objective values, false for relative gaps to the best final value of the instance
+	 */
+	public TraceQuery(TraceStore store, Set<String> algorithms, Set<String> configurations, Set<Integer> instances, boolean raw) {
+		this.store = store;
+		this.algorithms = algorithms;
+		this.configurations = configurations;
+		this.instances = instances;
+		this.raw = raw;
+	}
+
+	/**
+	 * @return the mean and median curves and the areas under the curves of each group, by group
+	 */
+	public Map<String, Curve> curves() throws IOException {
+		Map<Integer, Double> best = raw ? null : bestValues();
+		Map<String, Curve> curves = new TreeMap<>();
+		int[] checkpoints = {-1};
+		store.scan(segment -> {
+			double[] trace = null;
+			for (int run = 0; run < segment.size(); run++) {
+				if (!selected(segment, run)) {
+					continue;
+				}
+				trace = segment.getTrace(run, trace);
+				int length = segment.getTraceLength(run);
+				if (checkpoints[0] < 0) {
+					checkpoints[0] = length;
+				}
+				if (length != checkpoints[0]) {
+					continue;
+				}
+				normalise(trace, length, best == null ? Double.NaN : best.get(segment.getInstance(run)));
+				curves.computeIfAbsent(group(segment, run), group -> new Curve(checkpoints[0])).add(trace);
+			}
+		});
+		return curves;
+	}
+
+	/**
+	 * @return the mean rank of each group at each checkpoint, by group, empty if no instance has runs of all groups
+	 */
+	public Map<String, double[]> ranks() throws IOException {
+		// Sum and number of the values of each group on each instance, at each checkpoint
+		Map<String, Map<Integer, double[]>> sums = new TreeMap<>();
+		Map<String, Map<Integer, Integer>> counts = new HashMap<>();
+		int[] checkpoints = {-1};
+		store.scan(segment -> {
+			double[] trace = null;
+			for (int run = 0; run < segment.size(); run++) {
+				if (!selected(segment, run)) {
+					continue;
+				}
+				trace = segment.getTrace(run, trace);
+				int length = segment.getTraceLength(run);
+				if (checkpoints[0] < 0) {
+					checkpoints[0] = length;
+				}
+				if (length != checkpoints[0]) {
+					continue;
+				}
+				String group = group(segment, run);
+				double[] sum = sums.computeIfAbsent(group, g -> new HashMap<>()).computeIfAbsent(segment.getInstance(run), i -> new double[checkpoints[0]]);
+				for (int k = 0; k < length; k++) {
+					sum[k] += trace[k];
+				}
+				counts.computeIfAbsent(group, g -> new HashMap<>()).merge(segment.getInstance(run), 1, Integer::sum);
+			}
+		});
+		Map<String, double[]> ranks = new TreeMap<>();
+		if (sums.isEmpty()) {
+			return ranks;
+		}
+		List<String> groups = new ArrayList<>(sums.keySet());
+		Set<Integer> common = null;
+		for (String group : groups) {
+			if (common == null) {
+				common = new HashSet<>(sums.get(group).keySet());
+			} else {
+				common.retainAll(sums.get(group).keySet());
+			}
+		}
+		if (common.isEmpty()) {
+			return ranks;
+		}
+		for (String group : groups) {
+			ranks.put(group, new double[checkpoints[0]]);
+		}
+		double[] means = new double[groups.size()];
+		Integer[] order = new Integer[groups.size()];
+		for (int instance : common) {
+			for (int k = 0; k < checkpoints[0]; k++) {
+				for (int g = 0; g < groups.size(); g++) {
+					means[g] = sums.get(groups.get(g)).get(instance)[k] / counts.get(groups.get(g)).get(instance);
+					order[g] = g;
+				}
+				Arrays.sort(order, (a, b) -> Double.compare(means[a], means[b]));
+				// Ranks from 1, the mean rank for the groups tied with the same mean
+				for (int first = 0; first < order.length; ) {
+					int last = first;
+					while (last + 1 < order.length && means[order[last + 1]] == means[order[first]]) {
+						last++;
+					}
+					for (int g = first; g <= last; g++) {
+						ranks.get(groups.get(order[g]))[k] += (first + last + 2) / 2.0 / common.size();
+					}
+					first = last + 1;
+				}
+			}
+		}
+		return ranks;
+	}
+
+	/**
+	 * @return the best final value of the selected runs on each instance, by instance, from the final value column
+	 */
+	public Map<Integer, Double> bestValues() throws IOException {
+		Map<Integer, Double> best = new HashMap<>();
+		store.scan(segment -> {
+			for (int run = 0; run < segment.size(); run++) {
+				if (selected(segment, run)) {
+					best.merge(segment.getInstance(run), segment.getFinalValue(run), Math::min);
+				}
+			}
+		});
+		return best;
+	}
+
+	private boolean selected(TraceStore.Segment segment, int run) {
+		return (algorithms == null || algorithms.contains(segment.getAlgorithm(run)))
+				&& (configurations == null || configurations.contains(segment.getConfiguration(run)))
+				&& (instances == null || instances.contains(segment.getInstance(run)));
+	}
+
+	private static String group(TraceStore.Segment segment, int run) {
+		return segment.getAlgorithm(run) + " " + segment.getConfiguration(run);
+	}
+
+	// Replaces the values by their relative gaps to the best value, unless it is NaN
+	private static void normalise(double[] trace, int length, double best) {
+		if (Double.isNaN(best)) {
+			return;
+		}
+		double scale = best == 0 ? 1 : Math.abs(best);
+		for (int k = 0; k < length; k++) {
+			trace[k] = (trace[k] - best) / scale;
+		}
+	}
+
+	/**
+	 * The anytime curves of the runs of a group: mean and median at each checkpoint, and area under the curve.
+	 */
+	public static class Curve {
+
+		private final double[] sums;
+		private final Median[] medians;
+		private int runs;
+		// Mean and sum of squared deviations of the areas (Welford)
+		private double aucMean, aucSquares;
+
+		Curve(int checkpoints) {
+			sums = new double[checkpoints];
+			medians = new Median[checkpoints];
+			for (int k = 0; k < checkpoints; k++) {
+				medians[k] = new Median();
+			}
+		}
+
+		void add(double[] trace) {
+			runs++;
+			for (int k = 0; k < sums.length; k++) {
+				sums[k] += trace[k];
+				medians[k].add(trace[k]);
+			}
+			double auc = area(trace, sums.length), delta = auc - aucMean;
+			aucMean += delta / runs;
+			aucSquares += delta * (auc - aucMean);
+		}
+
+		public int getRuns() {
+			return runs;
+		}
+
+		public double[] getMean() {
+			double[] mean = new double[sums.length];
+			for (int k = 0; k < sums.length; k++) {
+				mean[k] = sums[k] / runs;
+			}
+			return mean;
+		}
+
+		public double[] getMedian() {
+			double[] median = new double[medians.length];
+			for (int k = 0; k < medians.length; k++) {
+				median[k] = medians[k].get();
+			}
+			return median;
+		}
+
+		public double getAucMean() {
+			return aucMean;
+		}
+
+		public double getAucDeviation() {
+			return runs > 1 ? Math.sqrt(aucSquares / (runs - 1)) : 0;
+		}
+
+		// Trapezoidal area under the checkpoints, evenly spaced over [0, 1]
+		static double area(double[] values, int length) {
+			if (length < 2) {
+				return length == 1 ? values[0] : Double.NaN;
+			}
+			double area = 0;
+			for (int k = 1; k < length; k++) {
+				area += (values[k - 1] + values[k]) / 2;
+			}
+			return area / (length - 1);
+		}
+	}
+
+	/**
+	 * P-square estimate of the median of a stream of values, from five markers (Jain and Chlamtac, 1985).
+	 */
+	private static class Median {
+
+		private final double[] heights = new double[5];
+		private final int[] positions = {0, 1, 2, 3, 4};
+		private final double[] desired = {0, 1, 2, 3, 4};
+		private static final double[] INCREMENTS = {0, 0.25, 0.5, 0.75, 1};
+		private int count;
+
+		void add(double value) {
+			if (count < 5) {
+				heights[count++] = value;
+				if (count == 5) {
+					Arrays.sort(heights);
+				}
+				return;
+			}
+			count++;
+			int cell;
+			if (value < heights[0]) {
+				heights[0] = value;
+				cell = 0;
+			} else if (value >= heights[4]) {
+				heights[4] = value;
+				cell = 3;
+			} else {
+				cell = 0;
+				while (value >= heights[cell + 1]) {
+					cell++;
+				}
+			}
+			for (int i = cell + 1; i < 5; i++) {
+				positions[i]++;
+			}
+			for (int i = 0; i < 5; i++) {
+				desired[i] += INCREMENTS[i];
+			}
+			// Move the middle markers towards their desired positions, by parabolic or else linear interpolation
+			for (int i = 1; i < 4; i++) {
+				double d = desired[i] - positions[i];
+				if ((d >= 1 && positions[i + 1] - positions[i] > 1) || (d <= -1 && positions[i - 1] - positions[i] < -1)) {
+					int s = d > 0 ? 1 : -1;
+					double height = heights[i] + (double) s / (positions[i + 1] - positions[i - 1])
+							* ((positions[i] - positions[i - 1] + s) * (heights[i + 1] - heights[i]) / (positions[i + 1] - positions[i])
+							+ (positions[i + 1] - positions[i] - s) * (heights[i] - heights[i - 1]) / (positions[i] - positions[i - 1]));
+					if (heights[i - 1] < height && height < heights[i + 1]) {
+						heights[i] = height;
+					} else {
+						heights[i] += s * (heights[i + s] - heights[i]) / (positions[i + s] - positions[i]);
+					}
+					positions[i] += s;
+				}
+			}
+		}
+
+		double get() {
+			if (count == 0) {
+				return Double.NaN;
+			}
+			if (count >= 5) {
+				return heights[2];
+			}
+			double[] values = Arrays.copyOf(heights, count);
+			Arrays.sort(values);
+			return count % 2 == 1 ? values[count / 2] : (values[count / 2 - 1] + values[count / 2]) / 2;
+		}
+	}
+
+	public static void main(String[] args) {
+		if (args.length < 2) {
+			System.err.println("Usage: java examples.traces.TraceQuery <directory> <query> [-a <algorithms>] [-c <configurations>] [-n <instances>] [-raw] [-step <checkpoints>]");
+			System.exit(1);
+		}
+		TraceStore store = new TraceStore(Paths.get(args[0]));
+		String query = args[1];
+		Set<String> algorithms = null, configurations = null;
+		Set<Integer> instances = null;
+		boolean raw = false;
+		int step = 10;
+
+		//-------------------------------Parse command line arguments--------------------------
+		for (int i = 2; i < args.length; i++) {
+			switch (args[i]) {
+				case "-a":
+					algorithms = new HashSet<>();
+					while (i + 1 < args.length && !args[i + 1].startsWith("-")) {
+						algorithms.add(args[++i]);
+					}
+					break;
+				case "-c":
+					configurations = new HashSet<>();
+					while (i + 1 < args.length && !args[i + 1].startsWith("-")) {
+						configurations.add(args[++i]);
+					}
+					break;
+				case "-n":
+					instances = new HashSet<>();
+					while (i + 1 < args.length && !args[i + 1].startsWith("-")) {
+						instances.add(Integer.parseInt(args[++i]));
+					}
+					break;
+				case "-raw":
+					raw = true;
+					break;
+				case "-step":
+					step = Math.max(1, Integer.parseInt(args[++i]));
+					break;
+				default:
+					break;
+			}
+		}
+
+		TraceQuery traceQuery = new TraceQuery(store, algorithms, configurations, instances, raw);
+		try {
+			switch (query) {
+				case "curve":
+					for (Map.Entry<String, Curve> entry : traceQuery.curves().entrySet()) {
+						Curve curve = entry.getValue();
+						double[] mean = curve.getMean(), median = curve.getMedian();
+						System.out.printf("%s: %d runs, AUC %.6g%n", entry.getKey(), curve.getRuns(), curve.getAucMean());
+						System.out.printf("%8s %14s %14s%n", "time", "mean", "median");
+						for (int k = 0; k < mean.length; k += step) {
+							System.out.printf("%7.1f%% %14.6g %14.6g%n", 100.0 * k / Math.max(1, mean.length - 1), mean[k], median[k]);
+						}
+						if ((mean.length - 1) % step != 0) {
+							System.out.printf("%7.1f%% %14.6g %14.6g%n", 100.0, mean[mean.length - 1], median[mean.length - 1]);
+						}
+					}
+					break;
+				case "auc":
+					List<Map.Entry<String, Curve>> entries = new ArrayList<>(traceQuery.curves().entrySet());
+					entries.sort((a, b) -> Double.compare(a.getValue().getAucMean(), b.getValue().getAucMean()));
+					System.out.printf("%-24s %8s %14s %14s%n", "group", "runs", "AUC mean", "AUC sd");
+					for (Map.Entry<String, Curve> entry : entries) {
+						System.out.printf("%-24s %8d %14.6g %14.6g%n", entry.getKey(), entry.getValue().getRuns(), entry.getValue().getAucMean(),
+								entry.getValue().getAucDeviation());
+					}
+					break;
+				case "rank":
+					Map<String, double[]> ranks = traceQuery.ranks();
+					if (ranks.isEmpty()) {
+						System.err.println("No instance has runs of all the selected groups");
+						System.exit(1);
+					}
+					int checkpoints = ranks.values().iterator().next().length;
+					StringBuilder header = new StringBuilder(String.format("%-24s", "group"));
+					for (int k = 0; k < checkpoints; k += step) {
+						header.append(String.format(" %6.0f%%", 100.0 * k / Math.max(1, checkpoints - 1)));
+					}
+					System.out.println(header.append(String.format(" %8s", "mean")));
+					for (Map.Entry<String, double[]> entry : ranks.entrySet()) {
+						StringBuilder line = new StringBuilder(String.format("%-24s", entry.getKey()));
+						for (int k = 0; k < checkpoints; k += step) {
+							line.append(String.format(" %7.2f", entry.getValue()[k]));
+						}
+						System.out.println(line.append(String.format(" %8.2f", Curve.area(entry.getValue(), checkpoints))));
+					}
+					break;
+				case "summary":
+					Set<String> groups = new HashSet<>();
+					Set<Integer> instanceIds = new HashSet<>();
+					// Selected runs, and all the runs of the store
+					long[] runs = {0, 0};
+					store.scan(segment -> {
+						runs[1] += segment.size();
+						for (int run = 0; run < segment.size(); run++) {
+							if (traceQuery.selected(segment, run)) {
+								runs[0]++;
+								groups.add(group(segment, run));
+								instanceIds.add(segment.getInstance(run));
+							}
+						}
+					});
+					long size = store.getSize();
+					System.out.printf("Runs: %d. Groups: %d. Instances: %d. Store: %d runs, %d bytes (%.1f per run)%n", runs[0], groups.size(),
+							instanceIds.size(), runs[1], size, runs[1] == 0 ? 0.0 : (double) size / runs[1]);
+					break;
+				case "compact":
+					store.compact();
+					break;
+				default:
+					System.err.println("Unknown query: " + query);
+					System.exit(1);
+			}
+		} catch (IOException e) {
+			System.err.println("Cannot read trace store " + args[0] + ": " + e.getMessage());
+			System.exit(1);
+		}
+	}
+}
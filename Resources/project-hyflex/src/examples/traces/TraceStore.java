@@ -0,0 +1,542 @@
+package examples.traces;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * This class stores the fitness traces of many runs (HyperHeuristic.getFitnessTrace()), keyed by algorithm,
+ * configuration, instance and seed, in a directory:
+ * - "traces.log": the runs appended since the last compaction, one record per run, so that an append only writes
+ *   a few hundred bytes;
+ * - "segment.<n>.bin": the runs of one compaction of the log, in columns: a dictionary of the algorithm and
+ *   configuration names, then the algorithm ids, configuration ids, instances, seeds (as varint deltas), final
+ *   values and trace lengths of all the runs, then the traces encoded by TraceCodec.
+ * Segments are never modified. A query reads the key columns of one segment at a time, with the traces memory
+ * mapped, and decodes the trace of a run only if it needs it (e.g. not to find the best final value of an
+ * instance), so the heap holds the columns of one segment, not the traces of the store.
+ *
+ * Runs in parallel, in this JVM or in other processes (e.g. irace), may append at the same time: an append holds a
+ * lock on the file "traces.lock" while it writes its record, and compacts the log into a new segment once it
+ * exceeds the compaction size; a scan holds a shared lock while it lists the segments and copies the log.
+ *
+ * The lock file also holds the state of the log: its generation and the length of its committed records. An append
+ * writes its record at the committed length and then commits it, so it neither reads the log nor keeps a record torn
+ * by a crashed writer, which only loses its own run. The log of generation g is compacted into "segment.<g>.bin",
+ * then emptied, then the generation is increased: if "segment.<g>.bin" already exists, a compaction stopped after
+ * writing it, so a scan skips the log and the next append or compaction completes the compaction first. A run is
+ * therefore never counted twice.
+ *
+ * @date 2026.10.18
+ */
+
+public class TraceStore {
+
+	// Size of the log in bytes from which an append compacts it into a segment (about 3000 traces of 101 checkpoints)
+	public static final long DEFAULT_COMPACTION_SIZE = 1 << 20;
+
+	private static final int MAGIC = 0x48545253;
+	private static final byte VERSION = 1;
+	private static final String LOG = "traces.log", LOCK = "traces.lock", SEGMENT = "segment.";
+	// Bytes of the state in the lock file: generation and committed length of the log
+	private static final int STATE_SIZE = 16;
+
+	private final Path directory;
+	private final long compactionSize;
+
+	/**
+	 * @param directory the directory of the store, created if needed
+	 */
+	public TraceStore(Path directory) {
+		this(directory, DEFAULT_COMPACTION_SIZE);
+	}
+
+	/**
+	 * @param directory the directory of the store, created if needed
+	 * @param compactionSize the size of the log in bytes from which an append compacts it
+	 */
+	public TraceStore(Path directory, long compactionSize) {
+		this.directory = directory;
+		this.compactionSize = compactionSize;
+	}
+
+	/**
+	 * Appends the trace of a run.
+	 *
+	 * @param algorithm the name of the hyper-heuristic
+	 * @param configuration the identifier of the configuration (e.g. id.configuration of irace)
+	 * @param instance the ID of the problem instance
+	 * @param seed the seed of the run
+	 * @param trace the best objective value at each checkpoint of the run
+	 */
+	public void append(String algorithm, String configuration, int instance, long seed, double[] trace) throws IOException {
+		ByteArrayOutputStream record = new ByteArrayOutputStream(64 + trace.length * 4);
+		TraceCodec.writeString(record, algorithm);
+		TraceCodec.writeString(record, configuration);
+		TraceCodec.writeVarint(record, instance);
+		TraceCodec.writeSignedVarint(record, seed);
+		writeDouble(record, trace.length == 0 ? Double.NaN : trace[trace.length - 1]);
+		byte[] encoded = TraceCodec.encode(trace);
+		record.write(encoded, 0, encoded.length);
+		ByteArrayOutputStream out = new ByteArrayOutputStream(record.size() + 5);
+		TraceCodec.writeVarint(out, record.size());
+		record.writeTo(out);
+
+		Files.createDirectories(directory);
+		// The file lock is held by the JVM, so threads of this JVM are serialised first
+		synchronized (TraceStore.class) {
+			try (FileChannel lockChannel = FileChannel.open(directory.resolve(LOCK), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+				FileLock lock = lockChannel.lock();
+				try {
+					long[] state = recoverLocked(lockChannel);
+					long end;
+					try (FileChannel log = FileChannel.open(directory.resolve(LOG), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+						end = committedLength(log, state[1]);
+						if (end < log.size()) { // drop a record torn by a crashed writer
+							log.truncate(end);
+						}
+						ByteBuffer buffer = ByteBuffer.wrap(out.toByteArray());
+						while (buffer.hasRemaining()) {
+							end += log.write(buffer, end);
+						}
+					}
+					writeState(lockChannel, state[0], end);
+					if (end >= compactionSize) {
+						compactLocked(lockChannel, state[0], end);
+					}
+				} finally {
+					lock.release();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Compacts the log into a new segment, if it holds any run.
+	 */
+	public void compact() throws IOException {
+		Files.createDirectories(directory);
+		synchronized (TraceStore.class) {
+			try (FileChannel lockChannel = FileChannel.open(directory.resolve(LOCK), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+				FileLock lock = lockChannel.lock();
+				try {
+					long[] state = recoverLocked(lockChannel);
+					long committed;
+					try (FileChannel log = FileChannel.open(directory.resolve(LOG), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+						committed = committedLength(log, state[1]);
+					}
+					compactLocked(lockChannel, state[0], committed);
+				} finally {
+					lock.release();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Passes each segment of the store to the consumer, one at a time, the runs of the log last.
+	 * The segments are those of the store when the scan starts.
+	 *
+	 * @param consumer the consumer of the segments
+	 */
+	public void scan(Consumer<Segment> consumer) throws IOException {
+		List<Path> files;
+		ByteBuffer log;
+		if (!Files.isDirectory(directory)) {
+			return;
+		}
+		synchronized (TraceStore.class) {
+			try (FileChannel lockChannel = FileChannel.open(directory.resolve(LOCK), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+				FileLock lock = lockChannel.lock(0, Long.MAX_VALUE, true);
+				try {
+					files = segmentFiles();
+					long[] state = readState(lockChannel);
+					// The log is truncated by compactions, so it is copied rather than mapped. Its runs are already in
+					// the segment of its generation if a compaction stopped after writing it
+					Path logFile = directory.resolve(LOG);
+					if (Files.exists(logFile) && !Files.exists(segmentFile(state[0]))) {
+						byte[] bytes = Files.readAllBytes(logFile);
+						log = ByteBuffer.wrap(bytes, 0, state[1] >= 0 ? (int) Math.min(state[1], bytes.length) : bytes.length);
+					} else {
+						log = ByteBuffer.allocate(0);
+					}
+				} finally {
+					lock.release();
+				}
+			}
+		}
+		for (Path file : files) {
+			try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+				consumer.accept(Segment.read(file, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size())));
+			}
+		}
+		Segment logSegment = Segment.parseLog(log);
+		if (logSegment.size() > 0) {
+			consumer.accept(logSegment);
+		}
+	}
+
+	/**
+	 * @return the total size of the segments and the log in bytes
+	 */
+	public long getSize() throws IOException {
+		long size = 0;
+		if (Files.isDirectory(directory)) {
+			for (Path file : segmentFiles()) {
+				size += Files.size(file);
+			}
+			Path logFile = directory.resolve(LOG);
+			size += Files.exists(logFile) ? Files.size(logFile) : 0;
+		}
+		return size;
+	}
+
+	public Path getDirectory() {
+		return directory;
+	}
+
+	// Writes the committed runs of the log to the segment of its generation, empties the log and starts the next
+	// generation, with the lock held. A crash in between is completed by recoverLocked
+	private void compactLocked(FileChannel lockChannel, long generation, long committed) throws IOException {
+		Path logFile = directory.resolve(LOG);
+		byte[] bytes = Files.exists(logFile) ? Files.readAllBytes(logFile) : new byte[0];
+		Segment log = Segment.parseLog(ByteBuffer.wrap(bytes, 0, (int) Math.min(committed, bytes.length)));
+		if (log.size() == 0) {
+			return;
+		}
+		Path temporary = Files.createTempFile(directory, SEGMENT, ".tmp");
+		Files.write(temporary, log.toBytes());
+		Files.move(temporary, segmentFile(generation), StandardCopyOption.ATOMIC_MOVE);
+		finishCompaction(lockChannel, generation);
+	}
+
+	// Empties the log, whose runs are in the segment of the generation, and starts the next generation
+	private void finishCompaction(FileChannel lockChannel, long generation) throws IOException {
+		try (FileChannel channel = FileChannel.open(directory.resolve(LOG), StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+			channel.truncate(0);
+		}
+		writeState(lockChannel, generation + 1, 0);
+	}
+
+	// The state of the log, after completing a compaction that stopped after writing its segment, with the lock held
+	private long[] recoverLocked(FileChannel lockChannel) throws IOException {
+		long[] state = readState(lockChannel);
+		if (Files.exists(segmentFile(state[0]))) {
+			finishCompaction(lockChannel, state[0]);
+			state = new long[] {state[0] + 1, 0};
+		}
+		return state;
+	}
+
+	// The generation and committed length of the log in the lock file. A store without a state (e.g. a new one)
+	// continues the numbers of its segments, and the committed length, -1, is found by parsing the log
+	private long[] readState(FileChannel lockChannel) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(STATE_SIZE);
+		while (buffer.hasRemaining()) {
+			if (lockChannel.read(buffer, buffer.position()) < 0) {
+				break;
+			}
+		}
+		if (buffer.hasRemaining()) {
+			int number = 0;
+			for (Path file : segmentFiles()) {
+				number = Math.max(number, segmentNumber(file) + 1);
+			}
+			return new long[] {number, -1};
+		}
+		buffer.flip();
+		return new long[] {buffer.getLong(), buffer.getLong()};
+	}
+
+	private static void writeState(FileChannel lockChannel, long generation, long committed) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(STATE_SIZE).putLong(generation).putLong(committed);
+		buffer.flip();
+		while (buffer.hasRemaining()) {
+			lockChannel.write(buffer, buffer.position());
+		}
+	}
+
+	// The committed length of the log, or the length of its complete records if it is not known
+	private static long committedLength(FileChannel log, long committed) throws IOException {
+		if (committed >= 0 && committed <= log.size()) {
+			return committed;
+		}
+		ByteBuffer in = ByteBuffer.allocate((int) log.size());
+		while (in.hasRemaining()) {
+			if (log.read(in, in.position()) < 0) {
+				break;
+			}
+		}
+		in.flip();
+		Segment.parseLog(in);
+		return in.position();
+	}
+
+	private Path segmentFile(long generation) {
+		return directory.resolve(SEGMENT + generation + ".bin");
+	}
+
+	// The segment files, in the order of their numbers
+	private List<Path> segmentFiles() throws IOException {
+		List<Path> files = new ArrayList<>();
+		try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, SEGMENT + "*.bin")) {
+			for (Path file : stream) {
+				if (segmentNumber(file) >= 0) {
+					files.add(file);
+				}
+			}
+		}
+		files.sort((a, b) -> Integer.compare(segmentNumber(a), segmentNumber(b)));
+		return files;
+	}
+
+	// The number of a segment file, -1 if it is not one
+	private static int segmentNumber(Path file) {
+		String name = file.getFileName().toString();
+		try {
+			return Integer.parseInt(name.substring(SEGMENT.length(), name.length() - ".bin".length()));
+		} catch (NumberFormatException | IndexOutOfBoundsException e) {
+			return -1;
+		}
+	}
+
+	private static void writeDouble(ByteArrayOutputStream out, double value) {
+		long bits = Double.doubleToRawLongBits(value);
+		for (int shift = 56; shift >= 0; shift -= 8) {
+			out.write((int) (bits >>> shift));
+		}
+	}
+
+	/**
+	 * The runs of a segment file or of the log: their keys and final values in columns, and their encoded traces.
+	 */
+	public static class Segment {
+
+		private final String[] names;
+		private final int[] algorithms, configurations, instances;
+		private final long[] seeds;
+		private final double[] finalValues;
+		// Start and end of the encoded trace of each run in the data
+		private final int[] starts, ends;
+		private final ByteBuffer data;
+
+		private Segment(String[] names, int[] algorithms, int[] configurations, int[] instances, long[] seeds, double[] finalValues,
+				int[] starts, int[] ends, ByteBuffer data) {
+			this.names = names;
+			this.algorithms = algorithms;
+			this.configurations = configurations;
+			this.instances = instances;
+			this.seeds = seeds;
+			this.finalValues = finalValues;
+			this.starts = starts;
+			this.ends = ends;
+			this.data = data;
+		}
+
+		public int size() {
+			return instances.length;
+		}
+
+		public String getAlgorithm(int run) {
+			return names[algorithms[run]];
+		}
+
+		public String getConfiguration(int run) {
+			return names[configurations[run]];
+		}
+
+		public int getInstance(int run) {
+			return instances[run];
+		}
+
+		public long getSeed(int run) {
+			return seeds[run];
+		}
+
+		/**
+		 * @return the last value of the trace of the run, without decoding it (NaN for an empty trace)
+		 */
+		public double getFinalValue(int run) {
+			return finalValues[run];
+		}
+
+		/**
+		 * @return the number of checkpoints of the trace of the run
+		 */
+		public int getTraceLength(int run) {
+			ByteBuffer in = data.duplicate();
+			in.position(starts[run]);
+			return TraceCodec.getLength(in);
+		}
+
+		/**
+		 * @param run the index of the run in the segment
+		 * @param values the array to decode into, replaced by a larger one if needed
+		 * @return the array of the values, whose first getTraceLength(run) entries are the trace
+		 */
+		public double[] getTrace(int run, double[] values) {
+			ByteBuffer in = data.duplicate();
+			in.position(starts[run]);
+			return TraceCodec.decode(in, values);
+		}
+
+		// The encoded trace of the run, as written by TraceCodec.encode
+		private ByteBuffer getEncodedTrace(int run) {
+			ByteBuffer in = data.duplicate();
+			in.limit(ends[run]).position(starts[run]);
+			return in;
+		}
+
+		// Reads a segment file
+		static Segment read(Path file, ByteBuffer in) throws IOException {
+			try {
+				if (in.getInt() != MAGIC || in.get() != VERSION) {
+					throw new IOException(file + ": not a trace segment");
+				}
+				int runs = (int) TraceCodec.readVarint(in);
+				String[] names = new String[(int) TraceCodec.readVarint(in)];
+				for (int k = 0; k < names.length; k++) {
+					names[k] = TraceCodec.readString(in);
+				}
+				int[] algorithms = new int[runs], configurations = new int[runs], instances = new int[runs];
+				int[] starts = new int[runs], ends = new int[runs];
+				long[] seeds = new long[runs];
+				double[] finalValues = new double[runs];
+				for (int r = 0; r < runs; r++) {
+					algorithms[r] = (int) TraceCodec.readVarint(in);
+				}
+				for (int r = 0; r < runs; r++) {
+					configurations[r] = (int) TraceCodec.readVarint(in);
+				}
+				for (int r = 0; r < runs; r++) {
+					instances[r] = (int) TraceCodec.readVarint(in);
+				}
+				long seed = 0;
+				for (int r = 0; r < runs; r++) {
+					seed += TraceCodec.readSignedVarint(in);
+					seeds[r] = seed;
+				}
+				for (int r = 0; r < runs; r++) {
+					finalValues[r] = in.getDouble();
+				}
+				for (int r = 0; r < runs; r++) {
+					ends[r] = (int) TraceCodec.readVarint(in);
+				}
+				int offset = in.position();
+				for (int r = 0; r < runs; r++) {
+					starts[r] = offset;
+					offset += ends[r];
+					ends[r] = offset;
+				}
+				if (offset > in.limit()) {
+					throw new IOException(file + ": truncated trace segment");
+				}
+				in.position(0);
+				return new Segment(names, algorithms, configurations, instances, seeds, finalValues, starts, ends, in);
+			} catch (BufferUnderflowException | IllegalArgumentException e) {
+				throw new IOException(file + ": truncated trace segment");
+			}
+		}
+
+		// Parses the records of the log, up to the first incomplete one, at whose start the position of the buffer is left
+		static Segment parseLog(ByteBuffer in) {
+			Map<String, Integer> ids = new HashMap<>();
+			List<String> names = new ArrayList<>();
+			int capacity = 16, runs = 0;
+			int[] algorithms = new int[capacity], configurations = new int[capacity], instances = new int[capacity];
+			int[] starts = new int[capacity], ends = new int[capacity];
+			long[] seeds = new long[capacity];
+			double[] finalValues = new double[capacity];
+			while (in.hasRemaining()) {
+				int start = in.position();
+				try {
+					int length = (int) TraceCodec.readVarint(in);
+					int end = in.position() + length;
+					if (length <= 0 || end > in.limit()) {
+						in.position(start);
+						break;
+					}
+					if (runs == capacity) {
+						capacity *= 2;
+						algorithms = Arrays.copyOf(algorithms, capacity);
+						configurations = Arrays.copyOf(configurations, capacity);
+						instances = Arrays.copyOf(instances, capacity);
+						seeds = Arrays.copyOf(seeds, capacity);
+						finalValues = Arrays.copyOf(finalValues, capacity);
+						starts = Arrays.copyOf(starts, capacity);
+						ends = Arrays.copyOf(ends, capacity);
+					}
+					algorithms[runs] = ids.computeIfAbsent(TraceCodec.readString(in), name -> { names.add(name); return names.size() - 1; });
+					configurations[runs] = ids.computeIfAbsent(TraceCodec.readString(in), name -> { names.add(name); return names.size() - 1; });
+					instances[runs] = (int) TraceCodec.readVarint(in);
+					seeds[runs] = TraceCodec.readSignedVarint(in);
+					finalValues[runs] = in.getDouble();
+					starts[runs] = in.position();
+					ends[runs] = end;
+					in.position(end);
+					runs++;
+				} catch (BufferUnderflowException | IllegalArgumentException e) {
+					in.position(start);
+					break;
+				}
+			}
+			return new Segment(names.toArray(new String[0]), Arrays.copyOf(algorithms, runs), Arrays.copyOf(configurations, runs),
+					Arrays.copyOf(instances, runs), Arrays.copyOf(seeds, runs), Arrays.copyOf(finalValues, runs), Arrays.copyOf(starts, runs),
+					Arrays.copyOf(ends, runs), in);
+		}
+
+		// The segment file of the runs
+		byte[] toBytes() {
+			int runs = size();
+			ByteArrayOutputStream out = new ByteArrayOutputStream(data.limit() + 32 * runs);
+			ByteBuffer header = ByteBuffer.allocate(5).putInt(MAGIC).put(VERSION);
+			out.write(header.array(), 0, 5);
+			TraceCodec.writeVarint(out, runs);
+			TraceCodec.writeVarint(out, names.length);
+			for (String name : names) {
+				TraceCodec.writeString(out, name);
+			}
+			for (int r = 0; r < runs; r++) {
+				TraceCodec.writeVarint(out, algorithms[r]);
+			}
+			for (int r = 0; r < runs; r++) {
+				TraceCodec.writeVarint(out, configurations[r]);
+			}
+			for (int r = 0; r < runs; r++) {
+				TraceCodec.writeVarint(out, instances[r]);
+			}
+			long seed = 0;
+			for (int r = 0; r < runs; r++) {
+				TraceCodec.writeSignedVarint(out, seeds[r] - seed);
+				seed = seeds[r];
+			}
+			for (int r = 0; r < runs; r++) {
+				writeDouble(out, finalValues[r]);
+			}
+			for (int r = 0; r < runs; r++) {
+				TraceCodec.writeVarint(out, getEncodedTrace(r).remaining());
+			}
+			for (int r = 0; r < runs; r++) {
+				ByteBuffer trace = getEncodedTrace(r);
+				byte[] bytes = new byte[trace.remaining()];
+				trace.get(bytes);
+				out.write(bytes, 0, bytes.length);
+			}
+			return out.toByteArray();
+		}
+	}
+}
@@ -0,0 +1,271 @@
+package examples.tsp;
+
+import java.util.Arrays;
+
+/**
+ * This class builds TSP tours with constructive heuristics, as starting points for the runs instead of the tours of
+ * TSP.initialiseSolution (nearest neighbour tours from a random start city, 24% to 36% above the optimum on pr299,
+ * pr439, pcb1173 and d18512). All of them only need the coordinates of the cities; above the optimum on instances
+ * 0 to 6 and 9, they are:
+ * - greedy edge: add the shortest candidate edges (among the nearest neighbours of each city) that keep every
+ *   city at degree at most 2 and close no cycle, again among the endpoints of the fragments until no edge can be
+ *   added, then join the fragments by nearest endpoints; 14% to 31% (15% on d18512), about 3 s on d18512;
+ * - space-filling curve: visit the cities in the order of a Hilbert curve over the bounding box, O(n log n);
+ *   32% to 64%, but only tens of milliseconds on d18512.
+ *
+ * @date 2026.10.18
+ */
+
+public class ConstructiveTours {
+
+	// Number of candidate edges per city of the greedy edge heuristic
+	public static final int GREEDY_NEIGHBOURS = 10;
+	// Order of the Hilbert curve (the bounding box is a grid of 2^order x 2^order cells)
+	private static final int HILBERT_ORDER = 16;
+
+	private ConstructiveTours() {
+	}
+
+	/**
+	 * @param kernel the distances of the instance
+	 * @param neighbours the number of candidate edges per city
+	 * @return the greedy edge tour
+	 */
+	public static int[] greedyEdge(DistanceKernel kernel, int neighbours) {
+		int n = kernel.size();
+		if (n < 3) {
+			return identity(n);
+		}
+		// The (up to) two neighbours of each city in the tour, -1 if none yet
+		int[] left = new int[n], right = new int[n];
+		Arrays.fill(left, -1);
+		Arrays.fill(right, -1);
+		int[] fragment = identity(n);
+
+		//-------------------------------Greedy matching into fragments-------------------------
+		// First among all cities, then again among the endpoints of the fragments (the cities of degree 0 or 1),
+		// whose candidate edges were all taken or rejected, until no edge can be added
+		int[] cities = identity(n);
+		int count = n, added = 0;
+		while (added < n - 1) {
+			int before = added;
+			added = match(kernel, cities, count, neighbours, left, right, fragment, added);
+			if (added == before) {
+				break;
+			}
+			count = 0;
+			for (int c = 0; c < n; c++) {
+				if (right[c] < 0) {
+					cities[count++] = c;
+				}
+			}
+		}
+
+		//-------------------------------Join the fragments by nearest endpoints----------------
+		if (added < n - 1) {
+			// Walk from an endpoint, then jump to the nearest endpoint of another fragment
+			int[] endpoints = Arrays.copyOf(cities, count);
+			int current = otherEnd(left, right, endpoints[0]);
+			boolean[] joined = new boolean[n];
+			markFragment(left, right, endpoints[0], joined);
+			double[] endpointDistances = new double[count];
+			for (; added < n - 1; added++) {
+				kernel.distances(current, endpoints, count, endpointDistances);
+				int best = -1;
+				for (int k = 0; k < count; k++) {
+					if (!joined[endpoints[k]] && (best < 0 || endpointDistances[k] < endpointDistances[best])) {
+						best = k;
+					}
+				}
+				int next = endpoints[best], end = otherEnd(left, right, next);
+				markFragment(left, right, next, joined);
+				link(left, right, current, next);
+				current = end;
+			}
+		}
+		return walk(left, right, n);
+	}
+
+	// Adds the shortest candidate edges among the given cities that keep the degrees at most 2 and close no cycle
+	private static int match(DistanceKernel kernel, int[] cities, int count, int neighbours, int[] left, int[] right, int[] fragment, int added) {
+		int n = kernel.size();
+		neighbours = Math.min(neighbours, count - 1);
+		if (neighbours <= 0) {
+			return added;
+		}
+
+		//-------------------------------Candidate edges to the nearest cities------------------
+		double[] distances = new double[count];
+		int[] edgeA = new int[count * neighbours], edgeB = new int[count * neighbours];
+		double[] edgeLength = new double[count * neighbours];
+		int edges = 0;
+		int[] nearest = new int[neighbours];
+		double[] nearestDistance = new double[neighbours];
+		for (int i = 0; i < count; i++) {
+			int a = cities[i];
+			kernel.distances(a, cities, count, distances);
+			// Keep the nearest cities in order by insertion
+			int found = 0;
+			for (int j = 0; j < count; j++) {
+				if (j == i || (found == neighbours && distances[j] >= nearestDistance[found - 1])) {
+					continue;
+				}
+				int k = found < neighbours ? found++ : found - 1;
+				while (k > 0 && nearestDistance[k - 1] > distances[j]) {
+					nearest[k] = nearest[k - 1];
+					nearestDistance[k] = nearestDistance[k - 1];
+					k--;
+				}
+				nearest[k] = cities[j];
+				nearestDistance[k] = distances[j];
+			}
+			// An edge that both cities have as a candidate is listed twice; the second copy would close a cycle
+			for (int k = 0; k < found; k++) {
+				edgeA[edges] = Math.min(a, nearest[k]);
+				edgeB[edges] = Math.max(a, nearest[k]);
+				edgeLength[edges++] = nearestDistance[k];
+			}
+		}
+		Integer[] order = new Integer[edges];
+		for (int e = 0; e < edges; e++) {
+			order[e] = e;
+		}
+		Arrays.sort(order, (e, f) -> edgeLength[e] != edgeLength[f] ? Double.compare(edgeLength[e], edgeLength[f])
+				: edgeA[e] != edgeA[f] ? Integer.compare(edgeA[e], edgeA[f]) : Integer.compare(edgeB[e], edgeB[f]));
+
+		//-------------------------------Add the edges in order of length-----------------------
+		for (int e = 0; e < edges && added < n - 1; e++) {
+			int a = edgeA[order[e]], b = edgeB[order[e]];
+			if (right[a] >= 0 || right[b] >= 0) {
+				continue;
+			}
+			int fa = find(fragment, a), fb = find(fragment, b);
+			if (fa == fb) {
+				continue;
+			}
+			link(left, right, a, b);
+			fragment[fa] = fb;
+			added++;
+		}
+		return added;
+	}
+
+	/**
+	 * @param coordinates the coordinates of the cities, coordinates[i] = {x, y}
+	 * @return the cities in the order of a Hilbert curve over their bounding box
+	 */
+	public static int[] spaceFillingCurve(double[][] coordinates) {
+		int n = coordinates.length;
+		double minX = Double.MAX_VALUE, minY = Double.MAX_VALUE, maxX = -Double.MAX_VALUE, maxY = -Double.MAX_VALUE;
+		for (double[] c : coordinates) {
+			minX = Math.min(minX, c[0]);
+			maxX = Math.max(maxX, c[0]);
+			minY = Math.min(minY, c[1]);
+			maxY = Math.max(maxY, c[1]);
+		}
+		int cells = (1 << HILBERT_ORDER) - 1;
+		double scale = cells / Math.max(Math.max(maxX - minX, maxY - minY), Double.MIN_NORMAL);
+		// Sort by curve index, with the city in the low bits so that equal cells keep a stable order
+		long[] keys = new long[n];
+		for (int i = 0; i < n; i++) {
+			long d = hilbertIndex((int) ((coordinates[i][0] - minX) * scale), (int) ((coordinates[i][1] - minY) * scale));
+			keys[i] = d << 32 | i;
+		}
+		Arrays.sort(keys);
+		int[] tour = new int[n];
+		for (int i = 0; i < n; i++) {
+			tour[i] = (int) keys[i];
+		}
+		return tour;
+	}
+
+	// Index of the cell (x, y) along the Hilbert curve of order HILBERT_ORDER
+	private static long hilbertIndex(int x, int y) {
+		long d = 0;
+		for (int s = 1 << (HILBERT_ORDER - 1); s > 0; s >>= 1) {
+			int rx = (x & s) > 0 ? 1 : 0, ry = (y & s) > 0 ? 1 : 0;
+			d += (long) s * s * ((3 * rx) ^ ry);
+			// Rotate the quadrant
+			if (ry == 0) {
+				if (rx == 1) {
+					x = s - 1 - x;
+					y = s - 1 - y;
+				}
+				int t = x;
+				x = y;
+				y = t;
+			}
+		}
+		return d;
+	}
+
+	private static int[] identity(int n) {
+		int[] values = new int[n];
+		for (int i = 0; i < n; i++) {
+			values[i] = i;
+		}
+		return values;
+	}
+
+	// Root of the fragment of a city, with path halving
+	private static int find(int[] fragment, int c) {
+		while (fragment[c] != c) {
+			fragment[c] = fragment[fragment[c]];
+			c = fragment[c];
+		}
+		return c;
+	}
+
+	private static void link(int[] left, int[] right, int a, int b) {
+		if (left[a] < 0) {
+			left[a] = b;
+		} else {
+			right[a] = b;
+		}
+		if (left[b] < 0) {
+			left[b] = a;
+		} else {
+			right[b] = a;
+		}
+	}
+
+	// The other endpoint of the fragment of an endpoint
+	private static int otherEnd(int[] left, int[] right, int endpoint) {
+		int previous = -1, current = endpoint;
+		while (true) {
+			int next = left[current] != previous ? left[current] : right[current];
+			if (next < 0 || next == previous) {
+				return current;
+			}
+			previous = current;
+			current = next;
+		}
+	}
+
+	private static void markFragment(int[] left, int[] right, int endpoint, boolean[] joined) {
+		int previous = -1, current = endpoint;
+		while (current >= 0 && !joined[current]) {
+			joined[current] = true;
+			int next = left[current] != previous ? left[current] : right[current];
+			previous = current;
+			current = next;
+		}
+	}
+
+	// The tour of a single path through all the cities, closed by the tour itself
+	private static int[] walk(int[] left, int[] right, int n) {
+		int start = 0;
+		while (right[start] >= 0) {
+			start++;
+		}
+		int[] tour = new int[n];
+		int previous = -1, current = start;
+		for (int i = 0; i < n; i++) {
+			tour[i] = current;
+			int next = left[current] != previous ? left[current] : right[current];
+			previous = current;
+			current = next;
+		}
+		return tour;
+	}
+}
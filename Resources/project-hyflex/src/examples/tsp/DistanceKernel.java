@@ -0,0 +1,122 @@
+package examples.tsp;
+
+/**
+ * This class computes Euclidean distances of a TSP instance in batches: the cost of a whole tour, the distances
+ * from one city to a list of candidate cities, and the gains of a list of 2-opt moves. The coordinates are kept as
+ * two arrays x and y (a structure of arrays) instead of the coordinates[i] = {x, y} rows of TspInstance.
+ *
+ * Every distance is computed as in TspInstance.getDistance, sqrt(dx * dx + dy * dy) without fused multiply-add,
+ * and tour costs are summed in the order of TspBasicAlgorithms.computeCost, so all results are bit-identical to
+ * those of the HyFlex TSP domain.
+ *
+ * create() returns the SIMD implementation examples.tsp.vector.VectorDistanceKernel, built on the incubating
+ * jdk.incubator.vector module, if it is available, and this scalar implementation otherwise. The SIMD
+ * implementation is in the separate source folder src-vector, so that src builds without the module. To use it,
+ * compile src-vector after src with --add-modules jdk.incubator.vector and run with the same option; the property
+ * -Dexamples.vector=false forces the scalar implementation.
+ *
+ * @date 2026.10.18
+ */
+
+public class DistanceKernel {
+
+	private static final String VECTOR_KERNEL = "examples.tsp.vector.VectorDistanceKernel";
+
+	// Coordinates of the cities
+	protected final double[] x, y;
+
+	/**
+	 * @param coordinates the coordinates of the cities, coordinates[i] = {x, y}
+	 */
+	public DistanceKernel(double[][] coordinates) {
+		x = new double[coordinates.length];
+		y = new double[coordinates.length];
+		for (int i = 0; i < coordinates.length; i++) {
+			x[i] = coordinates[i][0];
+			y[i] = coordinates[i][1];
+		}
+	}
+
+	/**
+	 * @param coordinates the coordinates of the cities, coordinates[i] = {x, y}
+	 * @return the SIMD kernel if the Vector API is available, otherwise the scalar kernel
+	 */
+	public static DistanceKernel create(double[][] coordinates) {
+		if (!"false".equals(System.getProperty("examples.vector"))) {
+			try {
+				return (DistanceKernel) Class.forName(VECTOR_KERNEL).getConstructor(double[][].class).newInstance((Object) coordinates);
+			} catch (ReflectiveOperationException | LinkageError e) {
+				// the vector package is not compiled or jdk.incubator.vector is not in the module graph
+			}
+		}
+		return new DistanceKernel(coordinates);
+	}
+
+	/**
+	 * @return true if this kernel uses SIMD instructions
+	 */
+	public boolean isVectorized() {
+		return false;
+	}
+
+	public int size() {
+		return x.length;
+	}
+
+	/**
+	 * @return the distance between cities a and b
+	 */
+	public double distance(int a, int b) {
+		double dx = x[a] - x[b], dy = y[a] - y[b];
+		return Math.sqrt(dx * dx + dy * dy);
+	}
+
+	/**
+	 * @param tour a permutation of the cities
+	 * @return the length of the closed tour, as TspBasicAlgorithms.computeCost
+	 */
+	public double tourCost(int[] tour) {
+		double cost = 0;
+		for (int i = 1; i < tour.length; i++) {
+			cost += distance(tour[i - 1], tour[i]);
+		}
+		return cost + distance(tour[0], tour[tour.length - 1]);
+	}
+
+	/**
+	 * Computes the distances from a city to a list of candidate cities, e.g. its nearest cities.
+	 *
+	 * @param from the city
+	 * @param candidates the candidate cities
+	 * @param count the number of candidates to use, from the start of the array
+	 * @param distances receives the distance to each candidate
+	 */
+	public void distances(int from, int[] candidates, int count, double[] distances) {
+		for (int k = 0; k < count; k++) {
+			distances[k] = distance(from, candidates[k]);
+		}
+	}
+
+	/**
+	 * Computes the gains of 2-opt moves that remove the edges (a, b) and (c[k], d[k]) and add the edges
+	 * (a, c[k]) and (b, d[k]): gains[k] = (d(a, b) + d(c[k], d[k])) - (d(a, c[k]) + d(b, d[k])).
+	 * A positive gain shortens the tour.
+	 *
+	 * @param a the first city of the first removed edge
+	 * @param b the second city of the first removed edge
+	 * @param c the first city of each second removed edge
+	 * @param d the second city of each second removed edge
+	 * @param count the number of moves
+	 * @param gains receives the gain of each move
+	 */
+	public void twoOptGains(int a, int b, int[] c, int[] d, int count, double[] gains) {
+		double ab = distance(a, b);
+		for (int k = 0; k < count; k++) {
+			gains[k] = (ab + distance(c[k], d[k])) - (distance(a, c[k]) + distance(b, d[k]));
+		}
+	}
+
+	public String toString() {
+		return "scalar";
+	}
+}
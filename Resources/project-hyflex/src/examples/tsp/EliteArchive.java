@@ -0,0 +1,158 @@
+package examples.tsp;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * This class keeps the best tours found by past runs on each instance, so that later runs can start from one of them.
+ * An archive holds at most a given number of tours per instance, with distinct costs, one TourFile in the binary
+ * format per tour: "<instance>.elite.<n>.bin" in the directory of the archive.
+ *
+ * Runs in parallel, in this JVM or in other processes (e.g. irace), may offer and read tours at the same time: an
+ * offer holds an exclusive lock on the file "<instance>.elite.lock" while it reads and updates the archive, and a
+ * read holds a shared lock on it, so a read never sees a tour file removed by an offer. Each tour is written to a
+ * temporary file first and then moved, so a tour file is never read partly written.
+ *
+ * @date 2026.10.18
+ */
+
+public class EliteArchive {
+
+	// Number of tours kept per instance by default
+	public static final int DEFAULT_CAPACITY = 5;
+
+	private final Path directory;
+	private final int capacity;
+
+	/**
+	 * @param directory the directory of the archive, created if needed
+	 * @param capacity the number of tours kept per instance
+	 */
+	public EliteArchive(Path directory, int capacity) {
+		this.directory = directory;
+		this.capacity = capacity;
+	}
+
+	/**
+	 * Adds a tour to the archive of an instance if the archive is not full or the tour is better than its worst one,
+	 * which is then removed. A tour with the same cost as an archived one is not added.
+	 *
+	 * @param instance the name of the instance
+	 * @param tour the 0-based cities in tour order
+	 * @param cost the cost of the tour
+	 * @return true if the tour was added
+	 */
+	public boolean offer(String instance, int[] tour, double cost) throws IOException {
+		Files.createDirectories(directory);
+		// The file lock is held by the JVM, so threads of this JVM are serialised first
+		synchronized (EliteArchive.class) {
+			try (FileChannel channel = openLock(instance)) {
+				FileLock lock = channel.lock();
+				try {
+					List<Entry> entries = entries(instance);
+					for (Entry entry : entries) {
+						if (entry.cost == cost) {
+							return false;
+						}
+					}
+					if (entries.size() >= capacity && cost >= entries.get(entries.size() - 1).cost) {
+						return false;
+					}
+					int number = 0;
+					for (Entry entry : entries) {
+						number = Math.max(number, entry.number + 1);
+					}
+					Path temporary = Files.createTempFile(directory, instance, ".tmp");
+					TourFile.write(temporary, instance, tour, cost, true);
+					Files.move(temporary, directory.resolve(instance + ".elite." + number + ".bin"), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+					for (int k = capacity - 1; k < entries.size(); k++) {
+						Files.deleteIfExists(entries.get(k).file);
+					}
+					return true;
+				} finally {
+					lock.release();
+				}
+			}
+		}
+	}
+
+	/**
+	 * @param instance the name of the instance
+	 * @return the archived tours of the instance, best first (empty if there is none)
+	 */
+	public List<TourFile.Tour> getTours(String instance) throws IOException {
+		List<TourFile.Tour> tours = new ArrayList<>();
+		if (!Files.isDirectory(directory)) {
+			return tours;
+		}
+		synchronized (EliteArchive.class) {
+			try (FileChannel channel = openLock(instance)) {
+				FileLock lock = channel.lock(0, Long.MAX_VALUE, true);
+				try {
+					for (Entry entry : entries(instance)) {
+						tours.add(TourFile.read(entry.file));
+					}
+				} finally {
+					lock.release();
+				}
+			}
+		}
+		return tours;
+	}
+
+	public Path getDirectory() {
+		return directory;
+	}
+
+	/**
+	 * An archived tour file, with the cost read from it.
+	 */
+	private static class Entry {
+
+		final Path file;
+		final int number;
+		final double cost;
+
+		Entry(Path file, int number, double cost) {
+			this.file = file;
+			this.number = number;
+			this.cost = cost;
+		}
+	}
+
+	// The lock file of an instance, readable for shared locks and writable for exclusive ones
+	private FileChannel openLock(String instance) throws IOException {
+		return FileChannel.open(directory.resolve(instance + ".elite.lock"), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+	}
+
+	// The tour files of an instance, best first; the caller holds the lock of the instance
+	private List<Entry> entries(String instance) throws IOException {
+		List<Entry> entries = new ArrayList<>();
+		if (!Files.isDirectory(directory)) {
+			return entries;
+		}
+		String prefix = instance + ".elite.";
+		try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, prefix + "*.bin")) {
+			for (Path file : files) {
+				String name = file.getFileName().toString();
+				try {
+					int number = Integer.parseInt(name.substring(prefix.length(), name.length() - ".bin".length()));
+					entries.add(new Entry(file, number, TourFile.read(file).getCost()));
+				} catch (NumberFormatException e) {
+					// not a file of the archive
+				}
+			}
+		}
+		entries.sort(Comparator.comparingDouble((Entry entry) -> entry.cost));
+		return entries;
+	}
+}
@@ -0,0 +1,188 @@
+package examples.tsp;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import travelingSalesmanProblem.TSP;
+
+/**
+ * This class provides starting tours for the runs on an instance, so that a run spends its time limit improving a
+ * good tour rather than the fresh tour of TSP.initialiseSolution, whose improvement takes a large part of a short
+ * run on the large instances. The sources are:
+ * - default: the tour of TSP.initialiseSolution, a nearest neighbour tour from a random start city (the default of
+ *   the runners);
+ * - random: a uniformly random permutation of the cities drawn from the seed of the run, a baseline without any
+ *   construction;
+ * - greedy, hilbert: the greedy edge and space-filling curve tours of ConstructiveTours. They are deterministic, so
+ *   they are built once per instance and JVM, and once for all JVMs if a directory is given, where they are cached
+ *   as "<instance>.<source>.bin" TourFiles;
+ * - elite: a tour of the EliteArchive in the directory, drawn at random, or the greedy edge tour while the archive
+ *   of the instance is empty. The runs add their best tour to the archive after the run.
+ * Note that with the elite source, a run depends on the runs before it: it suits production runs, not the runs of a
+ * tuning whose configurations must be compared on equal terms.
+ *
+ * The runners opt in with -init <source> and -tours <directory>, and must use a SeededTSP domain.
+ * When executing this class, please ensure to set the run configurations:
+ * <instance> [<directory>]
+ * It prints the cost of a tour of TSP.initialiseSolution, of a random tour and of each constructive tour of the
+ * instance, with the time to build it (or to read it from the directory).
+ *
+ * Example program arguments as run configuration, for instance 9 (d18512):
+ * 9 tours
+ *
+ * @date 2026.10.18
+ */
+
+public class InitialTours {
+
+	// Names of the sources of starting tours
+	public static final String[] SOURCES = {"default", "random", "greedy", "hilbert", "elite"};
+
+	// Constructive tours built in this JVM, by "<instance>.<source>"
+	private static final ConcurrentMap<String, int[]> CONSTRUCTED = new ConcurrentHashMap<>();
+
+	// Directory of the cached tours and of the elite archive, null to keep them in memory only
+	private final Path directory;
+	private final EliteArchive archive;
+
+	/**
+	 * @param directory the directory of the cached tours and of the elite archive, null for none
+	 */
+	public InitialTours(String directory) {
+		this.directory = directory == null ? null : Paths.get(directory);
+		this.archive = directory == null ? null : new EliteArchive(this.directory, EliteArchive.DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Sets the starting tour of a run, unless the source is default.
+	 *
+	 * @param problem the problem domain with the instance loaded
+	 * @param source one of SOURCES
+	 * @param seed the seed of the random tour or of the draw of an elite tour
+	 * @throws IllegalArgumentException if the source is unknown, or elite without a directory
+	 */
+	public void seed(SeededTSP problem, String source, long seed) throws IOException {
+		int[] tour = getTour(problem, source, new Random(seed));
+		if (tour != null) {
+			problem.setInitialTour(tour);
+		}
+	}
+
+	/**
+	 * @param problem the problem domain with the instance loaded
+	 * @param source one of SOURCES
+	 * @param rng the random number generator of the random tour or of the draw of an elite tour
+	 * @return a new copy of the starting tour, null for the default source
+	 * @throws IllegalArgumentException if the source is unknown, or elite without a directory
+	 */
+	public int[] getTour(TSP problem, String source, Random rng) throws IOException {
+		String instance = TspAccess.getName(problem.instance);
+		switch (source) {
+			case "default":
+				return null;
+			case "random":
+				return problem.algorithms.generateRandomPermutation(problem.instance.numbCities, rng);
+			case "greedy":
+			case "hilbert":
+				return constructed(problem, instance, source).clone();
+			case "elite":
+				if (archive == null) {
+					throw new IllegalArgumentException("The elite source needs a directory (-tours)");
+				}
+				List<TourFile.Tour> tours = archive.getTours(instance);
+				if (tours.isEmpty()) {
+					return constructed(problem, instance, "greedy").clone();
+				}
+				return tours.get(rng.nextInt(tours.size())).getCities();
+			default:
+				throw new IllegalArgumentException("Unknown initial tour: " + source);
+		}
+	}
+
+	/**
+	 * Adds the best tour of a run to the elite archive, if there is a directory.
+	 *
+	 * @param problem the problem domain after the run
+	 * @return true if the tour was added
+	 */
+	public boolean offer(TSP problem) throws IOException {
+		int[] tour = TspAccess.getBestTour(problem);
+		if (archive == null || tour == null) {
+			return false;
+		}
+		return archive.offer(TspAccess.getName(problem.instance), tour, problem.getBestSolutionValue());
+	}
+
+	// The constructive tour of the instance, from memory, from the directory or built (not a copy)
+	private int[] constructed(TSP problem, String instance, String source) throws IOException {
+		String key = instance + "." + source;
+		int[] tour = CONSTRUCTED.get(key);
+		if (tour != null) {
+			return tour;
+		}
+		Path file = directory == null ? null : directory.resolve(key + ".bin");
+		if (file != null && Files.exists(file)) {
+			tour = TourFile.read(file).getCities();
+			if (!problem.algorithms.verifyPermutation(tour, problem.instance.numbCities)) {
+				throw new IOException(file + ": not a tour of " + instance);
+			}
+		} else {
+			tour = construct(problem, source);
+			if (file != null) {
+				Files.createDirectories(directory);
+				Path temporary = Files.createTempFile(directory, key, ".tmp");
+				TourFile.write(temporary, instance, tour, problem.algorithms.computeCost(tour), true);
+				Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			}
+		}
+		CONSTRUCTED.putIfAbsent(key, tour);
+		return CONSTRUCTED.get(key);
+	}
+
+	/**
+	 * @param problem the problem domain with the instance loaded
+	 * @param source greedy or hilbert
+	 * @return the constructive tour of the instance
+	 */
+	public static int[] construct(TSP problem, String source) {
+		double[][] coordinates = TspAccess.getCoordinates(problem.instance);
+		switch (source) {
+			case "greedy":
+				return ConstructiveTours.greedyEdge(DistanceKernel.create(coordinates), ConstructiveTours.GREEDY_NEIGHBOURS);
+			case "hilbert":
+				return ConstructiveTours.spaceFillingCurve(coordinates);
+			default:
+				throw new IllegalArgumentException("Not a constructive tour: " + source);
+		}
+	}
+
+	public static void main(String[] args) {
+		if (args.length < 1) {
+			System.err.println("Usage: java examples.tsp.InitialTours <instance> [<directory>]");
+			System.exit(1);
+		}
+		SeededTSP problem = new SeededTSP(1234);
+		problem.loadInstance(Integer.parseInt(args[0]));
+		InitialTours tours = new InitialTours(args.length > 1 ? args[1] : null);
+		problem.initialiseSolution(0);
+		System.out.println("Instance: " + TspAccess.getName(problem.instance) + ". Cities: " + problem.instance.numbCities);
+		System.out.printf("%-8s %14.1f%n", "default", problem.getFunctionValue(0));
+		for (String source : Arrays.asList("random", "greedy", "hilbert")) {
+			try {
+				long start = System.nanoTime();
+				int[] tour = tours.getTour(problem, source, new Random(1234));
+				System.out.printf("%-8s %14.1f %10.1f ms%n", source, problem.algorithms.computeCost(tour), (System.nanoTime() - start) / 1e6);
+			} catch (IOException e) {
+				System.err.println("Cannot cache tour " + source + ": " + e.getMessage());
+				System.exit(1);
+			}
+		}
+	}
+}
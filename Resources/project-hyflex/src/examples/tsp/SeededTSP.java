@@ -0,0 +1,43 @@
+package examples.tsp;
+
+import travelingSalesmanProblem.TSP;
+
+/**
+ * This class is the HyFlex TSP domain with a given starting tour: the first call of initialiseSolution stores
+ * the tour set by setInitialTour instead of constructing the nearest neighbour tour from a random start city of
+ * TSP, so that the hyper-heuristics, which all initialise their own solutions, start from it unchanged. Later
+ * calls (e.g. restarts) construct nearest neighbour tours as usual. Without a starting tour, it behaves exactly
+ * as TSP.
+ *
+ * @date 2026.10.18
+ */
+
+public class SeededTSP extends TSP {
+
+	// The starting tour, null once used or if none was set
+	private int[] initialTour;
+
+	/**
+	 * @param seed the seed of the random number generator
+	 */
+	public SeededTSP(long seed) {
+		super(seed);
+	}
+
+	/**
+	 * @param tour a permutation of the cities of the loaded instance, owned by the domain afterwards
+	 */
+	public void setInitialTour(int[] tour) {
+		initialTour = tour;
+	}
+
+	@Override
+	public void initialiseSolution(int index) {
+		if (initialTour == null) {
+			super.initialiseSolution(index);
+		} else {
+			TspAccess.setTour(this, index, initialTour);
+			initialTour = null;
+		}
+	}
+}
@@ -0,0 +1,351 @@
+package examples.tsp;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+import travelingSalesmanProblem.TSP;
+
+/**
+ * This class writes and reads TSP tours through a FileChannel with a fixed-size buffer, so that saving the best
+ * tour of a large instance (e.g. d18512) does not build the whole tour as a String as bestSolutionToString() does.
+ * Memory use is the buffer only, whatever the length of the tour.
+ *
+ * Two formats are supported, chosen by the file extension when writing and by the first bytes when reading:
+ * - text (any extension but .bin): the TSPLIB TOUR format, with 1-based city numbers, one per line, and the cost
+ *   of the tour in the comment, e.g. "COMMENT : cost 48191.03", so the files can be read by other TSP tools.
+ * - binary (.bin): the magic number "HYTR", a version, the name (length and UTF-8 bytes), the number of cities, the cost,
+ *   the 0-based cities as 4-byte integers and a CRC32 checksum of the cities, all big-endian.
+ *
+ * Tours read back can be checked against an instance (see main) or stored in the solution memory of a TSP domain
+ * with TspAccess.setTour to start a run from them.
+ *
+ * Example program arguments as run configuration, to check a tour of instance 9 (d18512):
+ * 9 d18512.tour
+ *
+ * @date 2026.10.18
+ */
+
+public class TourFile {
+
+	private static final int MAGIC = 0x48595452; // "HYTR"
+	private static final int VERSION = 1;
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	/**
+	 * A tour read from a file.
+	 */
+	public static class Tour {
+
+		private final String name;
+		private final int[] cities;
+		private final double cost;
+
+		Tour(String name, int[] cities, double cost) {
+			this.name = name;
+			this.cities = cities;
+			this.cost = cost;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		/**
+		 * @return the 0-based cities in tour order
+		 */
+		public int[] getCities() {
+			return cities;
+		}
+
+		/**
+		 * @return the cost stored in the file, NaN if the file has none
+		 */
+		public double getCost() {
+			return cost;
+		}
+	}
+
+	private TourFile() {
+	}
+
+	/**
+	 * Writes the best tour found so far by a TSP domain, in binary if the file name ends with .bin, otherwise as text.
+	 *
+	 * @param file the file to write
+	 * @param problem a TSP domain after a run
+	 */
+	public static void write(Path file, TSP problem) throws IOException {
+		int[] tour = TspAccess.getBestTour(problem);
+		if (tour == null) {
+			throw new IOException("No solution to write");
+		}
+		write(file, TspAccess.getName(problem.instance), tour, problem.getBestSolutionValue(), file.toString().endsWith(".bin"));
+	}
+
+	/**
+	 * @param file the file to write
+	 * @param name the name of the tour
+	 * @param tour the 0-based cities in tour order
+	 * @param cost the cost of the tour
+	 * @param binary true for the binary format, false for the TSPLIB text format
+	 */
+	public static void write(Path file, String name, int[] tour, double cost, boolean binary) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+			if (binary) {
+				byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+				buffer.putInt(MAGIC).putInt(VERSION).putShort((short) nameBytes.length).put(nameBytes).putInt(tour.length).putDouble(cost);
+				CRC32 crc = new CRC32();
+				for (int city : tour) {
+					if (buffer.remaining() < 4) {
+						flush(channel, buffer);
+					}
+					buffer.putInt(city);
+					crc.update(city >>> 24);
+					crc.update(city >>> 16);
+					crc.update(city >>> 8);
+					crc.update(city);
+				}
+				if (buffer.remaining() < 4) {
+					flush(channel, buffer);
+				}
+				buffer.putInt((int) crc.getValue());
+			} else {
+				buffer.put(("NAME : " + name + "\nCOMMENT : cost " + cost + "\nTYPE : TOUR\nDIMENSION : " + tour.length + "\nTOUR_SECTION\n").getBytes(StandardCharsets.UTF_8));
+				for (int city : tour) {
+					if (buffer.remaining() < 12) {
+						flush(channel, buffer);
+					}
+					putDigits(buffer, city + 1);
+					buffer.put((byte) '\n');
+				}
+				if (buffer.remaining() < 8) {
+					flush(channel, buffer);
+				}
+				buffer.put("-1\nEOF\n".getBytes(StandardCharsets.US_ASCII));
+			}
+			flush(channel, buffer);
+		}
+	}
+
+	// Write the decimal digits of a positive number without creating a String
+	private static void putDigits(ByteBuffer buffer, int value) {
+		int divisor = 1;
+		while (value / divisor >= 10) {
+			divisor *= 10;
+		}
+		for (; divisor > 0; divisor /= 10) {
+			buffer.put((byte) ('0' + value / divisor % 10));
+		}
+	}
+
+	private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+		buffer.flip();
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+		buffer.clear();
+	}
+
+	/**
+	 * Reads a tour written by this class, or any TSPLIB TOUR file.
+	 *
+	 * @param file the file to read
+	 * @return the tour
+	 * @throws IOException if the file cannot be read or is malformed
+	 */
+	public static Tour read(Path file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			Input in = new Input(channel);
+			if (in.peekInt() == MAGIC) {
+				return readBinary(in, file);
+			}
+			return readText(in, file);
+		}
+	}
+
+	private static Tour readBinary(Input in, Path file) throws IOException {
+		in.readInt();
+		int version = in.readInt();
+		if (version != VERSION) {
+			throw new IOException(file + ": unsupported version " + version);
+		}
+		byte[] nameBytes = new byte[in.readShort()];
+		for (int i = 0; i < nameBytes.length; i++) {
+			nameBytes[i] = (byte) in.read();
+		}
+		int[] cities = new int[in.readInt()];
+		double cost = in.readDouble();
+		CRC32 crc = new CRC32();
+		for (int i = 0; i < cities.length; i++) {
+			cities[i] = in.readInt();
+			crc.update(cities[i] >>> 24);
+			crc.update(cities[i] >>> 16);
+			crc.update(cities[i] >>> 8);
+			crc.update(cities[i]);
+		}
+		if (in.readInt() != (int) crc.getValue()) {
+			throw new IOException(file + ": checksum mismatch");
+		}
+		return new Tour(new String(nameBytes, StandardCharsets.UTF_8), cities, cost);
+	}
+
+	private static Tour readText(Input in, Path file) throws IOException {
+		String name = null;
+		double cost = Double.NaN;
+		int dimension = -1;
+		String line;
+		while ((line = in.readLine()) != null && !line.trim().equals("TOUR_SECTION")) {
+			int colon = line.indexOf(':');
+			if (colon < 0) {
+				continue;
+			}
+			String key = line.substring(0, colon).trim(), value = line.substring(colon + 1).trim();
+			if (key.equals("NAME")) {
+				name = value;
+			} else if (key.equals("DIMENSION")) {
+				dimension = Integer.parseInt(value);
+			} else if (key.equals("COMMENT") && value.startsWith("cost ")) {
+				cost = Double.parseDouble(value.substring(5));
+			}
+		}
+		if (line == null || dimension < 0) {
+			throw new IOException(file + ": missing DIMENSION or TOUR_SECTION");
+		}
+		int[] cities = new int[dimension];
+		for (int i = 0; i < dimension; i++) {
+			int city = in.readNumber();
+			if (city < 1) {
+				throw new IOException(file + ": " + i + " cities in TOUR_SECTION, expected " + dimension);
+			}
+			cities[i] = city - 1;
+		}
+		return new Tour(name, cities, cost);
+	}
+
+	/**
+	 * Buffered input of a channel with a fixed-size buffer.
+	 */
+	private static class Input {
+
+		private final FileChannel channel;
+		private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+		Input(FileChannel channel) throws IOException {
+			this.channel = channel;
+			buffer.limit(0);
+		}
+
+		// Make at least n bytes available if the channel has them, returns false otherwise
+		private boolean fill(int n) throws IOException {
+			if (buffer.remaining() >= n) {
+				return true;
+			}
+			buffer.compact();
+			int read = 0;
+			while (buffer.position() < n && read >= 0) {
+				read = channel.read(buffer);
+			}
+			buffer.flip();
+			return buffer.remaining() >= n;
+		}
+
+		// The next byte, or -1 at the end of the file
+		int read() throws IOException {
+			return fill(1) ? buffer.get() & 0xFF : -1;
+		}
+
+		int peekInt() throws IOException {
+			return fill(4) ? buffer.getInt(buffer.position()) : 0;
+		}
+
+		int readInt() throws IOException {
+			if (!fill(4)) {
+				throw new EOFException();
+			}
+			return buffer.getInt();
+		}
+
+		double readDouble() throws IOException {
+			if (!fill(8)) {
+				throw new EOFException();
+			}
+			return buffer.getDouble();
+		}
+
+		int readShort() throws IOException {
+			if (!fill(2)) {
+				throw new EOFException();
+			}
+			return buffer.getShort() & 0xFFFF;
+		}
+
+		// A line without its terminator, or null at the end of the file
+		String readLine() throws IOException {
+			StringBuilder line = new StringBuilder();
+			int c;
+			while ((c = read()) >= 0 && c != '\n') {
+				if (c != '\r') {
+					line.append((char) c);
+				}
+			}
+			return c < 0 && line.length() == 0 ? null : line.toString();
+		}
+
+		// The next whitespace-separated integer, -1 at the end of the file
+		int readNumber() throws IOException {
+			int c = read();
+			while (c == ' ' || c == '\t' || c == '\n' || c == '\r') {
+				c = read();
+			}
+			boolean negative = c == '-';
+			if (negative) {
+				c = read();
+			}
+			if (c < '0' || c > '9') {
+				return -1;
+			}
+			int value = 0;
+			while (c >= '0' && c <= '9') {
+				value = 10 * value + (c - '0');
+				c = read();
+			}
+			return negative ? -value : value;
+		}
+	}
+
+	/**
+	 * Checks a tour file against a TSP instance: prints whether the tour visits every city once and its cost,
+	 * recomputed by the domain, next to the cost stored in the file.
+	 *
+	 * @param args the ID of the instance and the tour file
+	 */
+	public static void main(String[] args) {
+		if (args.length < 2) {
+			System.err.println("Usage: java examples.tsp.TourFile <instance> <file>");
+			System.exit(1);
+		}
+		Tour tour = null;
+		try {
+			tour = read(Paths.get(args[1]));
+		} catch (IOException | NumberFormatException e) {
+			System.err.println("Cannot read tour " + args[1] + ": " + e.getMessage());
+			System.exit(1);
+		}
+		TSP problem = new TSP(1234);
+		problem.loadInstance(Integer.parseInt(args[0]));
+		boolean valid = problem.algorithms.verifyPermutation(tour.getCities(), problem.instance.numbCities);
+		System.out.println("Name: " + tour.getName() + ". Cities: " + tour.getCities().length + ". Valid tour: " + valid);
+		if (valid) {
+			System.out.println("Cost: " + problem.algorithms.computeCost(tour.getCities()) + " (stored: " + tour.getCost() + ")");
+		} else {
+			System.exit(1);
+		}
+	}
+}
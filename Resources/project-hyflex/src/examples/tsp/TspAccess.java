@@ -0,0 +1,144 @@
+package examples.tsp;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import travelingSalesmanProblem.TSP;
+import travelingSalesmanProblem.TspInstance;
+
+/**
+ * This class gives access to package-private data of the HyFlex TSP domain that the examples need,
+ * e.g. the city coordinates of a TspInstance, or the tours of the solution memory and of the best solution of a TSP.
+ * The HyFlex jar cannot be changed, so the fields are read by reflection.
+ *
+ * @date 2026.10.18
+ */
+
+public class TspAccess {
+
+	private static final Field COORDINATES = field(TspInstance.class, "coordinates");
+	private static final Field NAME = field(TspInstance.class, "name");
+	private static final Field MEMORY = field(TSP.class, "memory");
+	private static final Field BEST = field(TSP.class, "bestSoFar");
+	private static final Class<?> SOLUTION = type("travelingSalesmanProblem.TspSolution");
+	private static final Field PERMUTATION = field(SOLUTION, "permutation");
+	private static final Constructor<?> NEW_SOLUTION = constructor(SOLUTION, int[].class, double.class);
+	private static final Method VERIFY_BEST = method(TSP.class, "verifyBestSolution", SOLUTION);
+
+	private TspAccess() {
+	}
+
+	/**
+	 * @param instance a loaded TSP instance
+	 * @return the coordinates of the cities, coordinates[i] = {x, y} (not a copy, must not be modified)
+	 */
+	public static double[][] getCoordinates(TspInstance instance) {
+		try {
+			return (double[][]) COORDINATES.get(instance);
+		} catch (IllegalAccessException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * @param instance a loaded TSP instance
+	 * @return the name of the instance, e.g. "pr299"
+	 */
+	public static String getName(TspInstance instance) {
+		try {
+			return (String) NAME.get(instance);
+		} catch (IllegalAccessException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * @param problem a TSP domain
+	 * @return the tour of the best solution found so far (not a copy, must not be modified), or null if there is none
+	 */
+	public static int[] getBestTour(TSP problem) {
+		try {
+			Object best = BEST.get(problem);
+			return best == null ? null : (int[]) PERMUTATION.get(best);
+		} catch (IllegalAccessException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * @param problem a TSP domain
+	 * @param index the index of a solution in the memory
+	 * @return the tour of the solution (not a copy, must not be modified), or null if the index is empty
+	 */
+	public static int[] getTour(TSP problem, int index) {
+		try {
+			Object solution = ((Object[]) MEMORY.get(problem))[index];
+			return solution == null ? null : (int[]) PERMUTATION.get(solution);
+		} catch (IllegalAccessException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Stores a tour in the solution memory, as initialiseSolution does with the tour it constructs:
+	 * the cost is computed by the domain and the best solution is updated if the tour is better.
+	 *
+	 * @param problem a TSP domain with a loaded instance
+	 * @param index the index of the solution in the memory
+	 * @param tour a permutation of the cities, owned by the domain afterwards
+	 */
+	public static void setTour(TSP problem, int index, int[] tour) {
+		if (!problem.algorithms.verifyPermutation(tour, problem.instance.numbCities)) {
+			throw new IllegalArgumentException("Not a tour of the " + problem.instance.numbCities + " cities of the instance");
+		}
+		try {
+			Object solution = NEW_SOLUTION.newInstance(tour, problem.algorithms.computeCost(tour));
+			((Object[]) MEMORY.get(problem))[index] = solution;
+			VERIFY_BEST.invoke(problem, solution);
+		} catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * @return the declared field of the class, made accessible
+	 */
+	static Field field(Class<?> type, String name) {
+		try {
+			Field field = type.getDeclaredField(name);
+			field.setAccessible(true);
+			return field;
+		} catch (NoSuchFieldException e) {
+			throw new IllegalStateException("Unsupported HyFlex version: no field " + type.getName() + "." + name, e);
+		}
+	}
+
+	private static Class<?> type(String name) {
+		try {
+			return Class.forName(name);
+		} catch (ClassNotFoundException e) {
+			throw new IllegalStateException("Unsupported HyFlex version: no class " + name, e);
+		}
+	}
+
+	private static Constructor<?> constructor(Class<?> type, Class<?>... parameters) {
+		try {
+			Constructor<?> constructor = type.getDeclaredConstructor(parameters);
+			constructor.setAccessible(true);
+			return constructor;
+		} catch (NoSuchMethodException e) {
+			throw new IllegalStateException("Unsupported HyFlex version: no constructor of " + type.getName(), e);
+		}
+	}
+
+	private static Method method(Class<?> type, String name, Class<?>... parameters) {
+		try {
+			Method method = type.getDeclaredMethod(name, parameters);
+			method.setAccessible(true);
+			return method;
+		} catch (NoSuchMethodException e) {
+			throw new IllegalStateException("Unsupported HyFlex version: no method " + type.getName() + "." + name, e);
+		}
+	}
+}
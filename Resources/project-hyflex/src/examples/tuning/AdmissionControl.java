@@ -0,0 +1,213 @@
+package examples.tuning;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import examples.monitor.Metrics;
+
+/**
+ * This class limits the experiments that run concurrently in one JVM to those whose estimated heap fits a budget,
+ * so that a batch can use all the threads of a node on small instances without running out of memory when
+ * several runs on large instances (e.g. usa13509, d18512) are started together.
+ *
+ * The heap of an experiment is estimated from the number of cities of its instance: a fixed part and a part per
+ * city for the run, plus the loaded instance the first time it is used, as InstanceCache keeps instances for the
+ * rest of the batch. After each run, the live heap (as of the last garbage collection) is shared among the running
+ * experiments in proportion to their estimates, and the estimate of an instance is raised to the measured
+ * share if it was too low. Estimates are therefore learnt for domains that need more memory than the model.
+ *
+ * Experiments are admitted in the order they arrive, but one that fits may overtake an older one that does not.
+ * To avoid starving large experiments, the oldest waiting experiment can only be overtaken maxBypass times;
+ * then no other experiment starts until it has been admitted. An experiment larger than the whole budget is
+ * admitted alone, when nothing else runs.
+ *
+ * @date 2026.10.18
+ */
+
+public class AdmissionControl {
+
+	// Heap of a run besides its instance: a fixed part and a part per city. HyFlex TSP keeps about 50 bytes per city
+	// after a run (solution memory and data structures), the margin covers the copies made by the heuristics
+	static final long RUN_BYTES = 2L << 20;
+	static final long RUN_BYTES_PER_CITY = 256;
+	// Heap of a loaded instance per city: coordinates and lists of the 8 nearest cities
+	static final long INSTANCE_BYTES_PER_CITY = 128;
+	// Number of cities of the HyFlex TSP instances by ID (the number that ends each TSPLIB name, e.g. pr299)
+	private static final int[] CITIES = {299, 439, 575, 724, 783, 1173, 1291, 2152, 13509, 18512};
+
+	private final long budget;
+	private final int maxBypass;
+	private final long baseline;
+
+	// Measured heap of a run of each instance
+	private final Map<Integer, Long> measured = new HashMap<>();
+	// Instances whose memory is counted in instanceBytes
+	private final Set<Integer> loaded = new HashSet<>();
+	private long instanceBytes;
+	// Estimated heap of the running experiments
+	private final Set<Ticket> running = new HashSet<>();
+	private long reserved;
+	// Places of the waiting experiments, oldest first, and how many times the oldest has been overtaken
+	private final Deque<Object> waiting = new ArrayDeque<>();
+	private int bypassed;
+
+	private final Metrics.Counter waits = Metrics.counter("admission.waits");
+	private final Metrics.Histogram waitTimes = Metrics.histogram("admission.wait.ms");
+
+	/**
+	 * An admitted experiment, to be released when it has finished.
+	 */
+	public static class Ticket {
+
+		private final int instance;
+		private final long runBytes;
+		private final long instanceBytes;
+
+		Ticket(int instance, long runBytes, long instanceBytes) {
+			this.instance = instance;
+			this.runBytes = runBytes;
+			this.instanceBytes = instanceBytes;
+		}
+
+		/**
+		 * @return the estimated heap of the experiment in bytes, including its instance if it was loaded for it
+		 */
+		public long getBytes() {
+			return runBytes + instanceBytes;
+		}
+	}
+
+	/**
+	 * @param budget the heap available to the experiments in bytes, besides what the JVM already uses
+	 * @param maxBypass how many younger experiments may start while the oldest waiting one does not fit
+	 */
+	public AdmissionControl(long budget, int maxBypass) {
+		this.budget = budget;
+		this.maxBypass = maxBypass;
+		this.baseline = liveHeap();
+	}
+
+	/**
+	 * @param instance the ID of a TSP instance
+	 * @return its number of cities
+	 */
+	public static int cities(int instance) {
+		if (instance < 0 || instance >= CITIES.length) {
+			throw new IllegalArgumentException("Unknown TSP instance: " + instance);
+		}
+		return CITIES[instance];
+	}
+
+	/**
+	 * @param instance the ID of a TSP instance
+	 * @return the estimated heap of a run on the instance in bytes, without the instance itself
+	 */
+	public synchronized long estimate(int instance) {
+		long model = RUN_BYTES + RUN_BYTES_PER_CITY * cities(instance);
+		return Math.max(model, measured.getOrDefault(instance, 0L));
+	}
+
+	/**
+	 * @return the estimated heap of the running experiments and the loaded instances in bytes
+	 */
+	public synchronized long getReserved() {
+		return reserved + instanceBytes;
+	}
+
+	/**
+	 * Runs a task once its experiment has been admitted.
+	 *
+	 * @param experiment the experiment run by the task
+	 * @param task the task
+	 * @return the result of the task
+	 */
+	public <T> T call(Experiment experiment, Callable<T> task) throws Exception {
+		Ticket ticket = acquire(experiment);
+		try {
+			return task.call();
+		} finally {
+			release(ticket);
+		}
+	}
+
+	/**
+	 * Waits until an experiment fits in the budget and reserves its estimated heap.
+	 *
+	 * @param experiment the experiment to run
+	 * @return the ticket to pass to release() when the experiment has finished
+	 */
+	public synchronized Ticket acquire(Experiment experiment) throws InterruptedException {
+		int instance = experiment.getInstance();
+		Object place = new Object();
+		long start = System.currentTimeMillis();
+		waiting.addLast(place);
+		try {
+			for (boolean first = true; ; first = false) {
+				// Estimates may change while waiting, as other experiments finish and are measured
+				Ticket ticket = new Ticket(instance, estimate(instance), loaded.contains(instance) ? 0 : INSTANCE_BYTES_PER_CITY * cities(instance));
+				boolean oldest = waiting.peekFirst() == place;
+				boolean fits = instanceBytes + reserved + ticket.getBytes() <= budget;
+				if (fits && (oldest || bypassed < maxBypass) || oldest && running.isEmpty()) {
+					bypassed = oldest ? 0 : bypassed + 1;
+					if (ticket.instanceBytes > 0) {
+						loaded.add(instance);
+						instanceBytes += ticket.instanceBytes;
+					}
+					running.add(ticket);
+					reserved += ticket.runBytes;
+					if (!first) {
+						waitTimes.record(System.currentTimeMillis() - start);
+					}
+					return ticket;
+				}
+				if (first) {
+					waits.increment();
+				}
+				wait();
+			}
+		} finally {
+			// The next experiment may now be the oldest
+			waiting.remove(place);
+			notifyAll();
+		}
+	}
+
+	/**
+	 * Releases the estimated heap of a finished experiment, and measures the heap of the running experiments.
+	 *
+	 * @param ticket the ticket returned by acquire()
+	 */
+	public synchronized void release(Ticket ticket) {
+		long live = liveHeap() - baseline - instanceBytes;
+		if (live > 0 && reserved > 0) {
+			// Share of the live heap of this experiment, in proportion to the estimates of all running experiments
+			long share = (long) ((double) live * ticket.runBytes / reserved);
+			if (share > estimate(ticket.instance)) {
+				measured.put(ticket.instance, share);
+			}
+		}
+		running.remove(ticket);
+		reserved -= ticket.runBytes;
+		notifyAll();
+	}
+
+	// Used heap after the last garbage collection of each heap pool, 0 before the first collection
+	private static long liveHeap() {
+		long used = 0;
+		for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+			MemoryUsage usage = pool.getCollectionUsage();
+			if (pool.getType() == MemoryType.HEAP && usage != null) {
+				used += usage.getUsed();
+			}
+		}
+		return used;
+	}
+}
@@ -0,0 +1,154 @@
+package examples.tuning;
+
+import examples.monitor.Metrics;
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * This class evaluates a whole batch of irace experiments in one JVM, e.g. from a targetRunnerParallel function
+ * (see project-irace/irace-hyflex-rn/target-runner-parallel.R).
+ * Each input line holds the arguments of one experiment, exactly as for RNRunner:
+ * <id.configuration> <id.instance> <seed> <instance> -d <configurations> -i <configurations> -t <time>
+ * The experiments are run concurrently with a shared cache of loaded instances, and one result is printed per
+ * experiment in the order of the input lines. With -heap, experiments only start while their estimated heap fits
+ * the budget (see AdmissionControl), so that runs on the largest instances do not exhaust the heap together.
+ * When executing this class, please ensure to set the run configurations:
+ * [-a <algorithm>] [-p <threads>] [-heap <MB>] [-time] [-m] [<file>]
+ *
+ * Full list of arguments:
+ * -a <algorithm>             : hyper-heuristic to run: RN, SCF, MCF or Bandit (default: RN)
+ * -p <threads>               : number of experiments run in parallel (default: number of cores)
+ * -heap <MB>                 : heap budget of the running experiments in megabytes, 0 for 80% of the maximum heap (default: no limit)
+ * -time                      : print "<cost> <time>" (CPU time of the run in seconds) instead of "<cost>", e.g. for irace's maxTime
+ * -m                         : print the counters and histograms of examples.monitor.Metrics to the standard error at the end
+ * <file>                     : file with one experiment per line (default: standard input)
+ *
+ * @date 2026.10.18
+ */
+
+public class BatchRunner {
+
+	public static void main(String[] args) {
+
+		String algorithm = "RN", fileName = null;
+		int threads = Runtime.getRuntime().availableProcessors();
+		boolean printTime = false;
+		// Heap budget in megabytes (negative: no admission control)
+		long heap = -1;
+
+		//-------------------------------Parse command line arguments--------------------------
+		for (int i = 0; i < args.length; i++) {
+			switch (args[i]) {
+				case "-a":
+					algorithm = args[++i];
+					break;
+				case "-p":
+					threads = Integer.parseInt(args[++i]);
+					break;
+				case "-heap":
+					heap = Long.parseLong(args[++i]);
+					break;
+				case "-time":
+					printTime = true;
+					break;
+				case "-m":
+					Metrics.setEnabled(true);
+					break;
+				default:
+					if (fileName != null || (args[i].startsWith("-") && !args[i].equals("-"))) {
+						System.err.println("Unknown argument: " + args[i]);
+						System.err.println("Usage: java examples.tuning.BatchRunner [-a <algorithm>] [-p <threads>] [-heap <MB>] [-time] [-m] [<file>]");
+						System.exit(1);
+					}
+					fileName = args[i];
+					break;
+			}
+		}
+
+		// Read the experiments
+		List<Experiment> experiments = new ArrayList<>();
+		try (BufferedReader reader = fileName == null || fileName.equals("-")
+				? new BufferedReader(new InputStreamReader(System.in)) : new BufferedReader(new FileReader(fileName))) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				line = line.trim();
+				if (!line.isEmpty() && !line.startsWith("#")) {
+					experiments.add(Experiment.parse(line.split("\\s+")));
+				}
+			}
+		} catch (IOException | IllegalArgumentException e) {
+			System.err.println("Cannot read experiments: " + e.getMessage());
+			System.exit(1);
+		}
+
+		// Run them concurrently and print the results in input order
+		PrintStream out = System.out;
+		AdmissionControl admission = null;
+		if (heap >= 0) {
+			long budget = heap == 0 ? Runtime.getRuntime().maxMemory() / 10 * 8 : heap << 20;
+			admission = new AdmissionControl(budget, 2 * threads);
+		}
+		List<double[]> results = run(algorithm, experiments, threads, new InstanceCache(), admission);
+		for (double[] result : results) {
+			out.println(printTime ? result[0] + " " + result[1] : Double.toString(result[0]));
+		}
+		if (Metrics.isEnabled()) {
+			Metrics.report(System.err);
+		}
+	}
+
+	/**
+	 * Runs a batch of experiments concurrently.
+	 *
+	 * @param algorithm the hyper-heuristic to run, one of ExperimentRunner.ALGORITHMS
+	 * @param experiments the experiments
+	 * @param threads the number of experiments run in parallel
+	 * @param cache the cache of loaded instances
+	 * @return {best solution value, CPU time of the run in seconds} of each experiment, in the order of the experiments
+	 */
+	public static List<double[]> run(String algorithm, List<Experiment> experiments, int threads, InstanceCache cache) {
+		return run(algorithm, experiments, threads, cache, null);
+	}
+
+	/**
+	 * Runs a batch of experiments concurrently, starting each one only once it is admitted.
+	 *
+	 * @param algorithm the hyper-heuristic to run, one of ExperimentRunner.ALGORITHMS
+	 * @param experiments the experiments
+	 * @param threads the maximum number of experiments run in parallel
+	 * @param cache the cache of loaded instances
+	 * @param admission the admission control of the experiments, null to run as many as there are threads
+	 * @return {best solution value, CPU time of the run in seconds} of each experiment, in the order of the experiments
+	 */
+	public static List<double[]> run(String algorithm, List<Experiment> experiments, int threads, InstanceCache cache, AdmissionControl admission) {
+		ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(threads, experiments.size())));
+		List<Future<double[]>> futures = new ArrayList<>();
+		for (Experiment experiment : experiments) {
+			if (admission == null) {
+				futures.add(executor.submit(() -> ExperimentRunner.runMeasured(algorithm, experiment, cache.load(experiment))));
+			} else {
+				futures.add(executor.submit(() -> admission.call(experiment, () -> ExperimentRunner.runMeasured(algorithm, experiment, cache.load(experiment)))));
+			}
+		}
+		List<double[]> results = new ArrayList<>();
+		try {
+			for (Future<double[]> future : futures) {
+				results.add(future.get());
+			}
+		} catch (InterruptedException | ExecutionException e) {
+			throw new IllegalStateException("Experiment failed", e);
+		} finally {
+			executor.shutdown();
+		}
+		return results;
+	}
+}
@@ -0,0 +1,290 @@
+package examples.tuning;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * This class implements Bayesian optimisation with a Gaussian process (GP) surrogate on the unit cube [0, 1]^n,
+ * in ask/tell form with batch acquisition, so that a whole batch of configurations can be evaluated in parallel.
+ *
+ * - Initial design: a Latin hypercube of initialDesign points (after any points told beforehand, e.g. the
+ *   initial configurations of the scenario).
+ * - Model: a GP with a Matern 5/2 kernel on standardised costs; the length scale and the noise level are chosen
+ *   from a small grid by maximising the marginal likelihood each time the model is refitted.
+ * - Acquisition: expected improvement (EI), maximised over random points of the cube and Gaussian perturbations
+ *   of the best points seen so far.
+ * - Batch: the constant liar strategy; after choosing a point, it is added to the model with the best cost seen
+ *   so far as a fake observation, so that the next point of the batch is chosen elsewhere.
+ *
+ * @date 2026.10.18
+ */
+
+public class BayesianOptimizer {
+
+	private static final double[] LENGTH_SCALES = {0.05, 0.1, 0.2, 0.3, 0.5, 0.8, 1.2};
+	private static final double[] NOISE_LEVELS = {1e-4, 1e-2, 1e-1};
+
+	private final int n;
+	private final Random rng;
+
+	// Observations
+	private final List<double[]> points = new ArrayList<>();
+	private final List<Double> costs = new ArrayList<>();
+	// Latin hypercube points still to be proposed
+	private final List<double[]> design = new ArrayList<>();
+
+	/**
+	 * @param n the dimension of the cube
+	 * @param initialDesign the number of Latin hypercube points proposed before the model is used
+	 * @param rng the random number generator
+	 */
+	public BayesianOptimizer(int n, int initialDesign, Random rng) {
+		this.n = n;
+		this.rng = rng;
+		for (int k = 0; k < initialDesign; k++) {
+			design.add(new double[n]);
+		}
+		for (int i = 0; i < n; i++) {
+			int[] strata = new int[initialDesign];
+			for (int k = 0; k < initialDesign; k++) {
+				strata[k] = k;
+			}
+			for (int k = initialDesign - 1; k > 0; k--) {
+				int j = rng.nextInt(k + 1), tmp = strata[k];
+				strata[k] = strata[j];
+				strata[j] = tmp;
+			}
+			for (int k = 0; k < initialDesign; k++) {
+				design.get(k)[i] = (strata[k] + rng.nextDouble()) / initialDesign;
+			}
+		}
+	}
+
+	/**
+	 * @param q the batch size
+	 * @return q points to evaluate next
+	 */
+	public List<double[]> ask(int q) {
+		List<double[]> batch = new ArrayList<>();
+		while (batch.size() < q && !design.isEmpty()) {
+			batch.add(design.remove(0));
+		}
+		if (batch.size() == q) {
+			return batch;
+		}
+
+		// Fit the model on the observations and the lies of the points already in the batch
+		List<double[]> x = new ArrayList<>(points);
+		List<Double> y = new ArrayList<>(costs);
+		double lie = costs.stream().mapToDouble(Double::doubleValue).min().orElse(0);
+		for (double[] point : batch) {
+			x.add(point);
+			y.add(lie);
+		}
+		Model model = Model.fit(x, y);
+		while (batch.size() < q) {
+			double[] next = maximiseExpectedImprovement(model, x, y);
+			batch.add(next);
+			// Constant liar: pretend the point has the best cost seen so far and update the posterior
+			x.add(next);
+			y.add(lie);
+			model = new Model(x, y, model.lengthScale, model.noise);
+		}
+		return batch;
+	}
+
+	/**
+	 * Adds observations, e.g. the costs of the points returned by ask() or of initial configurations.
+	 */
+	public void tell(List<double[]> evaluated, double[] evaluatedCosts) {
+		for (int k = 0; k < evaluated.size(); k++) {
+			points.add(evaluated.get(k).clone());
+			costs.add(evaluatedCosts[k]);
+		}
+	}
+
+	// Choose the point with the largest expected improvement among random and local candidates
+	private double[] maximiseExpectedImprovement(Model model, List<double[]> x, List<Double> y) {
+		double bestY = y.stream().mapToDouble(Double::doubleValue).min().getAsDouble();
+		List<double[]> candidates = new ArrayList<>();
+		for (int k = 0; k < 1000; k++) {
+			double[] c = new double[n];
+			for (int i = 0; i < n; i++) {
+				c[i] = rng.nextDouble();
+			}
+			candidates.add(c);
+		}
+		// Perturbations of the five best observations
+		List<Integer> order = new ArrayList<>();
+		for (int k = 0; k < y.size(); k++) {
+			order.add(k);
+		}
+		order.sort((a, b) -> Double.compare(y.get(a), y.get(b)));
+		for (int r = 0; r < Math.min(5, order.size()); r++) {
+			for (int k = 0; k < 100; k++) {
+				double[] c = x.get(order.get(r)).clone();
+				for (int i = 0; i < n; i++) {
+					c[i] = Math.max(0, Math.min(1, c[i] + 0.05 * rng.nextGaussian()));
+				}
+				candidates.add(c);
+			}
+		}
+		double[] best = candidates.get(0);
+		double bestEi = -1;
+		for (double[] c : candidates) {
+			double ei = model.expectedImprovement(c, bestY);
+			if (ei > bestEi) {
+				bestEi = ei;
+				best = c;
+			}
+		}
+		return best;
+	}
+
+	public int getNumberOfObservations() {
+		return points.size();
+	}
+
+	/**
+	 * A Gaussian process posterior for fixed hyperparameters.
+	 */
+	static class Model {
+
+		final double lengthScale, noise;
+		private final double[][] x;
+		private final double mean, scale;
+		private final double[][] L;
+		private final double[] alpha;
+		final double logLikelihood;
+
+		Model(List<double[]> points, List<Double> values, double lengthScale, double noise) {
+			this.lengthScale = lengthScale;
+			this.noise = noise;
+			int m = points.size();
+			this.x = points.toArray(new double[0][]);
+			double sum = 0, sumSquares = 0;
+			for (double v : values) {
+				sum += v;
+			}
+			mean = sum / m;
+			for (double v : values) {
+				sumSquares += (v - mean) * (v - mean);
+			}
+			scale = m > 1 && sumSquares > 0 ? Math.sqrt(sumSquares / (m - 1)) : 1;
+			double[] y = new double[m];
+			for (int i = 0; i < m; i++) {
+				y[i] = (values.get(i) - mean) / scale;
+			}
+			double[][] K = new double[m][m];
+			for (int i = 0; i < m; i++) {
+				for (int j = 0; j <= i; j++) {
+					K[i][j] = K[j][i] = kernel(x[i], x[j]) + (i == j ? noise + 1e-8 : 0);
+				}
+			}
+			L = cholesky(K);
+			alpha = solveUpper(L, solveLower(L, y));
+			double logDet = 0, fit = 0;
+			for (int i = 0; i < m; i++) {
+				logDet += Math.log(L[i][i]);
+				fit += y[i] * alpha[i];
+			}
+			logLikelihood = -0.5 * fit - logDet - 0.5 * m * Math.log(2 * Math.PI);
+		}
+
+		/**
+		 * Fits the hyperparameters by maximising the marginal likelihood over a grid.
+		 */
+		static Model fit(List<double[]> points, List<Double> values) {
+			Model best = null;
+			for (double lengthScale : LENGTH_SCALES) {
+				for (double noise : NOISE_LEVELS) {
+					Model model = new Model(points, values, lengthScale, noise);
+					if (best == null || model.logLikelihood > best.logLikelihood) {
+						best = model;
+					}
+				}
+			}
+			return best;
+		}
+
+		double kernel(double[] a, double[] b) {
+			double d2 = 0;
+			for (int i = 0; i < a.length; i++) {
+				d2 += (a[i] - b[i]) * (a[i] - b[i]);
+			}
+			double r = Math.sqrt(5 * d2) / lengthScale;
+			return (1 + r + r * r / 3) * Math.exp(-r);
+		}
+
+		/**
+		 * @return the expected improvement of the point over the cost bestY (in original units)
+		 */
+		double expectedImprovement(double[] point, double bestY) {
+			int m = x.length;
+			double[] k = new double[m];
+			double mu = 0;
+			for (int i = 0; i < m; i++) {
+				k[i] = kernel(point, x[i]);
+				mu += k[i] * alpha[i];
+			}
+			double[] v = solveLower(L, k);
+			double variance = 1;
+			for (int i = 0; i < m; i++) {
+				variance -= v[i] * v[i];
+			}
+			double sigma = Math.sqrt(Math.max(variance, 1e-12));
+			double improvement = (bestY - mean) / scale - mu;
+			double z = improvement / sigma;
+			return improvement * cdf(z) + sigma * Math.exp(-0.5 * z * z) / Math.sqrt(2 * Math.PI);
+		}
+
+		static double[][] cholesky(double[][] A) {
+			int m = A.length;
+			double[][] L = new double[m][m];
+			for (int i = 0; i < m; i++) {
+				for (int j = 0; j <= i; j++) {
+					double sum = A[i][j];
+					for (int k = 0; k < j; k++) {
+						sum -= L[i][k] * L[j][k];
+					}
+					L[i][j] = i == j ? Math.sqrt(Math.max(sum, 1e-12)) : sum / L[j][j];
+				}
+			}
+			return L;
+		}
+
+		static double[] solveLower(double[][] L, double[] b) {
+			double[] y = new double[b.length];
+			for (int i = 0; i < b.length; i++) {
+				double sum = b[i];
+				for (int k = 0; k < i; k++) {
+					sum -= L[i][k] * y[k];
+				}
+				y[i] = sum / L[i][i];
+			}
+			return y;
+		}
+
+		// Solve L' x = y
+		static double[] solveUpper(double[][] L, double[] y) {
+			double[] x = new double[y.length];
+			for (int i = y.length - 1; i >= 0; i--) {
+				double sum = y[i];
+				for (int k = i + 1; k < y.length; k++) {
+					sum -= L[k][i] * x[k];
+				}
+				x[i] = sum / L[i][i];
+			}
+			return x;
+		}
+
+		// Standard normal cumulative distribution function (Abramowitz and Stegun 7.1.26)
+		static double cdf(double z) {
+			double t = 1 / (1 + 0.3275911 * Math.abs(z) / Math.sqrt(2));
+			double erf = 1 - t * (0.254829592 + t * (-0.284496736 + t * (1.421413741 + t * (-1.453152027 + t * 1.061405429))))
+					* Math.exp(-z * z / 2);
+			return z >= 0 ? 0.5 * (1 + erf) : 0.5 * (1 - erf);
+		}
+	}
+}
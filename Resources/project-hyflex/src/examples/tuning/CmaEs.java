@@ -0,0 +1,297 @@
+package examples.tuning;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * This class implements the covariance matrix adaptation evolution strategy (CMA-ES) with increasing population
+ * restarts (IPOP-CMA-ES) on the unit cube [0, 1]^n, in ask/tell form:
+ * ask() returns the points of the next generation and tell() takes their costs.
+ *
+ * Points outside the cube are evaluated at the closest point of the cube (see clip()) and the caller adds
+ * penalty() to their cost, so that the distribution is pulled back inside.
+ * A run is restarted from a uniformly drawn mean with twice the population size when the step size becomes
+ * smaller than the resolution of the parameters, or when the best cost has not changed for many generations.
+ *
+ * Default settings follow N. Hansen, The CMA Evolution Strategy: A Tutorial (2016).
+ *
+ * @date 2026.10.18
+ */
+
+public class CmaEs {
+
+	private final int n;
+	private final Random rng;
+	private final double initialSigma, tolX;
+
+	// Strategy parameters of the current run
+	private int lambda, mu;
+	private double[] weights;
+	private double mueff, cc, cs, c1, cmu, damps, chiN;
+
+	// State of the current run
+	private double[] mean, pc, ps, D;
+	private double[][] C, B;
+	private double sigma;
+	private int generation;
+	private double[][] population;
+	private final List<Double> bestHistory = new ArrayList<>();
+	private int restarts = 0;
+
+	/**
+	 * @param initialMean the first mean, in [0, 1]^n
+	 * @param initialSigma the initial step size (e.g. 0.3 for the unit cube)
+	 * @param lambda the initial population size, 0 for the default 4 + 3 ln(n)
+	 * @param tolX the step size under which a run is restarted (e.g. 1e-3)
+	 * @param rng the random number generator
+	 */
+	public CmaEs(double[] initialMean, double initialSigma, int lambda, double tolX, Random rng) {
+		this.n = initialMean.length;
+		this.rng = rng;
+		this.initialSigma = initialSigma;
+		this.tolX = tolX;
+		start(initialMean.clone(), lambda > 0 ? lambda : 4 + (int) Math.floor(3 * Math.log(n)));
+	}
+
+	// Start a new run with the given mean and population size
+	private void start(double[] initialMean, int populationSize) {
+		lambda = populationSize;
+		mu = lambda / 2;
+		weights = new double[mu];
+		double sum = 0, sumSquares = 0;
+		for (int i = 0; i < mu; i++) {
+			weights[i] = Math.log(mu + 0.5) - Math.log(i + 1);
+			sum += weights[i];
+		}
+		for (int i = 0; i < mu; i++) {
+			weights[i] /= sum;
+			sumSquares += weights[i] * weights[i];
+		}
+		mueff = 1 / sumSquares;
+		cc = (4 + mueff / n) / (n + 4 + 2 * mueff / n);
+		cs = (mueff + 2) / (n + mueff + 5);
+		c1 = 2 / ((n + 1.3) * (n + 1.3) + mueff);
+		cmu = Math.min(1 - c1, 2 * (mueff - 2 + 1 / mueff) / ((n + 2) * (n + 2) + mueff));
+		damps = 1 + 2 * Math.max(0, Math.sqrt((mueff - 1) / (n + 1)) - 1) + cs;
+		chiN = Math.sqrt(n) * (1 - 1.0 / (4 * n) + 1.0 / (21.0 * n * n));
+
+		mean = initialMean;
+		pc = new double[n];
+		ps = new double[n];
+		D = new double[n];
+		C = new double[n][n];
+		B = new double[n][n];
+		for (int i = 0; i < n; i++) {
+			C[i][i] = 1;
+		}
+		sigma = initialSigma;
+		generation = 0;
+		bestHistory.clear();
+	}
+
+	/**
+	 * @return the points of the next generation (lambda points, possibly outside the unit cube)
+	 */
+	public List<double[]> ask() {
+		eigen(C, B, D);
+		population = new double[lambda][n];
+		List<double[]> points = new ArrayList<>();
+		for (int k = 0; k < lambda; k++) {
+			double[] z = new double[n];
+			for (int i = 0; i < n; i++) {
+				z[i] = Math.sqrt(Math.max(D[i], 0)) * rng.nextGaussian();
+			}
+			for (int i = 0; i < n; i++) {
+				double y = 0;
+				for (int j = 0; j < n; j++) {
+					y += B[i][j] * z[j];
+				}
+				population[k][i] = mean[i] + sigma * y;
+			}
+			points.add(population[k].clone());
+		}
+		return points;
+	}
+
+	/**
+	 * Updates the distribution with the costs of the points returned by the last call to ask().
+	 *
+	 * @param costs the cost of each point, lower is better
+	 */
+	public void tell(double[] costs) {
+		Integer[] order = new Integer[lambda];
+		for (int k = 0; k < lambda; k++) {
+			order[k] = k;
+		}
+		Arrays.sort(order, (a, b) -> Double.compare(costs[a], costs[b]));
+
+		// New mean from the mu best points
+		double[] oldMean = mean.clone();
+		mean = new double[n];
+		for (int r = 0; r < mu; r++) {
+			for (int i = 0; i < n; i++) {
+				mean[i] += weights[r] * population[order[r]][i];
+			}
+		}
+		double[] step = new double[n];
+		for (int i = 0; i < n; i++) {
+			step[i] = (mean[i] - oldMean[i]) / sigma;
+		}
+
+		// Evolution path of sigma uses C^(-1/2) * step = B * D^(-1/2) * B' * step
+		double[] bts = new double[n];
+		for (int j = 0; j < n; j++) {
+			for (int i = 0; i < n; i++) {
+				bts[j] += B[i][j] * step[i];
+			}
+			bts[j] /= Math.sqrt(Math.max(D[j], 1e-20));
+		}
+		double psNorm = 0;
+		for (int i = 0; i < n; i++) {
+			double invSqrtStep = 0;
+			for (int j = 0; j < n; j++) {
+				invSqrtStep += B[i][j] * bts[j];
+			}
+			ps[i] = (1 - cs) * ps[i] + Math.sqrt(cs * (2 - cs) * mueff) * invSqrtStep;
+			psNorm += ps[i] * ps[i];
+		}
+		psNorm = Math.sqrt(psNorm);
+		generation++;
+		boolean hsig = psNorm / Math.sqrt(1 - Math.pow(1 - cs, 2 * generation)) / chiN < 1.4 + 2.0 / (n + 1);
+		for (int i = 0; i < n; i++) {
+			pc[i] = (1 - cc) * pc[i] + (hsig ? Math.sqrt(cc * (2 - cc) * mueff) * step[i] : 0);
+		}
+
+		// Rank-one and rank-mu update of C
+		for (int i = 0; i < n; i++) {
+			for (int j = 0; j <= i; j++) {
+				double rankMu = 0;
+				for (int r = 0; r < mu; r++) {
+					rankMu += weights[r] * (population[order[r]][i] - oldMean[i]) * (population[order[r]][j] - oldMean[j]);
+				}
+				rankMu /= sigma * sigma;
+				C[i][j] = (1 - c1 - cmu) * C[i][j] + c1 * (pc[i] * pc[j] + (hsig ? 0 : cc * (2 - cc) * C[i][j])) + cmu * rankMu;
+				C[j][i] = C[i][j];
+			}
+		}
+		sigma *= Math.exp((cs / damps) * (psNorm / chiN - 1));
+
+		// Restart with a larger population if the run has converged or stagnates
+		bestHistory.add(costs[order[0]]);
+		double maxStd = 0;
+		for (int i = 0; i < n; i++) {
+			maxStd = Math.max(maxStd, sigma * Math.sqrt(C[i][i]));
+		}
+		int window = 10 + (int) Math.ceil(30.0 * n / lambda);
+		boolean stagnates = false;
+		if (bestHistory.size() >= window) {
+			List<Double> recent = bestHistory.subList(bestHistory.size() - window, bestHistory.size());
+			stagnates = recent.stream().mapToDouble(Double::doubleValue).max().getAsDouble()
+					- recent.stream().mapToDouble(Double::doubleValue).min().getAsDouble() < 1e-9;
+		}
+		if (maxStd < tolX || stagnates || Double.isNaN(sigma)) {
+			double[] newMean = new double[n];
+			for (int i = 0; i < n; i++) {
+				newMean[i] = rng.nextDouble();
+			}
+			restarts++;
+			start(newMean, lambda * 2);
+		}
+	}
+
+	/**
+	 * @return the point clamped into [0, 1]^n
+	 */
+	public static double[] clip(double[] point) {
+		double[] clipped = new double[point.length];
+		for (int i = 0; i < point.length; i++) {
+			clipped[i] = Math.max(0, Math.min(1, point[i]));
+		}
+		return clipped;
+	}
+
+	/**
+	 * @return the squared distance of the point to the unit cube, to be added to its cost
+	 */
+	public static double penalty(double[] point) {
+		double penalty = 0;
+		for (double x : point) {
+			double d = x < 0 ? -x : x > 1 ? x - 1 : 0;
+			penalty += d * d;
+		}
+		return penalty;
+	}
+
+	public int getPopulationSize() {
+		return lambda;
+	}
+
+	public int getRestarts() {
+		return restarts;
+	}
+
+	public double getSigma() {
+		return sigma;
+	}
+
+	/**
+	 * Eigendecomposition of the symmetric matrix A = B * diag(D) * B' with the cyclic Jacobi method.
+	 *
+	 * @param A the symmetric matrix, not modified
+	 * @param B receives the eigenvectors as columns
+	 * @param D receives the eigenvalues
+	 */
+	static void eigen(double[][] A, double[][] B, double[] D) {
+		int n = A.length;
+		double[][] a = new double[n][];
+		for (int i = 0; i < n; i++) {
+			a[i] = A[i].clone();
+			Arrays.fill(B[i], 0);
+			B[i][i] = 1;
+		}
+		for (int sweep = 0; sweep < 100; sweep++) {
+			double off = 0;
+			for (int p = 0; p < n; p++) {
+				for (int q = p + 1; q < n; q++) {
+					off += a[p][q] * a[p][q];
+				}
+			}
+			if (off < 1e-30) {
+				break;
+			}
+			for (int p = 0; p < n; p++) {
+				for (int q = p + 1; q < n; q++) {
+					if (Math.abs(a[p][q]) < 1e-300) {
+						continue;
+					}
+					double theta = (a[q][q] - a[p][p]) / (2 * a[p][q]);
+					double t = Math.signum(theta) / (Math.abs(theta) + Math.sqrt(theta * theta + 1));
+					if (theta == 0) {
+						t = 1;
+					}
+					double c = 1 / Math.sqrt(t * t + 1), s = t * c;
+					for (int k = 0; k < n; k++) {
+						double akp = a[k][p], akq = a[k][q];
+						a[k][p] = c * akp - s * akq;
+						a[k][q] = s * akp + c * akq;
+					}
+					for (int k = 0; k < n; k++) {
+						double apk = a[p][k], aqk = a[q][k];
+						a[p][k] = c * apk - s * aqk;
+						a[q][k] = s * apk + c * aqk;
+					}
+					for (int k = 0; k < n; k++) {
+						double bkp = B[k][p], bkq = B[k][q];
+						B[k][p] = c * bkp - s * bkq;
+						B[k][q] = s * bkp + c * bkq;
+					}
+				}
+			}
+		}
+		for (int i = 0; i < n; i++) {
+			D[i] = a[i][i];
+		}
+	}
+}
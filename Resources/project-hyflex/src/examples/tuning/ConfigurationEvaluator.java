@@ -0,0 +1,181 @@
+package examples.tuning;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * This class evaluates configurations on all training instances of a scenario with a fixed time limit, for
+ * black-box optimisers that need one cost per configuration (see ContinuousTuner).
+ *
+ * The cost of a configuration is its mean relative deviation from a reference value on each instance:
+ * cost = mean_k (value_k / reference_k - 1). The reference values are the results of the first configuration
+ * ever evaluated (the first initial configuration of the scenario, usually the default one), so costs do not
+ * change as more configurations are evaluated and negative costs mean better than the reference.
+ *
+ * All experiments of a batch of configurations are run in parallel, with one fixed seed per instance
+ * as in irace. Configurations that format to the same values are only run once. With an EvaluationLog, the
+ * experiments found in the log are not run again, and the others are added to it, so that the results accumulate
+ * over campaigns (see ParameterImportance).
+ *
+ * @date 2026.10.18
+ */
+
+public class ConfigurationEvaluator {
+
+	private final TuningScenario scenario;
+	private final String algorithm;
+	private final ExecutorService executor;
+	private final long time;
+	private final int[] instances;
+	private final long[] seeds;
+	private final InstanceCache cache = new InstanceCache();
+	// Log of the experiments, null for none
+	private EvaluationLog log;
+
+	// Reference value of each instance, null until the first evaluation
+	private double[] reference;
+	// Cache of costs by formatted configuration
+	private final Map<String, Double> costs = new HashMap<>();
+	private int experiments = 0;
+	private double[] best;
+	private double bestCost = Double.POSITIVE_INFINITY;
+
+	/**
+	 * @param scenario the tuning scenario
+	 * @param algorithm the hyper-heuristic to tune, one of ExperimentRunner.ALGORITHMS
+	 * @param executor the executor used to run experiments in parallel
+	 * @param time the time limit of every experiment in milliseconds
+	 * @param seed the seed used to draw the instance seeds
+	 */
+	public ConfigurationEvaluator(TuningScenario scenario, String algorithm, ExecutorService executor, long time, long seed) {
+		this.scenario = scenario;
+		this.algorithm = algorithm;
+		this.executor = executor;
+		this.time = time;
+		this.instances = scenario.getInstances().clone();
+		Random rng = new Random(seed);
+		this.seeds = new long[instances.length];
+		for (int i = 0; i < seeds.length; i++) {
+			seeds[i] = rng.nextInt(Integer.MAX_VALUE);
+		}
+	}
+
+	/**
+	 * Evaluates a batch of configurations in parallel.
+	 *
+	 * @param configurations the parameter values of each configuration
+	 * @return the cost of each configuration, in the same order
+	 */
+	public double[] evaluate(List<double[]> configurations) {
+		// Submit the experiments of every configuration that has not been evaluated yet
+		Map<String, List<Future<Double>>> pending = new HashMap<>();
+		List<String> order = new ArrayList<>();
+		for (double[] values : configurations) {
+			String key = scenario.getSpace().format(values);
+			if (costs.containsKey(key) || pending.containsKey(key)) {
+				continue;
+			}
+			List<Future<Double>> futures = new ArrayList<>();
+			for (int k = 0; k < instances.length; k++) {
+				Double logged = log == null ? null : log.get(algorithm, instances[k], seeds[k], time, values);
+				if (logged != null) {
+					futures.add(CompletableFuture.completedFuture(logged));
+					continue;
+				}
+				Experiment experiment = createExperiment(values, k);
+				int instance = instances[k];
+				long seed = seeds[k];
+				futures.add(executor.submit(() -> {
+					double result = ExperimentRunner.run(algorithm, experiment, cache.load(experiment));
+					if (log != null) {
+						log.add(algorithm, instance, seed, time, values, result);
+					}
+					return result;
+				}));
+				experiments++;
+			}
+			pending.put(key, futures);
+			order.add(key);
+		}
+
+		// Collect the results, the first configuration ever evaluated sets the reference values
+		for (String key : order) {
+			double[] results = new double[instances.length];
+			try {
+				for (int k = 0; k < instances.length; k++) {
+					results[k] = pending.get(key).get(k).get();
+				}
+			} catch (InterruptedException | ExecutionException e) {
+				throw new IllegalStateException("Experiment of configuration " + key + " failed", e);
+			}
+			if (reference == null) {
+				reference = results;
+			}
+			double cost = 0;
+			for (int k = 0; k < instances.length; k++) {
+				cost += (results[k] / reference[k] - 1) / instances.length;
+			}
+			costs.put(key, cost);
+		}
+
+		double[] result = new double[configurations.size()];
+		for (int c = 0; c < result.length; c++) {
+			double[] values = configurations.get(c);
+			result[c] = costs.get(scenario.getSpace().format(values));
+			if (result[c] < bestCost) {
+				bestCost = result[c];
+				best = values.clone();
+			}
+		}
+		return result;
+	}
+
+	// Build the experiment of the k-th instance exactly as irace would call the target runner
+	private Experiment createExperiment(double[] values, int k) {
+		String[] parameters = scenario.getSpace().toArguments(values);
+		String[] args = new String[parameters.length + 4];
+		args[0] = Integer.toHexString(Arrays.hashCode(values));
+		args[1] = Integer.toString(k + 1);
+		args[2] = Long.toString(seeds[k]);
+		args[3] = Integer.toString(instances[k]);
+		System.arraycopy(parameters, 0, args, 4, parameters.length);
+		return Experiment.parse(args).withTime(time);
+	}
+
+	/**
+	 * @param log the log to look experiments up in and to add them to, null for none
+	 */
+	public void setLog(EvaluationLog log) {
+		this.log = log;
+	}
+
+	public int getNumberOfInstances() {
+		return instances.length;
+	}
+
+	/**
+	 * @return the number of experiments run so far, without those found in the log
+	 */
+	public int getExperiments() {
+		return experiments;
+	}
+
+	/**
+	 * @return the best configuration evaluated so far, or null before the first evaluation
+	 */
+	public double[] getBest() {
+		return best;
+	}
+
+	public double getBestCost() {
+		return bestCost;
+	}
+}
@@ -0,0 +1,170 @@
+package examples.tuning;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * This class tunes the parameters of an irace scenario directory with a continuous black-box optimiser instead
+ * of irace. It treats every parameter as a coordinate of the unit cube (see ParameterSpace.fromUnit), so it suits
+ * spaces of real parameters such as the DOS/IOM values of RN and SCF.
+ * Each configuration is evaluated on all training instances with the full time limit (see ConfigurationEvaluator),
+ * and the experiments of a whole generation (CMA-ES) or batch (Bayesian optimisation) are run in parallel.
+ * When executing this class, please ensure to set the run configurations:
+ * -s <scenario> [-a <algorithm>] [-o <optimiser>] [-b <experiments>] [-t <time>] [-lambda <size>] [-q <batch>] [-p <threads>] [-seed <seed>] [-log <file>]
+ *
+ * Full list of arguments:
+ * -s <scenario>              : irace scenario directory with parameters.txt, configurations.txt and instances-train.txt
+ * -a <algorithm>             : hyper-heuristic to tune: RN, SCF, MCF or Bandit (default: RN)
+ * -o <optimiser>             : cmaes (IPOP-CMA-ES) or bo (Gaussian process Bayesian optimisation) (default: bo)
+ * -b <experiments>           : budget in target runs, as maxExperiments in scenario.txt (default: 180)
+ * -t <time>                  : time limit of every run in milliseconds (default: 10000)
+ * -lambda <size>             : initial population size of CMA-ES (default: 4 + 3 ln(number of parameters))
+ * -q <batch>                 : batch size of Bayesian optimisation (default: max(1, threads / instances))
+ * -p <threads>               : number of experiments run in parallel (default: number of cores)
+ * -seed <seed>               : seed of the optimiser and of the instance seeds (default: 1234)
+ * -log <file>                : EvaluationLog of the experiments, whose logged experiments are not run again (default: none)
+ *
+ * Example program arguments as run configuration:
+ * -s ../project-irace/irace-hyflex-rn -a RN -o bo -b 120 -t 10000
+ *
+ * @date 2026.10.18
+ */
+
+public class ContinuousTuner {
+
+	public static void main(String[] args) {
+
+		String scenarioDir = null, algorithm = "RN", optimiser = "bo", logFile = null;
+		long time = 10000, seed = 1234;
+		int budget = 180, lambda = 0, batch = 0, threads = Runtime.getRuntime().availableProcessors();
+
+		//-------------------------------Parse command line arguments--------------------------
+		for (int i = 0; i < args.length; i++) {
+			switch (args[i]) {
+				case "-s":
+					scenarioDir = args[++i];
+					break;
+				case "-a":
+					algorithm = args[++i];
+					break;
+				case "-o":
+					optimiser = args[++i];
+					break;
+				case "-b":
+					budget = Integer.parseInt(args[++i]);
+					break;
+				case "-t":
+					time = Long.parseLong(args[++i]);
+					break;
+				case "-lambda":
+					lambda = Integer.parseInt(args[++i]);
+					break;
+				case "-q":
+					batch = Integer.parseInt(args[++i]);
+					break;
+				case "-p":
+					threads = Integer.parseInt(args[++i]);
+					break;
+				case "-seed":
+					seed = Long.parseLong(args[++i]);
+					break;
+				case "-log":
+					logFile = args[++i];
+					break;
+				default:
+					break;
+			}
+		}
+		if (scenarioDir == null || !(optimiser.equals("cmaes") || optimiser.equals("bo")) || time <= 0) {
+			System.err.println("Usage: java examples.tuning.ContinuousTuner -s <scenario> [-a <algorithm>] [-o cmaes|bo] [-b <experiments>] [-t <time>] [-lambda <size>] [-q <batch>] [-p <threads>] [-seed <seed>] [-log <file>]");
+			System.exit(1);
+		}
+
+		TuningScenario scenario = null;
+		try {
+			scenario = TuningScenario.read(scenarioDir);
+		} catch (IOException e) {
+			System.err.println("Cannot read scenario " + scenarioDir + ": " + e.getMessage());
+			System.exit(1);
+		}
+		ParameterSpace space = scenario.getSpace();
+
+		//-------------------------------Run the optimiser---------------------------------
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		Random rng = new Random(seed);
+		ConfigurationEvaluator evaluator = new ConfigurationEvaluator(scenario, algorithm, executor, time, seed);
+		if (logFile != null) {
+			try {
+				evaluator.setLog(new EvaluationLog(Paths.get(logFile), space));
+			} catch (IOException e) {
+				System.err.println("Cannot read evaluation log " + logFile + ": " + e.getMessage());
+				System.exit(1);
+			}
+		}
+		int perConfiguration = evaluator.getNumberOfInstances();
+
+		// The initial configurations are evaluated first, the first one sets the reference values of the costs
+		List<double[]> initial = new ArrayList<>(scenario.getInitialConfigurations());
+		if (initial.isEmpty()) { // start from the middle of the space
+			double[] middle = new double[space.size()];
+			Arrays.fill(middle, 0.5);
+			initial.add(space.fromUnit(middle));
+		}
+		double[] initialCosts = evaluator.evaluate(initial);
+		List<double[]> initialUnit = new ArrayList<>();
+		for (double[] values : initial) {
+			initialUnit.add(space.toUnit(values));
+		}
+
+		// Stop early if the optimiser keeps proposing configurations that were already evaluated
+		int stalled = 0;
+		if (optimiser.equals("cmaes")) {
+			CmaEs cma = new CmaEs(initialUnit.get(0), 0.3, lambda, 1e-3, rng);
+			while (evaluator.getExperiments() + cma.getPopulationSize() * perConfiguration <= budget && stalled < 50) {
+				int before = evaluator.getExperiments();
+				List<double[]> points = cma.ask();
+				List<double[]> configurations = new ArrayList<>();
+				for (double[] point : points) {
+					configurations.add(space.fromUnit(CmaEs.clip(point)));
+				}
+				double[] costs = evaluator.evaluate(configurations);
+				for (int k = 0; k < costs.length; k++) {
+					costs[k] += CmaEs.penalty(points.get(k));
+				}
+				cma.tell(costs);
+				stalled = evaluator.getExperiments() == before ? stalled + 1 : 0;
+				System.out.println("Experiments: " + evaluator.getExperiments() + ". Best cost: " + evaluator.getBestCost() + ". Sigma: " + cma.getSigma());
+			}
+			System.out.println("Restarts: " + cma.getRestarts());
+		} else {
+			int q = batch > 0 ? batch : Math.max(1, threads / perConfiguration);
+			BayesianOptimizer bo = new BayesianOptimizer(space.size(), Math.max(q, 2 * space.size()), rng);
+			bo.tell(initialUnit, initialCosts);
+			while (evaluator.getExperiments() + perConfiguration <= budget && stalled < 50) {
+				int before = evaluator.getExperiments();
+				int size = Math.min(q, (budget - evaluator.getExperiments()) / perConfiguration);
+				List<double[]> points = bo.ask(size);
+				List<double[]> configurations = new ArrayList<>();
+				for (double[] point : points) {
+					configurations.add(space.fromUnit(point));
+				}
+				bo.tell(points, evaluator.evaluate(configurations));
+				stalled = evaluator.getExperiments() == before ? stalled + 1 : 0;
+				System.out.println("Experiments: " + evaluator.getExperiments() + ". Best cost: " + evaluator.getBestCost());
+			}
+		}
+		executor.shutdown();
+
+		// Print the best configuration in the format of configurations.txt
+		System.out.println("Experiments: " + evaluator.getExperiments() + ". Time budget used: " + evaluator.getExperiments() * time / 1000 + " seconds");
+		System.out.println("# Best configuration (mean relative deviation from the first initial configuration: " + evaluator.getBestCost() + "):");
+		System.out.println(space.header());
+		System.out.println(space.format(evaluator.getBest()));
+	}
+}
@@ -0,0 +1,171 @@
+package examples.tuning;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class keeps the results of the experiments run by the Java configurators in a text file, so that they
+ * accumulate over tuning campaigns: ConfigurationEvaluator looks an experiment up before running it, and
+ * ParameterImportance fits its model on all of them. The first line names the columns, then each line is one
+ * experiment:
+ * <algorithm> <instance> <seed> <time> <result> <values of the parameters, as a row of configurations.txt>
+ * A log belongs to one parameter space: opening it with a space of other parameters fails.
+ * Appends from several threads or processes are serialised by a lock on the file.
+ *
+ * @date 2026.10.18
+ */
+
+public class EvaluationLog {
+
+	/**
+	 * One logged experiment.
+	 */
+	public static class Record {
+
+		private final String algorithm;
+		private final int instance;
+		private final long seed, time;
+		private final double result;
+		private final double[] values;
+
+		Record(String algorithm, int instance, long seed, long time, double result, double[] values) {
+			this.algorithm = algorithm;
+			this.instance = instance;
+			this.seed = seed;
+			this.time = time;
+			this.result = result;
+			this.values = values;
+		}
+
+		public String getAlgorithm() {
+			return algorithm;
+		}
+
+		public int getInstance() {
+			return instance;
+		}
+
+		public long getSeed() {
+			return seed;
+		}
+
+		public long getTime() {
+			return time;
+		}
+
+		public double getResult() {
+			return result;
+		}
+
+		public double[] getValues() {
+			return values.clone();
+		}
+	}
+
+	private static final String COLUMNS = "algorithm instance seed time result ";
+
+	private final Path file;
+	private final ParameterSpace space;
+	private final List<Record> records = new ArrayList<>();
+	// Results by key of the experiment, see key()
+	private final Map<String, Double> results = new HashMap<>();
+
+	/**
+	 * Reads the log, if the file exists.
+	 *
+	 * @param file the file of the log
+	 * @param space the parameter space of the logged configurations
+	 * @throws IOException if the file cannot be read, or is the log of another parameter space
+	 */
+	public EvaluationLog(Path file, ParameterSpace space) throws IOException {
+		this.file = file;
+		this.space = space;
+		if (!Files.exists(file)) {
+			return;
+		}
+		try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+			String line = reader.readLine();
+			if (line != null && !line.equals(COLUMNS + space.header())) {
+				throw new IOException(file + ": not a log of the parameters " + space.header());
+			}
+			while ((line = reader.readLine()) != null) {
+				String[] fields = line.trim().split("\\s+");
+				if (fields.length != 5 + space.size()) {
+					// a line cut short by a crash
+					continue;
+				}
+				double[] values = new double[space.size()];
+				for (int i = 0; i < values.length; i++) {
+					values[i] = space.parseValue(i, fields[5 + i]);
+				}
+				remember(new Record(fields[0], Integer.parseInt(fields[1]), Long.parseLong(fields[2]), Long.parseLong(fields[3]),
+						Double.parseDouble(fields[4]), values));
+			}
+		} catch (NumberFormatException e) {
+			throw new IOException(file + ": " + e.getMessage());
+		}
+	}
+
+	/**
+	 * @return the logged result of the experiment, null if it was not run
+	 */
+	public synchronized Double get(String algorithm, int instance, long seed, long time, double[] values) {
+		return results.get(key(algorithm, instance, seed, time, space.format(values)));
+	}
+
+	/**
+	 * Appends the result of an experiment to the log.
+	 */
+	public void add(String algorithm, int instance, long seed, long time, double[] values, double result) throws IOException {
+		String line = algorithm + " " + instance + " " + seed + " " + time + " " + result + " " + space.format(values) + System.lineSeparator();
+		// The file lock is held by the JVM, so threads of this JVM are serialised first
+		synchronized (this) {
+			try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+				FileLock lock = channel.lock();
+				try {
+					if (channel.size() == 0) {
+						channel.write(ByteBuffer.wrap((COLUMNS + space.header() + System.lineSeparator()).getBytes(StandardCharsets.UTF_8)));
+					}
+					channel.write(ByteBuffer.wrap(line.getBytes(StandardCharsets.UTF_8)));
+				} finally {
+					lock.release();
+				}
+			}
+			// The values as read back from the log, so that lookups match
+			double[] logged = new double[values.length];
+			String[] formatted = space.format(values).split(" ");
+			for (int i = 0; i < logged.length; i++) {
+				logged[i] = space.parseValue(i, formatted[i]);
+			}
+			remember(new Record(algorithm, instance, seed, time, result, logged));
+		}
+	}
+
+	/**
+	 * @return the logged experiments, in the order of the log
+	 */
+	public synchronized List<Record> getRecords() {
+		return Collections.unmodifiableList(new ArrayList<>(records));
+	}
+
+	private void remember(Record record) {
+		records.add(record);
+		results.put(key(record.algorithm, record.instance, record.seed, record.time, space.format(record.values)), record.result);
+	}
+
+	private static String key(String algorithm, int instance, long seed, long time, String configuration) {
+		return algorithm + " " + instance + " " + seed + " " + time + " " + configuration;
+	}
+}
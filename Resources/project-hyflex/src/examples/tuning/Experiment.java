@@ -0,0 +1,144 @@
+package examples.tuning;
+
+/**
+ * This class represents one experiment as irace hands it to the target runner:
+ * <id.configuration> <id.instance> <seed> <instance> -d <configurations> -i <configurations> -t <time>
+ *
+ * The arguments are interpreted exactly as in RNRunner, i.e. the instance seed is <seed> and the algorithm
+ * seed is <seed>+1.
+ *
+ * @date 2026.10.18
+ */
+
+public class Experiment {
+
+	private final String configurationId, instanceId;
+	private final long seed;
+	private final int instance;
+	private final double[] dos, iom;
+	private final long time;
+	// All arguments of the experiment, including options of specific hyper-heuristics
+	private final String[] arguments;
+
+	public Experiment(String configurationId, String instanceId, long seed, int instance, double[] dos, double[] iom, long time) {
+		this(configurationId, instanceId, seed, instance, dos, iom, time, new String[0]);
+	}
+
+	public Experiment(String configurationId, String instanceId, long seed, int instance, double[] dos, double[] iom, long time, String[] arguments) {
+		this.configurationId = configurationId;
+		this.instanceId = instanceId;
+		this.seed = seed;
+		this.instance = instance;
+		this.dos = dos;
+		this.iom = iom;
+		this.time = time;
+		this.arguments = arguments;
+	}
+
+	/**
+	 * Parses the arguments of one experiment.
+	 *
+	 * @param args the arguments as passed to the target runner
+	 * @return the parsed experiment (DOS and IOM default to 0.2 0.2 0.2)
+	 * @throws IllegalArgumentException if fewer than four arguments are given
+	 */
+	public static Experiment parse(String[] args) {
+		if (args.length < 4) {
+			throw new IllegalArgumentException("Expected <id.configuration> <id.instance> <seed> <instance> -d <configuration> -i <configuration> -t <time>");
+		}
+		double[] dos = {0.2, 0.2, 0.2};
+		double[] iom = {0.2, 0.2, 0.2};
+		long time = 0;
+		for (int i = 0; i < args.length; i++) {
+			switch (args[i]) {
+				case "-t":
+					time = Long.parseLong(args[++i]);
+					break;
+				case "-d":
+					i = parseValues(args, dos, i);
+					break;
+				case "-i":
+					i = parseValues(args, iom, i);
+					break;
+				default:
+					break;
+			}
+		}
+		return new Experiment(args[0], args[1], Long.parseLong(args[2]), Integer.parseInt(args[3]), dos, iom, time, args.clone());
+	}
+
+	// Parse DOS/IOM values following the switch at index, returns the index of the last value read
+	private static int parseValues(String[] args, double[] values, int index) {
+		for (int j = 0; j < values.length && index + 1 < args.length; j++) {
+			values[j] = Double.parseDouble(args[++index]);
+		}
+		return index;
+	}
+
+	/**
+	 * @return a copy of this experiment with a different time limit
+	 */
+	public Experiment withTime(long time) {
+		return new Experiment(configurationId, instanceId, seed, instance, dos, iom, time, arguments);
+	}
+
+	/**
+	 * @param name an option such as "-s"
+	 * @param defaultValue the value to return if the option is not given
+	 * @return the value following the last occurrence of the option
+	 */
+	public String getOption(String name, String defaultValue) {
+		String value = defaultValue;
+		for (int i = 4; i < arguments.length - 1; i++) {
+			if (arguments[i].equals(name)) {
+				value = arguments[i + 1];
+			}
+		}
+		return value;
+	}
+
+	/**
+	 * @param name a flag such as "-memo"
+	 * @return whether the flag is given
+	 */
+	public boolean hasOption(String name) {
+		for (int i = 4; i < arguments.length; i++) {
+			if (arguments[i].equals(name)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	public String getConfigurationId() {
+		return configurationId;
+	}
+
+	public String getInstanceId() {
+		return instanceId;
+	}
+
+	public long getSeed() {
+		return seed;
+	}
+
+	public int getInstance() {
+		return instance;
+	}
+
+	public double[] getDos() {
+		return dos;
+	}
+
+	public double[] getIom() {
+		return iom;
+	}
+
+	public long getTime() {
+		return time;
+	}
+
+	public String[] getArguments() {
+		return arguments;
+	}
+}
@@ -0,0 +1,183 @@
+package examples.tuning;
+
+import AbstractClasses.HyperHeuristic;
+import AbstractClasses.ProblemDomain;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Paths;
+import examples.bandit.BanditHH;
+import examples.control.SelectionStateStore;
+import examples.mcf.MCF;
+import examples.rn.RN;
+import examples.rng.RandomStreams;
+import examples.scf.SCF;
+import examples.traces.TraceStore;
+import examples.tsp.InitialTours;
+import examples.tsp.SeededTSP;
+import travelingSalesmanProblem.TSP;
+
+/**
+ * This class runs experiments in-process, i.e. it does the same as RNRunner/SCFRunnerConfig without starting a new JVM.
+ * Several experiments may be run concurrently from different threads: HyFlex measures the time limit as the
+ * CPU time of the calling thread, so each run keeps its own budget.
+ *
+ * Note: HyperHeuristic keeps a static flag that is reset by its constructor and set by setTimeLimit().
+ * Creating a hyper-heuristic and setting its time limit must therefore not interleave between threads,
+ * otherwise HyFlex reports "The time limit cannot be set twice" and exits.
+ *
+ * @date 2026.10.18
+ */
+
+public class ExperimentRunner {
+
+	// Names of the hyper-heuristics that can be run
+	public static final String[] ALGORITHMS = {"RN", "SCF", "MCF", "Bandit"};
+
+	// Guards the static time limit flag of HyperHeuristic
+	private static final Object TIME_LIMIT_LOCK = new Object();
+
+	/**
+	 * Creates the named hyper-heuristic for an experiment, passing the options of the experiment
+	 * (e.g. -c/-memo/-prune of RN and SCF, -warm/-decay of SCF and MCF, -s/-e/-w/-g/-cpu of the bandit hyper-heuristic) where they apply.
+	 *
+	 * @param algorithm one of ALGORITHMS
+	 * @param experiment the experiment
+	 * @return the new hyper-heuristic, seeded with the algorithm seed of the experiment
+	 */
+	public static HyperHeuristic createHyperHeuristic(String algorithm, Experiment experiment) {
+		long seed = experiment.getSeed() + 1;
+		if (algorithm.equals("Bandit")) {
+			BanditHH bandit = new BanditHH(seed, experiment.getDos(), experiment.getIom(), experiment.getOption("-s", "ucb"),
+					Double.parseDouble(experiment.getOption("-e", "0.5")), Integer.parseInt(experiment.getOption("-w", "100")),
+					Double.parseDouble(experiment.getOption("-g", "0.99")));
+			bandit.setCpuTimeRewards(experiment.hasOption("-cpu"));
+			return bandit;
+		}
+		HyperHeuristic hyperHeuristic = createHyperHeuristic(algorithm, seed, experiment.getDos(), experiment.getIom());
+		if (hyperHeuristic instanceof RN) {
+			((RN) hyperHeuristic).setParameterControl(experiment.getOption("-c", "none"));
+			((RN) hyperHeuristic).setLocalOptimumMemo(experiment.hasOption("-memo"));
+			((RN) hyperHeuristic).setCandidatePruning(experiment.hasOption("-prune"));
+		} else if (hyperHeuristic instanceof SCF) {
+			((SCF) hyperHeuristic).setParameterControl(experiment.getOption("-c", "none"));
+			((SCF) hyperHeuristic).setLocalOptimumMemo(experiment.hasOption("-memo"));
+			((SCF) hyperHeuristic).setCandidatePruning(experiment.hasOption("-prune"));
+		}
+		String warm = experiment.getOption("-warm", null);
+		if (warm != null) {
+			SelectionStateStore store = new SelectionStateStore(warm, Double.parseDouble(experiment.getOption("-decay", "0.5")));
+			if (hyperHeuristic instanceof SCF) {
+				((SCF) hyperHeuristic).setWarmStart(store, experiment.getInstance());
+			} else if (hyperHeuristic instanceof MCF) {
+				((MCF) hyperHeuristic).setWarmStart(store, experiment.getInstance());
+			}
+		}
+		return hyperHeuristic;
+	}
+
+	/**
+	 * Creates the named hyper-heuristic with the given DOS/IOM values (ignored by MCF).
+	 *
+	 * @param algorithm one of ALGORITHMS
+	 * @param seed the seed of the hyper-heuristic
+	 * @param dos the DOS values
+	 * @param iom the IOM values
+	 * @return the new hyper-heuristic
+	 */
+	public static HyperHeuristic createHyperHeuristic(String algorithm, long seed, double[] dos, double[] iom) {
+		switch (algorithm) {
+			case "RN":
+				return new RN(seed, dos, iom);
+			case "SCF":
+				return new SCF(seed, dos, iom);
+			case "MCF":
+				return new MCF(seed);
+			case "Bandit":
+				return new BanditHH(seed, dos, iom, "ucb", 0.5, 100, 0.99);
+			default:
+				throw new IllegalArgumentException("Unknown hyper-heuristic: " + algorithm);
+		}
+	}
+
+	/**
+	 * Loads the problem instance of an experiment.
+	 */
+	public static ProblemDomain loadProblem(Experiment experiment) {
+		ProblemDomain problem = new SeededTSP(experiment.getSeed());
+		problem.loadInstance(experiment.getInstance());
+		return problem;
+	}
+
+	/**
+	 * Runs one experiment on a freshly loaded instance.
+	 *
+	 * @param algorithm one of ALGORITHMS
+	 * @param experiment the experiment to run
+	 * @return the best solution value found within the time limit
+	 */
+	public static double run(String algorithm, Experiment experiment) {
+		return run(algorithm, experiment, loadProblem(experiment));
+	}
+
+	/**
+	 * Runs one experiment on an already loaded problem instance.
+	 * With the option "-rng splittable", the hyper-heuristic and the problem domain draw from the streams of
+	 * RandomStreams derived from the seeds of the experiment instead of java.util.Random.
+	 * With the options "-init <source>" and "-tours <directory>", a SeededTSP domain starts from the tour of
+	 * InitialTours, and the best tour is added to the elite archive of the directory after the run.
+	 * With the option "-traces <directory>", the fitness trace of the run is appended to the TraceStore of the
+	 * directory, by configuration id, instance and seed.
+	 *
+	 * @param algorithm one of ALGORITHMS
+	 * @param experiment the experiment to run
+	 * @param problem the problem domain with the instance of the experiment loaded
+	 * @return the best solution value found within the time limit
+	 */
+	public static double run(String algorithm, Experiment experiment, ProblemDomain problem) {
+		return runMeasured(algorithm, experiment, problem)[0];
+	}
+
+	/**
+	 * Runs one experiment on an already loaded problem instance, as run(String, Experiment, ProblemDomain), and
+	 * measures the CPU time the hyper-heuristic used, which is below the time limit if the run stopped early.
+	 *
+	 * @param algorithm one of ALGORITHMS
+	 * @param experiment the experiment to run
+	 * @param problem the problem domain with the instance of the experiment loaded
+	 * @return {best solution value found within the time limit, CPU time of the run in seconds}
+	 */
+	public static double[] runMeasured(String algorithm, Experiment experiment, ProblemDomain problem) {
+		HyperHeuristic hyper_heuristic_object;
+		synchronized (TIME_LIMIT_LOCK) {
+			hyper_heuristic_object = createHyperHeuristic(algorithm, experiment);
+			hyper_heuristic_object.setTimeLimit(experiment.getTime());
+		}
+		RandomStreams.install(experiment.getOption("-rng", "java"), hyper_heuristic_object, problem, experiment.getSeed(), experiment.getSeed() + 1);
+		String toursDirectory = experiment.getOption("-tours", null);
+		InitialTours tours = new InitialTours(toursDirectory);
+		double cpu;
+		try {
+			if (problem instanceof SeededTSP) {
+				tours.seed((SeededTSP) problem, experiment.getOption("-init", "default"), experiment.getSeed());
+			}
+			hyper_heuristic_object.loadProblemDomain(problem);
+			ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+			long start = bean.getCurrentThreadCpuTime();
+			hyper_heuristic_object.run();
+			cpu = (bean.getCurrentThreadCpuTime() - start) / 1e9;
+			if (toursDirectory != null && problem instanceof TSP) {
+				tours.offer((TSP) problem);
+			}
+			String tracesDirectory = experiment.getOption("-traces", null);
+			if (tracesDirectory != null) {
+				new TraceStore(Paths.get(tracesDirectory)).append(algorithm, experiment.getConfigurationId(), experiment.getInstance(),
+						experiment.getSeed(), hyper_heuristic_object.getFitnessTrace());
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return new double[] {hyper_heuristic_object.getBestSolutionValue(), cpu};
+	}
+}
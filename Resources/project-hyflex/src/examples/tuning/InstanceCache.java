@@ -0,0 +1,52 @@
+package examples.tuning;
+
+import AbstractClasses.ProblemDomain;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import examples.tsp.SeededTSP;
+import travelingSalesmanProblem.TspBasicAlgorithms;
+import travelingSalesmanProblem.TspInstance;
+
+/**
+ * This class keeps loaded TSP instances in memory, so that many experiments on the same instance in one JVM
+ * read and preprocess the instance file only once.
+ *
+ * TspInstance does not depend on the seed of the problem domain and is only read by the low-level heuristics,
+ * so one instance can be shared by TSP objects running concurrently in different threads.
+ *
+ * @date 2026.10.18
+ */
+
+public class InstanceCache {
+
+	private final ConcurrentMap<Integer, TspInstance> instances = new ConcurrentHashMap<>();
+
+	/**
+	 * Creates a problem domain with the given instance loaded, reading the instance only on first use.
+	 *
+	 * @param instance the ID of the TSP instance
+	 * @param seed the seed of the problem domain
+	 * @return the problem domain, equivalent to new SeededTSP(seed) followed by loadInstance(instance)
+	 */
+	public ProblemDomain load(int instance, long seed) {
+		TspInstance data = instances.computeIfAbsent(instance, TspInstance::new);
+		SeededTSP problem = new SeededTSP(seed);
+		problem.instance = data;
+		problem.algorithms = new TspBasicAlgorithms(data);
+		return problem;
+	}
+
+	/**
+	 * Creates the problem domain of an experiment.
+	 */
+	public ProblemDomain load(Experiment experiment) {
+		return load(experiment.getInstance(), experiment.getSeed());
+	}
+
+	/**
+	 * @return the number of instances in the cache
+	 */
+	public int size() {
+		return instances.size();
+	}
+}
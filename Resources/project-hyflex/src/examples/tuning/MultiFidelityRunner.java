@@ -0,0 +1,167 @@
+package examples.tuning;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * This class is a multi-fidelity alternative to running irace on an irace scenario directory.
+ * It runs Hyperband: a sequence of successive halving brackets that trade the number of configurations
+ * against the time limit of the first rung. Every bracket ends with the full time limit, and the winners of all
+ * brackets are compared in a final race on all training instances with the full time limit.
+ * When executing this class, please ensure to set the run configurations:
+ * -s <scenario> [-a <algorithm>] [-min <time>] [-max <time>] [-eta <eta>] [-n <configurations>] [-small] [-p <threads>] [-seed <seed>] [-surrogate <factor>]
+ *
+ * Full list of arguments:
+ * -s <scenario>              : irace scenario directory with parameters.txt, configurations.txt and instances-train.txt
+ * -a <algorithm>             : hyper-heuristic to tune: RN, SCF, MCF or Bandit (default: RN)
+ * -min <time>                : shortest time limit in milliseconds (default: 500)
+ * -max <time>                : full time limit in milliseconds (default: 10000)
+ * -eta <eta>                 : reduction factor between rungs (default: 3)
+ * -n <configurations>        : run a single successive halving bracket with this many configurations instead of Hyperband
+ * -small                     : early rungs only use the smallest training instances (e.g. pr299, pr439)
+ * -p <threads>               : number of experiments run in parallel (default: number of cores)
+ * -seed <seed>               : seed for sampling configurations and instance seeds (default: 1234)
+ * -surrogate <factor>        : propose factor times more configurations per bracket and only run the most promising
+ *                              ones according to a random forest trained on all finished experiments; new proposals
+ *                              are drawn while too many are rejected, so a bracket may be smaller (default: off)
+ *
+ * Example program arguments as run configuration:
+ * -s ../project-irace/irace-hyflex-rn -a RN -min 400 -max 10000 -eta 3 -small
+ *
+ * @date 2026.10.18
+ */
+
+public class MultiFidelityRunner {
+
+	// Rounds of proposals screened for a bracket before it is run with the configurations that passed
+	private static final int SCREENING_ROUNDS = 10;
+
+	public static void main(String[] args) {
+
+		String scenarioDir = null, algorithm = "RN";
+		long minTime = 500, maxTime = 10000, seed = 1234;
+		double eta = 3;
+		int configurations = 0, threads = Runtime.getRuntime().availableProcessors(), surrogateFactor = 0;
+		boolean small = false;
+
+		//-------------------------------Parse command line arguments--------------------------
+		for (int i = 0; i < args.length; i++) {
+			switch (args[i]) {
+				case "-s":
+					scenarioDir = args[++i];
+					break;
+				case "-a":
+					algorithm = args[++i];
+					break;
+				case "-min":
+					minTime = Long.parseLong(args[++i]);
+					break;
+				case "-max":
+					maxTime = Long.parseLong(args[++i]);
+					break;
+				case "-eta":
+					eta = Double.parseDouble(args[++i]);
+					break;
+				case "-n":
+					configurations = Integer.parseInt(args[++i]);
+					break;
+				case "-small":
+					small = true;
+					break;
+				case "-p":
+					threads = Integer.parseInt(args[++i]);
+					break;
+				case "-seed":
+					seed = Long.parseLong(args[++i]);
+					break;
+				case "-surrogate":
+					surrogateFactor = Integer.parseInt(args[++i]);
+					break;
+				default:
+					break;
+			}
+		}
+		if (scenarioDir == null || minTime <= 0 || maxTime < minTime || eta <= 1) {
+			System.err.println("Usage: java examples.tuning.MultiFidelityRunner -s <scenario> [-a <algorithm>] [-min <time>] [-max <time>] [-eta <eta>] [-n <configurations>] [-small] [-p <threads>] [-seed <seed>] [-surrogate <factor>]");
+			System.exit(1);
+		}
+
+		TuningScenario scenario = null;
+		try {
+			scenario = TuningScenario.read(scenarioDir);
+		} catch (IOException e) {
+			System.err.println("Cannot read scenario " + scenarioDir + ": " + e.getMessage());
+			System.exit(1);
+		}
+
+		//-------------------------------Run Hyperband---------------------------------
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		Random rng = new Random(seed);
+		SuccessiveHalving sh = new SuccessiveHalving(scenario, algorithm, executor, eta, small, seed);
+		SurrogateScreening screening = null;
+		if (surrogateFactor > 1) {
+			RandomForestSurrogate surrogate = new RandomForestSurrogate(scenario.getSpace(), seed);
+			sh.setSurrogate(surrogate);
+			// reject proposals that are predicted to be more than 50% worse than the best known values even optimistically
+			screening = new SurrogateScreening(surrogate, 1.0, 0.5, 10);
+		}
+
+		int sMax = (int) Math.floor(Math.log((double) maxTime / minTime) / Math.log(eta) + 1e-9);
+		List<SuccessiveHalving.Candidate> winners = new ArrayList<>();
+		boolean first = true;
+		for (int s = sMax; s >= 0; s--) {
+			// A single bracket when the number of configurations is given
+			if (configurations > 0 && s < sMax) {
+				break;
+			}
+			int n = configurations > 0 ? configurations : (int) Math.ceil((sMax + 1) / (double) (s + 1) * Math.pow(eta, s));
+			long time = sh.rungTime(maxTime, s);
+			List<double[]> bracket = new ArrayList<>();
+			if (first) { // the initial configurations take part in the first (widest) bracket
+				bracket.addAll(scenario.getInitialConfigurations());
+			}
+			if (screening != null) {
+				// Let the surrogate pick the most promising of factor times more proposals, and draw new proposals
+				// while it rejects too many of them, so that every sampled configuration of the bracket is screened
+				for (int round = 0; bracket.size() < n && round < SCREENING_ROUNDS; round++) {
+					int keep = Math.max(0, n - bracket.size());
+					List<double[]> proposals = new ArrayList<>();
+					for (int k = 0; k < keep * surrogateFactor; k++) {
+						proposals.add(scenario.getSpace().sample(rng));
+					}
+					bracket.addAll(screening.select(proposals, keep, maxTime));
+				}
+			} else {
+				while (bracket.size() < n) {
+					bracket.add(scenario.getSpace().sample(rng));
+				}
+			}
+			first = false;
+			if (bracket.isEmpty()) {
+				System.out.println("Bracket s=" + s + ": all proposals rejected by the surrogate, skipped");
+				continue;
+			}
+			System.out.println("Bracket s=" + s + ": " + bracket.size() + " configurations from " + time + " ms");
+			winners.add(sh.race(bracket, maxTime, s + 1).get(0));
+		}
+
+		// Final race of the bracket winners with the full time limit on all instances (mostly cached)
+		sh.evaluate(winners, sh.getNumberOfInstances(), maxTime);
+		winners.sort(Comparator.comparingDouble(SuccessiveHalving.Candidate::getCost));
+		executor.shutdown();
+
+		// Print the best configuration in the format of configurations.txt
+		System.out.println("Experiments: " + sh.getExperiments() + ". Time budget used: " + sh.getTimeUsed() / 1000 + " seconds");
+		if (screening != null) {
+			System.out.println("Configurations rejected by the surrogate: " + screening.getRejected());
+		}
+		System.out.println("# Best configuration:");
+		System.out.println(scenario.getSpace().header());
+		System.out.println(scenario.getSpace().format(winners.get(0).getValues()));
+	}
+}
@@ -0,0 +1,374 @@
+package examples.tuning;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * This class finds out which parameters of an irace scenario matter, and writes a reduced parameters.txt in which
+ * the others are fixed, so that later campaigns tune fewer parameters with fewer experiments:
+ * - ablation (Fawcett and Hoos): from the default configuration (the first row of configurations.txt) to a tuned
+ *   one, change at each step the parameter whose change to its tuned value gives the best configuration, so that
+ *   the path shows how much of the improvement each parameter brings. The configurations of a step are evaluated in
+ *   parallel with ConfigurationEvaluator (costs relative to the default), and looked up in the EvaluationLog first;
+ * - importance (functional ANOVA): a RandomForestSurrogate is fitted on all the experiments of the algorithm in the
+ *   log, including those of earlier campaigns (see ContinuousTuner -log), and the share of the variance of its
+ *   prediction over the space explained by each parameter alone (its main effect) is estimated by Monte Carlo
+ *   integration over the unit cube. The variance not explained by the main effects is that of the interactions.
+ * A parameter whose importance is below the threshold, and whose step of the ablation path (if any) brings less
+ * than the threshold of the improvement, is fixed to its value in the tuned configuration (or in the default one
+ * without -target), as a categorical parameter with a single value.
+ * When executing this class, please ensure to set the run configurations:
+ * -s <scenario> [-a <algorithm>] [-target <file>] [-t <time>] [-sample <n>] [-log <file>] [-threshold <fraction>] [-o <directory>] [-p <threads>] [-seed <seed>]
+ *
+ * Full list of arguments:
+ * -s <scenario>              : irace scenario directory with parameters.txt, configurations.txt and instances-train.txt
+ * -a <algorithm>             : hyper-heuristic: RN, SCF, MCF or Bandit (default: RN)
+ * -target <file>             : configurations file (as configurations.txt) whose first row is the tuned configuration of the ablation (default: no ablation)
+ * -t <time>                  : time limit of the experiments in milliseconds (default: 10000)
+ * -sample <n>                : evaluate n random configurations first, to add experiments over the whole space to the log (default: 0)
+ * -log <file>                : EvaluationLog of the experiments (default: evaluations.txt in the scenario directory)
+ * -threshold <fraction>      : importance, and share of the ablation improvement, below which a parameter is fixed (default: 0.05)
+ * -o <directory>             : directory of the reduced parameters.txt and configurations.txt, with the other scenario files copied if missing (default: print parameters.txt)
+ * -p <threads>               : number of experiments run in parallel (default: number of cores)
+ * -seed <seed>               : seed of the instance seeds, of the samples and of the model (default: 1234)
+ *
+ * Example program arguments as run configuration:
+ * -s ../project-irace/irace-hyflex-rn -target tuned.txt -t 10000 -o ../project-irace/irace-hyflex-rn-reduced
+ *
+ * @date 2026.10.18
+ */
+
+public class ParameterImportance {
+
+	// Base samples and grid points per parameter of the Monte Carlo estimate of the main effects
+	private static final int SAMPLES = 256, GRID = 16;
+	// Experiments below which the model is not fitted
+	private static final int MIN_EXPERIMENTS = 20;
+
+	public static void main(String[] args) {
+
+		String scenarioDir = null, algorithm = "RN", targetFile = null, logFile = null, outDir = null;
+		long time = 10000, seed = 1234;
+		int samples = 0, threads = Runtime.getRuntime().availableProcessors();
+		double threshold = 0.05;
+
+		//-------------------------------Parse command line arguments--------------------------
+		for (int i = 0; i < args.length; i++) {
+			switch (args[i]) {
+				case "-s":
+					scenarioDir = args[++i];
+					break;
+				case "-a":
+					algorithm = args[++i];
+					break;
+				case "-target":
+					targetFile = args[++i];
+					break;
+				case "-t":
+					time = Long.parseLong(args[++i]);
+					break;
+				case "-sample":
+					samples = Integer.parseInt(args[++i]);
+					break;
+				case "-log":
+					logFile = args[++i];
+					break;
+				case "-threshold":
+					threshold = Double.parseDouble(args[++i]);
+					break;
+				case "-o":
+					outDir = args[++i];
+					break;
+				case "-p":
+					threads = Integer.parseInt(args[++i]);
+					break;
+				case "-seed":
+					seed = Long.parseLong(args[++i]);
+					break;
+				default:
+					break;
+			}
+		}
+		if (scenarioDir == null || time <= 0) {
+			System.err.println("Usage: java examples.tuning.ParameterImportance -s <scenario> [-a <algorithm>] [-target <file>] [-t <time>] [-sample <n>] [-log <file>] [-threshold <fraction>] [-o <directory>] [-p <threads>] [-seed <seed>]");
+			System.exit(1);
+		}
+
+		TuningScenario scenario = null;
+		double[] target = null;
+		EvaluationLog log = null;
+		try {
+			scenario = TuningScenario.read(scenarioDir);
+			if (targetFile != null) {
+				List<double[]> targets = TuningScenario.readConfigurations(scenario.getSpace(), targetFile);
+				if (targets.isEmpty()) {
+					throw new IOException(targetFile + ": no configuration");
+				}
+				target = targets.get(0);
+			}
+			log = new EvaluationLog(Paths.get(logFile != null ? logFile : new File(scenarioDir, "evaluations.txt").getPath()), scenario.getSpace());
+		} catch (IOException | IllegalArgumentException e) {
+			System.err.println("Cannot read scenario " + scenarioDir + ": " + e.getMessage());
+			System.exit(1);
+		}
+		ParameterSpace space = scenario.getSpace();
+		double[] defaults = scenario.getInitialConfigurations().isEmpty() ? space.fromUnit(middle(space.size())) : scenario.getInitialConfigurations().get(0);
+
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		ConfigurationEvaluator evaluator = new ConfigurationEvaluator(scenario, algorithm, executor, time, seed);
+		evaluator.setLog(log);
+		Random rng = new Random(seed);
+		double[] ablation = null, importance = null;
+		try {
+			//-------------------------------Ablation path------------------------------------
+			if (target != null) {
+				ablation = ablation(evaluator, space, defaults, target, System.out);
+			}
+
+			//-------------------------------Random samples-----------------------------------
+			if (samples > 0) {
+				List<double[]> configurations = new ArrayList<>();
+				configurations.add(defaults);
+				for (int k = 0; k < samples; k++) {
+					configurations.add(space.sample(rng));
+				}
+				evaluator.evaluate(configurations);
+				System.out.println("Sampled configurations: " + samples + ". Experiments: " + evaluator.getExperiments());
+			}
+		} finally {
+			executor.shutdown();
+		}
+
+		//-------------------------------Functional ANOVA---------------------------------
+		RandomForestSurrogate model = new RandomForestSurrogate(space, seed);
+		for (EvaluationLog.Record record : log.getRecords()) {
+			if (record.getAlgorithm().equals(algorithm)) {
+				model.add(record.getValues(), record.getInstance(), record.getTime(), record.getResult());
+			}
+		}
+		if (model.size() < MIN_EXPERIMENTS) {
+			System.out.println("Importance: not enough experiments of " + algorithm + " in the log (" + model.size() + ", at least " + MIN_EXPERIMENTS
+					+ "), see -sample");
+		} else {
+			model.fit();
+			importance = mainEffects(model, space, time, rng);
+			double explained = 0;
+			System.out.println("Importance (main effects, " + model.size() + " experiments):");
+			for (int i = 0; i < space.size(); i++) {
+				if (isVariable(space.get(i))) {
+					System.out.printf(Locale.ROOT, "%-12s %8.4f%n", space.get(i).getName(), importance[i]);
+					explained += importance[i];
+				}
+			}
+			System.out.printf(Locale.ROOT, "%-12s %8.4f%n", "interactions", Math.max(0, 1 - explained));
+		}
+
+		//-------------------------------Reduced parameter file---------------------------
+		if (ablation == null && importance == null) {
+			System.err.println("Neither an ablation path (-target) nor enough experiments for the importance: no parameter is fixed");
+			System.exit(1);
+		}
+		double[] fixedValues = target != null ? target : defaults;
+		boolean[] fixed = new boolean[space.size()];
+		StringBuilder summary = new StringBuilder();
+		for (int i = 0; i < space.size(); i++) {
+			fixed[i] = isVariable(space.get(i)) && (importance == null || importance[i] < threshold) && (ablation == null || ablation[i] < threshold);
+			if (fixed[i]) {
+				summary.append(' ').append(space.get(i).getName()).append('=').append(space.formatValue(i, fixedValues[i]));
+			}
+		}
+		System.out.println("Fixed:" + (summary.length() == 0 ? " none" : summary.toString()));
+		try {
+			List<String> lines = reducedParameters(new File(scenarioDir, "parameters.txt").toPath(), space, fixed, fixedValues);
+			if (outDir == null) {
+				lines.forEach(System.out::println);
+			} else {
+				writeScenario(Paths.get(scenarioDir), Paths.get(outDir), lines, space, scenario.getInitialConfigurations(), fixed, fixedValues);
+				System.out.println("Reduced scenario written to " + outDir);
+			}
+		} catch (IOException e) {
+			System.err.println("Cannot write reduced scenario: " + e.getMessage());
+			System.exit(1);
+		}
+	}
+
+	/**
+	 * Runs the ablation path from the default to the target configuration.
+	 *
+	 * @return the share of the improvement from the default to the target brought by the step of each parameter
+	 *         (0 for the parameters with the same value in both)
+	 */
+	public static double[] ablation(ConfigurationEvaluator evaluator, ParameterSpace space, double[] defaults, double[] target, PrintStream out) {
+		double[] shares = new double[space.size()];
+		// The default configuration is evaluated first, so that it sets the reference of the costs
+		List<double[]> ends = new ArrayList<>();
+		ends.add(defaults);
+		ends.add(target);
+		double[] endCosts = evaluator.evaluate(ends);
+		double improvement = endCosts[0] - endCosts[1];
+		List<Integer> remaining = new ArrayList<>();
+		for (int i = 0; i < space.size(); i++) {
+			if (!space.formatValue(i, defaults[i]).equals(space.formatValue(i, target[i]))) {
+				remaining.add(i);
+			}
+		}
+		out.printf(Locale.ROOT, "Ablation (cost relative to the default, %d parameters differ):%n", remaining.size());
+		out.printf(Locale.ROOT, "%4s %-12s %10s %10s %8s%n", "step", "parameter", "value", "cost", "share");
+		out.printf(Locale.ROOT, "%4d %-12s %10s %10.5f%n", 0, "default", "", endCosts[0]);
+		double[] current = defaults.clone();
+		double cost = endCosts[0];
+		for (int step = 1; !remaining.isEmpty(); step++) {
+			List<double[]> candidates = new ArrayList<>();
+			for (int i : remaining) {
+				double[] candidate = current.clone();
+				candidate[i] = target[i];
+				candidates.add(candidate);
+			}
+			double[] costs = evaluator.evaluate(candidates);
+			int best = 0;
+			for (int k = 1; k < costs.length; k++) {
+				if (costs[k] < costs[best]) {
+					best = k;
+				}
+			}
+			int parameter = remaining.remove(best);
+			current = candidates.get(best);
+			shares[parameter] = improvement > 0 ? (cost - costs[best]) / improvement : 0;
+			cost = costs[best];
+			out.printf(Locale.ROOT, "%4d %-12s %10s %10.5f %7.1f%%%n", step, space.get(parameter).getName(), space.formatValue(parameter, target[parameter]),
+					cost, 100 * shares[parameter]);
+		}
+		out.println("Experiments: " + evaluator.getExperiments());
+		return shares;
+	}
+
+	/**
+	 * Estimates the share of the variance of the prediction of the model over the space explained by each parameter
+	 * alone: Var(E[f | x_i]) / Var(f), with x uniform over the unit cube of the space.
+	 *
+	 * @param model the fitted model
+	 * @param space the parameter space
+	 * @param time the time limit of the predictions in milliseconds
+	 * @param rng the random number generator of the samples
+	 * @return the share of each parameter (0 for the parameters with a single value)
+	 */
+	public static double[] mainEffects(RandomForestSurrogate model, ParameterSpace space, long time, Random rng) {
+		int n = space.size();
+		double[][] base = new double[SAMPLES][n];
+		double mean = 0, squares = 0;
+		for (int s = 0; s < SAMPLES; s++) {
+			for (int i = 0; i < n; i++) {
+				base[s][i] = rng.nextDouble();
+			}
+			double f = model.predict(space.fromUnit(base[s]), time)[0];
+			mean += f / SAMPLES;
+			squares += f * f / SAMPLES;
+		}
+		double variance = squares - mean * mean;
+		double[] shares = new double[n];
+		if (variance <= 0) {
+			return shares;
+		}
+		for (int i = 0; i < n; i++) {
+			ParameterSpace.Parameter p = space.get(i);
+			if (!isVariable(p)) {
+				continue;
+			}
+			// One point per value of a non-real parameter, in the middle of its interval of the unit cube
+			int points = p.getType() == 'r' ? GRID : (int) Math.min(GRID, p.getUpper() - p.getLower() + 1);
+			double marginalMean = 0, marginalSquares = 0;
+			for (int g = 0; g < points; g++) {
+				double marginal = 0;
+				for (int s = 0; s < SAMPLES; s++) {
+					double[] unit = base[s].clone();
+					unit[i] = (g + 0.5) / points;
+					marginal += model.predict(space.fromUnit(unit), time)[0] / SAMPLES;
+				}
+				marginalMean += marginal / points;
+				marginalSquares += marginal * marginal / points;
+			}
+			shares[i] = Math.max(0, marginalSquares - marginalMean * marginalMean) / variance;
+		}
+		return shares;
+	}
+
+	/**
+	 * @return the lines of the parameter file with the fixed parameters replaced by categorical ones with a single value
+	 */
+	public static List<String> reducedParameters(Path parameterFile, ParameterSpace space, boolean[] fixed, double[] values) throws IOException {
+		List<String> lines = new ArrayList<>();
+		Map<String, Integer> indices = new HashMap<>();
+		for (int i = 0; i < space.size(); i++) {
+			indices.put(space.get(i).getName(), i);
+		}
+		try (BufferedReader reader = new BufferedReader(new FileReader(parameterFile.toFile()))) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				String trimmed = line.trim();
+				int quote = line.indexOf('"'), close = line.indexOf('"', quote + 1);
+				Integer i = trimmed.isEmpty() || trimmed.startsWith("#") || quote < 0 || close < 0 ? null : indices.get(line.substring(0, quote).trim());
+				if (i != null && fixed[i]) {
+					// Keep the column of the type
+					int type = close + 1;
+					while (type < line.length() && Character.isWhitespace(line.charAt(type))) {
+						type++;
+					}
+					lines.add(line.substring(0, type) + "c  (" + space.formatValue(i, values[i]) + ") # fixed by ParameterImportance");
+				} else {
+					lines.add(line);
+				}
+			}
+		}
+		return lines;
+	}
+
+	// Writes the reduced parameters.txt and configurations.txt, and copies the other scenario files if missing
+	private static void writeScenario(Path scenario, Path out, List<String> parameters, ParameterSpace space, List<double[]> initial, boolean[] fixed,
+			double[] values) throws IOException {
+		Files.createDirectories(out);
+		Files.write(out.resolve("parameters.txt"), parameters);
+		List<String> configurations = new ArrayList<>();
+		configurations.add(space.header());
+		for (double[] configuration : initial) {
+			double[] row = configuration.clone();
+			for (int i = 0; i < row.length; i++) {
+				if (fixed[i]) {
+					row[i] = values[i];
+				}
+			}
+			configurations.add(space.format(row));
+		}
+		Files.write(out.resolve("configurations.txt"), configurations);
+		for (String name : new String[] {"scenario.txt", "instances-train.txt"}) {
+			if (Files.exists(scenario.resolve(name)) && !Files.exists(out.resolve(name))) {
+				Files.copy(scenario.resolve(name), out.resolve(name));
+			}
+		}
+	}
+
+	// A parameter with more than one value
+	private static boolean isVariable(ParameterSpace.Parameter p) {
+		return p.getUpper() > p.getLower();
+	}
+
+	private static double[] middle(int n) {
+		double[] unit = new double[n];
+		Arrays.fill(unit, 0.5);
+		return unit;
+	}
+}
@@ -0,0 +1,310 @@
+package examples.tuning;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * This class reads an irace parameter file (e.g. project-irace/irace-hyflex-rn/parameters.txt)
+ * so that the Java configurators can work on exactly the same space as irace.
+ *
+ * Each line holds: <name> <switch> <type> <domain> [| condition]
+ * type            : r (real), i (integer), c (categorical) or o (ordinal)
+ * domain          : (lower, upper) for r/i, (v1, v2, ...) for c/o
+ *
+ * A configuration is stored as a double[] with one entry per parameter. Reals and integers hold their value,
+ * categorical and ordinal parameters hold the index of the selected value. Conditions are not supported.
+ *
+ * @date 2026.10.18
+ */
+
+public class ParameterSpace {
+
+	/**
+	 * A single parameter of the space.
+	 */
+	public static class Parameter {
+
+		private final String name, label;
+		private final char type;
+		private final double lower, upper;
+		private final String[] values;
+
+		public Parameter(String name, String label, char type, double lower, double upper, String[] values) {
+			this.name = name;
+			this.label = label;
+			this.type = type;
+			this.lower = lower;
+			this.upper = upper;
+			this.values = values;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public String getLabel() {
+			return label;
+		}
+
+		public char getType() {
+			return type;
+		}
+
+		public double getLower() {
+			return lower;
+		}
+
+		public double getUpper() {
+			return upper;
+		}
+
+		public String[] getValues() {
+			return values;
+		}
+
+		public boolean isNumerical() {
+			return type == 'r' || type == 'i';
+		}
+	}
+
+	private final Parameter[] parameters;
+
+	public ParameterSpace(Parameter[] parameters) {
+		this.parameters = parameters;
+	}
+
+	/**
+	 * Reads an irace parameter file.
+	 *
+	 * @param fileName the path of the parameter file
+	 * @return the parameter space described in the file
+	 * @throws IOException if the file cannot be read or a line cannot be parsed
+	 */
+	public static ParameterSpace read(String fileName) throws IOException {
+		List<Parameter> parameters = new ArrayList<>();
+		try (BufferedReader reader = new BufferedReader(new FileReader(fileName))) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				line = stripComment(line).trim();
+				if (line.isEmpty()) {
+					continue;
+				}
+				parameters.add(parseLine(line));
+			}
+		}
+		return new ParameterSpace(parameters.toArray(new Parameter[0]));
+	}
+
+	// Parse one non-empty line of the parameter file
+	private static Parameter parseLine(String line) throws IOException {
+		int open = line.indexOf('"'), close = line.indexOf('"', open + 1);
+		int domainOpen = line.indexOf('(', close), domainClose = line.indexOf(')', domainOpen);
+		if (open < 0 || close < 0 || domainOpen < 0 || domainClose < 0) {
+			throw new IOException("Cannot parse parameter line: " + line);
+		}
+		String name = line.substring(0, open).trim();
+		String label = line.substring(open + 1, close);
+		char type = line.substring(close + 1, domainOpen).trim().charAt(0);
+		String[] domain = line.substring(domainOpen + 1, domainClose).split(",");
+		for (int i = 0; i < domain.length; i++) {
+			domain[i] = domain[i].trim().replace("\"", "");
+		}
+		switch (type) {
+			case 'r':
+			case 'i':
+				return new Parameter(name, label, type, Double.parseDouble(domain[0]), Double.parseDouble(domain[1]), null);
+			case 'c':
+			case 'o':
+				return new Parameter(name, label, type, 0, domain.length - 1, domain);
+			default:
+				throw new IOException("Unknown parameter type '" + type + "' in line: " + line);
+		}
+	}
+
+	// Remove a trailing '#' comment that is not part of a quoted switch
+	private static String stripComment(String line) {
+		boolean quoted = false;
+		for (int i = 0; i < line.length(); i++) {
+			char c = line.charAt(i);
+			if (c == '"') {
+				quoted = !quoted;
+			} else if (c == '#' && !quoted) {
+				return line.substring(0, i);
+			}
+		}
+		return line;
+	}
+
+	public int size() {
+		return parameters.length;
+	}
+
+	public Parameter get(int index) {
+		return parameters[index];
+	}
+
+	/**
+	 * @param name the name of a parameter
+	 * @return the index of the parameter, or -1 if there is no such parameter
+	 */
+	public int indexOf(String name) {
+		for (int i = 0; i < parameters.length; i++) {
+			if (parameters[i].getName().equals(name)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Samples a configuration uniformly at random from the space.
+	 *
+	 * @param rng the random number generator to use
+	 * @return the sampled parameter values
+	 */
+	public double[] sample(Random rng) {
+		double[] values = new double[parameters.length];
+		for (int i = 0; i < parameters.length; i++) {
+			Parameter p = parameters[i];
+			if (p.getType() == 'r') {
+				values[i] = p.getLower() + rng.nextDouble() * (p.getUpper() - p.getLower());
+			} else {
+				values[i] = p.getLower() + rng.nextInt((int) (p.getUpper() - p.getLower()) + 1);
+			}
+		}
+		return values;
+	}
+
+	/**
+	 * Clamps (and rounds, for non-real parameters) the given values into the domain of the space.
+	 *
+	 * @param values the parameter values, modified in place
+	 * @return the same array for convenience
+	 */
+	public double[] repair(double[] values) {
+		for (int i = 0; i < parameters.length; i++) {
+			Parameter p = parameters[i];
+			double v = Math.max(p.getLower(), Math.min(p.getUpper(), values[i]));
+			values[i] = p.getType() == 'r' ? v : Math.rint(v);
+		}
+		return values;
+	}
+
+	/**
+	 * Maps a point of the unit cube [0, 1]^n to a configuration, e.g. for continuous optimisers.
+	 * Reals are scaled linearly, integer and categorical parameters split [0, 1] into equal intervals, one per value.
+	 *
+	 * @param unit the coordinates in [0, 1], clamped if outside
+	 * @return the parameter values
+	 */
+	public double[] fromUnit(double[] unit) {
+		double[] values = new double[parameters.length];
+		for (int i = 0; i < parameters.length; i++) {
+			Parameter p = parameters[i];
+			double u = Math.max(0, Math.min(1, unit[i])), range = p.getUpper() - p.getLower();
+			values[i] = p.getType() == 'r' ? p.getLower() + u * range : p.getLower() + Math.min(range, Math.floor(u * (range + 1)));
+		}
+		return values;
+	}
+
+	/**
+	 * Maps a configuration to the unit cube, the inverse of fromUnit (non-real values map to the middle of their interval).
+	 */
+	public double[] toUnit(double[] values) {
+		double[] unit = new double[parameters.length];
+		for (int i = 0; i < parameters.length; i++) {
+			Parameter p = parameters[i];
+			double range = p.getUpper() - p.getLower();
+			if (p.getType() == 'r') {
+				unit[i] = range > 0 ? (values[i] - p.getLower()) / range : 0.5;
+			} else {
+				unit[i] = (values[i] - p.getLower() + 0.5) / (range + 1);
+			}
+		}
+		return unit;
+	}
+
+	/**
+	 * Parses the value of parameter i as written by irace (e.g. in configurations.txt).
+	 *
+	 * @param i the index of the parameter
+	 * @param text the value as text, "NA" selects the middle of the domain
+	 * @return the internal representation of the value
+	 */
+	public double parseValue(int i, String text) {
+		Parameter p = parameters[i];
+		if (text.equals("NA")) {
+			return p.getType() == 'r' ? (p.getLower() + p.getUpper()) / 2 : Math.floor((p.getLower() + p.getUpper()) / 2);
+		}
+		if (p.isNumerical()) {
+			return Double.parseDouble(text);
+		}
+		for (int j = 0; j < p.getValues().length; j++) {
+			if (p.getValues()[j].equals(text)) {
+				return j;
+			}
+		}
+		throw new IllegalArgumentException("Value " + text + " is not in the domain of " + p.getName());
+	}
+
+	/**
+	 * Formats the value of parameter i as irace would pass it to the target runner.
+	 */
+	public String formatValue(int i, double value) {
+		Parameter p = parameters[i];
+		switch (p.getType()) {
+			case 'r':
+				return String.format(Locale.ROOT, "%.4f", value);
+			case 'i':
+				return Long.toString(Math.round(value));
+			default:
+				return p.getValues()[(int) value];
+		}
+	}
+
+	/**
+	 * Builds the command line arguments that irace would pass to the target runner for the given values,
+	 * e.g. "-d 0.1 0.2 0.3 -i 0.4 0.5 0.6 -t 10000".
+	 *
+	 * @param values the parameter values
+	 * @return the arguments split into tokens
+	 */
+	public String[] toArguments(double[] values) {
+		List<String> args = new ArrayList<>();
+		for (int i = 0; i < parameters.length; i++) {
+			String label = parameters[i].getLabel().trim();
+			if (!label.isEmpty()) {
+				args.add(label);
+			}
+			args.add(formatValue(i, values[i]));
+		}
+		return args.toArray(new String[0]);
+	}
+
+	/**
+	 * @return the parameter names separated by spaces, in the order used by configurations.txt
+	 */
+	public String header() {
+		StringBuilder sb = new StringBuilder();
+		for (Parameter p : parameters) {
+			sb.append(sb.length() == 0 ? "" : " ").append(p.getName());
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * @return the values formatted as one row of configurations.txt
+	 */
+	public String format(double[] values) {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < parameters.length; i++) {
+			sb.append(i == 0 ? "" : " ").append(formatValue(i, values[i]));
+		}
+		return sb.toString();
+	}
+}
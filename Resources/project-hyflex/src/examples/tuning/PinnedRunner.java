@@ -0,0 +1,430 @@
+package examples.tuning;
+
+import AbstractClasses.ProblemDomain;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This class evaluates a batch of experiments like BatchRunner, but each one in its own JVM pinned to a dedicated
+ * core with taskset (Linux only), so that the iterations that a run gets from its CPU time budget depend as little
+ * as possible on SMT siblings, frequency scaling and neighbouring processes:
+ * - the cores are one logical CPU per physical core (its SMT siblings are left idle), except the core of CPU 0,
+ *   which is left to the system and to this JVM when there are other cores;
+ * - each core is calibrated once, before the runs: the quick probe of ThroughputProbe is run in a new pinned JVM
+ *   -calibrate times, and the median rate is the rate of the core;
+ * - each run measures the quick probe rate of its core just before the run (about 0.1 s of CPU time, the JIT
+ *   compilations it waits for are mostly those the run needs anyway), its own iterations (LLH applications) per
+ *   CPU second and wall-clock time per CPU second, and the share of steal time of its core (from /proc/stat);
+ * - the iterations per CPU second of a run, relative to the rate of its core, are compared with the median of those
+ *   of the accepted runs of the same configuration (id.configuration) on the same instance, once there are two;
+ * - a run whose probe rate or relative iterations per CPU second deviate by more than -threshold, or whose core had
+ *   a larger share of steal time than -steal, is run again, up to -retries times, after which its last result is
+ *   kept and flagged.
+ * Java cannot pin its own threads, so the pool is one JVM per run rather than worker threads; the child JVMs compile
+ * synchronously by default (-XX:-BackgroundCompilation), so that the JIT compiler does not compete for the core.
+ * One result is printed per experiment in the order of the input lines, and one line per attempt to the standard
+ * error (or the -log file):
+ * <line> <core> <attempt> <cost> <iterations/s> <probe/s> <probe deviation> <iterations deviation> <steal> <wall/cpu> <status>
+ * When executing this class, please ensure to set the run configurations:
+ * [-a <algorithm>] [-cores <cpus>] [-calibrate <runs>] [-threshold <fraction>] [-steal <fraction>] [-retries <n>] [-jvm <options>] [-log <file>] [-time] [<file>]
+ *
+ * Full list of arguments:
+ * -a <algorithm>             : hyper-heuristic to run: RN, SCF, MCF or Bandit (default: RN)
+ * -cores <cpus>              : logical CPUs to pin the runs to, separated by spaces (default: one per physical core, see above)
+ * -calibrate <runs>          : probe runs per core for the calibration (default: 3)
+ * -threshold <fraction>      : maximum relative deviation of the probe rate and of the iterations per CPU second (default: 0.1)
+ * -steal <fraction>          : maximum share of steal time of the core during a run (default: 0.02)
+ * -retries <n>               : maximum number of runs again of a flagged experiment (default: 2)
+ * -jvm <options>             : options of the child JVMs, in one argument (default: "-XX:-BackgroundCompilation")
+ * -log <file>                : file of the attempt lines (default: standard error)
+ * -time                      : print "<cost> <time>" (CPU time of the kept run in seconds) instead of "<cost>", e.g. for irace's maxTime
+ * <file>                     : file with one experiment per line (default: standard input)
+ *
+ * Example program arguments as run configuration:
+ * -a RN -cores 2 4 6 -threshold 0.05 experiments.txt
+ *
+ * @date 2026.10.18
+ */
+
+public class PinnedRunner {
+
+	// Ticks of /proc/stat per second (USER_HZ, 100 on all common Linux configurations)
+	private static final double TICKS_PER_SECOND = 100;
+	// Accepted runs of a configuration on an instance from which their iterations per CPU second are a reference
+	private static final int REFERENCE_RUNS = 2;
+
+	public static void main(String[] args) {
+
+		if (args.length > 0 && args[0].equals("-child")) {
+			child(Arrays.copyOfRange(args, 1, args.length));
+			return;
+		}
+		if (args.length > 0 && args[0].equals("-probe")) {
+			System.out.println("PROBE " + ThroughputProbe.quick());
+			return;
+		}
+
+		String algorithm = "RN", fileName = null, logName = null, jvmOptions = "-XX:-BackgroundCompilation";
+		List<Integer> cores = new ArrayList<>();
+		int calibrationRuns = 3, retries = 2;
+		double threshold = 0.1, stealThreshold = 0.02;
+		boolean printTime = false;
+
+		//-------------------------------Parse command line arguments--------------------------
+		for (int i = 0; i < args.length; i++) {
+			switch (args[i]) {
+				case "-a":
+					algorithm = args[++i];
+					break;
+				case "-cores":
+					while (i + 1 < args.length && !args[i + 1].startsWith("-")) {
+						cores.add(Integer.parseInt(args[++i]));
+					}
+					break;
+				case "-calibrate":
+					calibrationRuns = Math.max(1, Integer.parseInt(args[++i]));
+					break;
+				case "-threshold":
+					threshold = Double.parseDouble(args[++i]);
+					break;
+				case "-steal":
+					stealThreshold = Double.parseDouble(args[++i]);
+					break;
+				case "-retries":
+					retries = Integer.parseInt(args[++i]);
+					break;
+				case "-jvm":
+					jvmOptions = args[++i];
+					break;
+				case "-log":
+					logName = args[++i];
+					break;
+				case "-time":
+					printTime = true;
+					break;
+				default:
+					if (fileName != null || (args[i].startsWith("-") && !args[i].equals("-"))) {
+						System.err.println("Unknown argument: " + args[i]);
+						System.err.println("Usage: java examples.tuning.PinnedRunner [-a <algorithm>] [-cores <cpus>] [-calibrate <runs>] [-threshold <fraction>] [-steal <fraction>] [-retries <n>] [-jvm <options>] [-log <file>] [-time] [<file>]");
+						System.exit(1);
+					}
+					fileName = args[i];
+					break;
+			}
+		}
+		if (!System.getProperty("os.name").toLowerCase(Locale.ROOT).contains("linux") || !Files.exists(Paths.get("/proc/stat"))) {
+			System.err.println("PinnedRunner needs Linux (taskset and /proc/stat)");
+			System.exit(1);
+		}
+
+		// Read the experiments
+		List<String[]> experiments = new ArrayList<>();
+		try (BufferedReader reader = fileName == null || fileName.equals("-")
+				? new BufferedReader(new InputStreamReader(System.in)) : new BufferedReader(new FileReader(fileName))) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				line = line.trim();
+				if (!line.isEmpty() && !line.startsWith("#")) {
+					String[] arguments = line.split("\\s+");
+					Experiment.parse(arguments);
+					experiments.add(arguments);
+				}
+			}
+		} catch (IOException | IllegalArgumentException e) {
+			System.err.println("Cannot read experiments: " + e.getMessage());
+			System.exit(1);
+		}
+
+		PrintStream out = System.out;
+		try (PrintStream log = logName == null ? null : new PrintStream(logName)) {
+			if (cores.isEmpty()) {
+				cores = dedicatedCores();
+			}
+			PinnedRunner runner = new PinnedRunner(algorithm, cores, jvmOptions, threshold, stealThreshold, retries, log == null ? System.err : log);
+			runner.calibrate(calibrationRuns);
+			for (double[] result : runner.run(experiments)) {
+				out.println(printTime ? result[0] + " " + result[1] : Double.toString(result[0]));
+			}
+		} catch (IOException e) {
+			System.err.println("Cannot run pinned experiments: " + e.getMessage());
+			System.exit(1);
+		}
+	}
+
+	private final String algorithm;
+	private final List<Integer> cores;
+	private final List<String> jvmOptions;
+	private final double threshold, stealThreshold;
+	private final int retries;
+	private final PrintStream log;
+	// Calibrated probe rate of each core, in the order of the cores
+	private final double[] rates;
+	// Iterations per CPU second of the accepted runs of each configuration on each instance, relative to the rate of their core
+	private final Map<String, List<Double>> throughputs = new HashMap<>();
+
+	/**
+	 * @param algorithm the hyper-heuristic to run, one of ExperimentRunner.ALGORITHMS
+	 * @param cores the logical CPUs to pin the runs to, one run at a time on each
+	 * @param jvmOptions the options of the child JVMs, separated by spaces
+	 * @param threshold the maximum relative deviation of the probe rate of a run from the rate of its core, and of its
+	 *        relative iterations per CPU second from those of the same configuration on the same instance
+	 * @param stealThreshold the maximum share of steal time of the core during a run
+	 * @param retries the maximum number of runs again of a flagged experiment
+	 * @param log the stream of the attempt lines
+	 */
+	public PinnedRunner(String algorithm, List<Integer> cores, String jvmOptions, double threshold, double stealThreshold, int retries, PrintStream log) {
+		this.algorithm = algorithm;
+		this.cores = new ArrayList<>(cores);
+		this.jvmOptions = new ArrayList<>();
+		for (String option : jvmOptions.trim().split("\\s+")) {
+			if (!option.isEmpty()) {
+				this.jvmOptions.add(option);
+			}
+		}
+		this.threshold = threshold;
+		this.stealThreshold = stealThreshold;
+		this.retries = retries;
+		this.log = log;
+		this.rates = new double[cores.size()];
+	}
+
+	/**
+	 * Measures the quick probe rate of each core, the median of the given number of probe runs, in parallel over the cores.
+	 *
+	 * @param runs the number of probe runs per core
+	 */
+	public void calibrate(int runs) throws IOException {
+		ExecutorService executor = Executors.newFixedThreadPool(cores.size());
+		try {
+			List<Future<double[]>> futures = new ArrayList<>();
+			for (int c = 0; c < cores.size(); c++) {
+				int core = cores.get(c);
+				futures.add(executor.submit(() -> {
+					double[] probes = new double[runs];
+					for (int r = 0; r < runs; r++) {
+						probes[r] = Double.parseDouble(launch(core, List.of("-probe"), "PROBE")[0]);
+					}
+					return probes;
+				}));
+			}
+			for (int c = 0; c < cores.size(); c++) {
+				double[] probes = futures.get(c).get();
+				Arrays.sort(probes);
+				rates[c] = probes[runs / 2];
+				log.printf(Locale.ROOT, "# core %d: %.0f applications/s (probes %s)%n", cores.get(c), rates[c], Arrays.toString(probes));
+			}
+		} catch (InterruptedException | ExecutionException e) {
+			throw new IOException("Calibration failed", e.getCause() == null ? e : e.getCause());
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	/**
+	 * Runs the experiments, one at a time on each core, each in a new JVM pinned to the core.
+	 *
+	 * @param experiments the arguments of the experiments, as for RNRunner
+	 * @return {best solution value, CPU time of the run in seconds} of each experiment, in the order of the experiments
+	 */
+	public List<double[]> run(List<String[]> experiments) throws IOException {
+		double[][] results = new double[experiments.size()][];
+		AtomicInteger next = new AtomicInteger();
+		ExecutorService executor = Executors.newFixedThreadPool(cores.size());
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int c = 0; c < cores.size(); c++) {
+				int slot = c;
+				futures.add(executor.submit(() -> {
+					for (int e = next.getAndIncrement(); e < experiments.size(); e = next.getAndIncrement()) {
+						results[e] = runPinned(slot, e, experiments.get(e));
+					}
+					return null;
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} catch (InterruptedException | ExecutionException e) {
+			throw new IOException("Experiment failed", e.getCause() == null ? e : e.getCause());
+		} finally {
+			executor.shutdown();
+		}
+		return Arrays.asList(results);
+	}
+
+	// Runs an experiment on the core of a slot until it is not flagged or out of retries
+	private double[] runPinned(int slot, int line, String[] experiment) throws IOException {
+		int core = cores.get(slot);
+		Experiment parsed = Experiment.parse(experiment);
+		String key = parsed.getConfigurationId() + " " + parsed.getInstance();
+		List<String> arguments = new ArrayList<>();
+		arguments.add("-child");
+		arguments.add(algorithm);
+		arguments.addAll(Arrays.asList(experiment));
+		double cost = Double.NaN, time = Double.NaN;
+		for (int attempt = 0; attempt <= retries; attempt++) {
+			long steal = readSteal(core), start = System.nanoTime();
+			// RESULT <cost> <iterations> <cpu seconds> <wall seconds> <probe rate>
+			String[] result = launch(core, arguments, "RESULT");
+			double stealShare = (readSteal(core) - steal) / TICKS_PER_SECOND / ((System.nanoTime() - start) / 1e9);
+			cost = Double.parseDouble(result[0]);
+			double iterations = Double.parseDouble(result[1]), cpu = Double.parseDouble(result[2]), wall = Double.parseDouble(result[3]);
+			time = cpu;
+			double probe = Double.parseDouble(result[4]);
+			double deviation = probe / rates[slot] - 1;
+			double throughput = iterations / cpu / rates[slot];
+			double throughputDeviation = throughput / reference(key) - 1;
+			boolean flagged = Math.abs(deviation) > threshold || Math.abs(throughputDeviation) > threshold || stealShare > stealThreshold;
+			String status = !flagged ? "ok" : attempt < retries ? "rerun" : "flagged";
+			synchronized (log) {
+				log.printf(Locale.ROOT, "%d %d %d %s %.0f %.0f %+.3f %+.3f %.3f %.2f %s%n", line + 1, core, attempt, result[0], iterations / cpu, probe,
+						deviation, throughputDeviation, stealShare, wall / cpu, status);
+				log.flush();
+			}
+			if (!flagged) {
+				synchronized (throughputs) {
+					throughputs.computeIfAbsent(key, k -> new ArrayList<>()).add(throughput);
+				}
+				break;
+			}
+		}
+		return new double[] {cost, time};
+	}
+
+	// The median relative iterations per CPU second of the accepted runs with the key, NaN (no check) while they are too few
+	private double reference(String key) {
+		synchronized (throughputs) {
+			List<Double> values = throughputs.get(key);
+			if (values == null || values.size() < REFERENCE_RUNS) {
+				return Double.NaN;
+			}
+			double[] sorted = values.stream().mapToDouble(Double::doubleValue).sorted().toArray();
+			return sorted.length % 2 == 1 ? sorted[sorted.length / 2] : (sorted[sorted.length / 2 - 1] + sorted[sorted.length / 2]) / 2;
+		}
+	}
+
+	// Runs this class in a new JVM pinned to the core, returns the values of its output line with the tag
+	private String[] launch(int core, List<String> arguments, String tag) throws IOException {
+		String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+		List<String> command = new ArrayList<>(List.of("taskset", "-c", Integer.toString(core), java));
+		command.addAll(jvmOptions);
+		command.addAll(List.of("-cp", System.getProperty("java.class.path"), PinnedRunner.class.getName()));
+		command.addAll(arguments);
+		ProcessBuilder builder = new ProcessBuilder(command);
+		builder.redirectError(ProcessBuilder.Redirect.INHERIT);
+		Process process = builder.start();
+		String[] values = null;
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				if (line.startsWith(tag + " ")) {
+					values = line.substring(tag.length() + 1).trim().split("\\s+");
+				}
+			}
+			int exit = process.waitFor();
+			if (exit != 0 || values == null) {
+				throw new IOException("Pinned run on core " + core + " failed (exit " + exit + "): " + String.join(" ", arguments));
+			}
+		} catch (InterruptedException e) {
+			process.destroy();
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted", e);
+		}
+		return values;
+	}
+
+	// The child JVM: quick probe of the core, run the experiment and print RESULT <cost> <iterations> <cpu seconds> <wall seconds> <probe rate>
+	private static void child(String[] args) {
+		String algorithm = args[0];
+		Experiment experiment = Experiment.parse(Arrays.copyOfRange(args, 1, args.length));
+		double probe = ThroughputProbe.quick();
+		ProblemDomain problem = ExperimentRunner.loadProblem(experiment);
+		long start = ManagementFactory.getThreadMXBean().getCurrentThreadCpuTime(), wallStart = System.nanoTime();
+		double cost = ExperimentRunner.run(algorithm, experiment, problem);
+		double cpu = (ManagementFactory.getThreadMXBean().getCurrentThreadCpuTime() - start) / 1e9;
+		double wall = (System.nanoTime() - wallStart) / 1e9;
+		long iterations = 0;
+		for (int calls : problem.getHeuristicCallRecord()) {
+			iterations += calls;
+		}
+		System.out.println("RESULT " + cost + " " + iterations + " " + cpu + " " + wall + " " + probe);
+	}
+
+	/**
+	 * @return one logical CPU per physical core (the first of its SMT siblings) among the CPUs this process may run
+	 *         on, without the core of CPU 0 if there are others, from /sys/devices/system/cpu and /proc/self/status
+	 */
+	public static List<Integer> dedicatedCores() throws IOException {
+		TreeSet<Integer> allowed = new TreeSet<>();
+		for (String line : Files.readAllLines(Paths.get("/proc/self/status"))) {
+			if (line.startsWith("Cpus_allowed_list:")) {
+				allowed.addAll(parseList(line.substring("Cpus_allowed_list:".length())));
+			}
+		}
+		TreeSet<Integer> cores = new TreeSet<>();
+		Integer system = null;
+		for (int cpu : allowed) {
+			// Offline CPUs have no topology
+			Path siblings = Paths.get("/sys/devices/system/cpu/cpu" + cpu + "/topology/thread_siblings_list");
+			if (Files.exists(siblings)) {
+				List<Integer> list = parseList(Files.readAllLines(siblings).get(0));
+				list.retainAll(allowed);
+				cores.add(list.get(0));
+				if (list.contains(0)) {
+					system = list.get(0);
+				}
+			}
+		}
+		if (cores.size() > 1 && system != null) {
+			cores.remove(system);
+		}
+		return new ArrayList<>(cores);
+	}
+
+	// The CPUs of a list such as "0,16" or "0-3,8-11"
+	private static List<Integer> parseList(String list) {
+		List<Integer> cpus = new ArrayList<>();
+		for (String range : list.trim().split(",")) {
+			if (!range.isEmpty()) {
+				String[] bounds = range.split("-");
+				for (int cpu = Integer.parseInt(bounds[0]); cpu <= Integer.parseInt(bounds[bounds.length - 1]); cpu++) {
+					cpus.add(cpu);
+				}
+			}
+		}
+		return cpus;
+	}
+
+	// The steal ticks of a logical CPU so far, from /proc/stat
+	private static long readSteal(int cpu) throws IOException {
+		String prefix = "cpu" + cpu + " ";
+		for (String line : Files.readAllLines(Paths.get("/proc/stat"))) {
+			if (line.startsWith(prefix)) {
+				// cpuN user nice system idle iowait irq softirq steal ...
+				String[] fields = line.trim().split("\\s+");
+				return fields.length > 8 ? Long.parseLong(fields[8]) : 0;
+			}
+		}
+		return 0;
+	}
+}
@@ -0,0 +1,238 @@
+package examples.tuning;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * This class is a random forest surrogate model of the target runner, trained online on finished experiments:
+ * (configuration, instance, time limit) -> best solution value.
+ *
+ * Instances have very different objective scales, so the model is fitted on the relative deviation of each
+ * result from the best value seen so far on the same instance. The inputs are the parameter values scaled to
+ * [0, 1], the instance ID and log10 of the time limit.
+ * A prediction is the mean over the trees and its uncertainty the standard deviation over the trees,
+ * averaged over all instances seen so far.
+ *
+ * @date 2026.10.18
+ */
+
+public class RandomForestSurrogate {
+
+	// One regression tree stored as parallel arrays, leaf nodes have feature -1
+	private static class Tree {
+
+		int[] feature = new int[16], left = new int[16], right = new int[16];
+		double[] threshold = new double[16], value = new double[16];
+		int size = 0;
+
+		int addNode() {
+			if (size == feature.length) {
+				int n = size * 2;
+				feature = Arrays.copyOf(feature, n);
+				left = Arrays.copyOf(left, n);
+				right = Arrays.copyOf(right, n);
+				threshold = Arrays.copyOf(threshold, n);
+				value = Arrays.copyOf(value, n);
+			}
+			feature[size] = -1;
+			return size++;
+		}
+
+		double predict(double[] x) {
+			int node = 0;
+			while (feature[node] >= 0) {
+				node = x[feature[node]] <= threshold[node] ? left[node] : right[node];
+			}
+			return value[node];
+		}
+	}
+
+	private final ParameterSpace space;
+	private final int numTrees, minLeaf;
+	private final Random rng;
+
+	// Finished experiments
+	private final List<double[]> inputs = new ArrayList<>();
+	private final List<Integer> instances = new ArrayList<>();
+	private final List<Double> results = new ArrayList<>();
+	private final Map<Integer, Double> bestPerInstance = new HashMap<>();
+
+	private Tree[] trees = new Tree[0];
+
+	/**
+	 * @param space the parameter space of the configurations
+	 * @param numTrees the number of trees of the forest
+	 * @param minLeaf the minimum number of observations in a leaf
+	 * @param seed the seed for bootstrapping and split selection
+	 */
+	public RandomForestSurrogate(ParameterSpace space, int numTrees, int minLeaf, long seed) {
+		this.space = space;
+		this.numTrees = numTrees;
+		this.minLeaf = minLeaf;
+		this.rng = new Random(seed);
+	}
+
+	public RandomForestSurrogate(ParameterSpace space, long seed) {
+		this(space, 50, 3, seed);
+	}
+
+	/**
+	 * Records a finished experiment. The model is only updated by the next call to fit().
+	 */
+	public synchronized void add(double[] values, int instance, long time, double result) {
+		inputs.add(encode(values, instance, time));
+		instances.add(instance);
+		results.add(result);
+		bestPerInstance.merge(instance, result, Math::min);
+	}
+
+	/**
+	 * @return the number of recorded experiments
+	 */
+	public synchronized int size() {
+		return results.size();
+	}
+
+	/**
+	 * Refits the forest on all recorded experiments.
+	 */
+	public synchronized void fit() {
+		int n = results.size();
+		if (n == 0) {
+			return;
+		}
+		double[][] x = inputs.toArray(new double[0][]);
+		double[] y = new double[n];
+		for (int i = 0; i < n; i++) {
+			double best = bestPerInstance.get(instances.get(i));
+			y[i] = (results.get(i) - best) / Math.abs(best);
+		}
+		Tree[] forest = new Tree[numTrees];
+		int[] sample = new int[n];
+		for (int t = 0; t < numTrees; t++) {
+			for (int i = 0; i < n; i++) { // bootstrap sample
+				sample[i] = rng.nextInt(n);
+			}
+			forest[t] = new Tree();
+			grow(forest[t], x, y, sample.clone(), 0, n);
+		}
+		trees = forest;
+	}
+
+	// Grow the subtree for sample[from..to) and return the index of its root
+	private int grow(Tree tree, double[][] x, double[] y, int[] sample, int from, int to) {
+		int node = tree.addNode();
+		double mean = 0;
+		for (int i = from; i < to; i++) {
+			mean += y[sample[i]];
+		}
+		mean /= (to - from);
+		tree.value[node] = mean;
+		if (to - from < 2 * minLeaf) {
+			return node;
+		}
+
+		// Try a random threshold on a random subset of the features and keep the best variance reduction
+		int numFeatures = x[0].length, tries = Math.max(1, numFeatures / 3) * 4;
+		int bestFeature = -1;
+		double bestThreshold = 0, bestScore = 0;
+		for (int k = 0; k < tries; k++) {
+			int f = rng.nextInt(numFeatures);
+			double lo = Double.POSITIVE_INFINITY, hi = Double.NEGATIVE_INFINITY;
+			for (int i = from; i < to; i++) {
+				lo = Math.min(lo, x[sample[i]][f]);
+				hi = Math.max(hi, x[sample[i]][f]);
+			}
+			if (hi <= lo) {
+				continue;
+			}
+			double threshold = lo + rng.nextDouble() * (hi - lo);
+			double sumL = 0, sumR = 0;
+			int nL = 0, nR = 0;
+			for (int i = from; i < to; i++) {
+				if (x[sample[i]][f] <= threshold) {
+					sumL += y[sample[i]];
+					nL++;
+				} else {
+					sumR += y[sample[i]];
+					nR++;
+				}
+			}
+			if (nL < minLeaf || nR < minLeaf) {
+				continue;
+			}
+			// maximising sum^2/n of both sides is equivalent to minimising the within-node variance
+			double score = sumL * sumL / nL + sumR * sumR / nR;
+			if (bestFeature < 0 || score > bestScore) {
+				bestFeature = f;
+				bestThreshold = threshold;
+				bestScore = score;
+			}
+		}
+		if (bestFeature < 0) {
+			return node;
+		}
+
+		// Partition the sample in place
+		int mid = from;
+		for (int i = from; i < to; i++) {
+			if (x[sample[i]][bestFeature] <= bestThreshold) {
+				int tmp = sample[i];
+				sample[i] = sample[mid];
+				sample[mid++] = tmp;
+			}
+		}
+		tree.feature[node] = bestFeature;
+		tree.threshold[node] = bestThreshold;
+		int left = grow(tree, x, y, sample, from, mid);
+		int right = grow(tree, x, y, sample, mid, to);
+		tree.left[node] = left;
+		tree.right[node] = right;
+		return node;
+	}
+
+	/**
+	 * Predicts the relative deviation from the best known value of a configuration with the given time limit,
+	 * averaged over all instances seen so far.
+	 *
+	 * @param values the parameter values of the configuration
+	 * @param time the time limit in milliseconds
+	 * @return {mean, standard deviation} of the prediction over the trees
+	 */
+	public synchronized double[] predict(double[] values, long time) {
+		Tree[] forest = trees;
+		if (forest.length == 0 || bestPerInstance.isEmpty()) {
+			return new double[] {0, Double.POSITIVE_INFINITY};
+		}
+		double mean = 0, sq = 0;
+		for (Tree tree : forest) {
+			double p = 0;
+			for (int instance : bestPerInstance.keySet()) {
+				p += tree.predict(encode(values, instance, time));
+			}
+			p /= bestPerInstance.size();
+			mean += p;
+			sq += p * p;
+		}
+		mean /= forest.length;
+		double variance = Math.max(0, sq / forest.length - mean * mean);
+		return new double[] {mean, Math.sqrt(variance)};
+	}
+
+	// Scale the configuration to [0, 1] and append the instance and time features
+	private double[] encode(double[] values, int instance, long time) {
+		double[] x = new double[space.size() + 2];
+		for (int i = 0; i < space.size(); i++) {
+			ParameterSpace.Parameter p = space.get(i);
+			double range = p.getUpper() - p.getLower();
+			x[i] = range > 0 ? (values[i] - p.getLower()) / range : 0;
+		}
+		x[space.size()] = instance;
+		x[space.size() + 1] = Math.log10(Math.max(1, time));
+		return x;
+	}
+}
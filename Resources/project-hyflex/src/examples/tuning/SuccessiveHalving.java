@@ -0,0 +1,227 @@
+package examples.tuning;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * This class implements successive halving over the time budget of the target runner:
+ * all configurations are first evaluated with a short time limit (and optionally on the smallest training
+ * instances only), then the best 1/eta of them are promoted to an eta times longer time limit, and so on
+ * until the last rung, which uses the full time limit on all training instances.
+ *
+ * The cost of a configuration on a rung is its mean relative deviation from the best value found on each
+ * instance by any configuration of the same rung. Results are cached, so a configuration that is evaluated
+ * again with the same instance and time limit (e.g. in a final race) is not run twice.
+ *
+ * @date 2026.10.18
+ */
+
+public class SuccessiveHalving {
+
+	/**
+	 * A configuration together with its cost on the last rung it was evaluated on.
+	 */
+	public static class Candidate {
+
+		private final double[] values;
+		private double cost;
+
+		public Candidate(double[] values) {
+			this.values = values;
+			this.cost = Double.POSITIVE_INFINITY;
+		}
+
+		public double[] getValues() {
+			return values;
+		}
+
+		public double getCost() {
+			return cost;
+		}
+	}
+
+	private final TuningScenario scenario;
+	private final String algorithm;
+	private final ExecutorService executor;
+	private final double eta;
+	private final boolean growInstances;
+
+	// The training instances sorted by size (HyFlex TSP instance IDs are ordered by number of cities)
+	private final int[] instances;
+	// One fixed seed per instance, shared by all configurations as in irace
+	private final long[] seeds;
+
+	// Cache of finished experiments: configuration, instance and time -> best solution value
+	private final Map<String, Double> results = new HashMap<>();
+	private int experiments = 0;
+	private long timeUsed = 0;
+
+	// Loaded instances shared by all experiments
+	private final InstanceCache cache = new InstanceCache();
+
+	// Optional surrogate model that learns from every finished experiment
+	private RandomForestSurrogate surrogate;
+
+	/**
+	 * @param scenario the tuning scenario
+	 * @param algorithm the hyper-heuristic to tune, one of ExperimentRunner.ALGORITHMS
+	 * @param executor the executor used to run experiments in parallel
+	 * @param eta the reduction factor between rungs
+	 * @param growInstances if true, early rungs only use the smallest training instances
+	 * @param seed the seed used to draw the instance seeds
+	 */
+	public SuccessiveHalving(TuningScenario scenario, String algorithm, ExecutorService executor, double eta, boolean growInstances, long seed) {
+		this.scenario = scenario;
+		this.algorithm = algorithm;
+		this.executor = executor;
+		this.eta = eta;
+		this.growInstances = growInstances;
+		this.instances = scenario.getInstances().clone();
+		Arrays.sort(this.instances);
+		Random rng = new Random(seed);
+		this.seeds = new long[instances.length];
+		for (int i = 0; i < seeds.length; i++) {
+			seeds[i] = rng.nextInt(Integer.MAX_VALUE);
+		}
+	}
+
+	/**
+	 * Runs successive halving on the given configurations.
+	 *
+	 * @param configurations the configurations to race
+	 * @param maxTime the time limit of the last rung in milliseconds
+	 * @param rungs the number of rungs, the first rung uses maxTime / eta^(rungs-1)
+	 * @return the surviving candidates of the last rung, best first
+	 */
+	public List<Candidate> race(List<double[]> configurations, long maxTime, int rungs) {
+		List<Candidate> candidates = new ArrayList<>();
+		for (double[] values : configurations) {
+			candidates.add(new Candidate(values));
+		}
+		for (int rung = 0; rung < rungs; rung++) {
+			long time = rungTime(maxTime, rungs - 1 - rung);
+			int numInstances = growInstances ? (int) Math.ceil(instances.length * (rung + 1) / (double) rungs) : instances.length;
+			System.out.println("Rung " + rung + ": " + candidates.size() + " configurations x " + numInstances + " instances x " + time + " ms");
+			evaluate(candidates, numInstances, time);
+			candidates.sort(Comparator.comparingDouble(Candidate::getCost));
+			if (rung < rungs - 1) {
+				int survivors = Math.max(1, (int) Math.floor(candidates.size() / eta));
+				candidates = new ArrayList<>(candidates.subList(0, survivors));
+			}
+		}
+		return candidates;
+	}
+
+	/**
+	 * The time limit of a rung is derived from the full one, so that the last rung of every bracket uses exactly
+	 * maxTime and its results are found in the cache by the final race.
+	 *
+	 * @param maxTime the time limit of the last rung in milliseconds
+	 * @param below the number of rungs between this rung and the last one
+	 * @return maxTime / eta^below, rounded to whole milliseconds
+	 */
+	public long rungTime(long maxTime, int below) {
+		return below == 0 ? maxTime : Math.max(1, Math.round(maxTime / Math.pow(eta, below)));
+	}
+
+	/**
+	 * Evaluates all candidates on the first numInstances instances with the given time limit and sets their cost.
+	 */
+	public void evaluate(List<Candidate> candidates, int numInstances, long time) {
+		// Submit every experiment that is not cached yet
+		Map<String, Future<Double>> pending = new HashMap<>();
+		List<Candidate> pendingCandidates = new ArrayList<>();
+		List<Integer> pendingInstances = new ArrayList<>();
+		for (Candidate c : candidates) {
+			for (int k = 0; k < numInstances; k++) {
+				String key = key(c.getValues(), instances[k], time);
+				if (results.containsKey(key) || pending.containsKey(key)) {
+					continue;
+				}
+				Experiment experiment = createExperiment(c.getValues(), k, time);
+				pending.put(key, executor.submit(() -> ExperimentRunner.run(algorithm, experiment, cache.load(experiment))));
+				pendingCandidates.add(c);
+				pendingInstances.add(instances[k]);
+				experiments++;
+				timeUsed += time;
+			}
+		}
+		for (int i = 0; i < pendingCandidates.size(); i++) {
+			double[] values = pendingCandidates.get(i).getValues();
+			String key = key(values, pendingInstances.get(i), time);
+			try {
+				double result = pending.get(key).get();
+				results.put(key, result);
+				if (surrogate != null) {
+					surrogate.add(values, pendingInstances.get(i), time, result);
+				}
+			} catch (InterruptedException | ExecutionException e) {
+				throw new IllegalStateException("Experiment " + key + " failed", e);
+			}
+		}
+
+		// Mean relative deviation from the best value of the rung on each instance
+		for (Candidate c : candidates) {
+			c.cost = 0;
+		}
+		for (int k = 0; k < numInstances; k++) {
+			double best = Double.POSITIVE_INFINITY;
+			for (Candidate c : candidates) {
+				best = Math.min(best, results.get(key(c.getValues(), instances[k], time)));
+			}
+			for (Candidate c : candidates) {
+				double value = results.get(key(c.getValues(), instances[k], time));
+				c.cost += (value - best) / Math.abs(best) / numInstances;
+			}
+		}
+	}
+
+	// Build the experiment of the k-th instance exactly as irace would call the target runner
+	private Experiment createExperiment(double[] values, int k, long time) {
+		String[] parameters = scenario.getSpace().toArguments(values);
+		String[] args = new String[parameters.length + 4];
+		args[0] = Integer.toHexString(Arrays.hashCode(values));
+		args[1] = Integer.toString(k + 1);
+		args[2] = Long.toString(seeds[k]);
+		args[3] = Integer.toString(instances[k]);
+		System.arraycopy(parameters, 0, args, 4, parameters.length);
+		return Experiment.parse(args).withTime(time);
+	}
+
+	private String key(double[] values, int instance, long time) {
+		return scenario.getSpace().format(values) + "|" + instance + "|" + time;
+	}
+
+	/**
+	 * Sets a surrogate model that is trained with the result of every experiment run from now on.
+	 */
+	public void setSurrogate(RandomForestSurrogate surrogate) {
+		this.surrogate = surrogate;
+	}
+
+	public int getNumberOfInstances() {
+		return instances.length;
+	}
+
+	/**
+	 * @return the number of experiments run so far
+	 */
+	public int getExperiments() {
+		return experiments;
+	}
+
+	/**
+	 * @return the sum of the time limits of all experiments run so far, in milliseconds
+	 */
+	public long getTimeUsed() {
+		return timeUsed;
+	}
+}
@@ -0,0 +1,88 @@
+package examples.tuning;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class pre-screens proposed configurations with a surrogate model before they are run.
+ * Proposals are ranked by their lower confidence bound (mean - kappa * std), so that configurations with a good
+ * predicted value or a large uncertainty are kept, and proposals whose lower bound is worse than the rejection
+ * threshold are dropped.
+ *
+ * @date 2026.10.18
+ */
+
+public class SurrogateScreening {
+
+	private final RandomForestSurrogate surrogate;
+	private final double kappa, rejectThreshold;
+	private final int minObservations;
+
+	private int rejected = 0;
+
+	/**
+	 * @param surrogate the surrogate model
+	 * @param kappa the weight of the uncertainty in the lower confidence bound
+	 * @param rejectThreshold proposals with a lower confidence bound above this relative deviation are rejected
+	 * @param minObservations the number of finished experiments required before screening starts
+	 */
+	public SurrogateScreening(RandomForestSurrogate surrogate, double kappa, double rejectThreshold, int minObservations) {
+		this.surrogate = surrogate;
+		this.kappa = kappa;
+		this.rejectThreshold = rejectThreshold;
+		this.minObservations = minObservations;
+	}
+
+	/**
+	 * Selects the most promising proposals.
+	 *
+	 * @param proposals the proposed configurations
+	 * @param keep the maximum number of configurations to return
+	 * @param time the time limit the configurations will be evaluated with
+	 * @return at most keep configurations, best lower confidence bound first; the first keep proposals if the surrogate is not trained yet
+	 */
+	public List<double[]> select(List<double[]> proposals, int keep, long time) {
+		if (surrogate.size() < minObservations) {
+			return new ArrayList<>(proposals.subList(0, Math.min(keep, proposals.size())));
+		}
+		surrogate.fit();
+		List<double[]> ranked = new ArrayList<>(proposals);
+		double[] bound = new double[ranked.size()];
+		for (int i = 0; i < ranked.size(); i++) {
+			double[] prediction = surrogate.predict(ranked.get(i), time);
+			bound[i] = prediction[0] - kappa * prediction[1];
+		}
+		// Selection sort on the bound, the number of proposals is small
+		List<double[]> selected = new ArrayList<>();
+		boolean[] used = new boolean[ranked.size()];
+		while (selected.size() < keep) {
+			int best = -1;
+			for (int i = 0; i < ranked.size(); i++) {
+				if (!used[i] && (best < 0 || bound[i] < bound[best])) {
+					best = i;
+				}
+			}
+			if (best < 0) {
+				break;
+			}
+			used[best] = true;
+			if (bound[best] > rejectThreshold) {
+				break;
+			}
+			selected.add(ranked.get(best));
+		}
+		rejected += ranked.size() - selected.size();
+		return selected;
+	}
+
+	/**
+	 * @return the number of proposals that were not selected so far
+	 */
+	public int getRejected() {
+		return rejected;
+	}
+
+	public RandomForestSurrogate getSurrogate() {
+		return surrogate;
+	}
+}
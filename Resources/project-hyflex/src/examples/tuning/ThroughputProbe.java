@@ -0,0 +1,88 @@
+package examples.tuning;
+
+import AbstractClasses.ProblemDomain;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import travelingSalesmanProblem.TSP;
+
+/**
+ * This class measures how fast the current core runs hyper-heuristic work, as LLH applications per CPU second of a
+ * fixed workload: a fixed number of applications of the mutation, ruin-recreate and local search heuristics of the
+ * TSP domain in turn, on instance 0 (pr299) with a fixed seed, keeping the new solution when it is better. The
+ * workload is the same in every call, so its rate only changes with the speed of the core (frequency scaling, SMT
+ * siblings and caches shared with other processes), which the CPU time budget of HyFlex does not account for.
+ * A first pass warms up the JIT compiler and is not measured; the rate is the median of the rates of five short
+ * measured passes. In a new JVM, the probe takes about 2 s, mostly to warm up.
+ * The quick probe skips most of the warm-up and measures five passes of a quarter of the applications, in about
+ * 0.3 s in a new JVM: its rate is lower than the rate of the full probe, since the JIT compiler is still at work,
+ * so it is only compared with quick probes run the same way, e.g. in new JVMs with the same options.
+ *
+ * @date 2026.10.18
+ */
+
+public class ThroughputProbe {
+
+	// Applications of a measured pass, of the warm-up pass, and number of measured passes
+	public static final int APPLICATIONS = 400, WARMUP = 2000, PASSES = 5;
+	// The same for the quick probe
+	public static final int QUICK_APPLICATIONS = 100, QUICK_WARMUP = 100, QUICK_PASSES = 5;
+
+	private static final long SEED = 1234;
+	private static final int INSTANCE = 0;
+
+	private ThroughputProbe() {
+	}
+
+	/**
+	 * @return the LLH applications per CPU second of the measured passes (median)
+	 */
+	public static double measure() {
+		return measure(WARMUP, APPLICATIONS, PASSES);
+	}
+
+	/**
+	 * @return the LLH applications per CPU second of the passes of the quick probe (median)
+	 */
+	public static double quick() {
+		return measure(QUICK_WARMUP, QUICK_APPLICATIONS, QUICK_PASSES);
+	}
+
+	private static double measure(int warmup, int applications, int passes) {
+		run(warmup);
+		double[] rates = new double[passes];
+		for (int p = 0; p < passes; p++) {
+			rates[p] = applications / (run(applications) / 1e9);
+		}
+		Arrays.sort(rates);
+		return rates[passes / 2];
+	}
+
+	// Applies the heuristics of the workload from a fresh domain, returns the CPU time of the applications in nanoseconds
+	private static long run(int applications) {
+		ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		ProblemDomain problem = new TSP(SEED);
+		problem.loadInstance(INSTANCE);
+		problem.setMemorySize(2);
+		problem.initialiseSolution(0);
+		List<Integer> heuristics = new ArrayList<>();
+		for (ProblemDomain.HeuristicType type : new ProblemDomain.HeuristicType[] {ProblemDomain.HeuristicType.MUTATION,
+				ProblemDomain.HeuristicType.RUIN_RECREATE, ProblemDomain.HeuristicType.LOCAL_SEARCH}) {
+			for (int h : problem.getHeuristicsOfType(type)) {
+				heuristics.add(h);
+			}
+		}
+		long start = bean.getCurrentThreadCpuTime();
+		double current = problem.getFunctionValue(0);
+		for (int k = 0; k < applications; k++) {
+			double value = problem.applyHeuristic(heuristics.get(k % heuristics.size()), 0, 1);
+			if (value < current) {
+				problem.copySolution(1, 0);
+				current = value;
+			}
+		}
+		return bean.getCurrentThreadCpuTime() - start;
+	}
+}
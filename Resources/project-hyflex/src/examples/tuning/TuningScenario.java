@@ -0,0 +1,117 @@
+package examples.tuning;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class loads the files of an irace scenario directory (e.g. project-irace/irace-hyflex-rn) so that the
+ * Java configurators can be run on the same set-up as irace:
+ * parameters.txt       : the parameter space
+ * configurations.txt   : the initial configurations (optional)
+ * instances-train.txt  : the training instances (one HyFlex instance ID per line)
+ *
+ * @date 2026.10.18
+ */
+
+public class TuningScenario {
+
+	private final ParameterSpace space;
+	private final List<double[]> initialConfigurations;
+	private final int[] instances;
+
+	public TuningScenario(ParameterSpace space, List<double[]> initialConfigurations, int[] instances) {
+		this.space = space;
+		this.initialConfigurations = initialConfigurations;
+		this.instances = instances;
+	}
+
+	/**
+	 * Reads the scenario files from the given directory.
+	 *
+	 * @param directory the scenario directory
+	 * @return the loaded scenario
+	 * @throws IOException if one of the files cannot be read
+	 */
+	public static TuningScenario read(String directory) throws IOException {
+		ParameterSpace space = ParameterSpace.read(new File(directory, "parameters.txt").getPath());
+		File configurations = new File(directory, "configurations.txt");
+		List<double[]> initial = configurations.exists() ? readConfigurations(space, configurations.getPath()) : new ArrayList<>();
+		int[] instances = readInstances(new File(directory, "instances-train.txt").getPath());
+		return new TuningScenario(space, initial, instances);
+	}
+
+	/**
+	 * Reads a table of configurations in irace format: a header line with parameter names and one configuration per line.
+	 * Parameters missing from the table take the middle of their domain (fixed categoricals take their only value).
+	 */
+	public static List<double[]> readConfigurations(ParameterSpace space, String fileName) throws IOException {
+		List<double[]> configurations = new ArrayList<>();
+		try (BufferedReader reader = new BufferedReader(new FileReader(fileName))) {
+			int[] columns = null;
+			String line;
+			while ((line = reader.readLine()) != null) {
+				line = line.trim();
+				if (line.isEmpty() || line.startsWith("#")) {
+					continue;
+				}
+				String[] tokens = line.split("\\s+");
+				if (columns == null) { // header line
+					columns = new int[tokens.length];
+					for (int i = 0; i < tokens.length; i++) {
+						columns[i] = space.indexOf(tokens[i]);
+					}
+					continue;
+				}
+				double[] values = new double[space.size()];
+				for (int i = 0; i < space.size(); i++) {
+					values[i] = space.parseValue(i, "NA");
+				}
+				for (int i = 0; i < tokens.length && i < columns.length; i++) {
+					if (columns[i] >= 0) {
+						values[columns[i]] = space.parseValue(columns[i], tokens[i]);
+					}
+				}
+				configurations.add(values);
+			}
+		}
+		return configurations;
+	}
+
+	/**
+	 * Reads an irace instance list, keeping the first token of each non-comment line as the instance ID.
+	 */
+	public static int[] readInstances(String fileName) throws IOException {
+		List<Integer> instances = new ArrayList<>();
+		try (BufferedReader reader = new BufferedReader(new FileReader(fileName))) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				line = line.trim();
+				if (line.isEmpty() || line.startsWith("#")) {
+					continue;
+				}
+				instances.add(Integer.parseInt(line.split("\\s+")[0]));
+			}
+		}
+		int[] ids = new int[instances.size()];
+		for (int i = 0; i < ids.length; i++) {
+			ids[i] = instances.get(i);
+		}
+		return ids;
+	}
+
+	public ParameterSpace getSpace() {
+		return space;
+	}
+
+	public List<double[]> getInitialConfigurations() {
+		return initialConfigurations;
+	}
+
+	public int[] getInstances() {
+		return instances;
+	}
+}